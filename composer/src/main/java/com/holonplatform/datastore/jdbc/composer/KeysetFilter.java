@@ -0,0 +1,111 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.composer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.holonplatform.core.property.PathPropertyBoxAdapter;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.core.query.QuerySort;
+import com.holonplatform.core.query.QuerySort.PathQuerySort;
+import com.holonplatform.datastore.jdbc.composer.internal.DefaultKeysetFilter;
+import com.holonplatform.datastore.jdbc.composer.internal.KeysetTokenCodec;
+
+/**
+ * A {@link QueryFilter} to implement <em>keyset</em> (or <em>seek</em>) pagination: given a {@link QuerySort} and the
+ * sort values of the last row of the previous page, it selects only the rows which follow that row in the sort order.
+ * <p>
+ * The filter is serialized either as a row value comparison, for example <code>(a, b) &gt; (?, ?)</code>, if supported
+ * by the dialect and all the sort directions are the same, or as the expanded predicate
+ * <code>(a &gt; ?) OR (a = ? AND b &gt; ?)</code>.
+ * </p>
+ * <p>
+ * The same {@link QuerySort} must be used both as the filter sort and as the query sort, and it should define a total
+ * order of the rows, for example including the primary key as last sort path. The sort paths are expected to be not
+ * nullable.
+ * </p>
+ * <p>
+ * A keyset filter can be represented as an opaque <em>continuation token</em>, see {@link #getContinuationToken()}
+ * and {@link #fromContinuationToken(QuerySort, String)}.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public interface KeysetFilter extends QueryFilter {
+
+	/**
+	 * Get the sort paths, in the order they are declared in the {@link QuerySort}.
+	 * @return the sort paths
+	 */
+	List<PathQuerySort<?>> getSorts();
+
+	/**
+	 * Get the sort values of the last row of the previous page, one for each sort path.
+	 * @return the sort values
+	 */
+	List<Object> getValues();
+
+	/**
+	 * Get the continuation token which represents this filter sort values.
+	 * @return The continuation token
+	 */
+	default String getContinuationToken() {
+		return KeysetTokenCodec.encode(getValues());
+	}
+
+	/**
+	 * Create a {@link KeysetFilter} using given sort and last row sort values.
+	 * @param sort The query sort (not null)
+	 * @param values The sort values of the last row of the previous page, one for each sort path (not null)
+	 * @return A new {@link KeysetFilter}
+	 */
+	static KeysetFilter create(QuerySort sort, Object... values) {
+		return new DefaultKeysetFilter(sort, (values != null) ? Arrays.asList(values) : null);
+	}
+
+	/**
+	 * Create a {@link KeysetFilter} using given sort and the sort values obtained from given row.
+	 * @param sort The query sort (not null)
+	 * @param row The last row of the previous page, which must provide a value for each sort path (not null)
+	 * @return A new {@link KeysetFilter}
+	 */
+	static KeysetFilter after(QuerySort sort, PropertyBox row) {
+		final List<PathQuerySort<?>> sorts = DefaultKeysetFilter.getPathSorts(sort);
+		final PathPropertyBoxAdapter adapter = PathPropertyBoxAdapter.create(row);
+		return new DefaultKeysetFilter(sort,
+				sorts.stream().map(s -> adapter.getValue(s.getPath())
+						.orElseThrow(() -> new IllegalArgumentException(
+								"Missing keyset value for sort path [" + s.getPath().relativeName() + "]")))
+						.collect(Collectors.toList()));
+	}
+
+	/**
+	 * Create a {@link KeysetFilter} using given sort and the sort values represented by given continuation token.
+	 * @param sort The query sort (not null)
+	 * @param continuationToken The continuation token (not null)
+	 * @return A new {@link KeysetFilter}
+	 * @throws IllegalArgumentException If the continuation token is not valid for given sort
+	 * @see #getContinuationToken()
+	 */
+	static KeysetFilter fromContinuationToken(QuerySort sort, String continuationToken) {
+		final List<PathQuerySort<?>> sorts = DefaultKeysetFilter.getPathSorts(sort);
+		return new DefaultKeysetFilter(sort, KeysetTokenCodec.decode(continuationToken, sorts));
+	}
+
+}
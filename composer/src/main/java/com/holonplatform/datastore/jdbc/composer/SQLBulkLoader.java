@@ -0,0 +1,63 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.composer;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.List;
+
+import com.holonplatform.datastore.jdbc.composer.expression.SQLParameter;
+
+/**
+ * A dialect specific bulk loader, which uses a native database bulk load facility to insert a large number of rows
+ * into a table, for example using a CSV file.
+ * <p>
+ * When a bulk loader is not available for the current dialect or it does not support the columns to load, the rows
+ * should be inserted using JDBC batches.
+ * </p>
+ *
+ * @since 6.0.3
+ * 
+ * @see SQLDialect#getBulkLoader()
+ */
+public interface SQLBulkLoader {
+
+	/**
+	 * Checks whether the bulk loader can be used to load given columns using given connection.
+	 * @param connection The connection to use (not null)
+	 * @param columns The column value types, as {@link SQLParameter} templates (not null)
+	 * @return <code>true</code> if the bulk loader can be used
+	 * @throws SQLException If an error occurred
+	 */
+	boolean isSupported(Connection connection, List<SQLParameter<?>> columns) throws SQLException;
+
+	/**
+	 * Load given rows into given table.
+	 * @param connection The connection to use (not null)
+	 * @param table The table name (not null)
+	 * @param columnNames The column names (not null)
+	 * @param columns The column value types, as {@link SQLParameter} templates, in the same order of the column names
+	 *        (not null)
+	 * @param rows The rows to load, each row is provided as an array of column values in the same order of the column
+	 *        names (not null)
+	 * @return The number of loaded rows
+	 * @throws SQLException If an error occurred
+	 */
+	long load(Connection connection, String table, List<String> columnNames, List<SQLParameter<?>> columns,
+			Iterator<Object[]> rows) throws SQLException;
+
+}
@@ -69,6 +69,8 @@ public interface SQLCompositionContext extends SQLContext, ResolutionContext, Ex
 
 	/**
 	 * Prepare given SQL statement, replacing named parameters with the default <code>?</code> parameter placeholder.
+	 * The text within quoted string literals is not scanned, so it may contain text which looks like a named
+	 * parameter placeholder.
 	 * @param sql The SQL statement to prepare (not null)
 	 * @return An {@link SQLStatement} which provides the prepared SQL and the statement parameter definition in the
 	 *         right order according to the parameters placeholder index
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.composer;
+
+import com.holonplatform.core.config.ConfigProperty;
+import com.holonplatform.core.internal.datastore.operation.common.InsertOperationConfiguration;
+
+/**
+ * SQL composition configuration parameters, which can be provided to the SQL expression resolvers using the
+ * operation configuration parameters.
+ *
+ * @since 6.0.3
+ */
+public interface SQLCompositionParameters {
+
+	/**
+	 * Default prefix for SQL composition parameters.
+	 */
+	static final String DEFAULT_PARAMETER_PREFIX = SQLCompositionParameters.class.getPackage().getName()
+			+ ".composition";
+
+	/**
+	 * The number of rows to render for an {@link InsertOperationConfiguration}. When greater than <code>1</code>, a
+	 * multi-row <code>INSERT</code> statement is rendered, repeating the <code>VALUES</code> row value constructor the
+	 * given number of times. The current dialect must support multi-row inserts, see
+	 * {@link SQLDialect#getMaxMultiRowInsertRows()}.
+	 */
+	static final ConfigProperty<Integer> INSERT_ROWS = ConfigProperty.create(DEFAULT_PARAMETER_PREFIX + ".insert-rows",
+			Integer.class);
+
+}
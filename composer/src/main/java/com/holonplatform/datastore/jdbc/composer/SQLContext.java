@@ -54,6 +54,17 @@ public interface SQLContext extends ExpressionResolverProvider {
 		return SQLTypeConverter.getDefault();
 	}
 
+	/**
+	 * Get the version of the expression resolvers of this context, which must change each time an expression resolver
+	 * is added or removed. It allows to reuse any resolution structure derived from the context resolvers while the
+	 * version is unchanged.
+	 * @return The expression resolvers version, or <code>-1</code> if the expression resolvers are not versioned
+	 * @since 6.0.3
+	 */
+	default long getExpressionResolversVersion() {
+		return -1L;
+	}
+
 	/**
 	 * Trace given SQL statement.
 	 * <p>
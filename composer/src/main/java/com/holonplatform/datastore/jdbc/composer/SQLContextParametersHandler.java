@@ -17,6 +17,7 @@ package com.holonplatform.datastore.jdbc.composer;
 
 import java.io.Serializable;
 import java.util.Map;
+import java.util.Optional;
 
 import com.holonplatform.datastore.jdbc.composer.expression.SQLParameter;
 import com.holonplatform.datastore.jdbc.composer.internal.DefaultSQLContextParametersHandler;
@@ -28,6 +29,19 @@ import com.holonplatform.datastore.jdbc.composer.internal.DefaultSQLContextParam
  */
 public interface SQLContextParametersHandler extends Serializable {
 
+	/**
+	 * Named parameter placeholder prefix. The parameter placeholders are expressed using the prefix, followed by the
+	 * parameter index and by the {@link #PARAMETER_PLACEHOLDER_SUFFIX}, for example <code>:[1]</code>.
+	 * @since 6.0.3
+	 */
+	static final String PARAMETER_PLACEHOLDER_PREFIX = ":[";
+
+	/**
+	 * Named parameter placeholder suffix.
+	 * @since 6.0.3
+	 */
+	static final char PARAMETER_PLACEHOLDER_SUFFIX = ']';
+
 	/**
 	 * Add named parameter using given {@link SQLParameter} definition.
 	 * @param <T> Parameter expression type
@@ -42,6 +56,18 @@ public interface SQLContextParametersHandler extends Serializable {
 	 */
 	Map<String, SQLParameter<?>> getNamedParameters();
 
+	/**
+	 * Get the named parameter with given index.
+	 * @param index The parameter index, i.e. the number which follows the {@link #PARAMETER_PLACEHOLDER_PREFIX} in the
+	 *        parameter name, starting from <code>1</code>
+	 * @return The parameter with given index, empty if not found
+	 * @since 6.0.3
+	 */
+	default Optional<SQLParameter<?>> getNamedParameter(int index) {
+		return Optional.ofNullable(
+				getNamedParameters().get(PARAMETER_PLACEHOLDER_PREFIX + index + PARAMETER_PLACEHOLDER_SUFFIX));
+	}
+
 	/**
 	 * Create a new {@link SQLContextParametersHandler}.
 	 * @return A new {@link SQLContextParametersHandler}
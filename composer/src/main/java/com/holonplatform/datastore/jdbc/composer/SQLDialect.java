@@ -18,6 +18,7 @@ package com.holonplatform.datastore.jdbc.composer;
 import java.io.Serializable;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.List;
 import java.util.Optional;
 
 import com.holonplatform.core.exceptions.DataAccessException;
@@ -196,6 +197,82 @@ public interface SQLDialect extends Serializable {
 		return true;
 	}
 
+	/**
+	 * Get whether row value constructors comparison is supported, for example <code>(a, b) &gt; (?, ?)</code>.
+	 * @return <code>true</code> if row value constructors comparison is supported
+	 * @since 6.0.3
+	 */
+	default boolean supportsRowValueComparison() {
+		return false;
+	}
+
+	/**
+	 * Get the max number of rows which can be inserted using a single multi-row <code>INSERT</code> statement, i.e.
+	 * using a <code>VALUES</code> clause with more than one row value constructor, for example
+	 * <code>INSERT INTO t (a, b) VALUES (?, ?), (?, ?)</code>.
+	 * @return The max number of rows for a multi-row insert statement, <code>0</code> if multi-row insert is not
+	 *         supported or {@link Integer#MAX_VALUE} if there is no limit
+	 * @since 6.0.3
+	 */
+	default int getMaxMultiRowInsertRows() {
+		return 0;
+	}
+
+	/**
+	 * Get the max number of parameters which can be used in a single SQL statement.
+	 * @return The max number of statement parameters, <code>0</code> if there is no known limit
+	 * @since 6.0.3
+	 */
+	default int getMaxStatementParameters() {
+		return 0;
+	}
+
+	/**
+	 * Get the max length of a SQL statement, in characters.
+	 * @return The max SQL statement length, <code>0</code> if there is no known limit
+	 * @since 6.0.3
+	 */
+	default int getMaxStatementLength() {
+		return 0;
+	}
+
+	/**
+	 * Get the {@link SQLBulkLoader} which can be used to load a large number of rows into a table using a native
+	 * database bulk load facility, if available.
+	 * @return Optional dialect bulk loader, empty if not available
+	 * @since 6.0.3
+	 */
+	default Optional<SQLBulkLoader> getBulkLoader() {
+		return Optional.empty();
+	}
+
+	/**
+	 * Get the SQL statement to use to insert a row into given table or to update it if a row with the same key values
+	 * already exists, using a single statement (i.e. an <em>upsert</em> statement).
+	 * @param table The table name
+	 * @param columns The column names
+	 * @param values The SQL column values, for example the statement parameter placeholders, in the same order of the
+	 *        column names
+	 * @param keyColumns The key column names, which must be included in the column names
+	 * @return Optional upsert statement SQL, empty if not supported by the dialect
+	 * @since 6.0.3
+	 */
+	default Optional<String> getUpsertStatement(String table, List<String> columns, List<String> values,
+			List<String> keyColumns) {
+		return Optional.empty();
+	}
+
+	/**
+	 * Get the SQL statement to use to obtain the execution plan of given SQL statement, without executing it. The
+	 * returned statement accepts the same parameters of the given statement.
+	 * @param sql The SQL statement
+	 * @return Optional execution plan statement SQL, empty if not supported by the dialect
+	 * @since 6.0.3
+	 */
+	default Optional<String> getExplainStatement(String sql) {
+		return Optional.empty();
+	}
+
 	/**
 	 * Get the SQL lock clause for given lock condition.
 	 * @param mode Lock mode
@@ -240,6 +317,26 @@ public interface SQLDialect extends Serializable {
 		return Optional.of(DefaultLimitHandler.INSTANCE);
 	}
 
+	/**
+	 * Get the default JDBC fetch size to use for query statements, i.e. the number of rows which should be fetched
+	 * from the database when more rows are needed.
+	 * @return The default fetch size, <code>0</code> to use the JDBC driver default
+	 * @since 6.0.3
+	 */
+	default int getDefaultFetchSize() {
+		return 0;
+	}
+
+	/**
+	 * Get whether the connection auto-commit mode must be disabled for the JDBC driver to honor the statement fetch
+	 * size, i.e. to use a database cursor instead of loading the whole results.
+	 * @return <code>true</code> if the auto-commit mode must be disabled to use the fetch size
+	 * @since 6.0.3
+	 */
+	default boolean fetchSizeRequiresAutoCommitDisabled() {
+		return false;
+	}
+
 	/**
 	 * Handler to apply limit/offset to SQL query.
 	 */
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.composer;
+
+import com.holonplatform.core.Expression.InvalidExpressionException;
+import com.holonplatform.core.query.QueryOperation;
+import com.holonplatform.datastore.jdbc.composer.expression.SQLQuery;
+import com.holonplatform.datastore.jdbc.composer.internal.DefaultSQLQueryPlanCache;
+
+/**
+ * A bounded cache of the compiled {@link SQLQuery} plans, keyed by the query operation <em>shape</em>.
+ * <p>
+ * When a query operation has the same shape of a previously resolved one, i.e. it only differs for the constant
+ * values used in the query filters, the cached SQL statement and results converter are reused and only the new
+ * parameter values are bound, skipping the query composition.
+ * </p>
+ * <p>
+ * Query operations which contain relational targets, string match filters, query-level expression resolvers or
+ * custom expressions are always composed and never cached.
+ * </p>
+ *
+ * @since 6.0.3
+ */
+public interface SQLQueryPlanCache {
+
+	/**
+	 * Default max cache size
+	 */
+	static final int DEFAULT_MAX_SIZE = 256;
+
+	/**
+	 * Resolve given query operation into a {@link SQLQuery}, using a cached plan if available.
+	 * @param queryOperation The query operation to resolve (not null)
+	 * @param context The composition context to use to resolve the query operation (not null)
+	 * @return The resolved {@link SQLQuery}
+	 * @throws InvalidExpressionException If the query operation cannot be resolved
+	 */
+	SQLQuery resolve(QueryOperation<?, ?> queryOperation, SQLCompositionContext context)
+			throws InvalidExpressionException;
+
+	/**
+	 * Get the number of cached query plans.
+	 * @return The cache size
+	 */
+	int size();
+
+	/**
+	 * Remove all the cached query plans.
+	 */
+	void clear();
+
+	/**
+	 * Create a new {@link SQLQueryPlanCache}.
+	 * @param maxSize The max number of cached query plans: when exceeded, the least recently used plans are evicted
+	 * @return A new {@link SQLQueryPlanCache}
+	 */
+	static SQLQueryPlanCache create(int maxSize) {
+		return new DefaultSQLQueryPlanCache(maxSize);
+	}
+
+}
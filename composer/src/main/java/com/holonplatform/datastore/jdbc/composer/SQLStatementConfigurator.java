@@ -18,6 +18,7 @@ package com.holonplatform.datastore.jdbc.composer;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
+import com.holonplatform.datastore.jdbc.composer.expression.SQLParameter;
 import com.holonplatform.datastore.jdbc.composer.expression.SQLStatement;
 import com.holonplatform.datastore.jdbc.composer.internal.DefaultSQLStatementConfigurator;
 
@@ -39,6 +40,46 @@ public interface SQLStatementConfigurator {
 	PreparedStatement configureStatement(SQLContext context, PreparedStatement jdbcStatement, SQLStatement sqlStatement)
 			throws SQLException;
 
+	/**
+	 * Get a {@link StatementParametersBinder} which can be used to set the parameter values of given statement more
+	 * than once, for example for each row of a batch operation. The statement parameters are used as template to
+	 * obtain the parameter types and temporal types, while their values are ignored.
+	 * <p>
+	 * The default implementation delegates to {@link #configureStatement(SQLContext, PreparedStatement, SQLStatement)}
+	 * for each binding.
+	 * </p>
+	 * @param context SQL context (not null)
+	 * @param sqlStatement The SQL statement definition (not null)
+	 * @return The statement parameters binder
+	 * @since 6.0.3
+	 */
+	default StatementParametersBinder getParametersBinder(SQLContext context, SQLStatement sqlStatement) {
+		final SQLParameter<?>[] parameters = sqlStatement.getParameters();
+		return new StatementParametersBinder() {
+
+			@Override
+			public int getParameterCount() {
+				return parameters.length;
+			}
+
+			@SuppressWarnings({ "rawtypes", "unchecked" })
+			@Override
+			public void bind(PreparedStatement jdbcStatement, Object[] values) throws SQLException {
+				if (values.length != parameters.length) {
+					throw new SQLException(
+							"Expected " + parameters.length + " statement parameter values but got " + values.length);
+				}
+				final SQLParameter<?>[] actual = new SQLParameter<?>[parameters.length];
+				for (int i = 0; i < parameters.length; i++) {
+					actual[i] = SQLParameter.create(values[i], (Class) parameters[i].getType(),
+							parameters[i].getTemporalType().orElse(null));
+				}
+				configureStatement(context, jdbcStatement, SQLStatement.create(sqlStatement.getSql(), actual));
+			}
+
+		};
+	}
+
 	/**
 	 * Get the default {@link SQLStatementConfigurator}.
 	 * @return the default {@link SQLStatementConfigurator}
@@ -47,4 +88,27 @@ public interface SQLStatementConfigurator {
 		return DefaultSQLStatementConfigurator.INSTANCE;
 	}
 
+	/**
+	 * Sets the parameter values of a JDBC statement using pre-computed parameter bindings.
+	 * 
+	 * @since 6.0.3
+	 */
+	public interface StatementParametersBinder {
+
+		/**
+		 * Get the number of statement parameters.
+		 * @return the statement parameters count
+		 */
+		int getParameterCount();
+
+		/**
+		 * Set the statement parameter values.
+		 * @param jdbcStatement The JDBC statement to configure (not null)
+		 * @param values The parameter values, in the statement parameters order (not null)
+		 * @throws SQLException If an error occurred
+		 */
+		void bind(PreparedStatement jdbcStatement, Object[] values) throws SQLException;
+
+	}
+
 }
@@ -45,6 +45,17 @@ public interface SQLValueDeserializer {
 	 */
 	void addValueProcessor(ValueProcessor valueProcessor);
 
+	/**
+	 * Get whether any {@link ValueProcessor} is registered in this deserializer. When no value processor is registered,
+	 * a result value which is already of the expected type can be read using a type specific getter, without going
+	 * through the deserializer.
+	 * @return <code>true</code> if any value processor is registered, or if it cannot be determined
+	 * @since 6.0.3
+	 */
+	default boolean hasValueProcessors() {
+		return true;
+	}
+
 	/**
 	 * Create the default {@link SQLValueDeserializer}.
 	 * @return the default {@link SQLValueDeserializer}
@@ -141,6 +141,33 @@ public class DB2Dialect implements SQLDialect {
 		return false;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLDialect#getMaxMultiRowInsertRows()
+	 */
+	@Override
+	public int getMaxMultiRowInsertRows() {
+		return Integer.MAX_VALUE;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLDialect#getMaxStatementParameters()
+	 */
+	@Override
+	public int getMaxStatementParameters() {
+		return 32767;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLDialect#getMaxStatementLength()
+	 */
+	@Override
+	public int getMaxStatementLength() {
+		return 2097152;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.datastore.jdbc.composer.SQLDialect#getTableName(java.lang.String)
@@ -24,12 +24,15 @@ import com.holonplatform.core.exceptions.DataAccessException;
 import com.holonplatform.core.query.QueryFunction;
 import com.holonplatform.core.query.QueryFunction.Avg;
 import com.holonplatform.core.query.lock.LockAcquisitionException;
+import com.holonplatform.datastore.jdbc.composer.SQLBulkLoader;
 import com.holonplatform.datastore.jdbc.composer.SQLDialect;
 import com.holonplatform.datastore.jdbc.composer.SQLDialectContext;
 import com.holonplatform.datastore.jdbc.composer.expression.SQLFunction;
 import com.holonplatform.datastore.jdbc.composer.expression.SQLQueryDefinition;
 import com.holonplatform.datastore.jdbc.composer.internal.SQLExceptionHelper;
 import com.holonplatform.datastore.jdbc.composer.internal.dialect.DialectFunctionsRegistry;
+import com.holonplatform.datastore.jdbc.composer.internal.dialect.H2BulkLoader;
+import com.holonplatform.datastore.jdbc.composer.internal.dialect.UpsertStatements;
 
 /**
  * H2 {@link SQLDialect}.
@@ -117,6 +120,53 @@ public class H2Dialect implements SQLDialect {
 		return generatedKeyAlwaysReturned;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLDialect#supportsRowValueComparison()
+	 */
+	@Override
+	public boolean supportsRowValueComparison() {
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLDialect#getMaxMultiRowInsertRows()
+	 */
+	@Override
+	public int getMaxMultiRowInsertRows() {
+		return Integer.MAX_VALUE;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLDialect#getBulkLoader()
+	 */
+	@Override
+	public Optional<SQLBulkLoader> getBulkLoader() {
+		return Optional.of(H2BulkLoader.INSTANCE);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLDialect#getUpsertStatement(java.lang.String, java.util.List,
+	 * java.util.List, java.util.List)
+	 */
+	@Override
+	public Optional<String> getUpsertStatement(String table, List<String> columns, List<String> values,
+			List<String> keyColumns) {
+		return Optional.of(UpsertStatements.merge(table, columns, values, keyColumns));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLDialect#getExplainStatement(java.lang.String)
+	 */
+	@Override
+	public Optional<String> getExplainStatement(String sql) {
+		return Optional.of("EXPLAIN " + sql);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.datastore.jdbc.composer.SQLDialect#getTableName(java.lang.String)
@@ -101,6 +101,33 @@ public class MySQLDialect implements SQLDialect {
 		return generatedKeyAlwaysReturned;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLDialect#supportsRowValueComparison()
+	 */
+	@Override
+	public boolean supportsRowValueComparison() {
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLDialect#getMaxMultiRowInsertRows()
+	 */
+	@Override
+	public int getMaxMultiRowInsertRows() {
+		return Integer.MAX_VALUE;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLDialect#getMaxStatementParameters()
+	 */
+	@Override
+	public int getMaxStatementParameters() {
+		return 65535;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.datastore.jdbc.composer.SQLDialect#useOuterInJoins()
@@ -153,6 +180,15 @@ public class MySQLDialect implements SQLDialect {
 		return SQLDialect.super.translateException(exception);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLDialect#getExplainStatement(java.lang.String)
+	 */
+	@Override
+	public Optional<String> getExplainStatement(String sql) {
+		return Optional.of("EXPLAIN " + sql);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.datastore.jdbc.composer.SQLDialect#getLimitHandler()
@@ -157,6 +157,16 @@ public class OracleDialect implements SQLDialect {
 		return (oracleVersion >= 12) ? Optional.of(LIMIT_HANDLER_12c) : Optional.of(LIMIT_HANDLER);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLDialect#getDefaultFetchSize()
+	 */
+	@Override
+	public int getDefaultFetchSize() {
+		// the Oracle driver default (10 rows) leads to too many round trips
+		return 100;
+	}
+
 	@SuppressWarnings("serial")
 	private static final class OracleLimitHandler implements LimitHandler {
 
@@ -109,6 +109,33 @@ public class PostgreSQLDialect implements SQLDialect {
 		return generatedKeyAlwaysReturned;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLDialect#supportsRowValueComparison()
+	 */
+	@Override
+	public boolean supportsRowValueComparison() {
+		return true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLDialect#getMaxMultiRowInsertRows()
+	 */
+	@Override
+	public int getMaxMultiRowInsertRows() {
+		return Integer.MAX_VALUE;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLDialect#getMaxStatementParameters()
+	 */
+	@Override
+	public int getMaxStatementParameters() {
+		return 32767;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see
@@ -137,6 +164,15 @@ public class PostgreSQLDialect implements SQLDialect {
 		return SQLDialect.super.translateException(exception);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLDialect#getExplainStatement(java.lang.String)
+	 */
+	@Override
+	public Optional<String> getExplainStatement(String sql) {
+		return Optional.of("EXPLAIN " + sql);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.datastore.jdbc.composer.SQLDialect#getLimitHandler()
@@ -146,6 +182,15 @@ public class PostgreSQLDialect implements SQLDialect {
 		return Optional.of(LIMIT_HANDLER);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLDialect#fetchSizeRequiresAutoCommitDisabled()
+	 */
+	@Override
+	public boolean fetchSizeRequiresAutoCommitDisabled() {
+		return true;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.datastore.jdbc.composer.SQLDialect#getTableName(java.lang.String)
@@ -155,6 +155,24 @@ public class SQLServerDialect implements SQLDialect {
 		return true;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLDialect#getMaxMultiRowInsertRows()
+	 */
+	@Override
+	public int getMaxMultiRowInsertRows() {
+		return 1000;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLDialect#getMaxStatementParameters()
+	 */
+	@Override
+	public int getMaxStatementParameters() {
+		return 2100;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.composer.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.query.QuerySort;
+import com.holonplatform.core.query.QuerySort.CompositeQuerySort;
+import com.holonplatform.core.query.QuerySort.PathQuerySort;
+import com.holonplatform.datastore.jdbc.composer.KeysetFilter;
+
+/**
+ * Default {@link KeysetFilter} implementation.
+ *
+ * @since 6.0.3
+ */
+public class DefaultKeysetFilter implements KeysetFilter {
+
+	private static final long serialVersionUID = 2446401826585431716L;
+
+	/**
+	 * Sort paths
+	 */
+	private final List<PathQuerySort<?>> sorts;
+
+	/**
+	 * Sort values
+	 */
+	private final List<Object> values;
+
+	/**
+	 * Constructor.
+	 * @param sort The query sort (not null)
+	 * @param values The sort values (not null)
+	 */
+	public DefaultKeysetFilter(QuerySort sort, List<?> values) {
+		super();
+		ObjectUtils.argumentNotNull(values, "Keyset values must be not null");
+		this.sorts = getPathSorts(sort);
+		this.values = Collections.unmodifiableList(new ArrayList<>(values));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.KeysetFilter#getSorts()
+	 */
+	@Override
+	public List<PathQuerySort<?>> getSorts() {
+		return sorts;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.KeysetFilter#getValues()
+	 */
+	@Override
+	public List<Object> getValues() {
+		return values;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.Expression#validate()
+	 */
+	@Override
+	public void validate() throws InvalidExpressionException {
+		if (sorts.isEmpty()) {
+			throw new InvalidExpressionException("Missing keyset sort paths");
+		}
+		if (values == null || values.size() != sorts.size()) {
+			throw new InvalidExpressionException("Keyset values count [" + ((values != null) ? values.size() : 0)
+					+ "] does not match the sort paths count [" + sorts.size() + "]");
+		}
+		for (int i = 0; i < values.size(); i++) {
+			if (values.get(i) == null) {
+				throw new InvalidExpressionException(
+						"Null keyset value for sort path [" + sorts.get(i).getPath().relativeName() + "]");
+			}
+		}
+	}
+
+	/**
+	 * Get the {@link PathQuerySort}s which compose given sort, in the declaration order.
+	 * @param sort The query sort (not null)
+	 * @return The path sorts list
+	 * @throws IllegalArgumentException If the sort is not a path sort or a composition of path sorts
+	 */
+	public static List<PathQuerySort<?>> getPathSorts(QuerySort sort) {
+		ObjectUtils.argumentNotNull(sort, "QuerySort must be not null");
+		final List<PathQuerySort<?>> sorts = new ArrayList<>();
+		addPathSorts(sort, sorts);
+		return Collections.unmodifiableList(sorts);
+	}
+
+	private static void addPathSorts(QuerySort sort, List<PathQuerySort<?>> sorts) {
+		if (sort instanceof PathQuerySort) {
+			sorts.add((PathQuerySort<?>) sort);
+		} else if (sort instanceof CompositeQuerySort) {
+			for (QuerySort s : ((CompositeQuerySort) sort).getComposition()) {
+				addPathSorts(s, sorts);
+			}
+		} else {
+			throw new IllegalArgumentException("Unsupported keyset sort [" + sort
+					+ "]: only path sorts or a composition of path sorts are supported");
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultKeysetFilter [sorts=" + sorts + ", values=" + values + "]";
+	}
+
+}
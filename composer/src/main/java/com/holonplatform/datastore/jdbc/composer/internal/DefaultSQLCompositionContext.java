@@ -16,16 +16,14 @@
 package com.holonplatform.datastore.jdbc.composer.internal;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 import com.holonplatform.core.Expression;
 import com.holonplatform.core.Expression.InvalidExpressionException;
 import com.holonplatform.core.ExpressionResolver;
 import com.holonplatform.core.ExpressionResolver.ResolutionContext;
-import com.holonplatform.core.ExpressionResolverRegistry;
 import com.holonplatform.core.internal.Logger;
 import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.datastore.jdbc.composer.SQLCompositionContext;
@@ -48,9 +46,9 @@ public class DefaultSQLCompositionContext implements SQLCompositionContext {
 	private final static Logger LOGGER = SQLComposerLogger.create();
 
 	/**
-	 * Expression resolvers
+	 * Expression resolvers: shared with the parent context until a resolver is added or removed
 	 */
-	private final ExpressionResolverRegistry expressionResolverRegistry = ExpressionResolverRegistry.create();
+	private volatile ExpressionResolverTable expressionResolvers;
 
 	/**
 	 * SQL context
@@ -84,7 +82,9 @@ public class DefaultSQLCompositionContext implements SQLCompositionContext {
 		this.contextSequence = 0;
 		this.namedParametersHandler = SQLContextParametersHandler.create();
 		// inherit resolvers
-		addExpressionResolvers(context.getExpressionResolvers());
+		this.expressionResolvers = (context instanceof DefaultSQLCompositionContext)
+				? ((DefaultSQLCompositionContext) context).expressionResolvers
+				: ExpressionResolverTable.of(context);
 	}
 
 	/**
@@ -99,7 +99,9 @@ public class DefaultSQLCompositionContext implements SQLCompositionContext {
 		this.contextSequence = SQLCompositionContext.getContextSequence(parent, SQLCompositionContext.class) + 1;
 		this.namedParametersHandler = parent.getNamedParametersHandler();
 		// inherit resolvers
-		addExpressionResolvers(parent.getExpressionResolvers());
+		this.expressionResolvers = (parent instanceof DefaultSQLCompositionContext)
+				? ((DefaultSQLCompositionContext) parent).expressionResolvers
+				: ExpressionResolverTable.of(parent);
 	}
 
 	/**
@@ -182,47 +184,92 @@ public class DefaultSQLCompositionContext implements SQLCompositionContext {
 
 		LOGGER.debug(() -> "Prepare statement: " + sql);
 
-		final StringBuilder sb = new StringBuilder();
+		int placeholder = nextPlaceholder(sql, 0);
+		if (placeholder < 0) {
+			// no parameters
+			return SQLStatement.create(sql);
+		}
 
-		// check named parameters
-		final Map<String, SQLParameter<?>> namedParameters = getNamedParametersHandler().getNamedParameters();
+		final int length = sql.length();
+		final StringBuilder sb = new StringBuilder(length);
+		final List<SQLParameter<?>> parameters = new ArrayList<>();
+
+		int copied = 0;
+		while (placeholder > -1) {
+			// parse parameter index
+			int end = placeholder + SQLContextParametersHandler.PARAMETER_PLACEHOLDER_PREFIX.length();
+			int index = 0;
+			while (end < length && Character.isDigit(sql.charAt(end)) && index < Integer.MAX_VALUE / 10) {
+				index = index * 10 + (sql.charAt(end) - '0');
+				end++;
+			}
+			if (index == 0 || end >= length
+					|| sql.charAt(end) != SQLContextParametersHandler.PARAMETER_PLACEHOLDER_SUFFIX) {
+				// not a parameter placeholder
+				placeholder = nextPlaceholder(sql, placeholder + 1);
+				continue;
+			}
 
-		final List<SQLParameter<?>> parameters = new ArrayList<>(namedParameters.size());
+			final int position = placeholder;
+			final int parameterIndex = index;
+			final SQLParameter<?> parameter = getNamedParametersHandler().getNamedParameter(parameterIndex)
+					.orElseThrow(() -> new SQLStatementPreparationException(
+							"The named parameter with index " + parameterIndex + " at position " + position
+									+ " was not found in SQL composition context"));
 
-		final char[] chars = sql.toCharArray();
-		for (int i = 0; i < chars.length; i++) {
-			if (chars[i] == ':' && (chars.length - i) >= 7) {
-				String namedParameterPlaceholder = String.valueOf(Arrays.copyOfRange(chars, i, i + 7));
+			// two distinct extension points, both served by the indexed resolvers table: the intermediate resolution
+			// adapts the parameter value to the dialect (for example a Reader into a String), while the SQL resolution
+			// renders the parameter placeholder, applying the parameter serialization function
 
-				SQLParameter<?> parameter = namedParameters.get(namedParameterPlaceholder);
-				if (parameter == null) {
-					throw new SQLStatementPreparationException("The named parameter " + namedParameterPlaceholder
-							+ " at index " + i + " was not found in SQL composition context");
-				}
+			// intermediate parameter resolution
+			final SQLParameter<?> actualParameter = resolve(parameter, SQLParameter.class).orElse(parameter);
 
-				LOGGER.debug(() -> "Resolve parameter for placeholder " + namedParameterPlaceholder);
+			// resolve parameter as SQL
+			final SQLExpression parameterExpression = resolve(actualParameter, SQLExpression.class).orElseThrow(
+					() -> new InvalidExpressionException("Failed to resolve parameter [" + actualParameter + "]"));
 
-				// intermediate parameter resolution
-				final SQLParameter<?> actualParameter = resolve(parameter, SQLParameter.class).orElse(parameter);
+			LOGGER.debug(() -> "Resolved parameter with index " + parameterIndex + " as "
+					+ parameterExpression.getValue());
 
-				// resolve parameter as SQL
-				final SQLExpression parameterExpression = resolve(actualParameter, SQLExpression.class).orElseThrow(
-						() -> new InvalidExpressionException("Failed to resolve parameter [" + actualParameter + "]"));
+			// replace parameter
+			sb.append(sql, copied, placeholder);
+			sb.append(parameterExpression.getValue());
+			parameters.add(actualParameter);
 
-				LOGGER.debug(() -> "Resolved parameter for placeholder " + namedParameterPlaceholder + " as "
-						+ parameterExpression.getValue());
+			copied = end + 1;
+			placeholder = nextPlaceholder(sql, copied);
+		}
+		sb.append(sql, copied, length);
 
-				// replace parameter
-				sb.append(parameterExpression.getValue());
-				parameters.add(actualParameter);
+		return SQLStatement.create(sb.toString(), parameters.toArray(new SQLParameter<?>[parameters.size()]));
+	}
 
-				i = i + 6;
-				continue;
+	/**
+	 * Get the position of the next parameter placeholder prefix in given SQL, skipping the quoted string literals.
+	 * @param sql The SQL statement
+	 * @param from The position from which to start the search, which must not be within a string literal
+	 * @return The placeholder prefix position, <code>-1</code> if not found
+	 */
+	private static int nextPlaceholder(String sql, int from) {
+		final int length = sql.length();
+		final char prefix = SQLContextParametersHandler.PARAMETER_PLACEHOLDER_PREFIX.charAt(0);
+		int i = from;
+		while (i < length) {
+			final char c = sql.charAt(i);
+			if (c == '\'') {
+				// skip the string literal, a doubled quote is an escaped quote
+				final int end = sql.indexOf('\'', i + 1);
+				if (end < 0) {
+					return -1;
+				}
+				i = end + 1;
+			} else if (c == prefix && sql.startsWith(SQLContextParametersHandler.PARAMETER_PLACEHOLDER_PREFIX, i)) {
+				return i;
+			} else {
+				i++;
 			}
-			sb.append(chars[i]);
 		}
-
-		return SQLStatement.create(sb.toString(), parameters.toArray(new SQLParameter[parameters.size()]));
+		return -1;
 	}
 
 	/*
@@ -245,7 +292,7 @@ public class DefaultSQLCompositionContext implements SQLCompositionContext {
 	@SuppressWarnings("rawtypes")
 	@Override
 	public Iterable<ExpressionResolver> getExpressionResolvers() {
-		return expressionResolverRegistry.getExpressionResolvers();
+		return expressionResolvers.getExpressionResolvers();
 	}
 
 	/*
@@ -257,7 +304,7 @@ public class DefaultSQLCompositionContext implements SQLCompositionContext {
 	@Override
 	public <E extends Expression, R extends Expression> Optional<R> resolve(E expression, Class<R> resolutionType,
 			ResolutionContext context) throws InvalidExpressionException {
-		return expressionResolverRegistry.resolve(expression, resolutionType, context);
+		return expressionResolvers.resolve(expression, resolutionType, context);
 	}
 
 	/*
@@ -269,7 +316,19 @@ public class DefaultSQLCompositionContext implements SQLCompositionContext {
 	@Override
 	public <E extends Expression, R extends Expression> void addExpressionResolver(
 			ExpressionResolver<E, R> expressionResolver) {
-		expressionResolverRegistry.addExpressionResolver(expressionResolver);
+		ObjectUtils.argumentNotNull(expressionResolver, "ExpressionResolver to add must be not null");
+		expressionResolvers = expressionResolvers.with(Collections.singleton(expressionResolver));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.core.ExpressionResolver.ExpressionResolverSupport#addExpressionResolvers(java.lang.Iterable)
+	 */
+	@SuppressWarnings("rawtypes")
+	@Override
+	public void addExpressionResolvers(Iterable<? extends ExpressionResolver> resolvers) {
+		expressionResolvers = expressionResolvers.with(resolvers);
 	}
 
 	/*
@@ -281,7 +340,7 @@ public class DefaultSQLCompositionContext implements SQLCompositionContext {
 	@Override
 	public <E extends Expression, R extends Expression> void removeExpressionResolver(
 			ExpressionResolver<E, R> expressionResolver) {
-		expressionResolverRegistry.removeExpressionResolver(expressionResolver);
+		expressionResolvers = expressionResolvers.without(expressionResolver);
 	}
 
 }
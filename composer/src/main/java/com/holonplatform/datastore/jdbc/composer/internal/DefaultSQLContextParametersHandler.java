@@ -15,9 +15,12 @@
  */
 package com.holonplatform.datastore.jdbc.composer.internal;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import com.holonplatform.core.internal.Logger;
 import com.holonplatform.core.internal.utils.ObjectUtils;
@@ -36,9 +39,20 @@ public class DefaultSQLContextParametersHandler implements SQLContextParametersH
 	private final static Logger LOGGER = SQLComposerLogger.create();
 
 	/**
-	 * Named parameters
+	 * Named parameters, by index
 	 */
-	private final Map<String, SQLParameter<?>> namedParameters = new HashMap<>();
+	private final List<SQLParameter<?>> namedParameters = new ArrayList<>();
+
+	/**
+	 * Named parameters, by name
+	 */
+	private final Map<String, SQLParameter<?>> namedParametersByName = new LinkedHashMap<>();
+
+	/**
+	 * Read-only view of the named parameters by name
+	 */
+	private final Map<String, SQLParameter<?>> namedParametersView = Collections
+			.unmodifiableMap(namedParametersByName);
 
 	/*
 	 * (non-Javadoc)
@@ -49,10 +63,11 @@ public class DefaultSQLContextParametersHandler implements SQLContextParametersH
 	public <T> String addNamedParameter(SQLParameter<T> parameter) {
 		ObjectUtils.argumentNotNull(parameter, "Parameter must be not null");
 		synchronized (namedParameters) {
-			// generate name
-			final String name = generateParameterName(namedParameters.size() + 1);
 			// add parameter
-			namedParameters.put(name, parameter);
+			namedParameters.add(parameter);
+			// generate name
+			final String name = generateParameterName(namedParameters.size());
+			namedParametersByName.put(name, parameter);
 
 			LOGGER.debug(() -> "Added parameter with name " + name);
 
@@ -67,16 +82,30 @@ public class DefaultSQLContextParametersHandler implements SQLContextParametersH
 	 */
 	@Override
 	public Map<String, SQLParameter<?>> getNamedParameters() {
-		return Collections.unmodifiableMap(namedParameters);
+		return namedParametersView;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLContextParametersHandler#getNamedParameter(int)
+	 */
+	@Override
+	public Optional<SQLParameter<?>> getNamedParameter(int index) {
+		synchronized (namedParameters) {
+			return (index > 0 && index <= namedParameters.size()) ? Optional.of(namedParameters.get(index - 1))
+					: Optional.empty();
+		}
 	}
 
 	/**
-	 * Generate a named parameter name. By default, the pattern <code>:[001]</code> is used.
+	 * Generate a named parameter name. By default, the pattern <code>:[1]</code> is used, i.e. the
+	 * {@link SQLContextParametersHandler#PARAMETER_PLACEHOLDER_PREFIX}, followed by the parameter index and by the
+	 * {@link SQLContextParametersHandler#PARAMETER_PLACEHOLDER_SUFFIX}.
 	 * @param index Parameter index
 	 * @return Parameter name
 	 */
 	protected String generateParameterName(int index) {
-		return ":[" + String.format("%04d", index) + "]";
+		return PARAMETER_PLACEHOLDER_PREFIX + index + PARAMETER_PLACEHOLDER_SUFFIX;
 	}
 
 }
@@ -21,6 +21,7 @@ import java.util.List;
 import com.holonplatform.datastore.jdbc.composer.internal.resolvers.CollectionExpressionResolver;
 import com.holonplatform.datastore.jdbc.composer.internal.resolvers.ConstantExpressionResolver;
 import com.holonplatform.datastore.jdbc.composer.internal.resolvers.ExistFilterResolver;
+import com.holonplatform.datastore.jdbc.composer.internal.resolvers.KeysetFilterResolver;
 import com.holonplatform.datastore.jdbc.composer.internal.resolvers.NotExistFilterResolver;
 import com.holonplatform.datastore.jdbc.composer.internal.resolvers.NullExpressionResolver;
 import com.holonplatform.datastore.jdbc.composer.internal.resolvers.PathResolver;
@@ -88,6 +89,7 @@ public class DefaultSQLExpressionResolvers {
 		expressionResolvers.add(NotExistFilterResolver.INSTANCE);
 		expressionResolvers.add(QueryAggregationResolver.INSTANCE);
 		expressionResolvers.add(SQLWhereFilterResolver.INSTANCE);
+		expressionResolvers.add(KeysetFilterResolver.INSTANCE);
 		expressionResolvers.add(SQLOrderBySortResolver.INSTANCE);
 		expressionResolvers.add(SQLLiteralResolver.INSTANCE);
 		expressionResolvers.add(SQLParameterizableExpressionResolver.INSTANCE);
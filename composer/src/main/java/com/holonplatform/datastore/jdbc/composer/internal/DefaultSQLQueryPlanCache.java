@@ -0,0 +1,213 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.composer.internal;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.holonplatform.core.Expression.InvalidExpressionException;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.query.QueryOperation;
+import com.holonplatform.datastore.jdbc.composer.SQLCompositionContext;
+import com.holonplatform.datastore.jdbc.composer.SQLQueryPlanCache;
+import com.holonplatform.datastore.jdbc.composer.SQLResultConverter;
+import com.holonplatform.datastore.jdbc.composer.expression.SQLExpression;
+import com.holonplatform.datastore.jdbc.composer.expression.SQLParameter;
+import com.holonplatform.datastore.jdbc.composer.expression.SQLQuery;
+
+/**
+ * Default {@link SQLQueryPlanCache} implementation, using a synchronized LRU map.
+ *
+ * @since 6.0.3
+ */
+public class DefaultSQLQueryPlanCache implements SQLQueryPlanCache {
+
+	private final static Logger LOGGER = SQLComposerLogger.create();
+
+	/**
+	 * Query plans
+	 */
+	private final Map<SQLQueryShape, QueryPlan> plans;
+
+	/**
+	 * Constructor.
+	 * @param maxSize The max number of cached query plans (greater than 0)
+	 */
+	@SuppressWarnings("serial")
+	public DefaultSQLQueryPlanCache(int maxSize) {
+		super();
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("The query plan cache max size must be greater than 0");
+		}
+		this.plans = new LinkedHashMap<SQLQueryShape, QueryPlan>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<SQLQueryShape, QueryPlan> eldest) {
+				return size() > maxSize;
+			}
+
+		};
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLQueryPlanCache#resolve(com.holonplatform.core.query.
+	 * QueryOperation, com.holonplatform.datastore.jdbc.composer.SQLCompositionContext)
+	 */
+	@Override
+	public SQLQuery resolve(QueryOperation<?, ?> queryOperation, SQLCompositionContext context)
+			throws InvalidExpressionException {
+		ObjectUtils.argumentNotNull(queryOperation, "Query operation must be not null");
+		ObjectUtils.argumentNotNull(context, "SQL composition context must be not null");
+
+		final SQLQueryShape shape = SQLQueryShape.of(queryOperation).orElse(null);
+		if (shape == null) {
+			return context.resolveOrFail(queryOperation, SQLQuery.class);
+		}
+
+		// check cached plan
+		final QueryPlan plan;
+		synchronized (plans) {
+			plan = plans.get(shape);
+		}
+		if (plan != null) {
+			final Optional<SQLQuery> query = plan.bind(shape.getValues(), context);
+			if (query.isPresent()) {
+				LOGGER.debug(() -> "Using cached query plan for SQL [" + plan.sql + "]");
+				return query.get();
+			}
+		}
+
+		// compose
+		final SQLQuery query = context.resolveOrFail(queryOperation, SQLQuery.class);
+		QueryPlan.create(query, shape.getValues()).ifPresent(p -> {
+			synchronized (plans) {
+				plans.put(shape, p);
+			}
+		});
+		return query;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLQueryPlanCache#size()
+	 */
+	@Override
+	public int size() {
+		synchronized (plans) {
+			return plans.size();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLQueryPlanCache#clear()
+	 */
+	@Override
+	public void clear() {
+		synchronized (plans) {
+			plans.clear();
+		}
+	}
+
+	/**
+	 * A compiled query plan: the SQL statement, the results converter and the position, in the query shape values, of
+	 * the value to bind for each statement parameter.
+	 */
+	private static final class QueryPlan {
+
+		private final String sql;
+		private final SQLResultConverter<?> resultConverter;
+		private final SQLParameter<?>[] parameters;
+		private final int[] valueIndexes;
+
+		private QueryPlan(SQLQuery query, int[] valueIndexes) {
+			super();
+			this.sql = query.getSql();
+			this.resultConverter = query.getResultConverter();
+			this.parameters = query.getParameters();
+			this.valueIndexes = valueIndexes;
+		}
+
+		/**
+		 * Create a query plan for given query, if each query parameter can be unambiguously matched with one of the
+		 * query shape values.
+		 * @param query The resolved query
+		 * @param values The query shape values
+		 * @return The query plan, empty if the query parameters cannot be matched with the query shape values
+		 */
+		static Optional<QueryPlan> create(SQLQuery query, List<Object> values) {
+			final SQLParameter<?>[] parameters = query.getParameters();
+			if (parameters.length != values.size()) {
+				return Optional.empty();
+			}
+			final int[] valueIndexes = new int[parameters.length];
+			final boolean[] matched = new boolean[values.size()];
+			for (int i = 0; i < parameters.length; i++) {
+				int index = -1;
+				for (int j = 0; j < values.size(); j++) {
+					if (Objects.equals(values.get(j), parameters[i].getValue())) {
+						if (index > -1) {
+							// ambiguous
+							return Optional.empty();
+						}
+						index = j;
+					}
+				}
+				if (index < 0 || matched[index]) {
+					return Optional.empty();
+				}
+				matched[index] = true;
+				valueIndexes[i] = index;
+			}
+			return Optional.of(new QueryPlan(query, valueIndexes));
+		}
+
+		/**
+		 * Bind given query shape values to the query plan parameters.
+		 * @param values The query shape values
+		 * @param context The composition context to use to resolve the parameters
+		 * @return The bound {@link SQLQuery}, empty if a parameter cannot be bound using the cached SQL statement
+		 */
+		@SuppressWarnings({ "rawtypes", "unchecked" })
+		Optional<SQLQuery> bind(List<Object> values, SQLCompositionContext context) {
+			final SQLParameter<?>[] bound = new SQLParameter<?>[parameters.length];
+			for (int i = 0; i < parameters.length; i++) {
+				final SQLParameter<?> cached = parameters[i];
+				final SQLParameter<?> parameter = SQLParameter.create(values.get(valueIndexes[i]),
+						(Class) cached.getType(), cached.getTemporalType().orElse(null),
+						cached.getSerializationFunction());
+				// intermediate parameter resolution
+				final SQLParameter<?> actual = context.resolve(parameter, SQLParameter.class).orElse(parameter);
+				if (actual != parameter && !Objects.equals(serialize(actual, context), serialize(cached, context))) {
+					return Optional.empty();
+				}
+				bound[i] = actual;
+			}
+			return Optional.of(SQLQuery.create(sql, resultConverter, bound));
+		}
+
+		private static String serialize(SQLParameter<?> parameter, SQLCompositionContext context) {
+			return context.resolve(parameter, SQLExpression.class).map(e -> e.getValue()).orElse(null);
+		}
+
+	}
+
+}
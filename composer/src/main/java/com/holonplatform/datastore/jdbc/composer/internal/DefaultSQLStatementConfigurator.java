@@ -36,6 +36,7 @@ import java.util.Date;
 import java.util.Optional;
 
 import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.Logger.Level;
 import com.holonplatform.core.internal.utils.CalendarUtils;
 import com.holonplatform.core.internal.utils.ConversionUtils;
 import com.holonplatform.core.internal.utils.ObjectUtils;
@@ -62,6 +63,18 @@ public enum DefaultSQLStatementConfigurator implements SQLStatementConfigurator
 
 	private final static Logger LOGGER = SQLComposerLogger.create();
 
+	/**
+	 * Parameter value binders by parameter type
+	 */
+	private static final ClassValue<ValueBinder> VALUE_BINDERS = new ClassValue<ValueBinder>() {
+
+		@Override
+		protected ValueBinder computeValue(Class<?> type) {
+			return getValueBinder(type);
+		}
+
+	};
+
 	/*
 	 * (non-Javadoc)
 	 * @see
@@ -84,47 +97,77 @@ public enum DefaultSQLStatementConfigurator implements SQLStatementConfigurator
 
 			// check null
 			if (parameter.getValue() == null) {
-				setNullStatementParameterValue(context, jdbcStatement, (i + 1), parameter.getType());
+				setNullStatementParameterValue(context, jdbcStatement, (i + 1), parameter.getType(),
+						getSqlType(context, parameter.getType()));
 			} else {
 				setStatementParameterValue(context, jdbcStatement, (i + 1), parameter.getType(), parameter.getValue(),
-						parameter.getTemporalType().orElse(null));
+						parameter.getTemporalType().orElse(null), VALUE_BINDERS.get(parameter.getType()), null);
 			}
 		}
 
 		return jdbcStatement;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.datastore.jdbc.composer.SQLStatementConfigurator#getParametersBinder(com.holonplatform.
+	 * datastore.jdbc.composer.SQLContext, com.holonplatform.datastore.jdbc.composer.expression.SQLStatement)
+	 */
+	@Override
+	public StatementParametersBinder getParametersBinder(SQLContext context, SQLStatement sqlStatement) {
+		ObjectUtils.argumentNotNull(context, "SQLContext must be not null");
+		ObjectUtils.argumentNotNull(sqlStatement, "SQLStatement must be not null");
+		return new DefaultStatementParametersBinder(context, sqlStatement.getParameters());
+	}
+
 	/**
-	 * Set a <code>null</code> statement parameter value.
+	 * Get the SQL type which corresponds to given parameter type, using the context type converter.
 	 * @param context SQL context
+	 * @param type Statement parameter type
+	 * @return Optional SQL type
+	 */
+	private static Optional<SQLType> getSqlType(SQLContext context, Class<?> type) {
+		return context.getTypeConverter().getSqlType(context, type);
+	}
+
+	/**
+	 * Get the SQL type to use to set a <code>null</code> parameter value of given type.
+	 * @param context SQL context
+	 * @param type Statement parameter type
+	 * @param sqlType The SQL type which corresponds to the parameter type, if available
+	 * @return The SQL type to use
+	 * @throws SQLException If a SQL type cannot be resolved
+	 */
+	private static SQLType getNullSqlType(SQLContext context, Class<?> type, Optional<SQLType> sqlType)
+			throws SQLException {
+		if (sqlType.isPresent()) {
+			return sqlType.get();
+		}
+		// try to use NULL type
+		if (context.getDialect().supportsSqlType(Types.NULL)) {
+			return SQLType.create(Types.NULL);
+		}
+		throw new SQLException("Failed to set null statement parameter for value type [" + type
+				+ "]: no SQL type can be resolved and dialect does not support NULL sql type");
+	}
+
+	/**
+	 * Set a <code>null</code> statement parameter value.
 	 * @param jdbcStatement The JDBC statement
 	 * @param parameterIndex Statement parameter index
 	 * @param type Statement parameter type
+	 * @param parameterType The SQL type to use
 	 * @throws SQLException If an error occurred
 	 */
-	private static void setNullStatementParameterValue(SQLContext context, PreparedStatement jdbcStatement,
-			int parameterIndex, Class<?> type) throws SQLException {
-
-		LOGGER.debug(() -> "Setting NULL statement parameter value at index [" + parameterIndex + "] for type [" + type
-				+ "]");
+	private static void setNullStatementParameterValue(PreparedStatement jdbcStatement, int parameterIndex,
+			Class<?> type, SQLType parameterType) throws SQLException {
 
-		Optional<SQLType> sqlType = context.getTypeConverter().getSqlType(context, type);
-		if (!sqlType.isPresent()) {
-			// try to use NULL type
-			if (context.getDialect().supportsSqlType(Types.NULL)) {
-				sqlType = Optional.of(SQLType.create(Types.NULL));
-			} else {
-				throw new SQLException("Failed to set null statement parameter for value type [" + type
-						+ "]: no SQL type can be resolved and dialect does not support NULL sql type");
-			}
+		if (LOGGER.isEnabled(Level.DEBUG)) {
+			LOGGER.debug(() -> "Setting NULL statement parameter value at index [" + parameterIndex + "] for type ["
+					+ type + "] and SQL type [" + parameterType + "]");
 		}
 
-		final SQLType parameterType = sqlType.orElseThrow(() -> new SQLException(
-				"Failed to set statement parameter for value type [" + type + "]: no SQL type can be resolved"));
-
-		LOGGER.debug(() -> "Setting NULL statement parameter value at index [" + parameterIndex + "] for type [" + type
-				+ "] and SQL type [" + parameterType + "]");
-
 		// set null value
 		if (parameterType.getName().isPresent()) {
 			jdbcStatement.setNull(parameterIndex, parameterType.getType(), parameterType.getName().get());
@@ -133,6 +176,20 @@ public enum DefaultSQLStatementConfigurator implements SQLStatementConfigurator
 		}
 	}
 
+	/**
+	 * Set a <code>null</code> statement parameter value, resolving the SQL type to use.
+	 * @param context SQL context
+	 * @param jdbcStatement The JDBC statement
+	 * @param parameterIndex Statement parameter index
+	 * @param type Statement parameter type
+	 * @param sqlType The SQL type which corresponds to the parameter type, if available
+	 * @throws SQLException If an error occurred
+	 */
+	private static void setNullStatementParameterValue(SQLContext context, PreparedStatement jdbcStatement,
+			int parameterIndex, Class<?> type, Optional<SQLType> sqlType) throws SQLException {
+		setNullStatementParameterValue(jdbcStatement, parameterIndex, type, getNullSqlType(context, type, sqlType));
+	}
+
 	/**
 	 * Set a statement parameter value.
 	 * @param context SQL context
@@ -141,239 +198,244 @@ public enum DefaultSQLStatementConfigurator implements SQLStatementConfigurator
 	 * @param type Statement parameter type
 	 * @param value Statement parameter value (not null)
 	 * @param temporalType Optional value temporal type
-	 * @return Actual parameter value
+	 * @param binder The value binder to use
+	 * @param sqlType The SQL type which corresponds to the parameter type, if already resolved
 	 * @throws SQLException If an error occurred
 	 */
-	private static Object setStatementParameterValue(SQLContext context, PreparedStatement jdbcStatement,
-			int parameterIndex, Class<?> type, Object value, TemporalType temporalType) throws SQLException {
+	private static void setStatementParameterValue(SQLContext context, PreparedStatement jdbcStatement,
+			int parameterIndex, Class<?> type, Object value, TemporalType temporalType, ValueBinder binder,
+			Optional<SQLType> sqlType) throws SQLException {
+
+		if (LOGGER.isEnabled(Level.DEBUG)) {
+			LOGGER.debug(() -> "Setting statement parameter value at index [" + parameterIndex + "] for type [" + type
+					+ "] and value [" + value + "]");
+		}
+
+		if (!binder.bind(context, jdbcStatement, parameterIndex, value, temporalType)) {
+			// default
+			final Optional<SQLType> parameterSqlType = (sqlType != null) ? sqlType : getSqlType(context, type);
+			if (parameterSqlType.isPresent()) {
+				jdbcStatement.setObject(parameterIndex, value, parameterSqlType.get().getType());
+			} else {
+				// generic object
+				jdbcStatement.setObject(parameterIndex, value);
+			}
+		}
+	}
 
-		LOGGER.debug(() -> "Setting statement parameter value at index [" + parameterIndex + "] for type [" + type
-				+ "] and value [" + value + "]");
+	/**
+	 * Get the {@link ValueBinder} to use for given statement parameter type.
+	 * @param type Statement parameter type
+	 * @return The value binder
+	 */
+	private static ValueBinder getValueBinder(Class<?> type) {
 
 		// CharSequence
 		if (TypeUtils.isCharSequence(type)) {
-			final String str = value.toString();
-			jdbcStatement.setString(parameterIndex, str);
-			LOGGER.debug(() -> "Statement parameter value at index [" + parameterIndex + "] setted as String");
-			return str;
+			return (context, statement, index, value, temporalType) -> {
+				statement.setString(index, value.toString());
+				return true;
+			};
 		}
 
 		// boolean
 		if (TypeUtils.isBoolean(type)) {
-			jdbcStatement.setBoolean(parameterIndex, (Boolean) value);
-			LOGGER.debug(() -> "Statement parameter value at index [" + parameterIndex + "] setted as Boolean");
-			return value;
+			return (context, statement, index, value, temporalType) -> {
+				statement.setBoolean(index, (Boolean) value);
+				return true;
+			};
 		}
 
 		// Numbers
 		if (TypeUtils.isInteger(type)) {
-			// check value type matches
-			jdbcStatement.setInt(parameterIndex, checkNumericValue(value, Integer.class));
-			LOGGER.debug(() -> "Statement parameter value at index [" + parameterIndex + "] setted as Integer");
-			return value;
+			return (context, statement, index, value, temporalType) -> {
+				statement.setInt(index, checkNumericValue(value, Integer.class));
+				return true;
+			};
 		}
 		if (TypeUtils.isLong(type)) {
-			jdbcStatement.setLong(parameterIndex, checkNumericValue(value, Long.class));
-			LOGGER.debug(() -> "Statement parameter value at index [" + parameterIndex + "] setted as Long");
-			return value;
+			return (context, statement, index, value, temporalType) -> {
+				statement.setLong(index, checkNumericValue(value, Long.class));
+				return true;
+			};
 		}
 		if (TypeUtils.isDouble(type)) {
-			jdbcStatement.setDouble(parameterIndex, checkNumericValue(value, Double.class));
-			LOGGER.debug(() -> "Statement parameter value at index [" + parameterIndex + "] setted as Double");
-			return value;
+			return (context, statement, index, value, temporalType) -> {
+				statement.setDouble(index, checkNumericValue(value, Double.class));
+				return true;
+			};
 		}
 		if (TypeUtils.isFloat(type)) {
-			jdbcStatement.setFloat(parameterIndex, checkNumericValue(value, Float.class));
-			LOGGER.debug(() -> "Statement parameter value at index [" + parameterIndex + "] setted as Float");
-			return value;
+			return (context, statement, index, value, temporalType) -> {
+				statement.setFloat(index, checkNumericValue(value, Float.class));
+				return true;
+			};
 		}
 		if (TypeUtils.isShort(type)) {
-			jdbcStatement.setShort(parameterIndex, checkNumericValue(value, Short.class));
-			LOGGER.debug(() -> "Statement parameter value at index [" + parameterIndex + "] setted as Short");
-			return value;
+			return (context, statement, index, value, temporalType) -> {
+				statement.setShort(index, checkNumericValue(value, Short.class));
+				return true;
+			};
 		}
 		if (Byte.class.isAssignableFrom(type)) {
-			jdbcStatement.setByte(parameterIndex, checkNumericValue(value, Byte.class));
-			LOGGER.debug(() -> "Statement parameter value at index [" + parameterIndex + "] setted as Byte");
-			return value;
+			return (context, statement, index, value, temporalType) -> {
+				statement.setByte(index, checkNumericValue(value, Byte.class));
+				return true;
+			};
 		}
 		if (BigDecimal.class.isAssignableFrom(type)) {
-			jdbcStatement.setBigDecimal(parameterIndex, checkNumericValue(value, BigDecimal.class));
-			LOGGER.debug(() -> "Statement parameter value at index [" + parameterIndex + "] setted as BigDecimal");
-			return value;
+			return (context, statement, index, value, temporalType) -> {
+				statement.setBigDecimal(index, checkNumericValue(value, BigDecimal.class));
+				return true;
+			};
 		}
 		if (BigInteger.class.isAssignableFrom(type)) {
-			jdbcStatement.setLong(parameterIndex, checkNumericValue(value, Long.class));
-			LOGGER.debug(() -> "Statement parameter value at index [" + parameterIndex + "] setted as Long");
-			return value;
+			return (context, statement, index, value, temporalType) -> {
+				statement.setLong(index, checkNumericValue(value, Long.class));
+				return true;
+			};
 		}
 
 		// Enum (by default, ordinal value is used)
 		if (TypeUtils.isEnum(type)) {
-			Enum<?> enumValue = checkEnumValue(value, type);
-			jdbcStatement.setInt(parameterIndex, enumValue.ordinal());
-			LOGGER.debug(() -> "Statement parameter value at index [" + parameterIndex
-					+ "] setted as Integer using ordinal value " + enumValue.ordinal() + " of enum "
-					+ enumValue.getClass());
-			return enumValue;
+			return (context, statement, index, value, temporalType) -> {
+				statement.setInt(index, checkEnumValue(value, type).ordinal());
+				return true;
+			};
 		}
 
 		// Byte[]
 		if (type == byte[].class) {
-			jdbcStatement.setBytes(parameterIndex, (byte[]) value);
-			LOGGER.debug(() -> "Statement parameter value at index [" + parameterIndex + "] setted as Byte array");
-			return value;
+			return (context, statement, index, value, temporalType) -> {
+				statement.setBytes(index, (byte[]) value);
+				return true;
+			};
 		}
 
 		// Dates and times
-		if (java.sql.Date.class.isAssignableFrom(type)) {
-			if (java.sql.Date.class.isAssignableFrom(value.getClass())) {
-				jdbcStatement.setDate(parameterIndex, (java.sql.Date) value);
-				LOGGER.debug(() -> "Statement parameter value at index [" + parameterIndex + "] setted as Date");
-				return value;
-			}
-		}
 		if (TypeUtils.isDate(type) || TypeUtils.isCalendar(type)) {
-			final Date dateValue = asDate(value);
-			if (dateValue != null) {
-				if (temporalType != null && temporalType == TemporalType.DATE_TIME) {
-					final java.sql.Timestamp ts = new java.sql.Timestamp(dateValue.getTime());
-					jdbcStatement.setTimestamp(parameterIndex, ts);
-					LOGGER.debug(
-							() -> "Statement parameter value at index [" + parameterIndex + "] setted as Timestamp");
-					return ts;
+			final boolean sqlDate = java.sql.Date.class.isAssignableFrom(type);
+			return (context, statement, index, value, temporalType) -> {
+				if (sqlDate && value instanceof java.sql.Date) {
+					statement.setDate(index, (java.sql.Date) value);
+					return true;
 				}
-				if (temporalType != null && temporalType == TemporalType.TIME) {
-					final java.sql.Time t = new java.sql.Time(dateValue.getTime());
-					jdbcStatement.setTime(parameterIndex, t);
-					LOGGER.debug(() -> "Statement parameter value at index [" + parameterIndex + "] setted as Time");
-					return t;
+				final Date dateValue = asDate(value);
+				if (dateValue == null) {
+					return false;
 				}
-				if (temporalType != null && temporalType == TemporalType.DATE) {
-					Date truncated = CalendarUtils.floorTime(dateValue);
-					jdbcStatement.setDate(parameterIndex, new java.sql.Date(truncated.getTime()));
-					LOGGER.debug(() -> "Statement parameter value at index [" + parameterIndex + "] setted as Date");
-					return truncated;
+				if (temporalType == TemporalType.DATE_TIME) {
+					statement.setTimestamp(index, new java.sql.Timestamp(dateValue.getTime()));
+				} else if (temporalType == TemporalType.TIME) {
+					statement.setTime(index, new java.sql.Time(dateValue.getTime()));
+				} else if (temporalType == TemporalType.DATE) {
+					statement.setDate(index, new java.sql.Date(CalendarUtils.floorTime(dateValue).getTime()));
+				} else {
+					statement.setDate(index, new java.sql.Date(dateValue.getTime()));
 				}
-				jdbcStatement.setDate(parameterIndex, new java.sql.Date(dateValue.getTime()));
-				LOGGER.debug(() -> "Statement parameter value at index [" + parameterIndex + "] setted as Date");
-				return dateValue;
-			}
+				return true;
+			};
 		}
 
 		if (LocalDate.class.isAssignableFrom(type)) {
-			final LocalDate ld = asLocalDate(value);
-			if (ld != null) {
-				final java.sql.Date d = java.sql.Date.valueOf(ld);
-				jdbcStatement.setDate(parameterIndex, d);
-				LOGGER.debug(() -> "Statement parameter value at index [" + parameterIndex + "] setted as Date");
-				return d;
-			}
+			return (context, statement, index, value, temporalType) -> {
+				final LocalDate ld = asLocalDate(value);
+				if (ld == null) {
+					return false;
+				}
+				statement.setDate(index, java.sql.Date.valueOf(ld));
+				return true;
+			};
 		}
 		if (LocalTime.class.isAssignableFrom(type)) {
-			final LocalTime lt = asLocalTime(value);
-			if (lt != null) {
-				final java.sql.Time t = java.sql.Time.valueOf(lt);
-				jdbcStatement.setTime(parameterIndex, t);
-				LOGGER.debug(() -> "Statement parameter value at index [" + parameterIndex + "] setted as Time");
-				return t;
-			}
+			return (context, statement, index, value, temporalType) -> {
+				final LocalTime lt = asLocalTime(value);
+				if (lt == null) {
+					return false;
+				}
+				statement.setTime(index, java.sql.Time.valueOf(lt));
+				return true;
+			};
 		}
 		if (LocalDateTime.class.isAssignableFrom(type)) {
-			final LocalDateTime ldt = asLocalDateTime(value);
-			if (ldt != null) {
-				final java.sql.Timestamp ts = java.sql.Timestamp.valueOf(ldt);
-				jdbcStatement.setTimestamp(parameterIndex, ts);
-				LOGGER.debug(() -> "Statement parameter value at index [" + parameterIndex + "] setted as Timestamp");
-				return ts;
-			}
+			return (context, statement, index, value, temporalType) -> {
+				final LocalDateTime ldt = asLocalDateTime(value);
+				if (ldt == null) {
+					return false;
+				}
+				statement.setTimestamp(index, java.sql.Timestamp.valueOf(ldt));
+				return true;
+			};
 		}
 
 		// Reader (CharacterStream)
 		if (Reader.class.isAssignableFrom(type)) {
-			jdbcStatement.setCharacterStream(parameterIndex, (Reader) value);
-			LOGGER.debug(
-					() -> "Statement parameter value at index [" + parameterIndex + "] setted as Character Stream");
-			return value;
+			return (context, statement, index, value, temporalType) -> {
+				statement.setCharacterStream(index, (Reader) value);
+				return true;
+			};
 		}
 
 		// Blob
 		if (Blob.class.isAssignableFrom(type)) {
-			jdbcStatement.setBlob(parameterIndex, (Blob) value);
-			LOGGER.debug(() -> "Statement parameter value at index [" + parameterIndex + "] setted as Blob");
-			return value;
+			return (context, statement, index, value, temporalType) -> {
+				statement.setBlob(index, (Blob) value);
+				return true;
+			};
 		}
 
 		// Clob
 		if (Clob.class.isAssignableFrom(type)) {
-			jdbcStatement.setClob(parameterIndex, (Clob) value);
-			LOGGER.debug(() -> "Statement parameter value at index [" + parameterIndex + "] setted as Clob");
-			return value;
+			return (context, statement, index, value, temporalType) -> {
+				statement.setClob(index, (Clob) value);
+				return true;
+			};
 		}
 
 		// File
 		if (File.class.isAssignableFrom(type)) {
-			final File file = (File) value;
-			try (FileInputStream fis = new FileInputStream(file)) {
-				jdbcStatement.setBinaryStream(parameterIndex, fis, file.length());
-				LOGGER.debug(
-						() -> "Statement parameter value at index [" + parameterIndex + "] setted as Binary Stream");
-				return file;
-			} catch (IOException e) {
-				throw new SQLException("Failed to read File [" + file + "]", e);
-			}
+			return (context, statement, index, value, temporalType) -> {
+				final File file = (File) value;
+				try (FileInputStream fis = new FileInputStream(file)) {
+					statement.setBinaryStream(index, fis, file.length());
+					return true;
+				} catch (IOException e) {
+					throw new SQLException("Failed to read File [" + file + "]", e);
+				}
+			};
 		}
 
 		// streams
 		if (InputStream.class.isAssignableFrom(type)) {
-			if (value instanceof LimitedInputStream) {
-				final LimitedInputStream lis = (LimitedInputStream) value;
-
-				if (context.getDialect().supportsBinaryStreamParameter()) {
-					jdbcStatement.setBinaryStream(parameterIndex, lis.getActualStream(), lis.getLength());
-					LOGGER.debug(() -> "Statement parameter value at index [" + parameterIndex
-							+ "] setted as Binary Stream");
-					return lis;
-				} else {
+			return (context, statement, index, value, temporalType) -> {
+				if (value instanceof LimitedInputStream) {
+					final LimitedInputStream lis = (LimitedInputStream) value;
+					if (context.getDialect().supportsBinaryStreamParameter()) {
+						statement.setBinaryStream(index, lis.getActualStream(), lis.getLength());
+					} else {
+						try {
+							statement.setBytes(index, ConversionUtils.convertInputStreamToBytes(lis.getActualStream()));
+						} catch (IOException e) {
+							throw new SQLException("Failed to convert InputStream to bytes", e);
+						}
+					}
+					return true;
+				}
+				if (value instanceof ByteArrayInputStream) {
 					try {
-						jdbcStatement.setBytes(parameterIndex, ConversionUtils
-								.convertInputStreamToBytes(((LimitedInputStream) value).getActualStream()));
-						LOGGER.debug(() -> "Statement parameter value at index [" + parameterIndex
-								+ "] setted as Byte array");
+						statement.setBytes(index,
+								ConversionUtils.convertInputStreamToBytes((ByteArrayInputStream) value));
 					} catch (IOException e) {
-						throw new SQLException("Failed to convert InputStream to bytes", e);
+						throw new SQLException("Failed to convert ByteArrayInputStream to bytes", e);
 					}
-					return value;
+					return true;
 				}
-			}
-			if (value instanceof ByteArrayInputStream) {
-				try {
-					jdbcStatement.setBytes(parameterIndex,
-							ConversionUtils.convertInputStreamToBytes((ByteArrayInputStream) value));
-					LOGGER.debug(
-							() -> "Statement parameter value at index [" + parameterIndex + "] setted as Byte array");
-				} catch (IOException e) {
-					throw new SQLException("Failed to convert ByteArrayInputStream to bytes", e);
-				}
-				return value;
-			}
+				return false;
+			};
 		}
 
 		// default
-
-		final Optional<SQLType> sqlType = context.getTypeConverter().getSqlType(context, type);
-		if (sqlType.isPresent()) {
-			jdbcStatement.setObject(parameterIndex, value, sqlType.get().getType());
-			LOGGER.debug(() -> "Statement parameter value at index [" + parameterIndex
-					+ "] setted as generic Object using sql type " + sqlType.get().getType());
-			return value;
-		}
-
-		// generic object
-		jdbcStatement.setObject(parameterIndex, value);
-		LOGGER.debug(() -> "Statement parameter value at index [" + parameterIndex + "] setted as generic Object");
-		return value;
-
+		return (context, statement, index, value, temporalType) -> false;
 	}
 
 	@SuppressWarnings("unchecked")
@@ -465,4 +527,89 @@ public enum DefaultSQLStatementConfigurator implements SQLStatementConfigurator
 		return null;
 	}
 
+	/**
+	 * Binds a non <code>null</code> statement parameter value of a specific parameter type.
+	 */
+	@FunctionalInterface
+	private interface ValueBinder {
+
+		/**
+		 * Set the statement parameter value.
+		 * @param context SQL context
+		 * @param statement The JDBC statement
+		 * @param index Statement parameter index
+		 * @param value Statement parameter value (not null)
+		 * @param temporalType Optional value temporal type
+		 * @return <code>false</code> if the value is not supported and the default binding should be used
+		 * @throws SQLException If an error occurred
+		 */
+		boolean bind(SQLContext context, PreparedStatement statement, int index, Object value,
+				TemporalType temporalType) throws SQLException;
+
+	}
+
+	/**
+	 * Default {@link StatementParametersBinder}, which selects the value binder of each parameter only once and lazily
+	 * caches the parameter SQL types.
+	 */
+	private static final class DefaultStatementParametersBinder implements StatementParametersBinder {
+
+		private final SQLContext context;
+		private final Class<?>[] types;
+		private final TemporalType[] temporalTypes;
+		private final ValueBinder[] binders;
+		private final Optional<SQLType>[] sqlTypes;
+		private final SQLType[] nullSqlTypes;
+
+		@SuppressWarnings("unchecked")
+		DefaultStatementParametersBinder(SQLContext context, SQLParameter<?>[] parameters) {
+			super();
+			this.context = context;
+			this.types = new Class<?>[parameters.length];
+			this.temporalTypes = new TemporalType[parameters.length];
+			this.binders = new ValueBinder[parameters.length];
+			this.sqlTypes = new Optional[parameters.length];
+			this.nullSqlTypes = new SQLType[parameters.length];
+			for (int i = 0; i < parameters.length; i++) {
+				types[i] = parameters[i].getType();
+				temporalTypes[i] = parameters[i].getTemporalType().orElse(null);
+				binders[i] = VALUE_BINDERS.get(types[i]);
+			}
+		}
+
+		@Override
+		public int getParameterCount() {
+			return types.length;
+		}
+
+		@Override
+		public void bind(PreparedStatement jdbcStatement, Object[] values) throws SQLException {
+			ObjectUtils.argumentNotNull(jdbcStatement, "PreparedStatement must be not null");
+			ObjectUtils.argumentNotNull(values, "Parameter values must be not null");
+			if (values.length != types.length) {
+				throw new SQLException(
+						"Expected " + types.length + " statement parameter values but got " + values.length);
+			}
+			for (int i = 0; i < values.length; i++) {
+				if (values[i] == null) {
+					if (nullSqlTypes[i] == null) {
+						nullSqlTypes[i] = getNullSqlType(context, types[i], getParameterSqlType(i));
+					}
+					setNullStatementParameterValue(jdbcStatement, (i + 1), types[i], nullSqlTypes[i]);
+				} else {
+					setStatementParameterValue(context, jdbcStatement, (i + 1), types[i], values[i],
+							temporalTypes[i], binders[i], getParameterSqlType(i));
+				}
+			}
+		}
+
+		private Optional<SQLType> getParameterSqlType(int index) {
+			if (sqlTypes[index] == null) {
+				sqlTypes[index] = getSqlType(context, types[index]);
+			}
+			return sqlTypes[index];
+		}
+
+	}
+
 }
@@ -34,14 +34,15 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.util.Calendar;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.holonplatform.core.ConverterExpression;
 import com.holonplatform.core.ExpressionValueConverter;
 import com.holonplatform.core.TypedExpression;
 import com.holonplatform.core.exceptions.DataAccessException;
 import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.Logger.Level;
 import com.holonplatform.core.internal.utils.ConversionUtils;
 import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.core.internal.utils.TypeUtils;
@@ -62,10 +63,20 @@ public enum DefaultSQLValueDeserializer implements SQLValueDeserializer {
 
 	private static final Logger LOGGER = SQLComposerLogger.create();
 
+	/**
+	 * Identity value conversion
+	 */
+	private static final ValueConversion IDENTITY = value -> value;
+
+	/**
+	 * Value conversions by target type and value type, selected only once for each type pair
+	 */
+	private static final ClassValue<ClassValue<ValueConversion>> CONVERSIONS = new TargetTypeConversions();
+
 	/**
 	 * Additional value processors
 	 */
-	private final List<ValueProcessor> valueProcessors = new LinkedList<>();
+	private final List<ValueProcessor> valueProcessors = new CopyOnWriteArrayList<>();
 
 	/*
 	 * (non-Javadoc)
@@ -79,6 +90,15 @@ public enum DefaultSQLValueDeserializer implements SQLValueDeserializer {
 		valueProcessors.add(valueProcessor);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLValueDeserializer#hasValueProcessors()
+	 */
+	@Override
+	public boolean hasValueProcessors() {
+		return !valueProcessors.isEmpty();
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.datastore.jdbc.composer.SQLValueDeserializer#deserialize(com.holonplatform.datastore.jdbc.
@@ -91,22 +111,32 @@ public enum DefaultSQLValueDeserializer implements SQLValueDeserializer {
 
 		ObjectUtils.argumentNotNull(expression, "Value deserialization expression must be not null");
 
-		LOGGER.debug(() -> "<DefaultSQLValueDeserializer> Deserializing value [" + valueToDeserialize + "] of type ["
-				+ ((valueToDeserialize == null) ? "NULL" : valueToDeserialize.getClass()) + "] for expression type ["
-				+ expression.getType() + "]");
+		final boolean debug = LOGGER.isEnabled(Level.DEBUG);
+
+		if (debug) {
+			LOGGER.debug(() -> "<DefaultSQLValueDeserializer> Deserializing value [" + valueToDeserialize
+					+ "] of type [" + ((valueToDeserialize == null) ? "NULL" : valueToDeserialize.getClass())
+					+ "] for expression type [" + expression.getType() + "]");
+		}
 
 		Object value = valueToDeserialize;
 
 		// apply processors
-		for (ValueProcessor processor : valueProcessors) {
-			value = processor.processValue(context, expression, value);
-			LOGGER.debug(() -> "<DefaultSQLValueDeserializer> Value to deserialize processed by ValueProcessor ["
-					+ processor.getClass() + "]");
+		if (!valueProcessors.isEmpty()) {
+			for (ValueProcessor processor : valueProcessors) {
+				value = processor.processValue(context, expression, value);
+				if (debug) {
+					LOGGER.debug(() -> "<DefaultSQLValueDeserializer> Value to deserialize processed by "
+							+ "ValueProcessor [" + processor.getClass() + "]");
+				}
+			}
 		}
 
 		// null always deserialized as null
 		if (value == null) {
-			LOGGER.debug(() -> "<DefaultSQLValueDeserializer> Value to deserialize is NULL, return it as NULL");
+			if (debug) {
+				LOGGER.debug(() -> "<DefaultSQLValueDeserializer> Value to deserialize is NULL, return it as NULL");
+			}
 			return null;
 		}
 
@@ -118,9 +148,11 @@ public enum DefaultSQLValueDeserializer implements SQLValueDeserializer {
 		// actual type to deserialize
 		Class<?> targetType = (converter != null) ? converter.getModelType() : expression.getType();
 
-		LOGGER.debug(() -> "<DefaultSQLValueDeserializer> ExpressionValueConverter "
-				+ ((converter != null) ? "detected" : "not detected") + " - deserialization target type: [" + targetType
-				+ "]");
+		if (debug) {
+			LOGGER.debug(() -> "<DefaultSQLValueDeserializer> ExpressionValueConverter "
+					+ ((converter != null) ? "detected" : "not detected") + " - deserialization target type: ["
+					+ targetType + "]");
+		}
 
 		Object deserialized = deserialize(targetType, value);
 
@@ -131,11 +163,14 @@ public enum DefaultSQLValueDeserializer implements SQLValueDeserializer {
 		}
 
 		final Object deserializedValue = deserialized;
-		LOGGER.debug(() -> "<DefaultSQLValueDeserializer> Deserialized value: [" + deserializedValue + "] - Type: ["
-				+ ((deserializedValue == null) ? "NULL" : deserializedValue.getClass()) + "]");
+		if (debug) {
+			LOGGER.debug(() -> "<DefaultSQLValueDeserializer> Deserialized value: [" + deserializedValue
+					+ "] - Type: [" + ((deserializedValue == null) ? "NULL" : deserializedValue.getClass()) + "]");
+		}
 
 		// check type
-		if (TypeUtils.isAssignable(deserializedValue.getClass(), expression.getType())) {
+		if (expression.getType().isInstance(deserializedValue)
+				|| TypeUtils.isAssignable(deserializedValue.getClass(), expression.getType())) {
 			return (T) deserializedValue;
 		} else {
 			throw new SQLException("Failed to deserialize value [" + value + "] for required type ["
@@ -151,128 +186,140 @@ public enum DefaultSQLValueDeserializer implements SQLValueDeserializer {
 	 * @return Optional deserialized value
 	 * @throws SQLException If an error occurred
 	 */
-	@SuppressWarnings({ "unchecked", "rawtypes" })
 	private static Object deserialize(Class<?> targetType, Object value) throws SQLException {
+		return CONVERSIONS.get(targetType).get(value.getClass()).convert(value);
+	}
+
+	/**
+	 * Get the {@link ValueConversion} to use to convert a value of given <code>valueType</code> into given
+	 * <code>targetType</code>.
+	 * @param targetType Target type to obtain
+	 * @param valueType Value to deserialize type
+	 * @return The value conversion
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static ValueConversion getConversion(Class<?> targetType, Class<?> valueType) {
 		// enum
 		if (TypeUtils.isEnum(targetType)) {
-			return ConversionUtils.convertEnumValue((Class<Enum>) targetType, value);
+			return value -> ConversionUtils.convertEnumValue((Class<Enum>) targetType, value);
 		}
 
 		// number
-		if (TypeUtils.isNumber(targetType) && TypeUtils.isNumber(value.getClass())) {
-			return ConversionUtils.convertNumberToTargetClass((Number) value, (Class<Number>) targetType);
+		if (TypeUtils.isNumber(targetType) && TypeUtils.isNumber(valueType)) {
+			return value -> ConversionUtils.convertNumberToTargetClass((Number) value, (Class<Number>) targetType);
 		}
 
 		// date and times
-		if (Date.class.isAssignableFrom(value.getClass())) {
+		if (Date.class.isAssignableFrom(valueType)) {
 			if (LocalDate.class.isAssignableFrom(targetType)) {
-				return ConversionUtils.toLocalDate((Date) value);
+				return value -> ConversionUtils.toLocalDate((Date) value);
 			}
 			if (LocalDateTime.class.isAssignableFrom(targetType)) {
-				return ConversionUtils.toLocalDateTime((Date) value);
+				return value -> ConversionUtils.toLocalDateTime((Date) value);
 			}
 			if (LocalTime.class.isAssignableFrom(targetType)) {
-				return ConversionUtils.toLocalTime((Date) value);
+				return value -> ConversionUtils.toLocalTime((Date) value);
 			}
 		}
 
-		if (Timestamp.class.isAssignableFrom(value.getClass())) {
+		if (Timestamp.class.isAssignableFrom(valueType)) {
 			if (LocalDateTime.class.isAssignableFrom(targetType)) {
-				return ((Timestamp) value).toLocalDateTime();
+				return value -> ((Timestamp) value).toLocalDateTime();
 			}
 			if (LocalDate.class.isAssignableFrom(targetType)) {
-				return ((Timestamp) value).toLocalDateTime().toLocalDate();
+				return value -> ((Timestamp) value).toLocalDateTime().toLocalDate();
 			}
 			if (LocalTime.class.isAssignableFrom(targetType)) {
-				return ((Timestamp) value).toLocalDateTime().toLocalTime();
+				return value -> ((Timestamp) value).toLocalDateTime().toLocalTime();
 			}
 			if (java.util.Date.class.isAssignableFrom(targetType)) {
-				Calendar c = Calendar.getInstance();
-				c.setTimeInMillis(((Timestamp) value).getTime());
-				return c.getTime();
+				return value -> {
+					Calendar c = Calendar.getInstance();
+					c.setTimeInMillis(((Timestamp) value).getTime());
+					return c.getTime();
+				};
 			}
 		}
 
-		if (Time.class.isAssignableFrom(value.getClass())) {
+		if (Time.class.isAssignableFrom(valueType)) {
 			if (LocalTime.class.isAssignableFrom(targetType)) {
-				return ((Time) value).toLocalTime();
+				return value -> ((Time) value).toLocalTime();
 			}
 		}
 
-		if (LocalDate.class.isAssignableFrom(value.getClass())) {
+		if (LocalDate.class.isAssignableFrom(valueType)) {
 			if (Date.class.isAssignableFrom(targetType) || java.util.Date.class.isAssignableFrom(targetType)) {
-				return Date.valueOf(((LocalDate) value));
+				return value -> Date.valueOf(((LocalDate) value));
 			}
 		}
-		if (LocalDateTime.class.isAssignableFrom(value.getClass())) {
+		if (LocalDateTime.class.isAssignableFrom(valueType)) {
 			if (Date.class.isAssignableFrom(targetType) || java.util.Date.class.isAssignableFrom(targetType)) {
-				return new Date(Timestamp.valueOf(((LocalDateTime) value)).getTime());
+				return value -> new Date(Timestamp.valueOf(((LocalDateTime) value)).getTime());
 			}
 			if (Timestamp.class.isAssignableFrom(targetType)) {
-				return Timestamp.valueOf(((LocalDateTime) value));
+				return value -> Timestamp.valueOf(((LocalDateTime) value));
 			}
 			if (LocalDate.class.isAssignableFrom(targetType)) {
-				return ((LocalDateTime) value).toLocalDate();
+				return value -> ((LocalDateTime) value).toLocalDate();
 			}
 			if (LocalTime.class.isAssignableFrom(targetType)) {
-				return ((LocalDateTime) value).toLocalTime();
+				return value -> ((LocalDateTime) value).toLocalTime();
 			}
 		}
-		if (OffsetDateTime.class.isAssignableFrom(value.getClass())) {
+		if (OffsetDateTime.class.isAssignableFrom(valueType)) {
 			if (Date.class.isAssignableFrom(targetType) || java.util.Date.class.isAssignableFrom(targetType)) {
-				return new Date(Timestamp.valueOf(((OffsetDateTime) value).toLocalDateTime()).getTime());
+				return value -> new Date(Timestamp.valueOf(((OffsetDateTime) value).toLocalDateTime()).getTime());
 			}
 			if (Timestamp.class.isAssignableFrom(targetType)) {
-				return Timestamp.valueOf(((OffsetDateTime) value).toLocalDateTime());
+				return value -> Timestamp.valueOf(((OffsetDateTime) value).toLocalDateTime());
 			}
 			if (LocalDateTime.class.isAssignableFrom(targetType)) {
-				return ((OffsetDateTime) value).toLocalDateTime();
+				return value -> ((OffsetDateTime) value).toLocalDateTime();
 			}
 			if (LocalDate.class.isAssignableFrom(targetType)) {
-				return ((OffsetDateTime) value).toLocalDate();
+				return value -> ((OffsetDateTime) value).toLocalDate();
 			}
 			if (LocalTime.class.isAssignableFrom(targetType)) {
-				return ((OffsetDateTime) value).toLocalTime();
+				return value -> ((OffsetDateTime) value).toLocalTime();
 			}
 		}
 
 		// String to Reader
-		if (TypeUtils.isString(value.getClass()) && Reader.class.isAssignableFrom(targetType)) {
-			return new StringReader((String) value);
+		if (TypeUtils.isString(valueType) && Reader.class.isAssignableFrom(targetType)) {
+			return value -> new StringReader((String) value);
 		}
 
 		// Byte[] to InputStream
-		if (value instanceof byte[] && InputStream.class.isAssignableFrom(targetType)) {
-			return new ByteArrayInputStream((byte[]) value);
+		if (byte[].class == valueType && InputStream.class.isAssignableFrom(targetType)) {
+			return value -> new ByteArrayInputStream((byte[]) value);
 		}
 
 		// clob
 
-		if (Clob.class.isAssignableFrom(value.getClass())) {
+		if (Clob.class.isAssignableFrom(valueType)) {
 			// as Reader
 			if (Reader.class.isAssignableFrom(targetType)) {
-				return new StringReader(clobToString((Clob) value));
+				return value -> new StringReader(clobToString((Clob) value));
 			}
 			// as String
 			if (String.class.isAssignableFrom(targetType)) {
-				return clobToString((Clob) value);
+				return value -> clobToString((Clob) value);
 			}
 		}
 
 		// blob
-		if (Blob.class.isAssignableFrom(value.getClass())) {
+		if (Blob.class.isAssignableFrom(valueType)) {
 			// as InputStream
 			if (InputStream.class.isAssignableFrom(targetType)) {
-				return new ByteArrayInputStream(blobToBytes((Blob) value));
-				// return ((Blob) value).getBinaryStream();
+				return value -> new ByteArrayInputStream(blobToBytes((Blob) value));
 			}
 			// as byte[]
 			if (byte[].class.isAssignableFrom(targetType)) {
-				return blobToBytes((Blob) value);
+				return value -> blobToBytes((Blob) value);
 			}
 		}
 
-		return value;
+		return IDENTITY;
 	}
 
 	/**
@@ -343,4 +390,39 @@ public enum DefaultSQLValueDeserializer implements SQLValueDeserializer {
 		}
 	}
 
+	/**
+	 * A conversion of a value of a specific type into a target type.
+	 */
+	@FunctionalInterface
+	private interface ValueConversion {
+
+		/**
+		 * Convert given value.
+		 * @param value The value to convert (not null)
+		 * @return The converted value
+		 * @throws SQLException If an error occurred
+		 */
+		Object convert(Object value) throws SQLException;
+
+	}
+
+	/**
+	 * Value conversions by target type, each one providing the conversions by value type.
+	 */
+	private static final class TargetTypeConversions extends ClassValue<ClassValue<ValueConversion>> {
+
+		@Override
+		protected ClassValue<ValueConversion> computeValue(final Class<?> targetType) {
+			return new ClassValue<ValueConversion>() {
+
+				@Override
+				protected ValueConversion computeValue(Class<?> valueType) {
+					return getConversion(targetType, valueType);
+				}
+
+			};
+		}
+
+	}
+
 }
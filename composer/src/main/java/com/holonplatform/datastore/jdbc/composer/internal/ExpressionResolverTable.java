@@ -0,0 +1,417 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.composer.internal;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.annotation.Priority;
+
+import com.holonplatform.core.Expression;
+import com.holonplatform.core.Expression.InvalidExpressionException;
+import com.holonplatform.core.ExpressionResolver;
+import com.holonplatform.core.ExpressionResolver.ResolutionContext;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.datastore.jdbc.composer.SQLContext;
+
+/**
+ * An immutable {@link ExpressionResolver} table, which can be safely shared by any number of SQL composition contexts.
+ * <p>
+ * A <em>root</em> table groups the resolvers by resolution type and sorts them by priority when it is created, and
+ * lazily indexes the resolvers which can handle each expression type. Adding or removing a resolver never modifies a
+ * table: an <em>overlay</em> table is created instead, which references the root table and only holds the added
+ * resolvers and the removed ones. The overlay resolvers are merged with the root ones by priority at lookup time.
+ * </p>
+ *
+ * @since 6.0.3
+ */
+@SuppressWarnings("rawtypes")
+public final class ExpressionResolverTable {
+
+	private static final Comparator<ExpressionResolver> PRIORITY_COMPARATOR = Comparator
+			.comparingInt(ExpressionResolverTable::getPriority);
+
+	/**
+	 * Empty table
+	 */
+	private static final ExpressionResolverTable EMPTY = new ExpressionResolverTable(Collections.emptyList());
+
+	/**
+	 * Root tables by SQL context, validated using the context resolvers version
+	 */
+	private static final Map<ContextKey, VersionedTable> ROOTS = new ConcurrentHashMap<>();
+
+	/**
+	 * Collected SQL contexts keys
+	 */
+	private static final ReferenceQueue<SQLContext> COLLECTED = new ReferenceQueue<>();
+
+	/**
+	 * Root table, <code>null</code> if this is a root table
+	 */
+	private final ExpressionResolverTable root;
+
+	/**
+	 * Root: all the resolvers, in registration order. Overlay: the added resolvers, in registration order
+	 */
+	private final List<ExpressionResolver> resolvers;
+
+	/**
+	 * Root: the resolvers by resolution type. Overlay: the added resolvers by resolution type. Sorted by priority.
+	 */
+	private final Map<Class<?>, List<ExpressionResolver>> resolversByResolvedType;
+
+	/**
+	 * Overlay: the root resolvers which were removed
+	 */
+	private final List<ExpressionResolver> removed;
+
+	/**
+	 * Root: resolvers index, by expression type and resolution type
+	 */
+	private final Map<Class<?>, Map<Class<?>, List<ExpressionResolver>>> index;
+
+	/**
+	 * Overlay: lazily merged resolvers, in registration order
+	 */
+	private volatile List<ExpressionResolver> merged;
+
+	/**
+	 * Root table constructor.
+	 * @param resolvers The resolvers, in registration order
+	 */
+	private ExpressionResolverTable(List<ExpressionResolver> resolvers) {
+		this(null, resolvers, Collections.emptyList());
+	}
+
+	/**
+	 * Constructor.
+	 * @param root The root table, <code>null</code> to create a root table
+	 * @param resolvers The table resolvers, in registration order
+	 * @param removed The removed root resolvers
+	 */
+	private ExpressionResolverTable(ExpressionResolverTable root, List<ExpressionResolver> resolvers,
+			List<ExpressionResolver> removed) {
+		super();
+		this.root = root;
+		this.resolvers = Collections.unmodifiableList(resolvers);
+		this.removed = removed;
+		this.index = (root == null) ? new ConcurrentHashMap<>() : null;
+		final List<ExpressionResolver> sorted = new ArrayList<>(resolvers);
+		sorted.sort(PRIORITY_COMPARATOR);
+		final Map<Class<?>, List<ExpressionResolver>> byResolvedType = new HashMap<>();
+		for (ExpressionResolver resolver : sorted) {
+			byResolvedType.computeIfAbsent(resolver.getResolvedType(), t -> new ArrayList<>()).add(resolver);
+		}
+		this.resolversByResolvedType = byResolvedType;
+	}
+
+	/**
+	 * Get the table resolvers, in registration order.
+	 * @return The resolvers
+	 */
+	public List<ExpressionResolver> getExpressionResolvers() {
+		if (root == null) {
+			return resolvers;
+		}
+		List<ExpressionResolver> all = merged;
+		if (all == null) {
+			all = new ArrayList<>(root.resolvers.size() + resolvers.size());
+			for (ExpressionResolver resolver : root.resolvers) {
+				if (!removed.contains(resolver)) {
+					all.add(resolver);
+				}
+			}
+			all.addAll(resolvers);
+			all = Collections.unmodifiableList(all);
+			merged = all;
+		}
+		return all;
+	}
+
+	/**
+	 * Get a table which contains the resolvers of this table and the given ones.
+	 * @param expressionResolvers The resolvers to add (not null)
+	 * @return A new overlay table, or this table if no resolvers were given
+	 */
+	public ExpressionResolverTable with(Iterable<? extends ExpressionResolver> expressionResolvers) {
+		ObjectUtils.argumentNotNull(expressionResolvers, "ExpressionResolvers to add must be not null");
+		final Iterator<? extends ExpressionResolver> iterator = expressionResolvers.iterator();
+		if (!iterator.hasNext()) {
+			return this;
+		}
+		final List<ExpressionResolver> added = new ArrayList<>((root == null) ? 4 : resolvers.size() + 4);
+		if (root != null) {
+			added.addAll(resolvers);
+		}
+		while (iterator.hasNext()) {
+			final ExpressionResolver resolver = iterator.next();
+			ObjectUtils.argumentNotNull(resolver, "ExpressionResolver to add must be not null");
+			added.add(resolver);
+		}
+		return new ExpressionResolverTable(getRoot(), added, removed);
+	}
+
+	/**
+	 * Get a table which contains the resolvers of this table, except for the given one.
+	 * @param expressionResolver The resolver to remove (not null)
+	 * @return A new overlay table, or this table if it does not contain given resolver
+	 */
+	public ExpressionResolverTable without(ExpressionResolver expressionResolver) {
+		ObjectUtils.argumentNotNull(expressionResolver, "ExpressionResolver to remove must be not null");
+		if (root != null && resolvers.contains(expressionResolver)) {
+			final List<ExpressionResolver> remaining = new ArrayList<>(resolvers);
+			remaining.remove(expressionResolver);
+			return new ExpressionResolverTable(root, remaining, removed);
+		}
+		final ExpressionResolverTable rootTable = getRoot();
+		if (!rootTable.resolvers.contains(expressionResolver) || removed.contains(expressionResolver)) {
+			return this;
+		}
+		final List<ExpressionResolver> removedResolvers = new ArrayList<>(removed);
+		removedResolvers.add(expressionResolver);
+		return new ExpressionResolverTable(rootTable, (root != null) ? resolvers : Collections.emptyList(),
+				removedResolvers);
+	}
+
+	/**
+	 * Resolve given expression into the given resolution type, using the first resolver, in priority order, which is
+	 * able to resolve it.
+	 * @param <E> Expression type
+	 * @param <R> Resolution type
+	 * @param expression The expression to resolve (not null)
+	 * @param resolutionType The resolution type (not null)
+	 * @param context Resolution context
+	 * @return The resolved expression, empty if no resolver was able to resolve it
+	 * @throws InvalidExpressionException If an error occurred
+	 */
+	@SuppressWarnings("unchecked")
+	public <E extends Expression, R extends Expression> Optional<R> resolve(E expression, Class<R> resolutionType,
+			ResolutionContext context) throws InvalidExpressionException {
+		ObjectUtils.argumentNotNull(expression, "Expression to resolve must be not null");
+		ObjectUtils.argumentNotNull(resolutionType, "Resolution type must be not null");
+
+		// validate
+		expression.validate();
+
+		for (ExpressionResolver resolver : getResolvers(expression.getClass(), resolutionType)) {
+			final Optional<R> resolved = resolver.resolve(expression, context);
+			if (resolved.isPresent()) {
+				return resolved;
+			}
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Get the resolvers which can resolve given expression type into given resolution type, sorted by priority.
+	 * @param expressionType Expression type
+	 * @param resolutionType Resolution type
+	 * @return The resolvers
+	 */
+	private List<ExpressionResolver> getResolvers(Class<?> expressionType, Class<?> resolutionType) {
+		if (root == null) {
+			return getIndexedResolvers(expressionType, resolutionType);
+		}
+		final List<ExpressionResolver> rootResolvers = root.getIndexedResolvers(expressionType, resolutionType);
+		final List<ExpressionResolver> local = getMatchingResolvers(expressionType, resolutionType);
+		if (local.isEmpty() && removed.isEmpty()) {
+			return rootResolvers;
+		}
+		// merge by priority: with the same priority, the root resolvers were registered first
+		final List<ExpressionResolver> matching = new ArrayList<>(rootResolvers.size() + local.size());
+		int l = 0;
+		for (ExpressionResolver resolver : rootResolvers) {
+			if (removed.contains(resolver)) {
+				continue;
+			}
+			while (l < local.size() && getPriority(local.get(l)) < getPriority(resolver)) {
+				matching.add(local.get(l++));
+			}
+			matching.add(resolver);
+		}
+		while (l < local.size()) {
+			matching.add(local.get(l++));
+		}
+		return matching;
+	}
+
+	/**
+	 * Get the resolvers of a root table which can resolve given expression type into given resolution type, using the
+	 * resolvers index.
+	 * @param expressionType Expression type
+	 * @param resolutionType Resolution type
+	 * @return The resolvers, sorted by priority
+	 */
+	private List<ExpressionResolver> getIndexedResolvers(Class<?> expressionType, Class<?> resolutionType) {
+		if (!resolversByResolvedType.containsKey(resolutionType)) {
+			return Collections.emptyList();
+		}
+		return index.computeIfAbsent(expressionType, t -> new ConcurrentHashMap<>()).computeIfAbsent(resolutionType,
+				t -> {
+					final List<ExpressionResolver> matching = getMatchingResolvers(expressionType, resolutionType);
+					return matching.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(matching);
+				});
+	}
+
+	/**
+	 * Get the table resolvers which can resolve given expression type into given resolution type.
+	 * @param expressionType Expression type
+	 * @param resolutionType Resolution type
+	 * @return The resolvers, sorted by priority
+	 */
+	private List<ExpressionResolver> getMatchingResolvers(Class<?> expressionType, Class<?> resolutionType) {
+		final List<ExpressionResolver> candidates = resolversByResolvedType.get(resolutionType);
+		if (candidates == null) {
+			return Collections.emptyList();
+		}
+		final List<ExpressionResolver> matching = new ArrayList<>(candidates.size());
+		for (ExpressionResolver resolver : candidates) {
+			if (resolver.getExpressionType().isAssignableFrom(expressionType)) {
+				matching.add(resolver);
+			}
+		}
+		return matching;
+	}
+
+	/**
+	 * Get the root table of this table.
+	 * @return The root table
+	 */
+	private ExpressionResolverTable getRoot() {
+		return (root != null) ? root : this;
+	}
+
+	/**
+	 * Get the priority of given resolver.
+	 * @param resolver The resolver
+	 * @return The resolver priority, lower values have higher priority
+	 */
+	private static int getPriority(ExpressionResolver resolver) {
+		final Priority priority = resolver.getClass().getAnnotation(Priority.class);
+		return (priority != null) ? priority.value() : ExpressionResolver.DEFAULT_PRIORITY;
+	}
+
+	/**
+	 * Get an empty table.
+	 * @return An empty table
+	 */
+	public static ExpressionResolverTable empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * Get the table which contains the resolvers of given SQL context.
+	 * <p>
+	 * When the context provides a resolvers version (see {@link SQLContext#getExpressionResolversVersion()}), the
+	 * table is shared by all the callers which use the same context, and it is rebuilt only when the version changes.
+	 * Otherwise, a new table is created.
+	 * </p>
+	 * @param context The SQL context (not null)
+	 * @return The resolvers table
+	 */
+	public static ExpressionResolverTable of(SQLContext context) {
+		ObjectUtils.argumentNotNull(context, "SQL context must be not null");
+		final long version = context.getExpressionResolversVersion();
+		if (version < 0) {
+			return new ExpressionResolverTable(copy(context.getExpressionResolvers()));
+		}
+		final VersionedTable table = ROOTS.get(new ContextKey(context));
+		final ExpressionResolverTable shared = (table != null && table.version == version) ? table.get() : null;
+		if (shared != null) {
+			return shared;
+		}
+		expungeCollected();
+		final ExpressionResolverTable current = new ExpressionResolverTable(copy(context.getExpressionResolvers()));
+		ROOTS.put(new ContextKey(context, COLLECTED), new VersionedTable(version, current));
+		return current;
+	}
+
+	private static List<ExpressionResolver> copy(Iterable<ExpressionResolver> resolvers) {
+		final List<ExpressionResolver> list = new ArrayList<>();
+		resolvers.forEach(list::add);
+		return list;
+	}
+
+	private static void expungeCollected() {
+		Object collected;
+		while ((collected = COLLECTED.poll()) != null) {
+			ROOTS.remove(collected);
+		}
+	}
+
+	/**
+	 * A root table bound to the context resolvers version it was built from. The table is softly referenced, since
+	 * its resolvers may reference the context itself.
+	 */
+	private static final class VersionedTable extends SoftReference<ExpressionResolverTable> {
+
+		final long version;
+
+		VersionedTable(long version, ExpressionResolverTable table) {
+			super(table);
+			this.version = version;
+		}
+
+	}
+
+	/**
+	 * Weak, identity based, SQL context key.
+	 */
+	private static final class ContextKey extends WeakReference<SQLContext> {
+
+		private final int hash;
+
+		ContextKey(SQLContext context) {
+			super(context);
+			this.hash = System.identityHashCode(context);
+		}
+
+		ContextKey(SQLContext context, ReferenceQueue<SQLContext> queue) {
+			super(context, queue);
+			this.hash = System.identityHashCode(context);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof ContextKey)) {
+				return false;
+			}
+			final Object context = get();
+			return context != null && context == ((ContextKey) obj).get();
+		}
+
+	}
+
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.composer.internal;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.internal.utils.TypeUtils;
+import com.holonplatform.core.query.QuerySort.PathQuerySort;
+import com.holonplatform.datastore.jdbc.composer.KeysetFilter;
+
+/**
+ * {@link KeysetFilter} continuation token encoder and decoder.
+ * <p>
+ * The token is the URL-safe Base64 representation of the length-prefixed string values of the keyset sort values. The
+ * token values are decoded using the sort paths types, so no type information is included in the token itself.
+ * </p>
+ *
+ * @since 6.0.3
+ */
+public final class KeysetTokenCodec {
+
+	private KeysetTokenCodec() {
+	}
+
+	/**
+	 * Encode given keyset values as a continuation token.
+	 * @param values The values to encode (not null)
+	 * @return The continuation token
+	 * @throws IllegalArgumentException If a value is <code>null</code> or its type is not supported
+	 */
+	public static String encode(List<Object> values) {
+		ObjectUtils.argumentNotNull(values, "Keyset values must be not null");
+		final StringBuilder sb = new StringBuilder();
+		for (Object value : values) {
+			final String encoded = encodeValue(value);
+			sb.append(encoded.length());
+			sb.append(':');
+			sb.append(encoded);
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decode given continuation token into the keyset values, using the types of given sort paths.
+	 * @param token The continuation token (not null)
+	 * @param sorts The sort paths (not null)
+	 * @return The keyset values
+	 * @throws IllegalArgumentException If the token is not valid for given sort paths
+	 */
+	public static List<Object> decode(String token, List<PathQuerySort<?>> sorts) {
+		ObjectUtils.argumentNotNull(token, "Continuation token must be not null");
+		ObjectUtils.argumentNotNull(sorts, "Sort paths must be not null");
+		final String decoded;
+		try {
+			decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid continuation token [" + token + "]", e);
+		}
+		final List<Object> values = new ArrayList<>(sorts.size());
+		int index = 0;
+		for (PathQuerySort<?> sort : sorts) {
+			final int separator = decoded.indexOf(':', index);
+			if (separator < 0) {
+				throw new IllegalArgumentException("Invalid continuation token [" + token
+						+ "]: the token does not match the sort paths count [" + sorts.size() + "]");
+			}
+			final int length;
+			try {
+				length = Integer.parseInt(decoded.substring(index, separator));
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Invalid continuation token [" + token + "]", e);
+			}
+			final int end = separator + 1 + length;
+			if (length < 0 || end > decoded.length()) {
+				throw new IllegalArgumentException("Invalid continuation token [" + token + "]");
+			}
+			try {
+				values.add(decodeValue(decoded.substring(separator + 1, end), sort.getPath().getType()));
+			} catch (RuntimeException e) {
+				throw new IllegalArgumentException("Invalid continuation token [" + token
+						+ "]: failed to decode the value of sort path [" + sort.getPath().relativeName() + "]", e);
+			}
+			index = end;
+		}
+		if (index != decoded.length()) {
+			throw new IllegalArgumentException("Invalid continuation token [" + token
+					+ "]: the token does not match the sort paths count [" + sorts.size() + "]");
+		}
+		return values;
+	}
+
+	private static String encodeValue(Object value) {
+		if (value == null) {
+			throw new IllegalArgumentException("Keyset values must be not null");
+		}
+		if (value instanceof Enum) {
+			return ((Enum<?>) value).name();
+		}
+		if (value instanceof java.sql.Timestamp) {
+			// keep the nanoseconds precision
+			return ((java.sql.Timestamp) value).toInstant().toString();
+		}
+		if (value instanceof Date) {
+			return String.valueOf(((Date) value).getTime());
+		}
+		if (value instanceof String || value instanceof Number || value instanceof Boolean
+				|| value instanceof Character || value instanceof UUID || value instanceof LocalDate
+				|| value instanceof LocalDateTime || value instanceof LocalTime || value instanceof OffsetDateTime
+				|| value instanceof OffsetTime || value instanceof ZonedDateTime || value instanceof Instant) {
+			return value.toString();
+		}
+		throw new IllegalArgumentException("Unsupported keyset value type [" + value.getClass().getName() + "]");
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Object decodeValue(String value, Class<?> pathType) {
+		final Class<?> type = TypeUtils.box(pathType);
+		if (String.class == type) {
+			return value;
+		}
+		if (Integer.class == type) {
+			return Integer.valueOf(value);
+		}
+		if (Long.class == type) {
+			return Long.valueOf(value);
+		}
+		if (Short.class == type) {
+			return Short.valueOf(value);
+		}
+		if (Byte.class == type) {
+			return Byte.valueOf(value);
+		}
+		if (Double.class == type) {
+			return Double.valueOf(value);
+		}
+		if (Float.class == type) {
+			return Float.valueOf(value);
+		}
+		if (BigDecimal.class == type) {
+			return new BigDecimal(value);
+		}
+		if (BigInteger.class == type) {
+			return new BigInteger(value);
+		}
+		if (Boolean.class == type) {
+			return Boolean.valueOf(value);
+		}
+		if (Character.class == type && value.length() == 1) {
+			return Character.valueOf(value.charAt(0));
+		}
+		if (UUID.class == type) {
+			return UUID.fromString(value);
+		}
+		if (type.isEnum()) {
+			return Enum.valueOf((Class<Enum>) type, value);
+		}
+		if (LocalDate.class == type) {
+			return LocalDate.parse(value);
+		}
+		if (LocalDateTime.class == type) {
+			return LocalDateTime.parse(value);
+		}
+		if (LocalTime.class == type) {
+			return LocalTime.parse(value);
+		}
+		if (OffsetDateTime.class == type) {
+			return OffsetDateTime.parse(value);
+		}
+		if (OffsetTime.class == type) {
+			return OffsetTime.parse(value);
+		}
+		if (ZonedDateTime.class == type) {
+			return ZonedDateTime.parse(value);
+		}
+		if (Instant.class == type) {
+			return Instant.parse(value);
+		}
+		if (java.sql.Date.class == type) {
+			return new java.sql.Date(Long.parseLong(value));
+		}
+		if (java.sql.Time.class == type) {
+			return new java.sql.Time(Long.parseLong(value));
+		}
+		if (java.sql.Timestamp.class == type) {
+			return java.sql.Timestamp.from(Instant.parse(value));
+		}
+		if (Date.class == type) {
+			return new Date(Long.parseLong(value));
+		}
+		throw new IllegalArgumentException("Unsupported keyset value type [" + type.getName() + "]");
+	}
+
+}
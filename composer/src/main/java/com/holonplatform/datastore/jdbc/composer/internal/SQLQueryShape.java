@@ -0,0 +1,392 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.composer.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import com.holonplatform.core.ConstantConverterExpression;
+import com.holonplatform.core.Expression;
+import com.holonplatform.core.NullExpression;
+import com.holonplatform.core.Path;
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.datastore.relational.RelationalTarget;
+import com.holonplatform.core.internal.query.filter.AbstractCompositeQueryFilter;
+import com.holonplatform.core.internal.query.filter.AndFilter;
+import com.holonplatform.core.internal.query.filter.BetweenFilter;
+import com.holonplatform.core.internal.query.filter.EqualFilter;
+import com.holonplatform.core.internal.query.filter.GreaterFilter;
+import com.holonplatform.core.internal.query.filter.InFilter;
+import com.holonplatform.core.internal.query.filter.LessFilter;
+import com.holonplatform.core.internal.query.filter.NotEqualFilter;
+import com.holonplatform.core.internal.query.filter.NotFilter;
+import com.holonplatform.core.internal.query.filter.NotInFilter;
+import com.holonplatform.core.internal.query.filter.NotNullFilter;
+import com.holonplatform.core.internal.query.filter.NullFilter;
+import com.holonplatform.core.internal.query.filter.OperationQueryFilter;
+import com.holonplatform.core.internal.query.filter.OrFilter;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.query.BeanProjection;
+import com.holonplatform.core.query.ConstantExpression;
+import com.holonplatform.core.query.CountAllProjection;
+import com.holonplatform.core.query.PropertySetProjection;
+import com.holonplatform.core.query.QueryAggregation;
+import com.holonplatform.core.query.QueryConfiguration;
+import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.core.query.QueryFunction;
+import com.holonplatform.core.query.QueryOperation;
+import com.holonplatform.core.query.QuerySort;
+import com.holonplatform.core.query.QuerySort.CompositeQuerySort;
+import com.holonplatform.core.query.QuerySort.PathQuerySort;
+import com.holonplatform.core.query.SelectAllProjection;
+import com.holonplatform.datastore.jdbc.composer.KeysetFilter;
+import com.holonplatform.datastore.jdbc.composer.OrderBySort;
+import com.holonplatform.datastore.jdbc.composer.WhereFilter;
+
+/**
+ * The structural fingerprint of a {@link QueryOperation}, which can be used as a cache key for the query composition
+ * results.
+ * <p>
+ * Two query operations have the same shape when they only differ for the constant values used in the query filters.
+ * The paths, data targets and property sets are compared by identity, while the constant values are collected in
+ * visit order and made available through {@link #getValues()}.
+ * </p>
+ * <p>
+ * Only the query expression types whose SQL serialization is known to depend only on the shape are supported: when a
+ * query operation contains any other expression, or declares query-level expression resolvers, a shape is not
+ * available for it.
+ * </p>
+ *
+ * @since 6.0.3
+ */
+public final class SQLQueryShape {
+
+	/**
+	 * Placeholder for constant values
+	 */
+	private static final Object VALUE = new Object();
+
+	/**
+	 * Core query functions package
+	 */
+	private static final String CORE_FUNCTIONS_PACKAGE = "com.holonplatform.core.internal.query.function.";
+
+	/**
+	 * Shape tokens
+	 */
+	private final List<Object> tokens = new ArrayList<>();
+
+	/**
+	 * Constant values
+	 */
+	private final List<Object> values = new ArrayList<>();
+
+	private int hashCode;
+
+	private SQLQueryShape() {
+		super();
+	}
+
+	/**
+	 * Get the constant values of the query operation, in visit order.
+	 * @return The constant values
+	 */
+	public List<Object> getValues() {
+		return Collections.unmodifiableList(values);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof SQLQueryShape)) {
+			return false;
+		}
+		final SQLQueryShape other = (SQLQueryShape) obj;
+		return hashCode == other.hashCode && tokens.equals(other.tokens);
+	}
+
+	/**
+	 * Get the shape of given query operation.
+	 * @param queryOperation The query operation
+	 * @return The query operation shape, empty if the query operation contains expressions which are not supported
+	 */
+	public static Optional<SQLQueryShape> of(QueryOperation<?, ?> queryOperation) {
+		if (queryOperation == null) {
+			return Optional.empty();
+		}
+		final SQLQueryShape shape = new SQLQueryShape();
+		try {
+			if (!shape.addConfiguration(queryOperation.getConfiguration())
+					|| !shape.addProjection(queryOperation.getProjection())) {
+				return Optional.empty();
+			}
+		} catch (RuntimeException e) {
+			// invalid expression, let the resolvers report it
+			return Optional.empty();
+		}
+		shape.hashCode = shape.tokens.hashCode();
+		return Optional.of(shape);
+	}
+
+	private boolean addConfiguration(QueryConfiguration configuration) {
+		if (configuration.getExpressionResolvers().iterator().hasNext()) {
+			return false;
+		}
+		// target
+		final DataTarget<?> target = configuration.getTarget().orElse(null);
+		if (target instanceof RelationalTarget) {
+			return false;
+		}
+		addIdentity(target);
+		// clauses
+		if (!addFilter(configuration.getFilter().orElse(null)) || !addSort(configuration.getSort().orElse(null))
+				|| !addAggregation(configuration.getAggregation().orElse(null))) {
+			return false;
+		}
+		tokens.add(configuration.isDistinct());
+		tokens.add(configuration.getLimit().orElse(-1));
+		tokens.add(configuration.getOffset().orElse(-1));
+		// parameters
+		final Map<String, Object> parameters = new TreeMap<>();
+		configuration.forEachParameter((name, value) -> parameters.put(name, value));
+		tokens.add(parameters);
+		return true;
+	}
+
+	private boolean addProjection(Object projection) {
+		if (projection instanceof PropertySetProjection) {
+			tokens.add(PropertySetProjection.class);
+			addIdentity(((PropertySetProjection) projection).getPropertySet());
+			return true;
+		}
+		if (projection instanceof BeanProjection) {
+			final BeanProjection<?> bean = (BeanProjection<?>) projection;
+			tokens.add(BeanProjection.class);
+			tokens.add(bean.getBeanClass());
+			final Path<?>[] selection = bean.getSelection().orElse(new Path<?>[0]);
+			tokens.add(selection.length);
+			for (Path<?> path : selection) {
+				addIdentity(path);
+			}
+			return true;
+		}
+		if (projection instanceof CountAllProjection || projection instanceof SelectAllProjection) {
+			tokens.add(projection.getClass());
+			return true;
+		}
+		return addExpression((Expression) projection);
+	}
+
+	private boolean addAggregation(QueryAggregation aggregation) {
+		if (aggregation == null) {
+			tokens.add(null);
+			return true;
+		}
+		tokens.add(QueryAggregation.class);
+		final Path<?>[] paths = aggregation.getAggregationPaths();
+		tokens.add(paths.length);
+		for (Path<?> path : paths) {
+			addIdentity(path);
+		}
+		return addFilter(aggregation.getAggregationFilter().orElse(null));
+	}
+
+	private boolean addSort(QuerySort sort) {
+		if (sort == null) {
+			tokens.add(null);
+			return true;
+		}
+		tokens.add(sort.getClass());
+		if (sort instanceof PathQuerySort) {
+			addIdentity(((PathQuerySort<?>) sort).getPath());
+			tokens.add(((PathQuerySort<?>) sort).getDirection());
+			return true;
+		}
+		if (sort instanceof CompositeQuerySort) {
+			final List<QuerySort> composition = ((CompositeQuerySort) sort).getComposition();
+			tokens.add(composition.size());
+			for (QuerySort s : composition) {
+				if (!addSort(s)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		if (sort instanceof OrderBySort) {
+			tokens.add(((OrderBySort) sort).getSQL());
+			return true;
+		}
+		return false;
+	}
+
+	@SuppressWarnings("unchecked")
+	private boolean addFilter(QueryFilter filter) {
+		if (filter == null) {
+			tokens.add(null);
+			return true;
+		}
+		tokens.add(filter.getClass());
+		if (filter instanceof AndFilter || filter instanceof OrFilter || filter instanceof NotFilter) {
+			final List<QueryFilter> composition = ((AbstractCompositeQueryFilter) filter).getComposition();
+			tokens.add(composition.size());
+			for (QueryFilter f : composition) {
+				if (!addFilter(f)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		if (filter instanceof NullFilter || filter instanceof NotNullFilter) {
+			return addExpression(((OperationQueryFilter<?>) filter).getLeftOperand());
+		}
+		if (filter instanceof BetweenFilter) {
+			final BetweenFilter<?> between = (BetweenFilter<?>) filter;
+			addTypedValue(between.getFromValue());
+			addTypedValue(between.getToValue());
+			return addExpression(between.getLeftOperand());
+		}
+		if (filter instanceof EqualFilter || filter instanceof NotEqualFilter || filter instanceof GreaterFilter
+				|| filter instanceof LessFilter || filter instanceof InFilter || filter instanceof NotInFilter) {
+			final OperationQueryFilter<?> operation = (OperationQueryFilter<?>) filter;
+			tokens.add(operation.getOperator());
+			return addExpression(operation.getLeftOperand())
+					&& addExpression(operation.getRightOperand().orElse(null));
+		}
+		if (filter instanceof WhereFilter) {
+			tokens.add(((WhereFilter) filter).getSQL());
+			((WhereFilter) filter).getParameters().forEach(value -> addTypedValue(value));
+			return true;
+		}
+		if (filter instanceof KeysetFilter) {
+			final List<PathQuerySort<?>> sorts = ((KeysetFilter) filter).getSorts();
+			final List<Object> keys = ((KeysetFilter) filter).getValues();
+			tokens.add(sorts.size());
+			for (int i = 0; i < sorts.size(); i++) {
+				addIdentity(sorts.get(i).getPath());
+				tokens.add(sorts.get(i).getDirection());
+				addValue(ConstantExpression.create((Path<Object>) sorts.get(i).getPath(), keys.get(i))
+						.getModelValue());
+			}
+			return true;
+		}
+		return false;
+	}
+
+	private boolean addExpression(Expression expression) {
+		if (expression == null) {
+			tokens.add(null);
+			return true;
+		}
+		if (expression instanceof Path) {
+			addIdentity(expression);
+			return true;
+		}
+		tokens.add(expression.getClass());
+		if (expression instanceof NullExpression) {
+			tokens.add(((NullExpression<?>) expression).getModelType());
+			addValue(((NullExpression<?>) expression).getModelValue());
+			return true;
+		}
+		if (expression instanceof ConstantConverterExpression) {
+			final ConstantConverterExpression<?, ?> constant = (ConstantConverterExpression<?, ?>) expression;
+			tokens.add(constant.getModelType());
+			tokens.add(constant.getTemporalType().orElse(null));
+			final Object value = constant.getModelValue();
+			if (value instanceof Collection) {
+				tokens.add(((Collection<?>) value).size());
+				((Collection<?>) value).forEach(v -> addValue(v));
+			} else {
+				addValue(value);
+			}
+			return true;
+		}
+		if (expression instanceof QueryFunction
+				&& expression.getClass().getName().startsWith(CORE_FUNCTIONS_PACKAGE)) {
+			final QueryFunction<?, ?> function = (QueryFunction<?, ?>) expression;
+			tokens.add(function.getType());
+			if (function instanceof Property) {
+				addIdentity(((Property<?>) function).getConverter().orElse(null));
+			}
+			tokens.add(function.getExpressionArguments().size());
+			for (Expression argument : function.getExpressionArguments()) {
+				if (!addExpression(argument)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		return false;
+	}
+
+	private void addValue(Object value) {
+		tokens.add(VALUE);
+		values.add(value);
+	}
+
+	private void addTypedValue(Object value) {
+		tokens.add((value != null) ? value.getClass() : null);
+		addValue(value);
+	}
+
+	private void addIdentity(Object value) {
+		tokens.add((value != null) ? new Identity(value) : null);
+	}
+
+	/**
+	 * An object wrapper which uses object identity for equality.
+	 */
+	private static final class Identity {
+
+		private final Object value;
+
+		Identity(Object value) {
+			super();
+			this.value = value;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(value);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Identity && ((Identity) obj).value == value;
+		}
+
+	}
+
+}
@@ -27,7 +27,6 @@ import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.datastore.jdbc.composer.SQLExecutionContext;
 import com.holonplatform.datastore.jdbc.composer.SQLResult;
 import com.holonplatform.datastore.jdbc.composer.SQLResultConverter;
-import com.holonplatform.datastore.jdbc.composer.SQLValueDeserializer;
 import com.holonplatform.datastore.jdbc.composer.internal.SQLComposerLogger;
 
 /**
@@ -83,8 +82,6 @@ public class BeanSQLResultConverter<T> implements SQLResultConverter<T> {
 	@Override
 	public T convert(SQLExecutionContext context, SQLResult result) throws SQLException {
 
-		final SQLValueDeserializer deserializer = context.getValueDeserializer();
-
 		T instance;
 		try {
 			instance = beanPropertySet.getBeanClass().getDeclaredConstructor().newInstance();
@@ -99,13 +96,8 @@ public class BeanSQLResultConverter<T> implements SQLResultConverter<T> {
 			LOGGER.debug(
 					() -> "Convert selection label [" + entry.getKey() + "] using path [" + entry.getValue() + "]");
 
-			// result value
-			Object value = result.getValue(entry.getKey());
-
-			LOGGER.debug(() -> "Result value for selection label [" + entry.getKey() + "] is [" + value + "]");
-
-			// deserialize value
-			Object deserialized = deserializer.deserialize(context, entry.getValue(), value);
+			// deserialized result value
+			Object deserialized = result.getValue(context, entry.getValue(), entry.getKey());
 
 			LOGGER.debug(
 					() -> "Deserialized value for selection label [" + entry.getKey() + "] is [" + deserialized + "]");
@@ -28,7 +28,6 @@ import com.holonplatform.core.property.PropertySet;
 import com.holonplatform.datastore.jdbc.composer.SQLExecutionContext;
 import com.holonplatform.datastore.jdbc.composer.SQLResult;
 import com.holonplatform.datastore.jdbc.composer.SQLResultConverter;
-import com.holonplatform.datastore.jdbc.composer.SQLValueDeserializer;
 import com.holonplatform.datastore.jdbc.composer.internal.SQLComposerLogger;
 
 /**
@@ -91,8 +90,6 @@ public class PropertyBoxSQLResultConverter implements SQLResultConverter<Propert
 	@Override
 	public PropertyBox convert(SQLExecutionContext context, SQLResult result) throws SQLException {
 
-		final SQLValueDeserializer deserializer = context.getValueDeserializer();
-
 		// build the PropertyBox
 		PropertyBox.Builder builder = PropertyBox.builder(propertySet).invalidAllowed(true);
 
@@ -108,13 +105,8 @@ public class PropertyBoxSQLResultConverter implements SQLResultConverter<Propert
 			if (expression == null) {
 				throw new SQLException("No selection expression available for selection [" + entry.getKey() + "]");
 			}
-			// result value
-			Object value = result.getValue(entry.getKey());
-
-			LOGGER.debug(() -> "Result value for selection label [" + entry.getKey() + "] is [" + value + "]");
-
-			// deserialize value
-			Object deserialized = deserializer.deserialize(context, expression, value);
+			// deserialized result value
+			Object deserialized = result.getValue(context, expression, entry.getKey());
 
 			LOGGER.debug(
 					() -> "Deserialized value for selection label [" + entry.getKey() + "] is [" + deserialized + "]");
@@ -73,9 +73,8 @@ public class TypedExpressionSQLResultConverter<T> implements SQLResultConverter<
 	@Override
 	public T convert(SQLExecutionContext context, SQLResult result) throws SQLException {
 
-		final Object value = (selection != null) ? result.getValue(selection) : result.getValue(1);
-
-		return context.getValueDeserializer().deserialize(context, expression, value);
+		return (selection != null) ? result.getValue(context, expression, selection)
+				: result.getValue(context, expression, 1);
 	}
 
 }
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.composer.internal.dialect;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+
+import com.holonplatform.core.internal.utils.ConversionUtils;
+import com.holonplatform.core.internal.utils.TypeUtils;
+import com.holonplatform.core.temporal.TemporalType;
+import com.holonplatform.datastore.jdbc.composer.SQLBulkLoader;
+import com.holonplatform.datastore.jdbc.composer.expression.SQLParameter;
+
+/**
+ * Support class for {@link SQLBulkLoader}s which use a CSV file to load the rows.
+ * <p>
+ * The rows are written using a comma as field separator and a double quote as quote character. A <code>null</code>
+ * value is written as an empty unquoted field, while character values are always quoted.
+ * </p>
+ *
+ * @since 6.0.3
+ */
+public final class CSVBulkLoadSupport {
+
+	private CSVBulkLoadSupport() {
+	}
+
+	/**
+	 * Checks whether all given column types can be written in the CSV format.
+	 * @param columns Column value types
+	 * @return <code>true</code> if all the column types are supported
+	 */
+	public static boolean isSupported(List<SQLParameter<?>> columns) {
+		for (SQLParameter<?> column : columns) {
+			if (!isSupportedType(column.getType())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks whether given value type can be written in the CSV format.
+	 * @param type Value type
+	 * @return <code>true</code> if supported
+	 */
+	private static boolean isSupportedType(Class<?> type) {
+		return TypeUtils.isCharSequence(type) || TypeUtils.isNumber(type) || TypeUtils.isBoolean(type)
+				|| TypeUtils.isEnum(type) || TypeUtils.isCharacter(type) || TypeUtils.isDate(type)
+				|| TypeUtils.isCalendar(type) || LocalDate.class == type || LocalTime.class == type
+				|| LocalDateTime.class == type || OffsetTime.class == type || OffsetDateTime.class == type
+				|| ZonedDateTime.class == type;
+	}
+
+	/**
+	 * Create a temporary CSV file and write given rows into it.
+	 * @param rows The rows to write
+	 * @param columns The column value types
+	 * @return The CSV file path, which should be deleted by the caller when no longer needed
+	 * @throws SQLException If an error occurred
+	 */
+	public static Path writeTempFile(Iterator<Object[]> rows, List<SQLParameter<?>> columns) throws SQLException {
+		final Path file;
+		try {
+			file = Files.createTempFile("holon-bulk-load", ".csv");
+		} catch (IOException e) {
+			throw new SQLException("Failed to create the bulk load CSV file", e);
+		}
+		try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+			final int size = columns.size();
+			while (rows.hasNext()) {
+				final Object[] row = rows.next();
+				for (int i = 0; i < size; i++) {
+					if (i > 0) {
+						writer.write(',');
+					}
+					writeValue(writer, row[i], columns.get(i).getTemporalType().orElse(null));
+				}
+				writer.newLine();
+			}
+		} catch (IOException | RuntimeException e) {
+			deleteFile(file);
+			throw new SQLException("Failed to write the bulk load CSV file", e);
+		}
+		return file;
+	}
+
+	/**
+	 * Delete given file, if exists.
+	 * @param file File to delete
+	 */
+	public static void deleteFile(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			file.toFile().deleteOnExit();
+		}
+	}
+
+	/**
+	 * Get given value as a SQL string literal, escaping any single quote.
+	 * @param value Value, for example a file path
+	 * @return The SQL string literal
+	 */
+	public static String toStringLiteral(String value) {
+		return "'" + value.replace("'", "''") + "'";
+	}
+
+	/**
+	 * Write a CSV value.
+	 * @param writer Writer
+	 * @param value Value to write
+	 * @param temporalType Value temporal type
+	 * @throws IOException If an error occurred
+	 */
+	private static void writeValue(BufferedWriter writer, Object value, TemporalType temporalType)
+			throws IOException {
+		if (value == null) {
+			return;
+		}
+		if (value instanceof CharSequence || value instanceof Character) {
+			writer.write('"');
+			writer.write(value.toString().replace("\"", "\"\""));
+			writer.write('"');
+		} else if (value instanceof BigDecimal) {
+			writer.write(((BigDecimal) value).toPlainString());
+		} else if (value instanceof Boolean) {
+			writer.write(((Boolean) value) ? "TRUE" : "FALSE");
+		} else if (value instanceof Enum) {
+			// by default, ordinal value is used
+			writer.write(String.valueOf(((Enum<?>) value).ordinal()));
+		} else if (value instanceof Date || value instanceof Calendar) {
+			final Date date = (value instanceof Calendar) ? ((Calendar) value).getTime() : (Date) value;
+			writeTemporal(writer,
+					LocalDateTime.of(ConversionUtils.toLocalDate(date), ConversionUtils.toLocalTime(date)),
+					(temporalType != null) ? temporalType : TemporalType.DATE, null);
+		} else if (value instanceof LocalDate) {
+			writer.write(value.toString());
+		} else if (value instanceof LocalTime) {
+			writer.write(DateTimeFormatter.ISO_LOCAL_TIME.format((LocalTime) value));
+		} else if (value instanceof LocalDateTime) {
+			writeTemporal(writer, (LocalDateTime) value, temporalType, null);
+		} else if (value instanceof OffsetTime) {
+			writer.write(DateTimeFormatter.ISO_OFFSET_TIME.format((OffsetTime) value));
+		} else if (value instanceof OffsetDateTime) {
+			writeTemporal(writer, ((OffsetDateTime) value).toLocalDateTime(), temporalType,
+					((OffsetDateTime) value).getOffset().getId());
+		} else if (value instanceof ZonedDateTime) {
+			writeTemporal(writer, ((ZonedDateTime) value).toLocalDateTime(), temporalType,
+					((ZonedDateTime) value).getOffset().getId());
+		} else {
+			writer.write(value.toString());
+		}
+	}
+
+	/**
+	 * Write a date and time value, using the ANSI date and time separator.
+	 * @param writer Writer
+	 * @param value Value to write
+	 * @param temporalType Value temporal type
+	 * @param offset Optional zone offset id
+	 * @throws IOException If an error occurred
+	 */
+	private static void writeTemporal(BufferedWriter writer, LocalDateTime value, TemporalType temporalType,
+			String offset) throws IOException {
+		if (temporalType == TemporalType.DATE) {
+			writer.write(value.toLocalDate().toString());
+		} else if (temporalType == TemporalType.TIME) {
+			writer.write(DateTimeFormatter.ISO_LOCAL_TIME.format(value));
+		} else {
+			writer.write(value.toLocalDate().toString());
+			writer.write(' ');
+			writer.write(DateTimeFormatter.ISO_LOCAL_TIME.format(value));
+			if (offset != null) {
+				writer.write(offset);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.composer.internal.dialect;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.holonplatform.datastore.jdbc.composer.SQLBulkLoader;
+import com.holonplatform.datastore.jdbc.composer.expression.SQLParameter;
+
+/**
+ * H2 {@link SQLBulkLoader}, which writes the rows into a temporary CSV file and loads it using the
+ * <code>CSVREAD</code> table function.
+ * <p>
+ * The <code>CSVREAD</code> function reads the file on the database server and requires the database user to have
+ * administrator rights, so the bulk loader is supported only for embedded or in-memory databases (not using a
+ * <code>tcp:</code> or <code>ssl:</code> URL) and for administrator users.
+ * </p>
+ *
+ * @since 6.0.3
+ */
+public enum H2BulkLoader implements SQLBulkLoader {
+
+	/**
+	 * Singleton instance
+	 */
+	INSTANCE;
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLBulkLoader#isSupported(java.sql.Connection, java.util.List)
+	 */
+	@Override
+	public boolean isSupported(Connection connection, List<SQLParameter<?>> columns) throws SQLException {
+		if (!CSVBulkLoadSupport.isSupported(columns)) {
+			return false;
+		}
+		final String url = connection.getMetaData().getURL();
+		if (url == null || !url.startsWith("jdbc:h2:") || url.startsWith("jdbc:h2:tcp:")
+				|| url.startsWith("jdbc:h2:ssl:")) {
+			return false;
+		}
+		return isAdmin(connection);
+	}
+
+	/**
+	 * Checks whether the connection user has administrator rights.
+	 * @param connection The connection
+	 * @return <code>true</code> if the user is an administrator
+	 */
+	private static boolean isAdmin(Connection connection) {
+		// H2 2.x, then H2 1.4 information schema
+		return isAdmin(connection, "SELECT IS_ADMIN FROM INFORMATION_SCHEMA.USERS WHERE USER_NAME = CURRENT_USER")
+				|| isAdmin(connection, "SELECT ADMIN FROM INFORMATION_SCHEMA.USERS WHERE NAME = CURRENT_USER()");
+	}
+
+	private static boolean isAdmin(Connection connection, String sql) {
+		try (Statement stmt = connection.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+			return rs.next() && "TRUE".equalsIgnoreCase(rs.getString(1));
+		} catch (@SuppressWarnings("unused") SQLException e) {
+			return false;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLBulkLoader#load(java.sql.Connection, java.lang.String,
+	 * java.util.List, java.util.List, java.util.Iterator)
+	 */
+	@Override
+	public long load(Connection connection, String table, List<String> columnNames, List<SQLParameter<?>> columns,
+			Iterator<Object[]> rows) throws SQLException {
+		final Path file = CSVBulkLoadSupport.writeTempFile(rows, columns);
+		try (Statement stmt = connection.createStatement()) {
+			// the CSV file has no header, use positional column names
+			final String header = IntStream.rangeClosed(1, columnNames.size()).mapToObj(i -> "C" + i)
+					.collect(Collectors.joining(","));
+			return stmt.executeUpdate("INSERT INTO " + table + " ("
+					+ columnNames.stream().collect(Collectors.joining(",")) + ") SELECT * FROM CSVREAD("
+					+ CSVBulkLoadSupport.toStringLiteral(file.toAbsolutePath().toString()) + ", '" + header
+					+ "', 'charset=UTF-8 fieldSeparator=, fieldDelimiter=\" nullString=')");
+		} finally {
+			CSVBulkLoadSupport.deleteFile(file);
+		}
+	}
+
+}
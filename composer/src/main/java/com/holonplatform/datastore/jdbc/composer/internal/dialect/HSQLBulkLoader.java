@@ -0,0 +1,97 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.composer.internal.dialect;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.datastore.jdbc.composer.SQLBulkLoader;
+import com.holonplatform.datastore.jdbc.composer.expression.SQLParameter;
+import com.holonplatform.datastore.jdbc.composer.internal.SQLComposerLogger;
+
+/**
+ * HSQLDB {@link SQLBulkLoader}, which writes the rows into a temporary CSV file and loads it using a temporary
+ * <code>TEXT</code> table backed by that file.
+ * <p>
+ * Since HSQLDB DDL statements commit the current transaction, the bulk loader is only supported when the connection is
+ * in auto-commit mode. Furthermore, the CSV file is created in the system temporary directory, so the bulk loader is
+ * only supported for in-memory databases, or when the <code>textdb.allow_full_path</code> system property is
+ * <code>true</code>.
+ * </p>
+ *
+ * @since 6.0.3
+ */
+public enum HSQLBulkLoader implements SQLBulkLoader {
+
+	/**
+	 * Singleton instance
+	 */
+	INSTANCE;
+
+	private static final Logger LOGGER = SQLComposerLogger.create();
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLBulkLoader#isSupported(java.sql.Connection, java.util.List)
+	 */
+	@Override
+	public boolean isSupported(Connection connection, List<SQLParameter<?>> columns) throws SQLException {
+		if (!connection.getAutoCommit() || !CSVBulkLoadSupport.isSupported(columns)) {
+			return false;
+		}
+		final String url = connection.getMetaData().getURL();
+		return (url != null && url.startsWith("jdbc:hsqldb:mem:")) || Boolean.getBoolean("textdb.allow_full_path");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLBulkLoader#load(java.sql.Connection, java.lang.String,
+	 * java.util.List, java.util.List, java.util.Iterator)
+	 */
+	@Override
+	public long load(Connection connection, String table, List<String> columnNames, List<SQLParameter<?>> columns,
+			Iterator<Object[]> rows) throws SQLException {
+		final String columnList = columnNames.stream().collect(Collectors.joining(","));
+		final String textTable = "HOLON_BULK_LOAD_" + UUID.randomUUID().toString().replace("-", "").toUpperCase();
+		final Path file = CSVBulkLoadSupport.writeTempFile(rows, columns);
+		try (Statement stmt = connection.createStatement()) {
+			stmt.execute("CREATE TEXT TABLE " + textTable + " AS (SELECT " + columnList + " FROM " + table
+					+ ") WITH NO DATA");
+			try {
+				stmt.execute("SET TABLE " + textTable + " SOURCE "
+						+ CSVBulkLoadSupport.toStringLiteral(file.toAbsolutePath() + ";quoted=true;encoding=UTF-8"));
+				return stmt.executeUpdate(
+						"INSERT INTO " + table + " (" + columnList + ") SELECT * FROM " + textTable);
+			} finally {
+				try {
+					stmt.execute("DROP TABLE " + textTable);
+				} catch (SQLException e) {
+					LOGGER.warn("Failed to drop the bulk load text table [" + textTable + "]", e);
+				}
+			}
+		} finally {
+			CSVBulkLoadSupport.deleteFile(file);
+		}
+	}
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.composer.internal.dialect;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.holonplatform.datastore.jdbc.composer.SQLDialect;
+
+/**
+ * Support class to compose the <em>upsert</em> SQL statements for the {@link SQLDialect}s.
+ *
+ * @since 6.0.3
+ * 
+ * @see SQLDialect#getUpsertStatement(String, List, List, List)
+ */
+public final class UpsertStatements {
+
+	private static final String TARGET_ALIAS = "UPS_TGT";
+	private static final String SOURCE_ALIAS = "UPS_SRC";
+
+	private UpsertStatements() {
+	}
+
+	/**
+	 * Compose a standard <code>MERGE</code> statement, using a <code>VALUES</code> row value constructor as source:
+	 * <code>MERGE INTO t AS tgt USING (VALUES (...)) AS src (...) ON (...) WHEN MATCHED THEN UPDATE SET ... WHEN NOT
+	 * MATCHED THEN INSERT (...) VALUES (...)</code>.
+	 * @param table Table name
+	 * @param columns Column names
+	 * @param values Column values
+	 * @param keyColumns Key column names
+	 * @return The <code>MERGE</code> statement
+	 */
+	public static String merge(String table, List<String> columns, List<String> values, List<String> keyColumns) {
+		final StringBuilder sb = new StringBuilder();
+		sb.append("MERGE INTO ");
+		sb.append(table);
+		sb.append(" AS ");
+		sb.append(TARGET_ALIAS);
+		sb.append(" USING (VALUES (");
+		sb.append(join(values));
+		sb.append(")) AS ");
+		sb.append(SOURCE_ALIAS);
+		sb.append(" (");
+		sb.append(join(columns));
+		sb.append(")");
+		appendMergeClauses(sb, columns, keyColumns);
+		return sb.toString();
+	}
+
+	private static void appendMergeClauses(StringBuilder sb, List<String> columns, List<String> keyColumns) {
+		sb.append(" ON (");
+		sb.append(keyColumns.stream().map(column -> TARGET_ALIAS + "." + column + " = " + SOURCE_ALIAS + "." + column)
+				.collect(Collectors.joining(" AND ")));
+		sb.append(")");
+		final List<String> updates = getUpdateColumns(columns, keyColumns);
+		if (!updates.isEmpty()) {
+			sb.append(" WHEN MATCHED THEN UPDATE SET ");
+			sb.append(updates.stream().map(column -> column + " = " + SOURCE_ALIAS + "." + column)
+					.collect(Collectors.joining(",")));
+		}
+		sb.append(" WHEN NOT MATCHED THEN INSERT (");
+		sb.append(join(columns));
+		sb.append(") VALUES (");
+		sb.append(columns.stream().map(column -> SOURCE_ALIAS + "." + column).collect(Collectors.joining(",")));
+		sb.append(")");
+	}
+
+	private static List<String> getUpdateColumns(List<String> columns, List<String> keyColumns) {
+		return columns.stream().filter(column -> !keyColumns.contains(column)).collect(Collectors.toList());
+	}
+
+	private static String join(List<String> elements) {
+		return elements.stream().collect(Collectors.joining(","));
+	}
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.composer.internal.resolvers;
+
+import java.util.List;
+import java.util.Optional;
+
+import jakarta.annotation.Priority;
+
+import com.holonplatform.core.Expression.InvalidExpressionException;
+import com.holonplatform.core.Path;
+import com.holonplatform.core.query.ConstantExpression;
+import com.holonplatform.core.query.QuerySort.PathQuerySort;
+import com.holonplatform.core.query.QuerySort.SortDirection;
+import com.holonplatform.datastore.jdbc.composer.KeysetFilter;
+import com.holonplatform.datastore.jdbc.composer.SQLCompositionContext;
+import com.holonplatform.datastore.jdbc.composer.expression.SQLExpression;
+import com.holonplatform.datastore.jdbc.composer.expression.SQLParameterizableExpression;
+import com.holonplatform.datastore.jdbc.composer.resolvers.SQLExpressionResolver;
+
+/**
+ * {@link KeysetFilter} expression resolver.
+ *
+ * @since 6.0.3
+ */
+@Priority(Integer.MAX_VALUE - 50)
+public enum KeysetFilterResolver implements SQLExpressionResolver<KeysetFilter> {
+
+	/**
+	 * Singleton instance.
+	 */
+	INSTANCE;
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ExpressionResolver#getExpressionType()
+	 */
+	@Override
+	public Class<? extends KeysetFilter> getExpressionType() {
+		return KeysetFilter.class;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see
+	 * com.holonplatform.datastore.jdbc.composer.resolvers.SQLContextExpressionResolver#resolve(com.holonplatform.core.
+	 * Expression, com.holonplatform.datastore.jdbc.composer.SQLCompositionContext)
+	 */
+	@Override
+	public Optional<SQLExpression> resolve(KeysetFilter expression, SQLCompositionContext context)
+			throws InvalidExpressionException {
+
+		// validate
+		expression.validate();
+
+		final List<PathQuerySort<?>> sorts = expression.getSorts();
+		final List<Object> values = expression.getValues();
+
+		final StringBuilder sb = new StringBuilder();
+		sb.append("(");
+
+		if (sorts.size() > 1 && context.getDialect().supportsRowValueComparison() && isSameDirection(sorts)) {
+			// row value comparison
+			sb.append("(");
+			for (int i = 0; i < sorts.size(); i++) {
+				if (i > 0) {
+					sb.append(",");
+				}
+				sb.append(serialize(sorts.get(i).getPath(), context));
+			}
+			sb.append(")");
+			sb.append(getOperator(sorts.get(0)));
+			sb.append("(");
+			for (int i = 0; i < sorts.size(); i++) {
+				if (i > 0) {
+					sb.append(",");
+				}
+				sb.append(serializeValue(sorts.get(i).getPath(), values.get(i), context));
+			}
+			sb.append(")");
+		} else {
+			// expanded predicate
+			for (int i = 0; i < sorts.size(); i++) {
+				if (i > 0) {
+					sb.append(" OR ");
+				}
+				sb.append("(");
+				for (int j = 0; j < i; j++) {
+					sb.append(serialize(sorts.get(j).getPath(), context));
+					sb.append("=");
+					sb.append(serializeValue(sorts.get(j).getPath(), values.get(j), context));
+					sb.append(" AND ");
+				}
+				sb.append(serialize(sorts.get(i).getPath(), context));
+				sb.append(getOperator(sorts.get(i)));
+				sb.append(serializeValue(sorts.get(i).getPath(), values.get(i), context));
+				sb.append(")");
+			}
+		}
+
+		sb.append(")");
+
+		return Optional.of(SQLExpression.create(sb.toString()));
+	}
+
+	/**
+	 * Checks whether all given sorts have the same direction.
+	 * @param sorts The sorts
+	 * @return <code>true</code> if all the sorts have the same direction
+	 */
+	private static boolean isSameDirection(List<PathQuerySort<?>> sorts) {
+		final SortDirection direction = sorts.get(0).getDirection();
+		return sorts.stream().allMatch(s -> s.getDirection() == direction);
+	}
+
+	/**
+	 * Get the comparison operator to use for given sort.
+	 * @param sort The sort
+	 * @return The comparison operator
+	 */
+	private static String getOperator(PathQuerySort<?> sort) {
+		return (sort.getDirection() == SortDirection.DESCENDING) ? "<" : ">";
+	}
+
+	/**
+	 * Resolve given path as {@link SQLExpression} and return the serialized SQL value.
+	 * @param path The path to resolve
+	 * @param context SQL context
+	 * @return SQL value
+	 */
+	private static String serialize(Path<?> path, SQLCompositionContext context) throws InvalidExpressionException {
+		return context.resolveOrFail(path, SQLExpression.class).getValue();
+	}
+
+	/**
+	 * Resolve given value as a parameter of given path type and return the serialized SQL value.
+	 * @param path The path
+	 * @param value The value
+	 * @param context SQL context
+	 * @return SQL value
+	 */
+	@SuppressWarnings("unchecked")
+	private static String serializeValue(Path<?> path, Object value, SQLCompositionContext context)
+			throws InvalidExpressionException {
+		return context.resolveOrFail(
+				SQLParameterizableExpression.create(ConstantExpression.create((Path<Object>) path, value)),
+				SQLExpression.class).getValue();
+	}
+
+}
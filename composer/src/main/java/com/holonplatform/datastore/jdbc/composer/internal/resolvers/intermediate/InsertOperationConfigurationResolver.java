@@ -29,6 +29,7 @@ import com.holonplatform.core.TypedExpression;
 import com.holonplatform.core.datastore.relational.RelationalTarget;
 import com.holonplatform.core.internal.datastore.operation.common.InsertOperationConfiguration;
 import com.holonplatform.datastore.jdbc.composer.SQLCompositionContext;
+import com.holonplatform.datastore.jdbc.composer.SQLCompositionParameters;
 import com.holonplatform.datastore.jdbc.composer.SQLStatementCompositionContext;
 import com.holonplatform.datastore.jdbc.composer.SQLStatementCompositionContext.AliasMode;
 import com.holonplatform.datastore.jdbc.composer.expression.SQLExpression;
@@ -99,21 +100,36 @@ public enum InsertOperationConfigurationResolver
 		// get value as path-expression map
 		final Map<Path<?>, TypedExpression<?>> pathValues = expression.getValues();
 
-		final List<String> paths = new ArrayList<>(pathValues.size());
-		final List<String> values = new ArrayList<>(pathValues.size());
+		// rows to render
+		final int rows = Math.max(1, expression.getParameters().getParameter(SQLCompositionParameters.INSERT_ROWS, 1));
+		if (rows > 1 && rows > context.getDialect().getMaxMultiRowInsertRows()) {
+			throw new InvalidExpressionException("The SQL dialect does not support a multi-row insert with [" + rows
+					+ "] rows (max supported rows: [" + context.getDialect().getMaxMultiRowInsertRows() + "])");
+		}
 
-		pathValues.forEach((path, pathExpression) -> {
+		final List<String> paths = new ArrayList<>(pathValues.size());
+		pathValues.keySet().forEach(path -> {
 			paths.add(operationContext.resolveOrFail(path, SQLExpression.class).getValue());
-			values.add(operationContext
-					.resolveOrFail(SQLParameterizableExpression.create(pathExpression), SQLExpression.class)
-					.getValue());
 		});
 
 		operation.append(" (");
 		operation.append(paths.stream().collect(Collectors.joining(",")));
-		operation.append(") VALUES (");
-		operation.append(values.stream().collect(Collectors.joining(",")));
-		operation.append(")");
+		operation.append(") VALUES ");
+
+		for (int i = 0; i < rows; i++) {
+			if (i > 0) {
+				operation.append(",");
+			}
+			final List<String> values = new ArrayList<>(pathValues.size());
+			pathValues.values().forEach(pathExpression -> {
+				values.add(operationContext
+						.resolveOrFail(SQLParameterizableExpression.create(pathExpression), SQLExpression.class)
+						.getValue());
+			});
+			operation.append("(");
+			operation.append(values.stream().collect(Collectors.joining(",")));
+			operation.append(")");
+		}
 
 		// prepare SQL and return SQLStatement
 		return Optional.of(operationContext.prepareStatement(operation.toString()));
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.datastore.Datastore.OperationResult;
+import com.holonplatform.core.datastore.DatastoreOperations.WriteOption;
+import com.holonplatform.core.datastore.bulk.BulkDelete;
+import com.holonplatform.core.datastore.bulk.BulkUpdate;
+import com.holonplatform.core.datastore.transaction.TransactionalOperation;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.query.Query;
+import com.holonplatform.datastore.jdbc.internal.DefaultAsyncJdbcDatastore;
+
+/**
+ * Asynchronous facade of a {@link JdbcDatastore}, which executes the datastore operations using an {@link Executor}
+ * and provides the operation results as {@link CompletableFuture}s.
+ * <p>
+ * The number of operations executed concurrently is limited using a semaphore, so that the in-flight operations never
+ * exceed the available database connections. By default, the max concurrency is the max size of the datastore
+ * connection pool, if it can be detected, and the operations are executed using virtual threads. A single facade
+ * instance should be used for each datastore, to share the same concurrency limit.
+ * </p>
+ * <p>
+ * When an operation opens a query stream which holds a database connection, for example a query executed with the
+ * {@link com.holonplatform.datastore.jdbc.config.JdbcQueryParameters#STREAMING} parameter, the operation concurrency
+ * permit is released only when the stream is closed or fully consumed, so such streams should always be closed, for
+ * example using a <code>try-with-resources</code> block. Streams which do not hold a connection, such as the default
+ * query streams, do not retain the permit, which is released as soon as the operation returns.
+ * </p>
+ * <p>
+ * Each operation is executed in its own thread, so it does not take part in the transaction of the calling thread.
+ * Use {@link #withTransaction(TransactionalOperation)} to execute more operations within the same transaction.
+ * </p>
+ *
+ * @since 6.0.3
+ */
+public interface AsyncJdbcDatastore {
+
+	/**
+	 * Get the {@link JdbcDatastore} used to execute the operations.
+	 * @return the datastore
+	 */
+	JdbcDatastore getDatastore();
+
+	/**
+	 * Get the max number of operations which can be executed concurrently.
+	 * @return the max concurrency
+	 */
+	int getMaxConcurrency();
+
+	/**
+	 * Execute given operation asynchronously, using the {@link JdbcDatastore}.
+	 * <p>
+	 * If the operation opens a query stream which holds a connection, the concurrency permit is released when the
+	 * stream is closed.
+	 * </p>
+	 * @param <R> Operation result type
+	 * @param operation The operation to execute (not null)
+	 * @return The operation result
+	 */
+	<R> CompletableFuture<R> execute(Function<JdbcDatastore, R> operation);
+
+	/**
+	 * Execute given operation asynchronously within a transaction.
+	 * @param <R> Operation result type
+	 * @param operation The operation to execute (not null)
+	 * @return The operation result
+	 * @see JdbcDatastore#withTransaction(TransactionalOperation)
+	 */
+	default <R> CompletableFuture<R> withTransaction(TransactionalOperation<R> operation) {
+		return execute(datastore -> datastore.withTransaction(operation));
+	}
+
+	/**
+	 * Execute a query on given data target asynchronously.
+	 * @param <R> Query result type
+	 * @param target The query target (not null)
+	 * @param query A function which configures the query and executes it, for example using
+	 *        {@link Query#list(Iterable)}. If it returns a streaming query {@link Stream}, the stream must be closed to
+	 *        release the concurrency permit
+	 * @return The query result
+	 */
+	default <R> CompletableFuture<R> query(DataTarget<?> target, Function<Query, R> query) {
+		return execute(datastore -> query.apply(datastore.query(target)));
+	}
+
+	/**
+	 * Refresh given {@link PropertyBox} asynchronously.
+	 * @param target The data target (not null)
+	 * @param propertyBox The value to refresh (not null)
+	 * @return The refreshed value
+	 * @see JdbcDatastore#refresh(DataTarget, PropertyBox)
+	 */
+	default CompletableFuture<PropertyBox> refresh(DataTarget<?> target, PropertyBox propertyBox) {
+		return execute(datastore -> datastore.refresh(target, propertyBox));
+	}
+
+	/**
+	 * Insert given {@link PropertyBox} asynchronously.
+	 * @param target The data target (not null)
+	 * @param propertyBox The value to insert (not null)
+	 * @param options Optional write options
+	 * @return The operation result
+	 * @see JdbcDatastore#insert(DataTarget, PropertyBox, WriteOption...)
+	 */
+	default CompletableFuture<OperationResult> insert(DataTarget<?> target, PropertyBox propertyBox,
+			WriteOption... options) {
+		return execute(datastore -> datastore.insert(target, propertyBox, options));
+	}
+
+	/**
+	 * Update given {@link PropertyBox} asynchronously.
+	 * @param target The data target (not null)
+	 * @param propertyBox The value to update (not null)
+	 * @param options Optional write options
+	 * @return The operation result
+	 * @see JdbcDatastore#update(DataTarget, PropertyBox, WriteOption...)
+	 */
+	default CompletableFuture<OperationResult> update(DataTarget<?> target, PropertyBox propertyBox,
+			WriteOption... options) {
+		return execute(datastore -> datastore.update(target, propertyBox, options));
+	}
+
+	/**
+	 * Save given {@link PropertyBox} asynchronously.
+	 * @param target The data target (not null)
+	 * @param propertyBox The value to save (not null)
+	 * @param options Optional write options
+	 * @return The operation result
+	 * @see JdbcDatastore#save(DataTarget, PropertyBox, WriteOption...)
+	 */
+	default CompletableFuture<OperationResult> save(DataTarget<?> target, PropertyBox propertyBox,
+			WriteOption... options) {
+		return execute(datastore -> datastore.save(target, propertyBox, options));
+	}
+
+	/**
+	 * Delete given {@link PropertyBox} asynchronously.
+	 * @param target The data target (not null)
+	 * @param propertyBox The value to delete (not null)
+	 * @param options Optional write options
+	 * @return The operation result
+	 * @see JdbcDatastore#delete(DataTarget, PropertyBox, WriteOption...)
+	 */
+	default CompletableFuture<OperationResult> delete(DataTarget<?> target, PropertyBox propertyBox,
+			WriteOption... options) {
+		return execute(datastore -> datastore.delete(target, propertyBox, options));
+	}
+
+	/**
+	 * Insert given values asynchronously, using a bulk insert operation.
+	 * @param target The data target (not null)
+	 * @param propertySet The property set of the values to insert (not null)
+	 * @param values The values to insert (not null)
+	 * @param options Optional write options
+	 * @return The operation result
+	 * @see JdbcDatastore#bulkInsert(DataTarget, PropertySet, WriteOption...)
+	 */
+	default CompletableFuture<OperationResult> bulkInsert(DataTarget<?> target, PropertySet<?> propertySet,
+			List<PropertyBox> values, WriteOption... options) {
+		return execute(datastore -> datastore.bulkInsert(target, propertySet, options).add(values).execute());
+	}
+
+	/**
+	 * Save given values asynchronously, using a {@link JdbcBulkSave} operation.
+	 * @param target The data target (not null)
+	 * @param propertySet The property set of the values to save (not null)
+	 * @param values The values to save (not null)
+	 * @param options Optional write options
+	 * @return The operation result
+	 * @see JdbcBulkSave
+	 */
+	default CompletableFuture<OperationResult> bulkSave(DataTarget<?> target, PropertySet<?> propertySet,
+			List<PropertyBox> values, WriteOption... options) {
+		return execute(datastore -> datastore.create(JdbcBulkSave.class).target(target).propertySet(propertySet)
+				.withWriteOptions(options).add(values).execute());
+	}
+
+	/**
+	 * Execute a bulk update operation asynchronously.
+	 * @param target The data target (not null)
+	 * @param operation A function which configures the bulk update operation and executes it
+	 * @param options Optional write options
+	 * @return The operation result
+	 * @see JdbcDatastore#bulkUpdate(DataTarget, WriteOption...)
+	 */
+	default CompletableFuture<OperationResult> bulkUpdate(DataTarget<?> target,
+			Function<BulkUpdate, OperationResult> operation, WriteOption... options) {
+		return execute(datastore -> operation.apply(datastore.bulkUpdate(target, options)));
+	}
+
+	/**
+	 * Execute a bulk delete operation asynchronously.
+	 * @param target The data target (not null)
+	 * @param operation A function which configures the bulk delete operation and executes it
+	 * @param options Optional write options
+	 * @return The operation result
+	 * @see JdbcDatastore#bulkDelete(DataTarget, WriteOption...)
+	 */
+	default CompletableFuture<OperationResult> bulkDelete(DataTarget<?> target,
+			Function<BulkDelete, OperationResult> operation, WriteOption... options) {
+		return execute(datastore -> operation.apply(datastore.bulkDelete(target, options)));
+	}
+
+	/**
+	 * Create a new {@link AsyncJdbcDatastore} for given datastore, using the default executor and max concurrency.
+	 * @param datastore The datastore (not null)
+	 * @return A new {@link AsyncJdbcDatastore}
+	 */
+	static AsyncJdbcDatastore create(JdbcDatastore datastore) {
+		return builder(datastore).build();
+	}
+
+	/**
+	 * Get a builder to create a {@link AsyncJdbcDatastore} for given datastore.
+	 * @param datastore The datastore (not null)
+	 * @return A new builder
+	 */
+	static Builder builder(JdbcDatastore datastore) {
+		return new DefaultAsyncJdbcDatastore.DefaultBuilder(datastore);
+	}
+
+	/**
+	 * {@link AsyncJdbcDatastore} builder.
+	 */
+	public interface Builder {
+
+		/**
+		 * Set the {@link Executor} to use to execute the operations. By default, each operation is executed using a
+		 * new virtual thread.
+		 * @param executor The executor (not null)
+		 * @return this
+		 */
+		Builder executor(Executor executor);
+
+		/**
+		 * Set the max number of operations which can be executed concurrently. By default, the max size of the
+		 * datastore connection pool is used, if it can be detected.
+		 * @param maxConcurrency The max concurrency (greater than 0)
+		 * @return this
+		 */
+		Builder maxConcurrency(int maxConcurrency);
+
+		/**
+		 * Build the {@link AsyncJdbcDatastore}.
+		 * @return A new {@link AsyncJdbcDatastore}
+		 */
+		AsyncJdbcDatastore build();
+
+	}
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc;
+
+import java.util.List;
+import java.util.Map;
+
+import com.holonplatform.core.Path;
+import com.holonplatform.core.datastore.Datastore.OperationResult;
+import com.holonplatform.core.datastore.DefaultWriteOption;
+import com.holonplatform.core.datastore.bulk.BulkInsert;
+import com.holonplatform.datastore.jdbc.config.JdbcWriteParameters;
+
+/**
+ * The {@link OperationResult} of a {@link BulkInsert} operation for which the generated keys retrieval was requested,
+ * either using the {@link DefaultWriteOption#BRING_BACK_GENERATED_IDS} write option or the
+ * {@link JdbcWriteParameters#RETURN_GENERATED_KEYS} parameter.
+ * <p>
+ * The {@link #getInsertedKeys()} method returns the generated keys of the first inserted row. The generated keys of
+ * all the inserted rows are provided by the {@link #getGeneratedKeys()} method only when the
+ * {@link JdbcWriteParameters#RETURN_GENERATED_KEYS} parameter is specified: with the
+ * {@link DefaultWriteOption#BRING_BACK_GENERATED_IDS} write option alone, the generated keys are set back into the
+ * inserted values and only the first inserted row keys are retained.
+ * </p>
+ *
+ * @since 6.0.3
+ */
+public interface JdbcBulkInsertResult extends OperationResult {
+
+	/**
+	 * Get the generated keys of the inserted rows, in the same order of the values to insert. Only the first inserted
+	 * row keys are provided if the {@link JdbcWriteParameters#RETURN_GENERATED_KEYS} parameter was not specified.
+	 * @return The generated keys of each inserted row, as a key path - key value map. An empty list if no generated
+	 *         key was returned by the database
+	 */
+	List<Map<Path<?>, Object>> getGeneratedKeys();
+
+}
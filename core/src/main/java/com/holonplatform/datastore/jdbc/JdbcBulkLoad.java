@@ -0,0 +1,39 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc;
+
+import com.holonplatform.core.datastore.DatastoreCommodityHandler;
+import com.holonplatform.core.datastore.bulk.BulkInsert;
+import com.holonplatform.datastore.jdbc.composer.SQLBulkLoader;
+import com.holonplatform.datastore.jdbc.composer.SQLDialect;
+
+/**
+ * A {@link BulkInsert} which uses the native database bulk load facility, if available, to insert the values.
+ * <p>
+ * The values are loaded using the current dialect {@link SQLBulkLoader} (see {@link SQLDialect#getBulkLoader()}).
+ * When a bulk loader is not available or it does not support the values to insert, the values are inserted using
+ * JDBC batches, just like a standard {@link BulkInsert}. JDBC batches are also used when the generated keys retrieval
+ * is requested.
+ * </p>
+ * <p>
+ * A {@link JdbcBulkLoad} can be obtained using the {@link DatastoreCommodityHandler#create(Class)} method.
+ * </p>
+ *
+ * @since 6.0.3
+ */
+public interface JdbcBulkLoad extends BulkInsert {
+
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc;
+
+import java.util.List;
+
+import com.holonplatform.core.datastore.DatastoreCommodityHandler;
+import com.holonplatform.core.datastore.operation.Refresh;
+import com.holonplatform.core.datastore.operation.commons.BulkInsertOperation;
+import com.holonplatform.core.property.PropertyBox;
+
+/**
+ * A bulk {@link Refresh} operation, which reloads a set of values for the same data target using their primary key
+ * values, executing a query for each chunk of values instead of a query for each value.
+ * <p>
+ * The operation property set declares the properties to load, and must include the primary key properties. The
+ * values are selected using an <code>IN</code> filter on the primary key values (or a disjunction of the primary key
+ * values conditions for a composite primary key), splitting the values into chunks of at most <code>1000</code>
+ * primary key values, further capped by the dialect max statement parameters.
+ * </p>
+ * <p>
+ * The operation returns the refreshed values in the same order of the provided values. The values whose primary key
+ * values are missing or do not match any row are not included in the results, so the operation can also be used to
+ * fetch a set of rows by primary key values, using {@link PropertyBox} values which only provide the primary key
+ * values.
+ * </p>
+ * <p>
+ * A {@link JdbcBulkRefresh} can be obtained using the {@link DatastoreCommodityHandler#create(Class)} method.
+ * </p>
+ *
+ * @since 6.0.3
+ */
+public interface JdbcBulkRefresh extends BulkInsertOperation<List<PropertyBox>, JdbcBulkRefresh> {
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc;
+
+import com.holonplatform.core.datastore.Datastore.OperationResult;
+import com.holonplatform.core.datastore.DatastoreCommodityHandler;
+import com.holonplatform.core.datastore.DefaultWriteOption;
+import com.holonplatform.core.datastore.operation.Save;
+import com.holonplatform.core.datastore.operation.commons.BulkInsertOperation;
+import com.holonplatform.datastore.jdbc.composer.SQLDialect;
+import com.holonplatform.datastore.jdbc.config.JdbcWriteParameters;
+
+/**
+ * A bulk {@link Save} operation, which inserts or updates a set of values for the same data target using a few
+ * statements, instead of performing a save operation for each value.
+ * <p>
+ * The values are processed in chunks of {@link JdbcWriteParameters#BATCH_SIZE} values (<code>1000</code> by default).
+ * For each chunk, when the native upsert is enabled (see {@link JdbcWriteParameters#NATIVE_UPSERT}) and supported by
+ * the current dialect (see {@link SQLDialect#getUpsertStatement(String, java.util.List, java.util.List,
+ * java.util.List)}), the values are saved using a JDBC batch of upsert statements. Otherwise, the existing values are
+ * detected using a single query which selects the primary key values of the chunk and the values are saved using a
+ * batch insert and a batch update.
+ * </p>
+ * <p>
+ * When the primary key cannot be obtained, the values are inserted, unless the
+ * {@link DefaultWriteOption#SAVE_DISABLE_INSERT_FALLBACK} write option is specified. The operation result provides
+ * the total number of inserted and updated rows, while the operation type is not available. The operation should be
+ * executed within a transaction to save all the values atomically.
+ * </p>
+ * <p>
+ * A {@link JdbcBulkSave} can be obtained using the {@link DatastoreCommodityHandler#create(Class)} method.
+ * </p>
+ *
+ * @since 6.0.3
+ */
+public interface JdbcBulkSave extends BulkInsertOperation<OperationResult, JdbcBulkSave> {
+
+}
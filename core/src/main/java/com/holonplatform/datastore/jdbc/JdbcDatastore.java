@@ -15,6 +15,8 @@
  */
 package com.holonplatform.datastore.jdbc;
 
+import java.nio.file.Path;
+
 import javax.sql.DataSource;
 
 import com.holonplatform.core.datastore.Datastore;
@@ -25,9 +27,14 @@ import com.holonplatform.core.datastore.transaction.Transactional;
 import com.holonplatform.core.property.PropertyBox;
 import com.holonplatform.datastore.jdbc.composer.ConnectionHandler;
 import com.holonplatform.datastore.jdbc.composer.SQLDialect;
+import com.holonplatform.datastore.jdbc.composer.SQLQueryPlanCache;
 import com.holonplatform.datastore.jdbc.config.IdentifierResolutionStrategy;
+import com.holonplatform.datastore.jdbc.config.JdbcContextHolder;
 import com.holonplatform.datastore.jdbc.config.JdbcDatastoreCommodityContext;
 import com.holonplatform.datastore.jdbc.config.JdbcDatastoreCommodityFactory;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationListener;
+import com.holonplatform.datastore.jdbc.config.JdbcQueryParameters;
+import com.holonplatform.datastore.jdbc.config.JdbcWriteParameters;
 import com.holonplatform.datastore.jdbc.internal.DefaultJdbcDatastore;
 import com.holonplatform.datastore.jdbc.tx.JdbcTransactionFactory;
 import com.holonplatform.jdbc.DataSourceConfigProperties;
@@ -50,6 +57,29 @@ public interface JdbcDatastore extends Datastore, Transactional, ConnectionHandl
 		return new DefaultJdbcDatastore.DefaultBuilder();
 	}
 
+	/**
+	 * Remove the cached primary key metadata of given tables, so that it is obtained again from the database metadata
+	 * when required, for example after a table schema change.
+	 * @param tableNames The table names (as used by the data targets). If none is specified, all the cached primary
+	 *        keys are removed.
+	 * @since 6.0.3
+	 */
+	void invalidatePrimaryKeys(String... tableNames);
+
+	/**
+	 * Register a {@link JdbcOperationListener} to be notified of the datastore operations lifecycle.
+	 * @param listener The listener to add (not null)
+	 * @since 6.0.3
+	 */
+	void addOperationListener(JdbcOperationListener listener);
+
+	/**
+	 * Remove a registered {@link JdbcOperationListener}.
+	 * @param listener The listener to remove
+	 * @since 6.0.3
+	 */
+	void removeOperationListener(JdbcOperationListener listener);
+
 	/**
 	 * {@link JdbcDatastore} builder.
 	 * @param <D> {@link JdbcDatastore} type
@@ -142,6 +172,143 @@ public interface JdbcDatastore extends Datastore, Transactional, ConnectionHandl
 		 */
 		Builder<D> identifierResolutionStrategy(IdentifierResolutionStrategy identifierResolutionStrategy);
 
+		/**
+		 * Set the default JDBC fetch size to use for query statements, i.e. the number of rows which should be fetched
+		 * from the database when more rows are needed.
+		 * <p>
+		 * If not specified, the {@link SQLDialect} default fetch size is used. The fetch size can be also configured
+		 * for a single query using the {@link JdbcQueryParameters#FETCH_SIZE} query parameter.
+		 * </p>
+		 * @param fetchSize The default fetch size (<code>0</code> to use the JDBC driver default)
+		 * @return this
+		 * @since 6.0.3
+		 */
+		Builder<D> defaultFetchSize(int fetchSize);
+
+		/**
+		 * Set the max number of compiled query plans to cache. The query plans are cached by query <em>shape</em>, so
+		 * that the queries which only differ for the filter values reuse the same SQL statement without a new
+		 * composition.
+		 * <p>
+		 * The query parameters are bound to a cached plan by matching their values with the query filter values, so
+		 * the query plans are cached only when such match is not ambiguous. The query shape compares the query paths
+		 * and property sets by identity, so the cache is effective when they are defined as constants.
+		 * </p>
+		 * <p>
+		 * The query plan cache is disabled by default. {@link SQLQueryPlanCache#DEFAULT_MAX_SIZE} is a sensible size
+		 * to enable it.
+		 * </p>
+		 * @param maxSize The max number of cached query plans (<code>0</code> to disable the query plan cache)
+		 * @return this
+		 * @since 6.0.3
+		 */
+		Builder<D> queryPlanCacheSize(int maxSize);
+
+		/**
+		 * Set the max number of JDBC prepared statements to cache for each connection which is shared by a set of
+		 * operations, i.e. within a transaction or when an operation executes more than one statement using the same
+		 * connection (for example a <em>save</em> operation). The statements are cached by SQL and generated keys
+		 * mode, so that the same SQL is not prepared again using the same connection. The cached statements are closed
+		 * when the connection is released.
+		 * <p>
+		 * The statement cache is disabled by default, since most connection pools and JDBC drivers provide their own
+		 * statement cache.
+		 * </p>
+		 * @param maxSize The max number of cached statements per connection (<code>0</code> to disable the statement
+		 *        cache)
+		 * @return this
+		 * @since 6.0.3
+		 */
+		Builder<D> statementCacheSize(int maxSize);
+
+		/**
+		 * Set whether to perform the save operations using a single native <em>upsert</em> statement (for example
+		 * <code>MERGE</code>), when supported by the current {@link SQLDialect}, instead of checking the value
+		 * existence and then performing an insert or an update operation. The native upsert is currently supported by
+		 * the H2 and HSQLDB dialects.
+		 * <p>
+		 * The native upsert is disabled by default, since the operation result type (insert or update) is not available
+		 * when it is used. It can be also configured for a single save operation using the
+		 * {@link JdbcWriteParameters#NATIVE_UPSERT} parameter.
+		 * </p>
+		 * @param nativeUpsert Whether to enable the native upsert
+		 * @return this
+		 * @since 6.0.3
+		 */
+		Builder<D> nativeUpsert(boolean nativeUpsert);
+
+		/**
+		 * Set the max number of table primary keys to cache. The table primary keys are obtained from the database
+		 * metadata when required, for example to perform a <em>save</em> operation, and cached by table name.
+		 * <p>
+		 * Default is <code>5000</code>.
+		 * </p>
+		 * @param maxSize The max number of cached primary keys (<code>0</code> to disable the primary key cache)
+		 * @return this
+		 * @since 6.0.3
+		 */
+		Builder<D> primaryKeyCacheSize(int maxSize);
+
+		/**
+		 * Set whether to load the primary keys of all the tables of the current database schema when the datastore is
+		 * initialized, so that the first operations which require a table primary key do not query the database
+		 * metadata. Default is <code>false</code>.
+		 * @param preloadPrimaryKeys Whether to preload the primary keys
+		 * @return this
+		 * @since 6.0.3
+		 */
+		Builder<D> preloadPrimaryKeys(boolean preloadPrimaryKeys);
+
+		/**
+		 * Set the factory to use to create the {@link JdbcContextHolder}s which bind the current transaction and the
+		 * shared connection to the current execution context. Each datastore instance uses its own holders.
+		 * <p>
+		 * By default, {@link ThreadLocal} based holders are used, which are suitable for both platform and virtual
+		 * threads. A factory for scoped value based holders can be provided when supported by the Java runtime.
+		 * </p>
+		 * @param factory The context holder factory (not null)
+		 * @return this
+		 * @since 6.0.3
+		 */
+		Builder<D> contextHolderFactory(JdbcContextHolder.Factory factory);
+
+		/**
+		 * Set the file to use as schema catalog: a snapshot of the database metadata read by the SQL dialect at
+		 * initialization and of the tables, columns and primary keys of the current database schema.
+		 * <p>
+		 * If the file exists, the schema catalog is loaded from it when the datastore is initialized, avoiding the
+		 * database metadata round trips, and it is verified against the database in a background thread: if it is not
+		 * up to date, the table primary keys are reloaded and the file is updated. If the file does not exist, the
+		 * schema catalog is created using the database metadata and stored in the file.
+		 * </p>
+		 * <p>
+		 * The schema catalog records the database URL and schema it was created from. If they do not match the ones of
+		 * the configured data source, the file is ignored and the schema catalog is created again at initialization.
+		 * </p>
+		 * @param file The schema catalog file (not null)
+		 * @return this
+		 * @since 6.0.3
+		 */
+		Builder<D> schemaCatalog(Path file);
+
+		/**
+		 * Set whether to verify the schema catalog loaded at initialization against the database metadata, using a
+		 * background thread. Default is <code>true</code>.
+		 * @param verify Whether to verify the schema catalog
+		 * @return this
+		 * @see #schemaCatalog(Path)
+		 * @since 6.0.3
+		 */
+		Builder<D> verifySchemaCatalog(boolean verify);
+
+		/**
+		 * Register a {@link JdbcOperationListener} to be notified of the datastore operations lifecycle.
+		 * @param listener The listener to add (not null)
+		 * @return this
+		 * @since 6.0.3
+		 */
+		Builder<D> withOperationListener(JdbcOperationListener listener);
+
 		/**
 		 * Register a {@link JdbcDatastoreCommodityFactory}.
 		 * @param <C> Commodity type
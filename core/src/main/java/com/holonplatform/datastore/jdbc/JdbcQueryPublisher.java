@@ -0,0 +1,90 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.query.PropertySetProjection;
+import com.holonplatform.core.query.Query;
+import com.holonplatform.core.query.QueryProjection;
+import com.holonplatform.datastore.jdbc.config.JdbcQueryParameters;
+import com.holonplatform.datastore.jdbc.internal.support.DefaultJdbcQueryPublisher;
+
+/**
+ * A {@link Flow.Publisher} of query results, backed by an open JDBC result set.
+ * <p>
+ * The query is executed when the subscriber signals the first demand, using the
+ * {@link JdbcQueryParameters#STREAMING} mode and a JDBC fetch size equal to the first requested number of items, up to
+ * {@link #MAX_FETCH_SIZE}. The result set rows are read and converted only as requested by the subscriber. The
+ * statement is closed and the connection released when the results are exhausted, when an error occurs or when the
+ * subscription is cancelled.
+ * </p>
+ * <p>
+ * The items are emitted by the thread which signals the demand, unless an {@link Executor} is provided, so no thread
+ * is dedicated to a subscriber. The publisher supports a single subscriber, since a query can be executed only once.
+ * </p>
+ *
+ * @param <R> Results type
+ *
+ * @since 6.0.3
+ */
+public interface JdbcQueryPublisher<R> extends Flow.Publisher<R> {
+
+	/**
+	 * Max JDBC fetch size derived from the subscriber demand
+	 */
+	static final int MAX_FETCH_SIZE = 1000;
+
+	/**
+	 * Create a {@link JdbcQueryPublisher} for the results of given query.
+	 * @param <R> Results type
+	 * @param query The query to execute (not null)
+	 * @param projection The query projection (not null)
+	 * @return A new {@link JdbcQueryPublisher}
+	 */
+	static <R> JdbcQueryPublisher<R> create(Query query, QueryProjection<R> projection) {
+		return new DefaultJdbcQueryPublisher<>(query, projection, null);
+	}
+
+	/**
+	 * Create a {@link JdbcQueryPublisher} for the results of given query, which emits the items using given
+	 * {@link Executor}.
+	 * @param <R> Results type
+	 * @param query The query to execute (not null)
+	 * @param projection The query projection (not null)
+	 * @param executor The executor to use to read and emit the items (not null)
+	 * @return A new {@link JdbcQueryPublisher}
+	 */
+	static <R> JdbcQueryPublisher<R> create(Query query, QueryProjection<R> projection, Executor executor) {
+		return new DefaultJdbcQueryPublisher<>(query, projection, executor);
+	}
+
+	/**
+	 * Create a {@link JdbcQueryPublisher} for the results of given query, using given properties as query projection.
+	 * @param <P> Property type
+	 * @param query The query to execute (not null)
+	 * @param properties The query projection properties (not null)
+	 * @return A new {@link JdbcQueryPublisher}
+	 */
+	@SuppressWarnings("rawtypes")
+	static <P extends Property> JdbcQueryPublisher<PropertyBox> create(Query query, Iterable<P> properties) {
+		return create(query, PropertySetProjection.of(properties));
+	}
+
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.query.Query;
+import com.holonplatform.core.query.QuerySort;
+import com.holonplatform.datastore.jdbc.composer.KeysetFilter;
+import com.holonplatform.datastore.jdbc.internal.support.DefaultKeysetPage;
+
+/**
+ * A page of query results obtained using <em>keyset</em> (or <em>seek</em>) pagination, which provides the
+ * continuation token to use to obtain the next page, if any.
+ * <p>
+ * Unlike <code>OFFSET</code> based pagination, the cost of obtaining a page does not depend on the page position,
+ * since the rows which precede the page are skipped using a {@link KeysetFilter}.
+ * </p>
+ *
+ * @param <T> Page items type
+ *
+ * @since 6.0.3
+ */
+public interface KeysetPage<T> extends Serializable {
+
+	/**
+	 * Get the page items.
+	 * @return the page items, an empty list if none
+	 */
+	List<T> getItems();
+
+	/**
+	 * Get the continuation token to use to obtain the next page.
+	 * @return the continuation token, empty if this is the last page
+	 */
+	Optional<String> getContinuationToken();
+
+	/**
+	 * Create a new {@link KeysetPage}.
+	 * @param <T> Page items type
+	 * @param items The page items (not null)
+	 * @param continuationToken The continuation token to obtain the next page, <code>null</code> if this is the last
+	 *        page
+	 * @return A new {@link KeysetPage}
+	 */
+	static <T> KeysetPage<T> create(List<T> items, String continuationToken) {
+		return new DefaultKeysetPage<>(items, continuationToken);
+	}
+
+	/**
+	 * Fetch a page of results of given query, using the keyset pagination.
+	 * <p>
+	 * The given <code>sort</code> is applied to the query and it should define a total order of the query results, for
+	 * example including the primary key as last sort path. The sort paths must be included in the query
+	 * <code>properties</code>.
+	 * </p>
+	 * @param <P> Property type
+	 * @param query The query to execute (not null)
+	 * @param sort The query sort (not null)
+	 * @param pageSize The page size (greater than 0)
+	 * @param continuationToken The continuation token obtained from the previous page, <code>null</code> to obtain the
+	 *        first page
+	 * @param properties The query projection properties (not null)
+	 * @return The results page
+	 */
+	static <P extends Property> KeysetPage<PropertyBox> fetch(Query query, QuerySort sort, int pageSize,
+			String continuationToken, Iterable<P> properties) {
+		ObjectUtils.argumentNotNull(query, "Query must be not null");
+		ObjectUtils.argumentNotNull(sort, "QuerySort must be not null");
+		ObjectUtils.argumentNotNull(properties, "Query properties must be not null");
+		if (pageSize < 1) {
+			throw new IllegalArgumentException("Page size must be greater than 0");
+		}
+
+		if (continuationToken != null) {
+			query.filter(KeysetFilter.fromContinuationToken(sort, continuationToken));
+		}
+
+		// fetch one more row to check whether a next page is available
+		final List<PropertyBox> rows = query.sort(sort).limit(pageSize + 1).list(properties);
+		if (rows.size() > pageSize) {
+			final List<PropertyBox> items = new ArrayList<>(rows.subList(0, pageSize));
+			return create(items, KeysetFilter.after(sort, items.get(pageSize - 1)).getContinuationToken());
+		}
+		return create(rows, null);
+	}
+
+}
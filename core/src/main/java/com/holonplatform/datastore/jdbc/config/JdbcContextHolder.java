@@ -0,0 +1,87 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.config;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import com.holonplatform.datastore.jdbc.internal.ThreadLocalJdbcContextHolder;
+
+/**
+ * Holds a value bound to the current execution context for the duration of an operation. It is used by a
+ * {@link com.holonplatform.datastore.jdbc.JdbcDatastore} to bind the current transaction and the shared connection,
+ * using a distinct holder for each datastore instance.
+ * <p>
+ * The binding is always lexically scoped: a value is bound only while the operation passed to
+ * {@link #bind(Object, Supplier)} is executed, so a holder can be implemented either using a {@link ThreadLocal} or
+ * using a scoped value.
+ * </p>
+ * 
+ * @param <T> Value type
+ *
+ * @since 6.0.3
+ */
+public interface JdbcContextHolder<T> {
+
+	/**
+	 * Get the value bound to the current execution context, if any.
+	 * @return Optional bound value
+	 */
+	Optional<T> get();
+
+	/**
+	 * Bind given value to the current execution context while given operation is executed. When the operation
+	 * completes, the previous binding, if any, is restored.
+	 * @param <R> Operation result type
+	 * @param value The value to bind (not null)
+	 * @param operation The operation to execute (not null)
+	 * @return The operation result
+	 */
+	<R> R bind(T value, Supplier<R> operation);
+
+	/**
+	 * Create a {@link JdbcContextHolder} which binds the value to the current thread, using a {@link ThreadLocal}.
+	 * @param <T> Value type
+	 * @return A new {@link JdbcContextHolder}
+	 */
+	static <T> JdbcContextHolder<T> threadLocal() {
+		return new ThreadLocalJdbcContextHolder<>();
+	}
+
+	/**
+	 * Factory to create the {@link JdbcContextHolder}s used by a datastore.
+	 */
+	public interface Factory {
+
+		/**
+		 * Create a new {@link JdbcContextHolder}.
+		 * @param <T> Value type
+		 * @return A new {@link JdbcContextHolder}
+		 */
+		<T> JdbcContextHolder<T> create();
+
+		/**
+		 * Get the default {@link Factory}, which creates {@link ThreadLocal} based holders.
+		 * @return The default factory
+		 * @see JdbcContextHolder#threadLocal()
+		 */
+		static Factory threadLocal() {
+			return ThreadLocalJdbcContextHolder.FACTORY;
+		}
+
+	}
+
+}
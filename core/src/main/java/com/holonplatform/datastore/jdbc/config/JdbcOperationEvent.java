@@ -0,0 +1,187 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * A {@link com.holonplatform.datastore.jdbc.JdbcDatastore} operation lifecycle event, notified to the registered
+ * {@link JdbcOperationListener}s.
+ * <p>
+ * Each event represents a single phase of a datastore operation (for example the SQL composition or a statement
+ * execution): the same event instance is provided to the listener when the phase starts and when it ends, so the
+ * {@link #setAttribute(String, Object)} method can be used to keep any listener state bound to the phase.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public interface JdbcOperationEvent {
+
+	/**
+	 * Datastore operation types.
+	 */
+	public enum OperationType {
+
+		/**
+		 * Query operation
+		 */
+		QUERY,
+
+		/**
+		 * Refresh operation
+		 */
+		REFRESH,
+
+		/**
+		 * Insert operation
+		 */
+		INSERT,
+
+		/**
+		 * Update operation
+		 */
+		UPDATE,
+
+		/**
+		 * Save operation
+		 */
+		SAVE,
+
+		/**
+		 * Delete operation
+		 */
+		DELETE,
+
+		/**
+		 * Bulk insert operation
+		 */
+		BULK_INSERT,
+
+		/**
+		 * Bulk update operation
+		 */
+		BULK_UPDATE,
+
+		/**
+		 * Bulk delete operation
+		 */
+		BULK_DELETE,
+
+		/**
+		 * Bulk save operation
+		 */
+		BULK_SAVE,
+
+		/**
+		 * Bulk load operation
+		 */
+		BULK_LOAD,
+
+		/**
+		 * Bulk refresh operation
+		 */
+		BULK_REFRESH,
+
+		/**
+		 * Transaction completion (commit or rollback)
+		 */
+		TRANSACTION,
+
+		/**
+		 * Any other operation performed using a datastore connection, for example a
+		 * {@link com.holonplatform.datastore.jdbc.composer.ConnectionHandler#withConnection} operation
+		 */
+		OTHER
+
+	}
+
+	/**
+	 * Get the type of the datastore operation to which the event refers.
+	 * @return The operation type
+	 */
+	OperationType getOperationType();
+
+	/**
+	 * Get the name of the data target of the datastore operation, if available.
+	 * @return Optional data target name
+	 */
+	Optional<String> getTarget();
+
+	/**
+	 * Get the normalized SQL fingerprint of the statement to which the event refers, if available.
+	 * <p>
+	 * The fingerprint is obtained from the SQL statement replacing any literal value with a <code>?</code> parameter
+	 * placeholder, collapsing parameter lists and repeated value rows and normalizing whitespaces, so that it can be
+	 * used to group the executions of the same statement regardless of the actual values.
+	 * </p>
+	 * @return Optional SQL fingerprint
+	 */
+	Optional<String> getSqlFingerprint();
+
+	/**
+	 * Get the SQL of the statement to which the event refers, if available. It is available only for the statement
+	 * execution events.
+	 * @return Optional statement SQL
+	 */
+	Optional<String> getSql();
+
+	/**
+	 * Get the parameter values bound to the statement to which the event refers, in the parameters order. They are
+	 * available only for the statement execution events of prepared statements.
+	 * @return The bound parameter values, an empty list if none
+	 */
+	List<Object> getParameters();
+
+	/**
+	 * Get the number of rows affected by the statement execution to which the event refers, if the statement execution
+	 * ended and did not produce a result set. For a batch execution, the total number of affected rows is returned.
+	 * @return Optional update count
+	 */
+	OptionalLong getUpdateCount();
+
+	/**
+	 * Get the duration of the phase to which the event refers. If the phase is not ended yet, the time elapsed since
+	 * the phase start is returned.
+	 * @return The phase duration
+	 */
+	Duration getDuration();
+
+	/**
+	 * Get the error occurred during the phase to which the event refers, if any.
+	 * @return Optional phase error
+	 */
+	Optional<Throwable> getError();
+
+	/**
+	 * Bind an attribute to this event.
+	 * @param name The attribute name (not null)
+	 * @param value The attribute value, <code>null</code> to remove the attribute
+	 */
+	void setAttribute(String name, Object value);
+
+	/**
+	 * Get the value of the attribute bound to this event with given name.
+	 * @param <T> Attribute type
+	 * @param name The attribute name (not null)
+	 * @param type The attribute type (not null)
+	 * @return Optional attribute value, empty if not available or not of the given type
+	 */
+	<T> Optional<T> getAttribute(String name, Class<T> type);
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.config;
+
+/**
+ * Listener which can be registered in a {@link com.holonplatform.datastore.jdbc.JdbcDatastore} to be notified of the
+ * datastore operations lifecycle, for example to collect metrics.
+ * <p>
+ * Each timed phase (SQL composition, connection acquisition, statement execution, transaction commit and rollback) is
+ * notified using a start and an end callback, which are invoked using the same {@link JdbcOperationEvent} instance:
+ * the phase duration and the error, if any, are available from the event when the end callback is invoked.
+ * </p>
+ * <p>
+ * The callbacks are invoked synchronously by the thread which performs the operation, so they should return quickly.
+ * Any exception thrown by a listener is logged and ignored. All the callbacks default to no-op.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+public interface JdbcOperationListener {
+
+	/**
+	 * Invoked when the SQL composition of a datastore operation starts.
+	 * @param event The composition event
+	 */
+	default void onCompositionStart(JdbcOperationEvent event) {
+	}
+
+	/**
+	 * Invoked when the SQL composition of a datastore operation ends. The event provides the SQL fingerprint of the
+	 * composed statement, if the composition succeeded.
+	 * @param event The composition event
+	 */
+	default void onCompositionEnd(JdbcOperationEvent event) {
+	}
+
+	/**
+	 * Invoked when a connection is requested to the datastore {@link javax.sql.DataSource}.
+	 * @param event The connection acquisition event
+	 */
+	default void onConnectionRequest(JdbcOperationEvent event) {
+	}
+
+	/**
+	 * Invoked when a connection requested to the datastore {@link javax.sql.DataSource} is acquired or the connection
+	 * acquisition failed. The event duration is the connection acquisition wait time.
+	 * @param event The connection acquisition event
+	 */
+	default void onConnectionAcquired(JdbcOperationEvent event) {
+	}
+
+	/**
+	 * Invoked when a JDBC statement execution starts.
+	 * @param event The statement execution event
+	 */
+	default void onStatementStart(JdbcOperationEvent event) {
+	}
+
+	/**
+	 * Invoked when a JDBC statement execution ends.
+	 * @param event The statement execution event
+	 */
+	default void onStatementEnd(JdbcOperationEvent event) {
+	}
+
+	/**
+	 * Invoked when the rows of a JDBC result set have been fetched, i.e. when the result set is closed.
+	 * <p>
+	 * When the query results are streamed, for example using
+	 * {@link com.holonplatform.datastore.jdbc.config.JdbcQueryParameters#STREAMING}, the result set is closed when the
+	 * stream is closed or fully consumed: this callback is then invoked after the datastore operation returned, by the
+	 * thread which consumes the stream, possibly while other operations are running. The given event is the statement
+	 * execution one, so it still provides the operation type, target and SQL fingerprint of the query.
+	 * </p>
+	 * @param event The execution event of the statement which produced the result set
+	 * @param rowCount The number of fetched rows
+	 */
+	default void onRowsFetched(JdbcOperationEvent event, long rowCount) {
+	}
+
+	/**
+	 * Invoked when a transaction commit starts.
+	 * @param event The transaction event
+	 */
+	default void onCommitStart(JdbcOperationEvent event) {
+	}
+
+	/**
+	 * Invoked when a transaction commit ends.
+	 * @param event The transaction event
+	 */
+	default void onCommitEnd(JdbcOperationEvent event) {
+	}
+
+	/**
+	 * Invoked when a transaction rollback starts.
+	 * @param event The transaction event
+	 */
+	default void onRollbackStart(JdbcOperationEvent event) {
+	}
+
+	/**
+	 * Invoked when a transaction rollback ends.
+	 * @param event The transaction event
+	 */
+	default void onRollbackEnd(JdbcOperationEvent event) {
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.config;
+
+import java.util.stream.Stream;
+
+import com.holonplatform.core.Path;
+import com.holonplatform.core.config.ConfigProperty;
+import com.holonplatform.core.query.QueryBuilder;
+
+/**
+ * JDBC Datastore query configuration parameters, which can be provided using the
+ * {@link QueryBuilder#parameter(ConfigProperty, Object)} method.
+ *
+ * @since 6.0.3
+ */
+public interface JdbcQueryParameters {
+
+	/**
+	 * Default prefix for JDBC query parameters.
+	 */
+	static final String DEFAULT_PARAMETER_PREFIX = JdbcQueryParameters.class.getPackage().getName() + ".query";
+
+	/**
+	 * Whether to enable the <em>streaming</em> mode for the query results.
+	 * <p>
+	 * When enabled, the query results {@link Stream} is backed by the open JDBC <code>ResultSet</code> and each row is
+	 * converted only when it is consumed, so the query results are never fully loaded in memory. The JDBC resources
+	 * (and the connection, if not bound to a transaction or to a shared connection) are released when the stream is
+	 * fully consumed or when it is closed: the stream should be closed when not fully consumed, for example using a
+	 * <em>try-with-resources</em> statement.
+	 * </p>
+	 */
+	static final ConfigProperty<Boolean> STREAMING = ConfigProperty.create(DEFAULT_PARAMETER_PREFIX + ".streaming",
+			Boolean.class);
+
+	/**
+	 * The JDBC fetch size to use for the query, i.e. the number of rows which should be fetched from the database when
+	 * more rows are needed.
+	 * <p>
+	 * When not specified, the datastore default fetch size is used, which in turn defaults to the dialect default fetch
+	 * size. A value of <code>0</code> means to use the JDBC driver default.
+	 * </p>
+	 */
+	static final ConfigProperty<Integer> FETCH_SIZE = ConfigProperty.create(DEFAULT_PARAMETER_PREFIX + ".fetch-size",
+			Integer.class);
+
+	/**
+	 * The number of partitions in which to split the query to execute them in parallel, each one using its own
+	 * connection. A value greater than <code>1</code> enables the <em>parallel</em> mode.
+	 * <p>
+	 * The query is split into ranges of the {@link #PARTITION_PATH} values, or of the table primary key if it consists
+	 * of a single integral numeric column. Only integral numeric and date/time paths are supported. The partitions are
+	 * executed concurrently, each one using a dedicated connection, and their results are concatenated in the
+	 * partitions order, so that the query sort is preserved when it is led by the partition path.
+	 * </p>
+	 * <p>
+	 * The partition results are streamed through bounded buffers, sized as the query fetch size, so the whole result
+	 * set is never held in memory. Like a {@link #STREAMING} query, a results stream which is not fully consumed must
+	 * be closed to release the partitions connections.
+	 * </p>
+	 * <p>
+	 * The parallel mode is ignored and the query is executed using a single connection when a transaction is active or
+	 * a shared connection is available, when query results limit, offset or aggregation are configured, when the query
+	 * sort is not led by the partition path or when a suitable partition path is not available.
+	 * </p>
+	 */
+	static final ConfigProperty<Integer> PARALLELISM = ConfigProperty.create(DEFAULT_PARAMETER_PREFIX + ".parallelism",
+			Integer.class);
+
+	/**
+	 * The path to use to split the query into ranges when the {@link #PARALLELISM} parameter is configured. The path
+	 * type must be an integral number or a date/time type.
+	 */
+	@SuppressWarnings("rawtypes")
+	static final ConfigProperty<Path> PARTITION_PATH = ConfigProperty
+			.create(DEFAULT_PARAMETER_PREFIX + ".partition-path", Path.class);
+
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import com.holonplatform.datastore.jdbc.config.JdbcOperationEvent.OperationType;
+import com.holonplatform.datastore.jdbc.internal.support.DefaultJdbcSlowOperationLog;
+
+/**
+ * A {@link JdbcOperationListener} which logs the slow statement executions, i.e. the executions which take longer
+ * than a configurable threshold, including the SQL, the bound parameter values, the elapsed time and the row count.
+ * <p>
+ * For the statements which produce a result set, the elapsed time includes the result set fetch and the row count is
+ * the number of fetched rows. For the other statements, the row count is the number of affected rows.
+ * </p>
+ * <p>
+ * When enabled and supported by the datastore dialect (see
+ * {@link com.holonplatform.datastore.jdbc.composer.SQLDialect#getExplainStatement(String)}), the execution plan of a
+ * slow statement is obtained asynchronously, using a distinct connection, and it is attached to the logged slow
+ * operation. The execution plan of the same statement is obtained at most once in the configured explain interval.
+ * </p>
+ * <p>
+ * A slow operation log instance must be registered in a single datastore, using
+ * {@link com.holonplatform.datastore.jdbc.JdbcDatastore#addOperationListener(JdbcOperationListener)} or the datastore
+ * builder.
+ * </p>
+ *
+ * @since 6.0.3
+ */
+public interface JdbcSlowOperationLog extends JdbcOperationListener {
+
+	/**
+	 * Default slow operation threshold
+	 */
+	public static final Duration DEFAULT_THRESHOLD = Duration.ofSeconds(1);
+
+	/**
+	 * Default max length of a logged parameter value
+	 */
+	public static final int DEFAULT_MAX_PARAMETER_LENGTH = 100;
+
+	/**
+	 * Default interval between the execution plan requests of the same statement
+	 */
+	public static final Duration DEFAULT_EXPLAIN_INTERVAL = Duration.ofMinutes(10);
+
+	/**
+	 * Get the slow operation threshold.
+	 * @return the threshold
+	 */
+	Duration getThreshold();
+
+	/**
+	 * Get a builder to create a new {@link JdbcSlowOperationLog}.
+	 * @return A new builder
+	 */
+	static Builder builder() {
+		return new DefaultJdbcSlowOperationLog.DefaultBuilder();
+	}
+
+	/**
+	 * A slow statement execution.
+	 */
+	public interface SlowOperation {
+
+		/**
+		 * Get the datastore operation type.
+		 * @return The operation type
+		 */
+		OperationType getOperationType();
+
+		/**
+		 * Get the datastore operation data target name, if available.
+		 * @return Optional data target name
+		 */
+		Optional<String> getTarget();
+
+		/**
+		 * Get the statement SQL.
+		 * @return The SQL
+		 */
+		String getSql();
+
+		/**
+		 * Get the normalized statement SQL fingerprint.
+		 * @return The SQL fingerprint
+		 */
+		String getSqlFingerprint();
+
+		/**
+		 * Get the statement parameter values, redacted or truncated according to the log configuration.
+		 * @return The parameter values
+		 */
+		List<String> getParameters();
+
+		/**
+		 * Get the statement execution elapsed time.
+		 * @return The elapsed time
+		 */
+		Duration getElapsed();
+
+		/**
+		 * Get the number of fetched or affected rows, if available.
+		 * @return Optional row count
+		 */
+		OptionalLong getRowCount();
+
+		/**
+		 * Get the error occurred during the statement execution, if any.
+		 * @return Optional error
+		 */
+		Optional<Throwable> getError();
+
+		/**
+		 * Get the statement execution plan, if available.
+		 * @return Optional execution plan
+		 */
+		Optional<String> getExecutionPlan();
+
+	}
+
+	/**
+	 * {@link JdbcSlowOperationLog} builder.
+	 */
+	public interface Builder {
+
+		/**
+		 * Set the slow operation threshold. Default is {@link JdbcSlowOperationLog#DEFAULT_THRESHOLD}.
+		 * @param threshold The threshold (not null)
+		 * @return this
+		 */
+		Builder threshold(Duration threshold);
+
+		/**
+		 * Set whether to redact the parameter values, i.e. to log a placeholder instead of the actual values. Default
+		 * is <code>false</code>.
+		 * @param redact Whether to redact the parameter values
+		 * @return this
+		 */
+		Builder redactParameters(boolean redact);
+
+		/**
+		 * Set the max length of a logged parameter value, longer values are truncated. Default is
+		 * {@link JdbcSlowOperationLog#DEFAULT_MAX_PARAMETER_LENGTH}.
+		 * @param maxLength The max length (greater than 0)
+		 * @return this
+		 */
+		Builder maxParameterLength(int maxLength);
+
+		/**
+		 * Set whether to obtain the execution plan of the slow statements, when supported by the datastore dialect.
+		 * Default is <code>false</code>.
+		 * @param explain Whether to obtain the execution plan
+		 * @return this
+		 */
+		Builder explain(boolean explain);
+
+		/**
+		 * Set the min interval between two execution plan requests of the same statement. Default is
+		 * {@link JdbcSlowOperationLog#DEFAULT_EXPLAIN_INTERVAL}.
+		 * @param interval The interval (not null)
+		 * @return this
+		 */
+		Builder explainInterval(Duration interval);
+
+		/**
+		 * Set the {@link Executor} to use to obtain the execution plans. By default, a new virtual thread is used for
+		 * each execution plan request.
+		 * @param executor The executor (not null)
+		 * @return this
+		 */
+		Builder explainExecutor(Executor executor);
+
+		/**
+		 * Set the handler of the slow operations. By default, the slow operations are logged using the datastore
+		 * logger, with the <code>WARN</code> level.
+		 * @param handler The handler (not null)
+		 * @return this
+		 */
+		Builder handler(Consumer<SlowOperation> handler);
+
+		/**
+		 * Build the {@link JdbcSlowOperationLog}.
+		 * @return A new {@link JdbcSlowOperationLog}
+		 */
+		JdbcSlowOperationLog build();
+
+	}
+
+}
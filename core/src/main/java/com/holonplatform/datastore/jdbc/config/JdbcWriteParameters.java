@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.config;
+
+import com.holonplatform.core.config.ConfigProperty;
+import com.holonplatform.core.datastore.operation.commons.DatastoreOperationConfiguration;
+
+/**
+ * JDBC Datastore write operations configuration parameters, which can be provided using the
+ * {@link DatastoreOperationConfiguration.Builder#parameter(ConfigProperty, Object)} method.
+ *
+ * @since 6.0.3
+ */
+public interface JdbcWriteParameters {
+
+	/**
+	 * Default prefix for JDBC write parameters.
+	 */
+	static final String DEFAULT_PARAMETER_PREFIX = JdbcWriteParameters.class.getPackage().getName() + ".write";
+
+	/**
+	 * The max number of rows to send to the database in a single JDBC batch for a bulk insert operation: the batch is
+	 * executed each time this number of rows is reached, so that the rows are never all held in memory by the JDBC
+	 * driver.
+	 * <p>
+	 * When not specified, all the rows are executed in a single batch, unless the rows are provided using a lazy
+	 * source (see <code>BulkInsert.add(Iterable)</code>): in that case a default batch size of <code>1000</code> rows
+	 * is used.
+	 * </p>
+	 */
+	static final ConfigProperty<Integer> BATCH_SIZE = ConfigProperty.create(DEFAULT_PARAMETER_PREFIX + ".batch-size",
+			Integer.class);
+
+	/**
+	 * The number of batches after which the inserted rows are committed, when the bulk insert operation is not
+	 * executed within a transaction and the connection is in auto-commit mode. Requires the {@link #BATCH_SIZE}
+	 * parameter to be effective.
+	 * <p>
+	 * When specified, the auto-commit mode is disabled during the operation execution and restored at the end. If an
+	 * error occurs, the current (not yet committed) batches are rolled back, while the previous ones remain committed.
+	 * </p>
+	 */
+	static final ConfigProperty<Integer> COMMIT_INTERVAL = ConfigProperty
+			.create(DEFAULT_PARAMETER_PREFIX + ".commit-interval", Integer.class);
+
+	/**
+	 * Whether to rewrite a bulk insert operation as a sequence of multi-row <code>INSERT</code> statements, i.e. using
+	 * a <code>VALUES</code> clause with more than one row value constructor, instead of a JDBC batch of single-row
+	 * statements.
+	 * <p>
+	 * Each statement contains up to {@link #BATCH_SIZE} rows (<code>1000</code> by default), further capped by the
+	 * dialect max multi-row insert rows, max statement parameters and max statement length. If the current dialect
+	 * does not support multi-row inserts, the JDBC batch mode is used.
+	 * </p>
+	 */
+	static final ConfigProperty<Boolean> MULTI_ROW_INSERT = ConfigProperty
+			.create(DEFAULT_PARAMETER_PREFIX + ".multi-row-insert", Boolean.class);
+
+	/**
+	 * Whether to retrieve the keys generated by the database for the rows inserted by a bulk insert operation, using
+	 * the JDBC generated keys support of the current dialect. The keys are also retrieved when the
+	 * <code>BRING_BACK_GENERATED_IDS</code> write option is specified, which in addition sets the generated keys back
+	 * into the inserted <code>PropertyBox</code> values.
+	 * <p>
+	 * The generated keys are provided by the operation result, which will be a
+	 * {@link com.holonplatform.datastore.jdbc.JdbcBulkInsertResult}. When the generated keys are requested, the rows
+	 * are inserted using JDBC batches, ignoring the {@link #MULTI_ROW_INSERT} parameter.
+	 * </p>
+	 * <p>
+	 * The keys of all the inserted rows are kept in memory until the operation ends, so this parameter should not be
+	 * used to insert a very large or unbounded number of rows. The <code>BRING_BACK_GENERATED_IDS</code> write option
+	 * alone only keeps the generated keys of the current batch.
+	 * </p>
+	 */
+	static final ConfigProperty<Boolean> RETURN_GENERATED_KEYS = ConfigProperty
+			.create(DEFAULT_PARAMETER_PREFIX + ".return-generated-keys", Boolean.class);
+
+	/**
+	 * Whether to perform a save operation using a single native <em>upsert</em> statement of the current dialect (for
+	 * example <code>MERGE</code>), instead of checking the value existence using the primary key and then performing an
+	 * insert or an update operation.
+	 * <p>
+	 * When not specified, the datastore default is used (see <code>JdbcDatastore.Builder.nativeUpsert(boolean)</code>).
+	 * The check-then-write strategy is used anyway when the current dialect does not support a native upsert
+	 * statement or when the primary key values are not available in the value to save. Since the upsert statement
+	 * does not report whether the row was inserted or updated, the operation result type is not available.
+	 * </p>
+	 */
+	static final ConfigProperty<Boolean> NATIVE_UPSERT = ConfigProperty
+			.create(DEFAULT_PARAMETER_PREFIX + ".native-upsert", Boolean.class);
+
+}
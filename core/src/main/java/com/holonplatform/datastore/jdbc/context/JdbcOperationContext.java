@@ -17,16 +17,22 @@ package com.holonplatform.datastore.jdbc.context;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.util.Optional;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
+import com.holonplatform.core.datastore.DataTarget;
 import com.holonplatform.core.datastore.DatastoreCommodityHandler;
 import com.holonplatform.core.exceptions.DataAccessException;
 import com.holonplatform.datastore.jdbc.composer.ConnectionHandler;
+import com.holonplatform.datastore.jdbc.composer.ConnectionOperation;
 import com.holonplatform.datastore.jdbc.composer.SQLContext;
+import com.holonplatform.datastore.jdbc.composer.SQLQueryPlanCache;
 import com.holonplatform.datastore.jdbc.composer.SQLStatementConfigurator;
 import com.holonplatform.datastore.jdbc.composer.expression.SQLPrimaryKey;
 import com.holonplatform.datastore.jdbc.composer.expression.SQLStatement;
 import com.holonplatform.datastore.jdbc.config.IdentifierResolutionStrategy;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationEvent.OperationType;
 
 /**
  * JDBC datastore operations execution context.
@@ -49,6 +55,77 @@ public interface JdbcOperationContext extends SQLContext, ConnectionHandler, Dat
 	 */
 	<R> R withSharedConnection(Supplier<R> operations);
 
+	/**
+	 * Execute given <code>operation</code>, which provides a {@link Stream} backed by the given JDBC connection.
+	 * <p>
+	 * Unlike {@link #withConnection(ConnectionOperation)}, the connection is not released when the operation returns,
+	 * but only when the returned {@link Stream} is closed or fully consumed. If a transaction is active or a shared
+	 * connection is available, the bound connection is used and its lifecycle is not affected by the stream.
+	 * </p>
+	 * @param <R> Stream elements type
+	 * @param operation Operation to execute (not null)
+	 * @return The {@link Stream} returned by the operation
+	 * @throws DataAccessException If an error occurred
+	 */
+	<R> Stream<R> withConnectionStream(ConnectionOperation<Stream<R>> operation);
+
+	/**
+	 * Execute given datastore operation, notifying its lifecycle to the registered
+	 * {@link com.holonplatform.datastore.jdbc.config.JdbcOperationListener}s, if any.
+	 * <p>
+	 * The SQL composition of the operation is considered ended when the composed SQL is traced using
+	 * {@link #trace(String)}.
+	 * </p>
+	 * @param <R> Operation result type
+	 * @param type The operation type (not null)
+	 * @param target The operation data target, if available
+	 * @param operation The operation to execute (not null)
+	 * @return The operation result
+	 * @since 6.0.3
+	 */
+	default <R> R observe(OperationType type, DataTarget<?> target, Supplier<R> operation) {
+		return operation.get();
+	}
+
+	/**
+	 * Get whether a connection is bound to the current thread, i.e. a transaction is active or a shared connection is
+	 * available, so that the datastore operations are executed using that connection.
+	 * @return <code>true</code> if a connection is bound to the current thread
+	 * @since 6.0.3
+	 */
+	boolean isConnectionBound();
+
+	/**
+	 * Get the default JDBC fetch size to use for query statements, when not specified at query level.
+	 * <p>
+	 * By default, the current dialect default fetch size is returned.
+	 * </p>
+	 * @return The default fetch size, <code>0</code> to use the JDBC driver default
+	 * @since 6.0.3
+	 */
+	default int getDefaultFetchSize() {
+		return getDialect().getDefaultFetchSize();
+	}
+
+	/**
+	 * Get the {@link SQLQueryPlanCache} to use to resolve the query operations, if enabled.
+	 * @return Optional query plan cache, empty if the query plan cache is disabled
+	 * @since 6.0.3
+	 */
+	default Optional<SQLQueryPlanCache> getQueryPlanCache() {
+		return Optional.empty();
+	}
+
+	/**
+	 * Get whether the save operations should be performed using a single native <em>upsert</em> statement, when
+	 * supported by the current dialect.
+	 * @return <code>true</code> if the native upsert is enabled by default, <code>false</code> otherwise
+	 * @since 6.0.3
+	 */
+	default boolean isNativeUpsertEnabled() {
+		return false;
+	}
+
 	/**
 	 * Get the {@link SQLStatementConfigurator}.
 	 * @return the {@link SQLStatementConfigurator}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.internal;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Tracks the query streams which hold a datastore connection and which are opened while executing an operation, in
+ * order to run a callback when the operation ended and all such streams were closed.
+ * <p>
+ * The streams are tracked only if they are opened by the thread which executes the operation.
+ * </p>
+ *
+ * @since 6.0.3
+ */
+final class ConnectionStreamTracker {
+
+	private static final ThreadLocal<ConnectionStreamTracker> CURRENT = new ThreadLocal<>();
+
+	private static final Runnable NOT_TRACKED = () -> {
+		// noop
+	};
+
+	private final Runnable onRelease;
+
+	/**
+	 * The operation itself counts as one, until it ends
+	 */
+	private final AtomicInteger pending = new AtomicInteger(1);
+
+	private final AtomicBoolean released = new AtomicBoolean(false);
+
+	/**
+	 * Constructor.
+	 * @param onRelease The callback to run when the operation ended and all the tracked streams were closed
+	 */
+	ConnectionStreamTracker(Runnable onRelease) {
+		super();
+		this.onRelease = onRelease;
+	}
+
+	/**
+	 * Execute given operation, tracking the connection streams it opens. The release callback is run when the
+	 * operation ended and all the tracked streams were closed, or immediately if the operation fails.
+	 * @param <R> Operation result type
+	 * @param operation The operation to execute
+	 * @return The operation result
+	 */
+	<R> R track(Supplier<R> operation) {
+		final ConnectionStreamTracker previous = CURRENT.get();
+		CURRENT.set(this);
+		boolean failed = true;
+		try {
+			final R result = operation.get();
+			failed = false;
+			return result;
+		} finally {
+			if (previous != null) {
+				CURRENT.set(previous);
+			} else {
+				CURRENT.remove();
+			}
+			if (failed) {
+				release();
+			} else {
+				decrement();
+			}
+		}
+	}
+
+	/**
+	 * Notify that a stream which holds a connection has been opened by the current thread.
+	 * @return The callback to run when the stream is closed
+	 */
+	static Runnable opened() {
+		final ConnectionStreamTracker tracker = CURRENT.get();
+		if (tracker == null) {
+			return NOT_TRACKED;
+		}
+		tracker.pending.incrementAndGet();
+		final AtomicBoolean closed = new AtomicBoolean(false);
+		return () -> {
+			if (closed.compareAndSet(false, true)) {
+				tracker.decrement();
+			}
+		};
+	}
+
+	private void decrement() {
+		if (pending.decrementAndGet() == 0) {
+			release();
+		}
+	}
+
+	private void release() {
+		if (released.compareAndSet(false, true)) {
+			onRelease.run();
+		}
+	}
+
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.internal;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.datastore.jdbc.AsyncJdbcDatastore;
+import com.holonplatform.datastore.jdbc.JdbcDatastore;
+import com.holonplatform.jdbc.DataSourceConfigProperties;
+
+/**
+ * Default {@link AsyncJdbcDatastore} implementation.
+ *
+ * @since 6.0.3
+ */
+public class DefaultAsyncJdbcDatastore implements AsyncJdbcDatastore {
+
+	private static final Logger LOGGER = JdbcDatastoreLogger.create();
+
+	/**
+	 * Connection pool max size getter methods of the most common pooled DataSource implementations
+	 */
+	private static final String[] POOL_SIZE_METHODS = { "getMaximumPoolSize", "getMaxTotal", "getMaxActive",
+			"getMaxPoolSize" };
+
+	/**
+	 * Default executor, which uses a new virtual thread for each operation
+	 */
+	private static final Executor DEFAULT_EXECUTOR = new Executor() {
+
+		private final ThreadFactory threadFactory = Thread.ofVirtual().name("jdbc-async-", 0).factory();
+
+		@Override
+		public void execute(Runnable command) {
+			threadFactory.newThread(command).start();
+		}
+
+	};
+
+	private final JdbcDatastore datastore;
+
+	private final Executor executor;
+
+	private final int maxConcurrency;
+
+	private final Semaphore semaphore;
+
+	/**
+	 * Constructor.
+	 * @param datastore The datastore (not null)
+	 * @param executor The executor (not null)
+	 * @param maxConcurrency The max concurrency (greater than 0)
+	 */
+	public DefaultAsyncJdbcDatastore(JdbcDatastore datastore, Executor executor, int maxConcurrency) {
+		super();
+		ObjectUtils.argumentNotNull(datastore, "Datastore must be not null");
+		ObjectUtils.argumentNotNull(executor, "Executor must be not null");
+		if (maxConcurrency < 1) {
+			throw new IllegalArgumentException("Max concurrency must be greater than 0");
+		}
+		this.datastore = datastore;
+		this.executor = executor;
+		this.maxConcurrency = maxConcurrency;
+		this.semaphore = new Semaphore(maxConcurrency, true);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.AsyncJdbcDatastore#getDatastore()
+	 */
+	@Override
+	public JdbcDatastore getDatastore() {
+		return datastore;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.AsyncJdbcDatastore#getMaxConcurrency()
+	 */
+	@Override
+	public int getMaxConcurrency() {
+		return maxConcurrency;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.AsyncJdbcDatastore#execute(java.util.function.Function)
+	 */
+	@Override
+	public <R> CompletableFuture<R> execute(Function<JdbcDatastore, R> operation) {
+		ObjectUtils.argumentNotNull(operation, "Operation must be not null");
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				semaphore.acquire();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new DataAccessException("Interrupted while waiting to execute the operation", e);
+			}
+			// keep the permit until the connection streams opened by the operation, if any, are closed
+			return new ConnectionStreamTracker(semaphore::release).track(() -> operation.apply(datastore));
+		}, executor);
+	}
+
+	/**
+	 * Try to detect the max size of the connection pool used by given datastore.
+	 * @param datastore The datastore
+	 * @return The connection pool max size, or {@link DataSourceConfigProperties#DEFAULT_MAX_POOL_SIZE} if it cannot
+	 *         be detected
+	 */
+	private static int getConnectionPoolSize(JdbcDatastore datastore) {
+		if (datastore instanceof DefaultJdbcDatastore) {
+			final DefaultJdbcDatastore jdbcDatastore = (DefaultJdbcDatastore) datastore;
+			final Integer configured = jdbcDatastore.getConfiguration()
+					.flatMap(c -> c.getConfigPropertyValue(DataSourceConfigProperties.MAX_POOL_SIZE)).orElse(null);
+			if (configured != null && configured > 0) {
+				return configured;
+			}
+			final DataSource dataSource = jdbcDatastore.getDataSource();
+			if (dataSource != null) {
+				for (String name : POOL_SIZE_METHODS) {
+					try {
+						final Method method = dataSource.getClass().getMethod(name);
+						if (method.getReturnType() == int.class) {
+							final int size = (Integer) method.invoke(dataSource);
+							if (size > 0) {
+								return size;
+							}
+						}
+					} catch (NoSuchMethodException e) {
+						// ignore
+					} catch (Exception e) {
+						LOGGER.debug(() -> "Failed to obtain the connection pool size using method [" + name + "]", e);
+					}
+				}
+			}
+		}
+		return DataSourceConfigProperties.DEFAULT_MAX_POOL_SIZE;
+	}
+
+	// ------- Builder
+
+	/**
+	 * Default {@link AsyncJdbcDatastore.Builder}.
+	 */
+	public static class DefaultBuilder implements AsyncJdbcDatastore.Builder {
+
+		private final JdbcDatastore datastore;
+
+		private Executor executor = DEFAULT_EXECUTOR;
+
+		private int maxConcurrency = 0;
+
+		/**
+		 * Constructor.
+		 * @param datastore The datastore (not null)
+		 */
+		public DefaultBuilder(JdbcDatastore datastore) {
+			super();
+			ObjectUtils.argumentNotNull(datastore, "Datastore must be not null");
+			this.datastore = datastore;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.datastore.jdbc.AsyncJdbcDatastore.Builder#executor(java.util.concurrent.Executor)
+		 */
+		@Override
+		public AsyncJdbcDatastore.Builder executor(Executor executor) {
+			ObjectUtils.argumentNotNull(executor, "Executor must be not null");
+			this.executor = executor;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.datastore.jdbc.AsyncJdbcDatastore.Builder#maxConcurrency(int)
+		 */
+		@Override
+		public AsyncJdbcDatastore.Builder maxConcurrency(int maxConcurrency) {
+			if (maxConcurrency < 1) {
+				throw new IllegalArgumentException("Max concurrency must be greater than 0");
+			}
+			this.maxConcurrency = maxConcurrency;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.datastore.jdbc.AsyncJdbcDatastore.Builder#build()
+		 */
+		@Override
+		public AsyncJdbcDatastore build() {
+			return new DefaultAsyncJdbcDatastore(datastore, executor,
+					(maxConcurrency > 0) ? maxConcurrency : getConnectionPoolSize(datastore));
+		}
+
+	}
+
+}
@@ -15,18 +15,32 @@
  */
 package com.holonplatform.datastore.jdbc.internal;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.sql.DataSource;
 
 import com.holonplatform.core.Expression;
 import com.holonplatform.core.ExpressionResolver;
+import com.holonplatform.core.datastore.DataTarget;
 import com.holonplatform.core.datastore.DatastoreCommodity;
 import com.holonplatform.core.datastore.DatastoreConfigProperties;
 import com.holonplatform.core.datastore.transaction.TransactionConfiguration;
@@ -40,6 +54,7 @@ import com.holonplatform.datastore.jdbc.JdbcDatastore;
 import com.holonplatform.datastore.jdbc.composer.ConnectionHandler;
 import com.holonplatform.datastore.jdbc.composer.ConnectionOperation;
 import com.holonplatform.datastore.jdbc.composer.SQLDialect;
+import com.holonplatform.datastore.jdbc.composer.SQLQueryPlanCache;
 import com.holonplatform.datastore.jdbc.composer.SQLDialectContext;
 import com.holonplatform.datastore.jdbc.composer.SQLValueDeserializer;
 import com.holonplatform.datastore.jdbc.composer.SQLValueSerializer;
@@ -48,9 +63,15 @@ import com.holonplatform.datastore.jdbc.composer.expression.SQLPrimaryKey;
 import com.holonplatform.datastore.jdbc.composer.expression.SQLStatement;
 import com.holonplatform.datastore.jdbc.composer.resolvers.SQLContextExpressionResolver;
 import com.holonplatform.datastore.jdbc.config.IdentifierResolutionStrategy;
+import com.holonplatform.datastore.jdbc.config.JdbcContextHolder;
 import com.holonplatform.datastore.jdbc.config.JdbcDatastoreCommodityContext;
 import com.holonplatform.datastore.jdbc.config.JdbcDatastoreCommodityFactory;
 import com.holonplatform.datastore.jdbc.config.JdbcDatastoreExpressionResolver;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationEvent;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationListener;
+import com.holonplatform.datastore.jdbc.internal.operations.DefaultJdbcBulkLoad;
+import com.holonplatform.datastore.jdbc.internal.operations.DefaultJdbcBulkRefresh;
+import com.holonplatform.datastore.jdbc.internal.operations.DefaultJdbcBulkSave;
 import com.holonplatform.datastore.jdbc.internal.operations.JdbcBulkDelete;
 import com.holonplatform.datastore.jdbc.internal.operations.JdbcBulkInsert;
 import com.holonplatform.datastore.jdbc.internal.operations.JdbcBulkUpdate;
@@ -62,7 +83,12 @@ import com.holonplatform.datastore.jdbc.internal.operations.JdbcSave;
 import com.holonplatform.datastore.jdbc.internal.operations.JdbcUpdate;
 import com.holonplatform.datastore.jdbc.internal.resolvers.OperationIdentifierResolver;
 import com.holonplatform.datastore.jdbc.internal.resolvers.PrimaryKeyResolver;
+import com.holonplatform.datastore.jdbc.internal.support.DefaultJdbcSlowOperationLog;
+import com.holonplatform.datastore.jdbc.internal.support.JdbcOperationObserver;
 import com.holonplatform.datastore.jdbc.internal.support.JdbcOperationUtils;
+import com.holonplatform.datastore.jdbc.internal.support.PreparedStatementCache;
+import com.holonplatform.datastore.jdbc.internal.support.SchemaCatalog;
+import com.holonplatform.datastore.jdbc.internal.support.SchemaCatalog.MetadataRecorder;
 import com.holonplatform.datastore.jdbc.tx.JdbcTransaction;
 import com.holonplatform.datastore.jdbc.tx.JdbcTransactionFactory;
 import com.holonplatform.jdbc.DataSourceBuilder;
@@ -91,14 +117,14 @@ public class DefaultJdbcDatastore extends AbstractInitializableDatastore<JdbcDat
 	protected static final Logger LOGGER = JdbcDatastoreLogger.create();
 
 	/**
-	 * Current local transaction
+	 * Current local transaction holder
 	 */
-	private static final ThreadLocal<JdbcTransaction> CURRENT_TRANSACTION = new ThreadLocal<>();
+	private JdbcContextHolder<JdbcTransaction> currentTransaction = JdbcContextHolder.threadLocal();
 
 	/**
-	 * Shared connection
+	 * Shared connection holder
 	 */
-	private static final ThreadLocal<Connection> SHARED_CONNECTION = new ThreadLocal<>();
+	private JdbcContextHolder<Connection> sharedConnection = JdbcContextHolder.threadLocal();
 
 	/**
 	 * Data source configuration
@@ -135,6 +161,66 @@ public class DefaultJdbcDatastore extends AbstractInitializableDatastore<JdbcDat
 	 */
 	private IdentifierResolutionStrategy identifierResolutionStrategy = IdentifierResolutionStrategy.AUTO;
 
+	/**
+	 * Default query fetch size
+	 */
+	private Integer defaultFetchSize;
+
+	/**
+	 * Whether to use the dialect native upsert statement for save operations
+	 */
+	private boolean nativeUpsert = false;
+
+	/**
+	 * Query plan cache
+	 */
+	private transient SQLQueryPlanCache queryPlanCache;
+
+	/**
+	 * Statement cache size
+	 */
+	private int statementCacheSize = 0;
+
+	/**
+	 * Statement caches bound to the shared and transaction connections
+	 */
+	private transient Map<Connection, PreparedStatementCache> statementCaches;
+
+	/**
+	 * Primary key resolver
+	 */
+	private final PrimaryKeyResolver primaryKeyResolver = new PrimaryKeyResolver(this);
+
+	/**
+	 * Whether to preload the primary keys metadata at datastore initialization
+	 */
+	private boolean preloadPrimaryKeys = false;
+
+	/**
+	 * Optional schema catalog file
+	 */
+	private Path schemaCatalogFile;
+
+	/**
+	 * Whether to verify the loaded schema catalog against the database
+	 */
+	private boolean verifySchemaCatalog = true;
+
+	/**
+	 * Schema catalog verification result
+	 */
+	private volatile CompletableFuture<Boolean> schemaCatalogVerification;
+
+	/**
+	 * Operation listeners notifier
+	 */
+	private final JdbcOperationObserver operationObserver = new JdbcOperationObserver();
+
+	/**
+	 * Expression resolvers version
+	 */
+	private final AtomicLong expressionResolversVersion = new AtomicLong();
+
 	/**
 	 * Constructor.
 	 */
@@ -143,18 +229,21 @@ public class DefaultJdbcDatastore extends AbstractInitializableDatastore<JdbcDat
 
 		// operation identifiers and primary key resolvers
 		addExpressionResolver(new OperationIdentifierResolver(this));
-		addExpressionResolver(new PrimaryKeyResolver(this));
+		addExpressionResolver(primaryKeyResolver);
 
 		// default resolvers
 		addExpressionResolvers(SQLContextExpressionResolver.getDefaultResolvers());
 
 		// register operation commodities
 		registerCommodity(JdbcRefresh.FACTORY);
+		registerCommodity(DefaultJdbcBulkRefresh.FACTORY);
 		registerCommodity(JdbcInsert.FACTORY);
 		registerCommodity(JdbcUpdate.FACTORY);
 		registerCommodity(JdbcSave.FACTORY);
 		registerCommodity(JdbcDelete.FACTORY);
 		registerCommodity(JdbcBulkInsert.FACTORY);
+		registerCommodity(DefaultJdbcBulkLoad.FACTORY);
+		registerCommodity(DefaultJdbcBulkSave.FACTORY);
 		registerCommodity(JdbcBulkUpdate.FACTORY);
 		registerCommodity(JdbcBulkDelete.FACTORY);
 		registerCommodity(JdbcQuery.FACTORY);
@@ -179,25 +268,35 @@ public class DefaultJdbcDatastore extends AbstractInitializableDatastore<JdbcDat
 	@Override
 	protected boolean initialize(ClassLoader classLoader) {
 
+		// schema catalog
+		final SchemaCatalog catalog = loadSchemaCatalog();
+		final MetadataRecorder recorder = (schemaCatalogFile != null && catalog == null) ? new MetadataRecorder()
+				: null;
+
 		// auto detect platform if not setted
 		DatabaseMetadataPlatform initData = null;
-		if (getDatabase().orElse(DatabasePlatform.NONE) == DatabasePlatform.NONE) {
+		if (catalog != null) {
+			initData = new DatabaseMetadataPlatform();
+			initData.metadata = catalog.isMetadataReplayable() ? catalog.getDatabaseMetaData() : null;
+			initData.platform = catalog.getPlatform();
+		} else if (recorder != null || getDatabase().orElse(DatabasePlatform.NONE) == DatabasePlatform.NONE) {
 			try {
 				initData = withConnection(ConnectionType.INIT, c -> {
 					final DatabaseMetaData databaseMetaData = c.getMetaData();
 					DatabaseMetadataPlatform dmp = new DatabaseMetadataPlatform();
-					dmp.metadata = databaseMetaData;
+					dmp.metadata = (recorder != null) ? recorder.record(databaseMetaData) : databaseMetaData;
 					dmp.platform = DatabasePlatform.fromUrl(databaseMetaData.getURL());
 					return dmp;
 				});
 			} catch (Exception e) {
 				LOGGER.warn("Failed to inspect database metadata", e);
 			}
+		}
 
-			if (initData != null && initData.platform != null && initData.platform != DatabasePlatform.NONE) {
-				// set database platform if detected
-				setDatabase(initData.platform);
-			}
+		if (getDatabase().orElse(DatabasePlatform.NONE) == DatabasePlatform.NONE && initData != null
+				&& initData.platform != null && initData.platform != DatabasePlatform.NONE) {
+			// set database platform if detected
+			setDatabase(initData.platform);
 		}
 
 		// check dialect
@@ -218,11 +317,175 @@ public class DefaultJdbcDatastore extends AbstractInitializableDatastore<JdbcDat
 		loadExpressionResolvers(classLoader);
 		loadCommodityFactories(classLoader);
 
+		// primary keys metadata
+		if (catalog != null) {
+			final int count = primaryKeyResolver.preload(this, catalog);
+			LOGGER.debug(() -> "Loaded [" + count + "] table primary keys from the schema catalog");
+			if (verifySchemaCatalog) {
+				schemaCatalogVerification = verifySchemaCatalog(catalog);
+			}
+		} else if (recorder != null) {
+			try {
+				final SchemaCatalog created = withConnection(ConnectionType.INIT,
+						c -> SchemaCatalog.read(c, getDatabase().orElse(DatabasePlatform.NONE), recorder));
+				primaryKeyResolver.preload(this, created);
+				created.store(schemaCatalogFile);
+				LOGGER.debug(() -> "Schema catalog stored in [" + schemaCatalogFile + "]");
+			} catch (Exception e) {
+				LOGGER.warn("Failed to create the schema catalog [" + schemaCatalogFile + "]", e);
+			}
+		} else if (preloadPrimaryKeys) {
+			try {
+				final int count = primaryKeyResolver.preload(this);
+				LOGGER.debug(() -> "Preloaded [" + count + "] table primary keys");
+			} catch (Exception e) {
+				LOGGER.warn("Failed to preload the table primary keys", e);
+			}
+		}
+
 		LOGGER.info("JdbcDatastore initialized - Using dialect [" + dialect.getClass().getName() + "]");
 
 		return true;
 	}
 
+	/**
+	 * Load the schema catalog from the schema catalog file, if configured and available. A schema catalog which was
+	 * not read from the database URL and schema of the configured data source is ignored.
+	 * @return The schema catalog, <code>null</code> if not available
+	 */
+	private SchemaCatalog loadSchemaCatalog() {
+		if (schemaCatalogFile != null) {
+			final SchemaCatalog catalog;
+			try {
+				catalog = SchemaCatalog.load(schemaCatalogFile).orElse(null);
+			} catch (IOException e) {
+				LOGGER.warn("Failed to load the schema catalog [" + schemaCatalogFile
+						+ "]: the schema catalog will be created using the database metadata", e);
+				return null;
+			}
+			if (catalog != null) {
+				final boolean source;
+				try {
+					source = withConnection(ConnectionType.INIT, c -> {
+						return catalog.isSource(c);
+					});
+				} catch (Exception e) {
+					LOGGER.warn("Failed to check the schema catalog [" + schemaCatalogFile
+							+ "] database URL and schema: the schema catalog will be used", e);
+					return catalog;
+				}
+				if (!source) {
+					LOGGER.warn("The schema catalog [" + schemaCatalogFile + "] was created for a different database ["
+							+ catalog.getUrl() + "] or schema [" + catalog.getSchema()
+							+ "]: the schema catalog will be created using the database metadata");
+					return null;
+				}
+			}
+			return catalog;
+		}
+		return null;
+	}
+
+	/**
+	 * Verify given schema catalog against the database metadata in a background thread. If the schema catalog is not
+	 * up to date, the cached primary keys are reloaded and the schema catalog file is updated.
+	 * @param catalog The schema catalog to verify
+	 * @return The verification result: <code>true</code> if the schema catalog is up to date
+	 */
+	private CompletableFuture<Boolean> verifySchemaCatalog(SchemaCatalog catalog) {
+		final Path file = schemaCatalogFile;
+		final CompletableFuture<Boolean> result = new CompletableFuture<>();
+		final Thread verifier = new Thread(() -> {
+			try {
+				final SchemaCatalog current = withConnection(ConnectionType.INIT,
+						c -> SchemaCatalog.refresh(c, catalog));
+				if (current.getChecksum().equals(catalog.getChecksum())) {
+					LOGGER.debug(() -> "Schema catalog [" + file + "] is up to date");
+					result.complete(Boolean.TRUE);
+					return;
+				}
+				if (!current.isMetadataEqual(catalog)) {
+					LOGGER.warn("The database metadata differs from the schema catalog [" + file
+							+ "]: the dialect configuration will be updated at next datastore initialization");
+				} else {
+					LOGGER.info("Schema catalog [" + file + "] is not up to date: reloading the table primary keys");
+				}
+				primaryKeyResolver.invalidateAll();
+				primaryKeyResolver.preload(this, current);
+				current.store(file);
+				result.complete(Boolean.FALSE);
+			} catch (Exception e) {
+				LOGGER.warn("Failed to verify the schema catalog [" + file + "]", e);
+				result.completeExceptionally(e);
+			}
+		}, "jdbc-schema-catalog-verifier");
+		verifier.setDaemon(true);
+		verifier.start();
+		return result;
+	}
+
+	/**
+	 * Get the background verification result of the schema catalog loaded at datastore initialization, if any.
+	 * @return Optional verification result: <code>true</code> if the schema catalog was up to date, <code>false</code>
+	 *         if it was updated using the database metadata
+	 */
+	public Optional<CompletableFuture<Boolean>> getSchemaCatalogVerification() {
+		return Optional.ofNullable(schemaCatalogVerification);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.JdbcDatastore#addOperationListener(com.holonplatform.datastore.jdbc.config.
+	 * JdbcOperationListener)
+	 */
+	@Override
+	public void addOperationListener(JdbcOperationListener listener) {
+		operationObserver.addListener(listener);
+		if (listener instanceof DefaultJdbcSlowOperationLog) {
+			((DefaultJdbcSlowOperationLog) listener).setOperationContext(this);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.JdbcDatastore#removeOperationListener(com.holonplatform.datastore.jdbc.
+	 * config.JdbcOperationListener)
+	 */
+	@Override
+	public void removeOperationListener(JdbcOperationListener listener) {
+		operationObserver.removeListener(listener);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.context.JdbcOperationContext#observe(com.holonplatform.datastore.jdbc.
+	 * config.JdbcOperationEvent.OperationType, com.holonplatform.core.datastore.DataTarget,
+	 * java.util.function.Supplier)
+	 */
+	@Override
+	public <R> R observe(JdbcOperationEvent.OperationType type, DataTarget<?> target, Supplier<R> operation) {
+		ObjectUtils.argumentNotNull(type, "Operation type must be not null");
+		ObjectUtils.argumentNotNull(operation, "Operation must be not null");
+		return operationObserver.observe(type, (target != null) ? target.getName() : null, operation);
+	}
+
+	/**
+	 * Set the {@link JdbcContextHolder.Factory} to use to create the holders which bind the current transaction and
+	 * the shared connection to the current execution context. The factory can only be set before the datastore is
+	 * initialized, since replacing the holders would lose the bound transactions and connections.
+	 * @param factory The factory to set (not null)
+	 * @throws IllegalStateException If the datastore is already initialized
+	 */
+	public void setContextHolderFactory(JdbcContextHolder.Factory factory) {
+		ObjectUtils.argumentNotNull(factory, "JdbcContextHolder factory must be not null");
+		if (isInitialized()) {
+			throw new IllegalStateException("The JdbcContextHolder factory cannot be changed after initialization");
+		}
+		this.currentTransaction = factory.create();
+		this.sharedConnection = factory.create();
+		this.operationObserver.setContextHolderFactory(factory);
+	}
+
 	/**
 	 * Get the {@link JdbcTransactionFactory} to use to create a new JDBC transaction.
 	 * @return the transaction factory
@@ -338,6 +601,7 @@ public class DefaultJdbcDatastore extends AbstractInitializableDatastore<JdbcDat
 	 */
 	public void setDialect(SQLDialect dialect) {
 		this.dialect = dialect;
+		clearQueryPlanCache();
 	}
 
 	/*
@@ -359,6 +623,187 @@ public class DefaultJdbcDatastore extends AbstractInitializableDatastore<JdbcDat
 		this.identifierResolutionStrategy = identifierResolutionStrategy;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.context.JdbcOperationContext#getDefaultFetchSize()
+	 */
+	@Override
+	public int getDefaultFetchSize() {
+		return (defaultFetchSize != null) ? defaultFetchSize.intValue() : getDialect().getDefaultFetchSize();
+	}
+
+	/**
+	 * Set the default JDBC fetch size to use for query statements. If not specified, the dialect default fetch size
+	 * is used.
+	 * @param defaultFetchSize the default fetch size to set (<code>0</code> to use the JDBC driver default)
+	 */
+	public void setDefaultFetchSize(int defaultFetchSize) {
+		if (defaultFetchSize < 0) {
+			throw new IllegalArgumentException("Fetch size must be greater or equal to 0");
+		}
+		this.defaultFetchSize = defaultFetchSize;
+	}
+
+	/**
+	 * Set the max number of table primary keys to cache.
+	 * @param maxSize the max number of cached primary keys (<code>0</code> to disable the primary key cache)
+	 */
+	public void setPrimaryKeyCacheSize(int maxSize) {
+		primaryKeyResolver.setMaxCacheSize(maxSize);
+	}
+
+	/**
+	 * Set whether to load the primary keys of all the tables of the current schema at datastore initialization.
+	 * @param preloadPrimaryKeys Whether to preload the primary keys
+	 */
+	public void setPreloadPrimaryKeys(boolean preloadPrimaryKeys) {
+		this.preloadPrimaryKeys = preloadPrimaryKeys;
+	}
+
+	/**
+	 * Set the file to use to store and load the schema catalog, a snapshot of the database metadata used at datastore
+	 * initialization and of the table primary keys.
+	 * @param schemaCatalogFile The schema catalog file (<code>null</code> to disable the schema catalog)
+	 */
+	public void setSchemaCatalogFile(Path schemaCatalogFile) {
+		this.schemaCatalogFile = schemaCatalogFile;
+	}
+
+	/**
+	 * Set whether to verify the schema catalog loaded at datastore initialization against the database metadata, using
+	 * a background thread.
+	 * @param verifySchemaCatalog Whether to verify the schema catalog
+	 */
+	public void setVerifySchemaCatalog(boolean verifySchemaCatalog) {
+		this.verifySchemaCatalog = verifySchemaCatalog;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.JdbcDatastore#invalidatePrimaryKeys(java.lang.String[])
+	 */
+	@Override
+	public void invalidatePrimaryKeys(String... tableNames) {
+		if (tableNames == null || tableNames.length == 0) {
+			primaryKeyResolver.invalidateAll();
+		} else {
+			final SQLDialect dialect = getDialect();
+			for (String tableName : tableNames) {
+				primaryKeyResolver.invalidate((dialect != null) ? dialect.getTableName(tableName) : tableName);
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.context.JdbcOperationContext#isNativeUpsertEnabled()
+	 */
+	@Override
+	public boolean isNativeUpsertEnabled() {
+		return nativeUpsert;
+	}
+
+	/**
+	 * Set whether to perform the save operations using the dialect native upsert statement, when supported.
+	 * @param nativeUpsert Whether to enable the native upsert
+	 */
+	public void setNativeUpsert(boolean nativeUpsert) {
+		this.nativeUpsert = nativeUpsert;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.context.JdbcOperationContext#getQueryPlanCache()
+	 */
+	@Override
+	public Optional<SQLQueryPlanCache> getQueryPlanCache() {
+		return Optional.ofNullable(queryPlanCache);
+	}
+
+	/**
+	 * Set the max number of compiled query plans to cache.
+	 * @param maxSize the max number of cached query plans (<code>0</code> to disable the query plan cache)
+	 */
+	public void setQueryPlanCacheSize(int maxSize) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException("Query plan cache size must be greater or equal to 0");
+		}
+		this.queryPlanCache = (maxSize > 0) ? SQLQueryPlanCache.create(maxSize) : null;
+	}
+
+	/**
+	 * Get the max number of prepared statements to cache for each shared or transaction connection.
+	 * @return the statement cache size, <code>0</code> if the statement cache is disabled
+	 */
+	public int getStatementCacheSize() {
+		return statementCacheSize;
+	}
+
+	/**
+	 * Set the max number of prepared statements to cache for each shared or transaction connection, i.e. within a
+	 * {@link #withSharedConnection(Supplier)} or {@link #withTransaction(TransactionalOperation)} scope.
+	 * @param maxSize the max number of cached statements (<code>0</code> to disable the statement cache)
+	 */
+	public void setStatementCacheSize(int maxSize) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException("Statement cache size must be greater or equal to 0");
+		}
+		this.statementCacheSize = maxSize;
+	}
+
+	/**
+	 * Remove all the cached query plans, if the query plan cache is enabled.
+	 */
+	protected void clearQueryPlanCache() {
+		if (queryPlanCache != null) {
+			queryPlanCache.clear();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.datastore.AbstractDatastore#addExpressionResolver(com.holonplatform.core.
+	 * ExpressionResolver)
+	 */
+	@Override
+	public <E extends Expression, R extends Expression> void addExpressionResolver(
+			ExpressionResolver<E, R> expressionResolver) {
+		super.addExpressionResolver(expressionResolver);
+		expressionResolversChanged();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.datastore.AbstractDatastore#removeExpressionResolver(com.holonplatform.
+	 * core.ExpressionResolver)
+	 */
+	@Override
+	public <E extends Expression, R extends Expression> void removeExpressionResolver(
+			ExpressionResolver<E, R> expressionResolver) {
+		super.removeExpressionResolver(expressionResolver);
+		expressionResolversChanged();
+	}
+
+	/**
+	 * Invalidate the structures derived from the expression resolvers, when a resolver is added or removed.
+	 */
+	private void expressionResolversChanged() {
+		// may be invoked by the super class constructor
+		if (expressionResolversVersion != null) {
+			expressionResolversVersion.incrementAndGet();
+		}
+		clearQueryPlanCache();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLContext#getExpressionResolversVersion()
+	 */
+	@Override
+	public long getExpressionResolversVersion() {
+		return expressionResolversVersion.get();
+	}
+
 	/**
 	 * Execute given <code>operation</code> with a JDBC {@link Connection} handled by current
 	 * {@link JdbcConnectionHandler} and return the operation result.
@@ -375,8 +820,9 @@ public class DefaultJdbcDatastore extends AbstractInitializableDatastore<JdbcDat
 		Connection connection = null;
 		try {
 			// check shared connection
-			if (SHARED_CONNECTION.get() != null) {
-				return operation.execute(SHARED_CONNECTION.get());
+			final Connection shared = sharedConnection.get().orElse(null);
+			if (shared != null) {
+				return operation.execute(shared);
 			}
 
 			// if a transaction is active, use current transaction connection
@@ -414,20 +860,109 @@ public class DefaultJdbcDatastore extends AbstractInitializableDatastore<JdbcDat
 	public <R> R withSharedConnection(Supplier<R> operations) {
 		ObjectUtils.argumentNotNull(operations, "Operations must be not null");
 
-		if (SHARED_CONNECTION.get() != null) {
+		if (sharedConnection.get().isPresent()) {
 			return operations.get();
 		}
 
 		return withConnection(connection -> {
+			final PreparedStatementCache statementCache = bindStatementCache(connection);
 			try {
-				SHARED_CONNECTION.set(connection);
-				return operations.get();
+				return sharedConnection.bind(connection, operations);
 			} finally {
-				SHARED_CONNECTION.remove();
+				unbindStatementCache(statementCache);
 			}
 		});
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.context.JdbcOperationContext#withConnectionStream(com.holonplatform.
+	 * datastore.jdbc.composer.ConnectionOperation)
+	 */
+	@Override
+	public <R> Stream<R> withConnectionStream(ConnectionOperation<Stream<R>> operation) {
+		checkInitialized();
+		ObjectUtils.argumentNotNull(operation, "Operation must be not null");
+
+		// check shared connection or current transaction connection
+		final Connection boundConnection = sharedConnection.get()
+				.orElseGet(() -> getCurrentTransactionConnection().orElse(null));
+		if (boundConnection != null) {
+			// the connection is not released, but the stream resources are closed as soon as it is exhausted
+			try {
+				return closeOnExhaustion(operation.execute(boundConnection));
+			} catch (DataAccessException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new DataAccessException("Failed to execute operation", e);
+			}
+		}
+
+		// get a connection from connection handler, released at stream close
+		final Connection connection;
+		try {
+			connection = obtainConnection(ConnectionType.DEFAULT);
+		} catch (SQLException e) {
+			throw new DataAccessException("Failed to obtain a connection", e);
+		}
+		final Runnable closed = ConnectionStreamTracker.opened();
+		try {
+			return closeOnExhaustion(operation.execute(connection).onClose(() -> {
+				try {
+					releaseConnection(connection, ConnectionType.DEFAULT);
+				} catch (SQLException e) {
+					throw new DataAccessException("Failed to release the connection", e);
+				} finally {
+					closed.run();
+				}
+			}));
+		} catch (Exception e) {
+			try {
+				releaseConnection(connection, ConnectionType.DEFAULT);
+			} catch (SQLException re) {
+				LOGGER.warn("Operation failed but the connection cannot be released", re);
+			} finally {
+				closed.run();
+			}
+			if (e instanceof DataAccessException) {
+				throw (DataAccessException) e;
+			}
+			throw new DataAccessException("Failed to execute operation", e);
+		}
+	}
+
+	/**
+	 * Wrap given {@link Stream} in order to close it as soon as its elements are exhausted or an error occurs, so that
+	 * the resources bound to the stream are released even if the stream is not explicitly closed.
+	 * @param <R> Stream elements type
+	 * @param stream The stream to wrap
+	 * @return The wrapped stream
+	 */
+	private static <R> Stream<R> closeOnExhaustion(Stream<R> stream) {
+		final Spliterator<R> spliterator = stream.spliterator();
+		// close the returned stream, so that close handlers registered later on it are run too
+		final AtomicReference<Stream<R>> wrapped = new AtomicReference<>();
+		wrapped.set(StreamSupport.stream(new Spliterators.AbstractSpliterator<R>(spliterator.estimateSize(),
+				spliterator.characteristics()) {
+
+			@Override
+			public boolean tryAdvance(Consumer<? super R> action) {
+				try {
+					if (spliterator.tryAdvance(action)) {
+						return true;
+					}
+				} catch (RuntimeException e) {
+					wrapped.get().close();
+					throw e;
+				}
+				wrapped.get().close();
+				return false;
+			}
+
+		}, false).onClose(stream::close));
+		return wrapped.get();
+	}
+
 	/**
 	 * Obtain a new {@link Connection} using the configured {@link DataSource} and
 	 * {@link JdbcConnectionHandler}.
@@ -443,7 +978,8 @@ public class DefaultJdbcDatastore extends AbstractInitializableDatastore<JdbcDat
 			throw new IllegalStateException("A DataSource is not available. Check Datastore configuration.");
 		}
 		// get connection from handler
-		Connection connection = getConnectionHandler().getConnection(dataSource, connectionType);
+		Connection connection = operationObserver
+				.acquireConnection(() -> getConnectionHandler().getConnection(dataSource, connectionType));
 		if (connection == null) {
 			throw new IllegalStateException(
 					"The connection handler [" + getConnectionHandler() + "] returned a null connection");
@@ -459,7 +995,8 @@ public class DefaultJdbcDatastore extends AbstractInitializableDatastore<JdbcDat
 	 */
 	private void releaseConnection(Connection connection, ConnectionType connectionType) throws SQLException {
 		if (connection != null) {
-			getConnectionHandler().releaseConnection(connection, getDataSource(), connectionType);
+			getConnectionHandler().releaseConnection(JdbcOperationObserver.releasable(connection), getDataSource(),
+					connectionType);
 		}
 	}
 
@@ -487,10 +1024,25 @@ public class DefaultJdbcDatastore extends AbstractInitializableDatastore<JdbcDat
 		checkInitialized();
 		ObjectUtils.argumentNotNull(operation, "TransactionalOperation must be not null");
 
-		// check active transaction or create a new one
-		final JdbcTransaction tx = getCurrentTransaction().map(t -> JdbcTransaction.delegate(t))
-				.orElseGet(() -> startTransaction(transactionConfiguration));
+		// check active transaction
+		final JdbcTransaction current = getCurrentTransaction().orElse(null);
+		if (current != null) {
+			return executeInTransaction(JdbcTransaction.delegate(current), operation);
+		}
+
+		// create a new transaction and bind it for the operation execution
+		final JdbcTransaction tx = startTransaction(transactionConfiguration);
+		return currentTransaction.bind(tx, () -> executeInTransaction(tx, operation));
+	}
 
+	/**
+	 * Execute given operation in given transaction, finalizing the transaction when the operation completes.
+	 * @param <R> Operation result type
+	 * @param tx The transaction
+	 * @param operation The operation to execute
+	 * @return The operation result
+	 */
+	private <R> R executeInTransaction(JdbcTransaction tx, TransactionalOperation<R> operation) {
 		try {
 			// execute operation
 			return operation.execute(tx);
@@ -510,11 +1062,20 @@ public class DefaultJdbcDatastore extends AbstractInitializableDatastore<JdbcDat
 
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.context.JdbcOperationContext#isConnectionBound()
+	 */
+	@Override
+	public boolean isConnectionBound() {
+		return sharedConnection.get().isPresent() || getCurrentTransactionConnection().isPresent();
+	}
+
 	/**
 	 * Get the {@link Connection} bound to the current transaction, if available.
 	 * @return Optional {@link Connection} bound to the current transaction
 	 */
-	private static Optional<Connection> getCurrentTransactionConnection() {
+	private Optional<Connection> getCurrentTransactionConnection() {
 		return getCurrentTransaction().map(tx -> tx.getConnection());
 	}
 
@@ -522,13 +1083,12 @@ public class DefaultJdbcDatastore extends AbstractInitializableDatastore<JdbcDat
 	 * Get the current transaction, if active.
 	 * @return Optional current transaction
 	 */
-	private static Optional<JdbcTransaction> getCurrentTransaction() {
-		return Optional.ofNullable(CURRENT_TRANSACTION.get());
+	private Optional<JdbcTransaction> getCurrentTransaction() {
+		return currentTransaction.get();
 	}
 
 	/**
-	 * Starts a {@link JdbcTransaction}. If a local transaction is active, it will be forcedly
-	 * finalized.
+	 * Starts a {@link JdbcTransaction}.
 	 * @param configuration Transaction configuration. If <code>null</code>, a default configuration
 	 *        will be used
 	 * @return A new transaction
@@ -536,17 +1096,6 @@ public class DefaultJdbcDatastore extends AbstractInitializableDatastore<JdbcDat
 	@SuppressWarnings("resource")
 	private JdbcTransaction startTransaction(TransactionConfiguration configuration) throws TransactionException {
 
-		// check if a current transaction is present
-		getCurrentTransaction().ifPresent(tx -> {
-			LOGGER.warn("A thread bound transaction was already present [" + tx
-					+ "] - The current transaction will be finalized");
-			try {
-				endTransaction(tx);
-			} catch (Exception e) {
-				LOGGER.warn("Failed to force current transaction finalization", e);
-			}
-		});
-
 		// configuration
 		final TransactionConfiguration cfg = (configuration != null) ? configuration
 				: TransactionConfiguration.getDefault();
@@ -576,10 +1125,9 @@ public class DefaultJdbcDatastore extends AbstractInitializableDatastore<JdbcDat
 			throw e;
 		}
 
-		// set as current transaction
-		CURRENT_TRANSACTION.set(tx);
+		bindStatementCache(connection);
 
-		LOGGER.debug(() -> "JDBC transaction [" + tx + "] created and setted as current transaction");
+		LOGGER.debug(() -> "JDBC transaction [" + tx + "] created");
 
 		// return the transaction
 		return tx;
@@ -600,15 +1148,14 @@ public class DefaultJdbcDatastore extends AbstractInitializableDatastore<JdbcDat
 			return false;
 		}
 
-		// remove reference
-		getCurrentTransaction().filter(current -> current == tx).ifPresent(current -> CURRENT_TRANSACTION.remove());
-
 		try {
 			// end the transaction if active
 			if (tx.isActive()) {
 				tx.end();
 			}
 		} finally {
+			// close cached statements
+			getStatementCache(tx.getConnection()).ifPresent(cache -> unbindStatementCache(cache));
 			// release connection
 			try {
 				releaseConnection(tx.getConnection(), ConnectionType.DEFAULT);
@@ -623,6 +1170,51 @@ public class DefaultJdbcDatastore extends AbstractInitializableDatastore<JdbcDat
 		return true;
 	}
 
+	/**
+	 * Bind a new {@link PreparedStatementCache} to given connection, if the statement cache is enabled and a cache is
+	 * not already bound to the connection.
+	 * @param connection The connection
+	 * @return The bound statement cache, <code>null</code> if none
+	 */
+	private synchronized PreparedStatementCache bindStatementCache(Connection connection) {
+		if (statementCacheSize < 1) {
+			return null;
+		}
+		if (statementCaches == null) {
+			statementCaches = Collections.synchronizedMap(new IdentityHashMap<>());
+		}
+		if (statementCaches.containsKey(connection)) {
+			return null;
+		}
+		final PreparedStatementCache cache = new PreparedStatementCache(connection, statementCacheSize);
+		statementCaches.put(connection, cache);
+		return cache;
+	}
+
+	/**
+	 * Unbind given {@link PreparedStatementCache} from its connection and close the cached statements.
+	 * @param cache The statement cache (may be null)
+	 */
+	private void unbindStatementCache(PreparedStatementCache cache) {
+		if (cache != null) {
+			final Map<Connection, PreparedStatementCache> caches = statementCaches;
+			if (caches != null) {
+				caches.remove(cache.getConnection());
+			}
+			cache.close();
+		}
+	}
+
+	/**
+	 * Get the {@link PreparedStatementCache} bound to given connection, if available.
+	 * @param connection The connection
+	 * @return Optional statement cache
+	 */
+	private Optional<PreparedStatementCache> getStatementCache(Connection connection) {
+		final Map<Connection, PreparedStatementCache> caches = statementCaches;
+		return (caches != null) ? Optional.ofNullable(caches.get(connection)) : Optional.empty();
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see
@@ -635,7 +1227,9 @@ public class DefaultJdbcDatastore extends AbstractInitializableDatastore<JdbcDat
 		ObjectUtils.argumentNotNull(connection, "Connection must be not null");
 
 		try {
-			PreparedStatement stmt = connection.prepareStatement(statement.getSql());
+			final PreparedStatementCache cache = getStatementCache(connection).orElse(null);
+			PreparedStatement stmt = (cache != null) ? cache.prepareStatement(statement.getSql())
+					: connection.prepareStatement(statement.getSql());
 
 			// configure
 			getStatementConfigurator().configureStatement(this, stmt, statement);
@@ -660,6 +1254,7 @@ public class DefaultJdbcDatastore extends AbstractInitializableDatastore<JdbcDat
 		ObjectUtils.argumentNotNull(connection, "Connection must be not null");
 
 		try {
+			final PreparedStatementCache cache = getStatementCache(connection).orElse(null);
 			PreparedStatement stmt;
 
 			String[] pkNames = null;
@@ -671,12 +1266,15 @@ public class DefaultJdbcDatastore extends AbstractInitializableDatastore<JdbcDat
 				}
 
 				if (getDialect().supportGetGeneratedKeyByName()) {
-					stmt = connection.prepareStatement(statement.getSql(), pkNames);
+					stmt = (cache != null) ? cache.prepareStatement(statement.getSql(), pkNames)
+							: connection.prepareStatement(statement.getSql(), pkNames);
 				} else {
-					stmt = connection.prepareStatement(statement.getSql(), Statement.RETURN_GENERATED_KEYS);
+					stmt = (cache != null) ? cache.prepareStatement(statement.getSql(), Statement.RETURN_GENERATED_KEYS)
+							: connection.prepareStatement(statement.getSql(), Statement.RETURN_GENERATED_KEYS);
 				}
 			} else {
-				stmt = connection.prepareStatement(statement.getSql());
+				stmt = (cache != null) ? cache.prepareStatement(statement.getSql())
+						: connection.prepareStatement(statement.getSql());
 			}
 
 			// configure
@@ -700,6 +1298,7 @@ public class DefaultJdbcDatastore extends AbstractInitializableDatastore<JdbcDat
 		} else {
 			LOGGER.debug(() -> "SQL: [" + sql + "]");
 		}
+		operationObserver.composed(sql);
 	}
 
 	// ------- Dialect context
@@ -951,6 +1550,109 @@ public class DefaultJdbcDatastore extends AbstractInitializableDatastore<JdbcDat
 			return this;
 		}
 
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.datastore.jdbc.JdbcDatastore.Builder#defaultFetchSize(int)
+		 */
+		@Override
+		public JdbcDatastore.Builder<D> defaultFetchSize(int fetchSize) {
+			datastore.setDefaultFetchSize(fetchSize);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.datastore.jdbc.JdbcDatastore.Builder#queryPlanCacheSize(int)
+		 */
+		@Override
+		public JdbcDatastore.Builder<D> queryPlanCacheSize(int maxSize) {
+			datastore.setQueryPlanCacheSize(maxSize);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.datastore.jdbc.JdbcDatastore.Builder#statementCacheSize(int)
+		 */
+		@Override
+		public JdbcDatastore.Builder<D> statementCacheSize(int maxSize) {
+			datastore.setStatementCacheSize(maxSize);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.datastore.jdbc.JdbcDatastore.Builder#primaryKeyCacheSize(int)
+		 */
+		@Override
+		public JdbcDatastore.Builder<D> primaryKeyCacheSize(int maxSize) {
+			datastore.setPrimaryKeyCacheSize(maxSize);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.datastore.jdbc.JdbcDatastore.Builder#preloadPrimaryKeys(boolean)
+		 */
+		@Override
+		public JdbcDatastore.Builder<D> preloadPrimaryKeys(boolean preloadPrimaryKeys) {
+			datastore.setPreloadPrimaryKeys(preloadPrimaryKeys);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.datastore.jdbc.JdbcDatastore.Builder#contextHolderFactory(com.holonplatform.
+		 * datastore.jdbc.config.JdbcContextHolder.Factory)
+		 */
+		@Override
+		public JdbcDatastore.Builder<D> contextHolderFactory(JdbcContextHolder.Factory factory) {
+			datastore.setContextHolderFactory(factory);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.datastore.jdbc.JdbcDatastore.Builder#schemaCatalog(java.nio.file.Path)
+		 */
+		@Override
+		public JdbcDatastore.Builder<D> schemaCatalog(Path file) {
+			ObjectUtils.argumentNotNull(file, "Schema catalog file must be not null");
+			datastore.setSchemaCatalogFile(file);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.datastore.jdbc.JdbcDatastore.Builder#verifySchemaCatalog(boolean)
+		 */
+		@Override
+		public JdbcDatastore.Builder<D> verifySchemaCatalog(boolean verify) {
+			datastore.setVerifySchemaCatalog(verify);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.datastore.jdbc.JdbcDatastore.Builder#withOperationListener(com.holonplatform.
+		 * datastore.jdbc.config.JdbcOperationListener)
+		 */
+		@Override
+		public JdbcDatastore.Builder<D> withOperationListener(JdbcOperationListener listener) {
+			datastore.addOperationListener(listener);
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.datastore.jdbc.JdbcDatastore.Builder#nativeUpsert(boolean)
+		 */
+		@Override
+		public JdbcDatastore.Builder<D> nativeUpsert(boolean nativeUpsert) {
+			datastore.setNativeUpsert(nativeUpsert);
+			return this;
+		}
+
 		/*
 		 * (non-Javadoc)
 		 * @see com.holonplatform.datastore.jdbc.JdbcDatastore.Builder#registerCommodity(com.holonplatform.
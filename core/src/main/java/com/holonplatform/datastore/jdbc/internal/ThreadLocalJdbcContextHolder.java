@@ -0,0 +1,79 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.internal;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.datastore.jdbc.config.JdbcContextHolder;
+
+/**
+ * A {@link JdbcContextHolder} which uses a {@link ThreadLocal}. Each holder instance uses its own {@link ThreadLocal},
+ * so the values bound by different holders never interfere.
+ * 
+ * @param <T> Value type
+ *
+ * @since 6.0.3
+ */
+public class ThreadLocalJdbcContextHolder<T> implements JdbcContextHolder<T> {
+
+	/**
+	 * Factory
+	 */
+	public static final JdbcContextHolder.Factory FACTORY = new JdbcContextHolder.Factory() {
+
+		@Override
+		public <V> JdbcContextHolder<V> create() {
+			return new ThreadLocalJdbcContextHolder<>();
+		}
+
+	};
+
+	private final ThreadLocal<T> value = new ThreadLocal<>();
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.config.JdbcContextHolder#get()
+	 */
+	@Override
+	public Optional<T> get() {
+		return Optional.ofNullable(value.get());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.config.JdbcContextHolder#bind(java.lang.Object,
+	 * java.util.function.Supplier)
+	 */
+	@Override
+	public <R> R bind(T value, Supplier<R> operation) {
+		ObjectUtils.argumentNotNull(value, "Value to bind must be not null");
+		ObjectUtils.argumentNotNull(operation, "Operation must be not null");
+		final T previous = this.value.get();
+		this.value.set(value);
+		try {
+			return operation.get();
+		} finally {
+			if (previous != null) {
+				this.value.set(previous);
+			} else {
+				this.value.remove();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.internal.operations;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.StreamSupport;
+
+import com.holonplatform.core.Expression.InvalidExpressionException;
+import com.holonplatform.core.datastore.Datastore.OperationResult;
+import com.holonplatform.core.datastore.Datastore.OperationType;
+import com.holonplatform.core.datastore.DatastoreCommodityContext.CommodityConfigurationException;
+import com.holonplatform.core.datastore.DatastoreCommodityFactory;
+import com.holonplatform.core.datastore.relational.RelationalTarget;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.property.PathPropertySetAdapter;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.datastore.jdbc.JdbcBulkLoad;
+import com.holonplatform.datastore.jdbc.composer.SQLBulkLoader;
+import com.holonplatform.datastore.jdbc.composer.SQLCompositionContext;
+import com.holonplatform.datastore.jdbc.composer.SQLStatementCompositionContext;
+import com.holonplatform.datastore.jdbc.composer.SQLStatementCompositionContext.AliasMode;
+import com.holonplatform.datastore.jdbc.composer.expression.SQLExpression;
+import com.holonplatform.datastore.jdbc.composer.expression.SQLParameter;
+import com.holonplatform.datastore.jdbc.config.JdbcDatastoreCommodityContext;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationEvent;
+import com.holonplatform.datastore.jdbc.context.JdbcOperationContext;
+import com.holonplatform.datastore.jdbc.internal.JdbcDatastoreLogger;
+
+/**
+ * Default {@link JdbcBulkLoad} implementation.
+ * 
+ * @since 6.0.3
+ */
+public class DefaultJdbcBulkLoad extends JdbcBulkInsert implements JdbcBulkLoad {
+
+	private static final long serialVersionUID = 1L;
+
+	// Commodity factory
+	@SuppressWarnings("serial")
+	public static final DatastoreCommodityFactory<JdbcDatastoreCommodityContext, JdbcBulkLoad> FACTORY = new DatastoreCommodityFactory<JdbcDatastoreCommodityContext, JdbcBulkLoad>() {
+
+		@Override
+		public Class<? extends JdbcBulkLoad> getCommodityType() {
+			return JdbcBulkLoad.class;
+		}
+
+		@Override
+		public JdbcBulkLoad createCommodity(JdbcDatastoreCommodityContext context)
+				throws CommodityConfigurationException {
+			return new DefaultJdbcBulkLoad(context);
+		}
+	};
+
+	private static final Logger LOGGER = JdbcDatastoreLogger.create();
+
+	public DefaultJdbcBulkLoad(JdbcOperationContext operationContext) {
+		super(operationContext);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.internal.operations.JdbcBulkInsert#execute()
+	 */
+	@Override
+	public OperationResult execute() {
+		return getOperationContext().observe(JdbcOperationEvent.OperationType.BULK_LOAD, getConfiguration().getTarget(),
+				this::bulkLoad);
+	}
+
+	/**
+	 * Execute the bulk load operation, falling back to the bulk insert if a bulk loader is not available.
+	 * @return The operation result
+	 */
+	private OperationResult bulkLoad() {
+
+		// check bulk loader
+		final SQLBulkLoader loader = getOperationContext().getDialect().getBulkLoader().orElse(null);
+		if (loader == null || isGeneratedKeysRequested()) {
+			LOGGER.debug(() -> "Bulk loader not available or generated keys requested: fallback to batched inserts");
+			return super.execute();
+		}
+
+		// validate
+		validateOperation();
+
+		// composition context
+		final SQLCompositionContext context = SQLCompositionContext.create(getOperationContext());
+		context.addExpressionResolvers(getConfiguration().getExpressionResolvers());
+
+		// target
+		final RelationalTarget<?> target = context.resolveOrFail(getConfiguration().getTarget(),
+				RelationalTarget.class);
+		final SQLStatementCompositionContext operationContext = SQLStatementCompositionContext.asChild(context, target,
+				AliasMode.UNSUPPORTED);
+		final String table = operationContext.resolveOrFail(target, SQLExpression.class).getValue();
+
+		// property set
+		final PropertySet<?> propertySet = getConfiguration().getPropertySet()
+				.orElseThrow(() -> new InvalidExpressionException("Missing bulk insert operation property set"));
+
+		final List<Property<?>> properties = new ArrayList<>(propertySet.size());
+		final List<String> columnNames = new ArrayList<>(propertySet.size());
+		final List<SQLParameter<?>> columns = new ArrayList<>(propertySet.size());
+		PathPropertySetAdapter.create(propertySet).propertyPaths().forEach(propertyPath -> {
+			final Property<?> property = propertyPath.getProperty();
+			properties.add(property);
+			columnNames.add(operationContext.resolveOrFail(propertyPath.getPath(), SQLExpression.class).getValue());
+			columns.add(SQLParameter.create(null, property.getModelType(), property.getTemporalType().orElse(null)));
+		});
+
+		final List<Iterable<PropertyBox>> sources = getValueSources();
+
+		// a failed load can fall back to batched inserts only if the values can be read again and a failed statement
+		// cannot have compromised a bound transaction
+		final boolean fallbackOnError = !getOperationContext().isConnectionBound()
+				&& sources.stream().allMatch(source -> source instanceof Collection);
+
+		// load
+		final Optional<OperationResult> result = getOperationContext().withConnection(c -> {
+			if (!loader.isSupported(c, columns)) {
+				return Optional.empty();
+			}
+			final long count;
+			try {
+				count = loader.load(c, table, columnNames, columns,
+						sources.stream().flatMap(source -> StreamSupport.stream(source.spliterator(), false))
+								.filter(Objects::nonNull).map(value -> {
+									final Object[] row = new Object[properties.size()];
+									setParameterValues(value, properties, row, 0);
+									return row;
+								}).iterator());
+			} catch (SQLException e) {
+				if (!fallbackOnError) {
+					throw e;
+				}
+				LOGGER.warn("Bulk loader [" + loader + "] failed: fallback to batched inserts", e);
+				return Optional.empty();
+			}
+			return Optional.of(OperationResult.builder().type(OperationType.INSERT).affectedCount(count).build());
+		});
+
+		return result.orElseGet(() -> {
+			LOGGER.debug(() -> "The bulk loader is not supported or failed: fallback to batched inserts");
+			return super.execute();
+		});
+	}
+
+}
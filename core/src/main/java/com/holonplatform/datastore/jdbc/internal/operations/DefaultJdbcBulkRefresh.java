@@ -0,0 +1,156 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.internal.operations;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.holonplatform.core.Expression.InvalidExpressionException;
+import com.holonplatform.core.datastore.DatastoreCommodityContext.CommodityConfigurationException;
+import com.holonplatform.core.datastore.DatastoreCommodityFactory;
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.internal.datastore.operation.common.AbstractBulkInsertOperation;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.query.Query;
+import com.holonplatform.datastore.jdbc.JdbcBulkRefresh;
+import com.holonplatform.datastore.jdbc.composer.SQLCompositionContext;
+import com.holonplatform.datastore.jdbc.config.JdbcDatastoreCommodityContext;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationEvent;
+import com.holonplatform.datastore.jdbc.context.JdbcOperationContext;
+import com.holonplatform.datastore.jdbc.internal.support.JdbcOperationUtils;
+
+/**
+ * Default {@link JdbcBulkRefresh} implementation.
+ *
+ * @since 6.0.3
+ */
+public class DefaultJdbcBulkRefresh extends AbstractBulkInsertOperation<List<PropertyBox>, JdbcBulkRefresh>
+		implements JdbcBulkRefresh {
+
+	private static final long serialVersionUID = 1L;
+
+	// Commodity factory
+	@SuppressWarnings("serial")
+	public static final DatastoreCommodityFactory<JdbcDatastoreCommodityContext, JdbcBulkRefresh> FACTORY = new DatastoreCommodityFactory<JdbcDatastoreCommodityContext, JdbcBulkRefresh>() {
+
+		@Override
+		public Class<? extends JdbcBulkRefresh> getCommodityType() {
+			return JdbcBulkRefresh.class;
+		}
+
+		@Override
+		public JdbcBulkRefresh createCommodity(JdbcDatastoreCommodityContext context)
+				throws CommodityConfigurationException {
+			return new DefaultJdbcBulkRefresh(context);
+		}
+	};
+
+	private final JdbcOperationContext operationContext;
+
+	public DefaultJdbcBulkRefresh(JdbcOperationContext operationContext) {
+		super();
+		this.operationContext = operationContext;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.datastore.operation.AbstractDatastoreOperation#getActualOperation()
+	 */
+	@Override
+	protected JdbcBulkRefresh getActualOperation() {
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.ExecutableOperation#execute()
+	 */
+	@Override
+	public List<PropertyBox> execute() {
+		return operationContext.observe(JdbcOperationEvent.OperationType.BULK_REFRESH, getConfiguration().getTarget(),
+				this::bulkRefresh);
+	}
+
+	/**
+	 * Execute the bulk refresh operation.
+	 * @return The operation result
+	 */
+	private List<PropertyBox> bulkRefresh() {
+
+		// validate
+		getConfiguration().validate();
+
+		// composition context
+		final SQLCompositionContext context = SQLCompositionContext.create(operationContext);
+		context.addExpressionResolvers(getConfiguration().getExpressionResolvers());
+
+		// property set
+		final PropertySet<?> propertySet = getConfiguration().getPropertySet()
+				.orElseThrow(() -> new InvalidExpressionException("Missing bulk refresh operation property set"));
+
+		return operationContext.withSharedConnection(() -> {
+
+			// key properties
+			final List<Property<?>> keys = JdbcOperationUtils
+					.getPrimaryKey(context, operationContext.getIdentifierResolutionStrategy(),
+							getConfiguration().getTarget(), propertySet)
+					.map(primaryKey -> JdbcOperationUtils.getPrimaryKeyProperties(operationContext.getDialect(),
+							primaryKey, propertySet))
+					.filter(properties -> !properties.isEmpty())
+					.orElseThrow(() -> new DataAccessException(
+							"Cannot obtain the primary key to use for operation [" + getConfiguration() + "]"));
+
+			// primary key values
+			final List<List<Object>> values = getConfiguration().getValues().stream()
+					.map(value -> (value != null) ? JdbcOperationUtils.getPrimaryKeyValues(value, keys) : null)
+					.collect(Collectors.toList());
+			final List<List<Object>> distinctValues = values.stream().filter(key -> key != null).distinct()
+					.collect(Collectors.toList());
+
+			// load by chunks
+			final int keysPerQuery = JdbcOperationUtils.getMaxPrimaryKeysPerQuery(operationContext.getDialect(),
+					keys.size());
+			final Map<List<Object>, PropertyBox> loaded = new HashMap<>(distinctValues.size());
+			for (int i = 0; i < distinctValues.size(); i += keysPerQuery) {
+				operationContext.create(Query.class).target(getConfiguration().getTarget())
+						.filter(JdbcOperationUtils.getPrimaryKeysFilter(keys,
+								distinctValues.subList(i, Math.min(i + keysPerQuery, distinctValues.size()))))
+						.list(propertySet).forEach(value -> {
+							final List<Object> key = JdbcOperationUtils.getPrimaryKeyValues(value, keys);
+							if (key != null) {
+								loaded.put(key, value);
+							}
+						});
+			}
+
+			// match the results with the values
+			final List<PropertyBox> results = new ArrayList<>(values.size());
+			values.forEach(key -> {
+				final PropertyBox value = (key != null) ? loaded.get(key) : null;
+				if (value != null) {
+					results.add(value);
+				}
+			});
+			return results;
+		});
+	}
+
+}
@@ -0,0 +1,401 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.internal.operations;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.holonplatform.core.Expression.InvalidExpressionException;
+import com.holonplatform.core.Path;
+import com.holonplatform.core.TypedExpression;
+import com.holonplatform.core.datastore.Datastore.OperationResult;
+import com.holonplatform.core.datastore.DatastoreCommodityContext.CommodityConfigurationException;
+import com.holonplatform.core.datastore.DatastoreCommodityFactory;
+import com.holonplatform.core.datastore.DefaultWriteOption;
+import com.holonplatform.core.datastore.bulk.BulkInsert;
+import com.holonplatform.core.datastore.relational.RelationalTarget;
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.datastore.operation.common.AbstractBulkInsertOperation;
+import com.holonplatform.core.internal.datastore.operation.common.UpdateOperationConfiguration;
+import com.holonplatform.core.property.PathPropertySetAdapter;
+import com.holonplatform.core.property.Property;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.core.query.Query;
+import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.datastore.jdbc.JdbcBulkSave;
+import com.holonplatform.datastore.jdbc.composer.SQLCompositionContext;
+import com.holonplatform.datastore.jdbc.composer.SQLStatementCompositionContext;
+import com.holonplatform.datastore.jdbc.composer.SQLStatementCompositionContext.AliasMode;
+import com.holonplatform.datastore.jdbc.composer.SQLStatementConfigurator.StatementParametersBinder;
+import com.holonplatform.datastore.jdbc.composer.expression.SQLExpression;
+import com.holonplatform.datastore.jdbc.composer.expression.SQLParameterPlaceholder;
+import com.holonplatform.datastore.jdbc.composer.expression.SQLStatement;
+import com.holonplatform.datastore.jdbc.config.JdbcDatastoreCommodityContext;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationEvent;
+import com.holonplatform.datastore.jdbc.config.JdbcWriteParameters;
+import com.holonplatform.datastore.jdbc.context.JdbcOperationContext;
+import com.holonplatform.datastore.jdbc.internal.JdbcDatastoreLogger;
+import com.holonplatform.datastore.jdbc.internal.support.JdbcOperationUtils;
+
+/**
+ * Default {@link JdbcBulkSave} implementation.
+ *
+ * @since 6.0.3
+ */
+public class DefaultJdbcBulkSave extends AbstractBulkInsertOperation<OperationResult, JdbcBulkSave>
+		implements JdbcBulkSave {
+
+	private static final long serialVersionUID = 1L;
+
+	// Commodity factory
+	@SuppressWarnings("serial")
+	public static final DatastoreCommodityFactory<JdbcDatastoreCommodityContext, JdbcBulkSave> FACTORY = new DatastoreCommodityFactory<JdbcDatastoreCommodityContext, JdbcBulkSave>() {
+
+		@Override
+		public Class<? extends JdbcBulkSave> getCommodityType() {
+			return JdbcBulkSave.class;
+		}
+
+		@Override
+		public JdbcBulkSave createCommodity(JdbcDatastoreCommodityContext context)
+				throws CommodityConfigurationException {
+			return new DefaultJdbcBulkSave(context);
+		}
+	};
+
+	private static final Logger LOGGER = JdbcDatastoreLogger.create();
+
+	/**
+	 * Default number of values to save for each chunk
+	 */
+	private static final int DEFAULT_BATCH_SIZE = 1000;
+
+	private final JdbcOperationContext operationContext;
+
+	public DefaultJdbcBulkSave(JdbcOperationContext operationContext) {
+		super();
+		this.operationContext = operationContext;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.internal.datastore.operation.AbstractDatastoreOperation#getActualOperation()
+	 */
+	@Override
+	protected JdbcBulkSave getActualOperation() {
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.operation.commons.ExecutableOperation#execute()
+	 */
+	@Override
+	public OperationResult execute() {
+		return operationContext.observe(JdbcOperationEvent.OperationType.BULK_SAVE, getConfiguration().getTarget(),
+				this::bulkSave);
+	}
+
+	/**
+	 * Execute the bulk save operation.
+	 * @return The operation result
+	 */
+	private OperationResult bulkSave() {
+
+		// validate
+		getConfiguration().validate();
+
+		// composition context
+		final SQLCompositionContext context = SQLCompositionContext.create(operationContext);
+		context.addExpressionResolvers(getConfiguration().getExpressionResolvers());
+
+		// property set
+		final PropertySet<?> propertySet = getConfiguration().getPropertySet()
+				.orElseThrow(() -> new InvalidExpressionException("Missing bulk save operation property set"));
+
+		final Map<Property<?>, Path<?>> properties = new LinkedHashMap<>(propertySet.size());
+		PathPropertySetAdapter.create(propertySet).propertyPaths()
+				.forEach(propertyPath -> properties.put(propertyPath.getProperty(), propertyPath.getPath()));
+
+		return operationContext.withSharedConnection(() -> {
+
+			// key properties
+			final List<Property<?>> keys = JdbcOperationUtils
+					.getPrimaryKey(context, operationContext.getIdentifierResolutionStrategy(),
+							getConfiguration().getTarget(), propertySet)
+					.map(primaryKey -> JdbcOperationUtils.getPrimaryKeyProperties(operationContext.getDialect(),
+							primaryKey, propertySet))
+					.orElse(Collections.emptyList());
+			if (keys.isEmpty()) {
+				if (getConfiguration().hasWriteOption(DefaultWriteOption.SAVE_DISABLE_INSERT_FALLBACK)) {
+					throw new DataAccessException(
+							"Failed to perform a consistent bulk SAVE operation: cannot obtain the primary key to use for operation ["
+									+ getConfiguration() + "]");
+				}
+				LOGGER.warn("(Bulk save operation) Cannot obtain the primary key for operation [" + getConfiguration()
+						+ "]: an INSERT operation will be performed by default");
+				return insert(propertySet, getConfiguration().getValues());
+			}
+
+			// native upsert
+			final Optional<String> upsert = isNativeUpsert()
+					? getUpsertStatement(context, properties, keys)
+					: Optional.empty();
+
+			// update statement
+			final List<Property<?>> updateProperties = new ArrayList<>(properties.size());
+			properties.keySet().stream().filter(p -> !keys.contains(p)).forEach(p -> updateProperties.add(p));
+			final String update = (upsert.isPresent() || updateProperties.isEmpty()) ? null
+					: getUpdateStatement(context, properties, updateProperties, keys);
+			updateProperties.addAll(keys);
+
+			final int batchSize = getConfiguration().getParameters().getParameter(JdbcWriteParameters.BATCH_SIZE)
+					.filter(size -> size > 0).orElse(DEFAULT_BATCH_SIZE);
+
+			long count = 0;
+			final List<PropertyBox> chunk = new ArrayList<>(Math.min(batchSize, DEFAULT_BATCH_SIZE));
+			for (PropertyBox value : getConfiguration().getValues()) {
+				if (value == null) {
+					continue;
+				}
+				chunk.add(value);
+				if (chunk.size() >= batchSize) {
+					count += save(chunk, propertySet, properties, keys, upsert.orElse(null), update,
+							updateProperties);
+					chunk.clear();
+				}
+			}
+			if (!chunk.isEmpty()) {
+				count += save(chunk, propertySet, properties, keys, upsert.orElse(null), update, updateProperties);
+			}
+
+			// the operation type is not available
+			return OperationResult.builder().affectedCount(count).build();
+		});
+	}
+
+	/**
+	 * Save a chunk of values.
+	 * @param values The values to save
+	 * @param propertySet Operation property set
+	 * @param properties Operation properties and paths
+	 * @param keys Primary key properties
+	 * @param upsert Upsert SQL, <code>null</code> if the native upsert is not used
+	 * @param update Update SQL, <code>null</code> if not available
+	 * @param updateProperties Update statement properties
+	 * @return The number of inserted or updated rows
+	 */
+	private long save(List<PropertyBox> values, PropertySet<?> propertySet, Map<Property<?>, Path<?>> properties,
+			List<Property<?>> keys, String upsert, String update, List<Property<?>> updateProperties) {
+		final List<PropertyBox> inserts = new ArrayList<>();
+		final List<PropertyBox> updates = new ArrayList<>();
+
+		if (upsert != null) {
+			// values without key are always inserted
+			values.forEach(value -> ((JdbcOperationUtils.getPrimaryKeyValues(value, keys) != null) ? updates : inserts)
+					.add(value));
+		} else {
+			// check existing values
+			final Set<List<Object>> existing = getExistingKeys(values, keys);
+			for (PropertyBox value : values) {
+				final List<Object> key = JdbcOperationUtils.getPrimaryKeyValues(value, keys);
+				if (key != null && existing.contains(key)) {
+					updates.add(value);
+				} else {
+					inserts.add(value);
+					if (key != null) {
+						// subsequent values with the same key will be updated
+						existing.add(key);
+					}
+				}
+			}
+		}
+
+		long count = 0;
+		if (!inserts.isEmpty()) {
+			count += insert(propertySet, inserts).getAffectedCount();
+		}
+		if (!updates.isEmpty()) {
+			if (upsert != null) {
+				count += executeBatch(upsert, new ArrayList<>(properties.keySet()), updates);
+			} else if (update != null) {
+				count += executeBatch(update, updateProperties, updates);
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Checks whether the native upsert should be used, according to the {@link JdbcWriteParameters#NATIVE_UPSERT}
+	 * operation parameter or to the datastore default.
+	 * @return <code>true</code> if the native upsert should be used
+	 */
+	private boolean isNativeUpsert() {
+		return getConfiguration().getParameters().getParameter(JdbcWriteParameters.NATIVE_UPSERT,
+				operationContext.isNativeUpsertEnabled());
+	}
+
+	/**
+	 * Get the primary key values of given values which already exist in the data target.
+	 * @param values The values
+	 * @param keys Primary key properties
+	 * @return The existing primary key values
+	 */
+	private Set<List<Object>> getExistingKeys(List<PropertyBox> values, List<Property<?>> keys) {
+		final List<List<Object>> candidates = values.stream()
+				.map(value -> JdbcOperationUtils.getPrimaryKeyValues(value, keys)).filter(key -> key != null)
+				.distinct().collect(Collectors.toList());
+		final int keysPerQuery = JdbcOperationUtils.getMaxPrimaryKeysPerQuery(operationContext.getDialect(),
+				keys.size());
+
+		final Set<List<Object>> existing = new HashSet<>(candidates.size());
+		for (int i = 0; i < candidates.size(); i += keysPerQuery) {
+			operationContext.create(Query.class).target(getConfiguration().getTarget())
+					.filter(JdbcOperationUtils.getPrimaryKeysFilter(keys,
+							candidates.subList(i, Math.min(i + keysPerQuery, candidates.size()))))
+					.list(keys).forEach(value -> {
+						final List<Object> key = JdbcOperationUtils.getPrimaryKeyValues(value, keys);
+						if (key != null) {
+							existing.add(key);
+						}
+					});
+		}
+		return existing;
+	}
+
+	/**
+	 * Get the native upsert statement SQL, if supported by the current dialect.
+	 * @param context Composition context
+	 * @param properties Operation properties and paths
+	 * @param keys Primary key properties
+	 * @return Optional upsert SQL
+	 */
+	private Optional<String> getUpsertStatement(SQLCompositionContext context, Map<Property<?>, Path<?>> properties,
+			List<Property<?>> keys) {
+		final RelationalTarget<?> target = context.resolveOrFail(getConfiguration().getTarget(),
+				RelationalTarget.class);
+		final SQLStatementCompositionContext statementContext = SQLStatementCompositionContext.asChild(context,
+				target, AliasMode.UNSUPPORTED);
+
+		final List<String> columns = new ArrayList<>(properties.size());
+		final List<String> keyColumns = new ArrayList<>(keys.size());
+		properties.forEach((property, path) -> {
+			final String column = statementContext.resolveOrFail(path, SQLExpression.class).getValue();
+			columns.add(column);
+			if (keys.contains(property)) {
+				keyColumns.add(column);
+			}
+		});
+		final List<String> values = Collections.nCopies(columns.size(), "?");
+
+		final Optional<String> sql = operationContext.getDialect().getUpsertStatement(
+				statementContext.resolveOrFail(target, SQLExpression.class).getValue(), columns, values, keyColumns);
+		sql.ifPresent(s -> operationContext.trace(s));
+		return sql;
+	}
+
+	/**
+	 * Get the statement SQL to update a single row using the primary key, which binds the values of the
+	 * <code>updateProperties</code> followed by the primary key values.
+	 * @param context Composition context
+	 * @param properties Operation properties and paths
+	 * @param updateProperties Properties to update
+	 * @param keys Primary key properties
+	 * @return The update SQL
+	 */
+	private String getUpdateStatement(SQLCompositionContext context, Map<Property<?>, Path<?>> properties,
+			List<Property<?>> updateProperties, List<Property<?>> keys) {
+		final Map<Path<?>, TypedExpression<?>> values = new LinkedHashMap<>(updateProperties.size());
+		updateProperties.forEach(property -> values.put(properties.get(property),
+				SQLParameterPlaceholder.create(property.getType())));
+		final List<QueryFilter> filters = new ArrayList<>(keys.size());
+		keys.forEach(property -> filters.add(getKeyFilter(properties.get(property))));
+
+		final UpdateOperationConfiguration configuration = UpdateOperationConfiguration.builder()
+				.target(getConfiguration().getTarget()).withWriteOptions(getConfiguration().getWriteOptions())
+				.withExpressionResolvers(getConfiguration().getExpressionResolvers()).values(values)
+				.filter(QueryFilter.allOf(filters).orElse(null)).build();
+		final String sql = context.resolveOrFail(configuration, SQLStatement.class).getSql();
+		// trace
+		operationContext.trace(sql);
+		return sql;
+	}
+
+	/**
+	 * Get a filter which matches given key path with a statement parameter.
+	 * @param <T> Path type
+	 * @param path Key path
+	 * @return The key filter
+	 */
+	private static <T> QueryFilter getKeyFilter(Path<T> path) {
+		return QueryFilter.eq(path, SQLParameterPlaceholder.create(path.getType()));
+	}
+
+	/**
+	 * Insert given values using a {@link BulkInsert}.
+	 * @param propertySet Operation property set
+	 * @param values The values to insert
+	 * @return The operation result
+	 */
+	private OperationResult insert(PropertySet<?> propertySet, List<PropertyBox> values) {
+		return operationContext.create(BulkInsert.class).target(getConfiguration().getTarget())
+				.withWriteOptions(getConfiguration().getWriteOptions())
+				.withExpressionResolvers(getConfiguration().getExpressionResolvers()).propertySet(propertySet)
+				.add(values).execute();
+	}
+
+	/**
+	 * Execute given statement for each value using a JDBC batch.
+	 * @param sql Statement SQL
+	 * @param properties Properties to bind, in the statement parameters order
+	 * @param values The values
+	 * @return The number of affected rows
+	 */
+	private long executeBatch(String sql, List<Property<?>> properties, List<PropertyBox> values) {
+		return operationContext.withConnection(c -> {
+			try (PreparedStatement stmt = c.prepareStatement(sql)) {
+				final StatementParametersBinder binder = JdbcBulkInsert.getParametersBinder(operationContext, sql,
+						properties, 1);
+				final Object[] parameterValues = new Object[properties.size()];
+				for (PropertyBox value : values) {
+					JdbcBulkInsert.setParameterValues(value, properties, parameterValues, 0);
+					binder.bind(stmt, parameterValues);
+					stmt.addBatch();
+				}
+				long count = 0;
+				for (int result : stmt.executeBatch()) {
+					// an entry which updated no rows (for example a row deleted in the meantime) is not affected
+					if (result > 0 || result == Statement.SUCCESS_NO_INFO) {
+						count++;
+					}
+				}
+				return count;
+			}
+		});
+	}
+
+}
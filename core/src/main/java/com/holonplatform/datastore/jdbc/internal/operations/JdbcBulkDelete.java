@@ -27,6 +27,7 @@ import com.holonplatform.core.internal.datastore.operation.common.DeleteOperatio
 import com.holonplatform.datastore.jdbc.composer.SQLCompositionContext;
 import com.holonplatform.datastore.jdbc.composer.expression.SQLStatement;
 import com.holonplatform.datastore.jdbc.config.JdbcDatastoreCommodityContext;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationEvent;
 import com.holonplatform.datastore.jdbc.context.JdbcOperationContext;
 
 /**
@@ -67,6 +68,15 @@ public class JdbcBulkDelete extends AbstractBulkDelete {
 	 */
 	@Override
 	public OperationResult execute() {
+		return operationContext.observe(JdbcOperationEvent.OperationType.BULK_DELETE, getConfiguration().getTarget(),
+				this::bulkDelete);
+	}
+
+	/**
+	 * Execute the bulk delete operation.
+	 * @return The operation result
+	 */
+	private OperationResult bulkDelete() {
 
 		// validate
 		getConfiguration().validate();
@@ -15,33 +15,57 @@
  */
 package com.holonplatform.datastore.jdbc.internal.operations;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.holonplatform.core.Expression.InvalidExpressionException;
+import com.holonplatform.core.ConstantConverterExpression;
 import com.holonplatform.core.Path;
 import com.holonplatform.core.TypedExpression;
 import com.holonplatform.core.datastore.Datastore.OperationResult;
 import com.holonplatform.core.datastore.Datastore.OperationType;
 import com.holonplatform.core.datastore.DatastoreCommodityContext.CommodityConfigurationException;
 import com.holonplatform.core.datastore.DatastoreCommodityFactory;
+import com.holonplatform.core.datastore.DefaultWriteOption;
 import com.holonplatform.core.datastore.bulk.BulkInsert;
 import com.holonplatform.core.internal.datastore.bulk.AbstractBulkInsert;
+import com.holonplatform.core.internal.Logger;
 import com.holonplatform.core.internal.datastore.operation.common.InsertOperationConfiguration;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.property.PathPropertyBoxAdapter;
 import com.holonplatform.core.property.PathPropertySetAdapter;
 import com.holonplatform.core.property.Property;
 import com.holonplatform.core.property.PropertyBox;
 import com.holonplatform.core.property.PropertySet;
 import com.holonplatform.datastore.jdbc.composer.SQLCompositionContext;
+import com.holonplatform.datastore.jdbc.composer.SQLCompositionParameters;
+import com.holonplatform.datastore.jdbc.composer.SQLDialect;
+import com.holonplatform.datastore.jdbc.composer.SQLExecutionContext;
+import com.holonplatform.datastore.jdbc.composer.SQLStatementConfigurator.StatementParametersBinder;
 import com.holonplatform.datastore.jdbc.composer.expression.SQLParameter;
 import com.holonplatform.datastore.jdbc.composer.expression.SQLParameterPlaceholder;
+import com.holonplatform.datastore.jdbc.composer.expression.SQLPrimaryKey;
 import com.holonplatform.datastore.jdbc.composer.expression.SQLStatement;
 import com.holonplatform.datastore.jdbc.config.JdbcDatastoreCommodityContext;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationEvent;
+import com.holonplatform.datastore.jdbc.config.JdbcWriteParameters;
 import com.holonplatform.datastore.jdbc.context.JdbcOperationContext;
+import com.holonplatform.datastore.jdbc.internal.JdbcDatastoreLogger;
+import com.holonplatform.datastore.jdbc.internal.support.DefaultJdbcBulkInsertResult;
+import com.holonplatform.datastore.jdbc.internal.support.DialectPathMatcher;
+import com.holonplatform.datastore.jdbc.internal.support.JdbcOperationUtils;
 
 /**
  * JDBC datastore {@link BulkInsert} implementation.
@@ -68,33 +92,102 @@ public class JdbcBulkInsert extends AbstractBulkInsert {
 		}
 	};
 
+	private static final Logger LOGGER = JdbcDatastoreLogger.create();
+
+	/**
+	 * Default batch size when lazy value sources are used
+	 */
+	private static final int DEFAULT_SOURCE_BATCH_SIZE = 1000;
+
 	private final JdbcOperationContext operationContext;
 
+	/**
+	 * Lazy value sources
+	 */
+	private final List<Iterable<PropertyBox>> valueSources = new ArrayList<>();
+
 	public JdbcBulkInsert(JdbcOperationContext operationContext) {
 		super();
 		this.operationContext = operationContext;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * If given values are not a {@link Collection}, for example an {@link Iterable} backed by a {@link Stream}
+	 * iterator, they are not copied but consumed lazily when the operation is executed, so that the values are never
+	 * all held in memory. The lazy values are consumed after any value previously added.
+	 * </p>
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public BulkInsert add(Iterable<PropertyBox> values) {
+		ObjectUtils.argumentNotNull(values, "Values to add must be not null");
+		if (valueSources.isEmpty() && values instanceof Collection) {
+			return super.add(values);
+		}
+		valueSources.add((values instanceof Collection) ? new ArrayList<>((Collection<PropertyBox>) values) : values);
+		return this;
+	}
+
+	/**
+	 * Get the operation context.
+	 * @return the operation context
+	 * @since 6.0.3
+	 */
+	protected JdbcOperationContext getOperationContext() {
+		return operationContext;
+	}
+
+	/**
+	 * Validate the operation configuration.
+	 * @throws InvalidExpressionException If the configuration is not valid
+	 * @since 6.0.3
+	 */
+	protected void validateOperation() {
+		if (valueSources.isEmpty()) {
+			getConfiguration().validate();
+		} else if (getConfiguration().getTarget() == null) {
+			throw new InvalidExpressionException("Missing operation data target");
+		}
+	}
+
+	/**
+	 * Get the values to insert, including any lazy value source.
+	 * @return The values to insert
+	 * @since 6.0.3
+	 */
+	protected List<Iterable<PropertyBox>> getValueSources() {
+		final List<Iterable<PropertyBox>> sources = new ArrayList<>(valueSources.size() + 1);
+		sources.add(getConfiguration().getValues());
+		sources.addAll(valueSources);
+		return sources;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.datastore.bulk.DMLClause#execute()
 	 */
-	@SuppressWarnings("rawtypes")
 	@Override
 	public OperationResult execute() {
+		return operationContext.observe(JdbcOperationEvent.OperationType.BULK_INSERT, getConfiguration().getTarget(),
+				this::bulkInsert);
+	}
+
+	/**
+	 * Execute the bulk insert operation.
+	 * @return The operation result
+	 */
+	@SuppressWarnings("rawtypes")
+	private OperationResult bulkInsert() {
 
 		// validate
-		getConfiguration().validate();
+		validateOperation();
 
 		// composition context
 		final SQLCompositionContext context = SQLCompositionContext.create(operationContext);
 		context.addExpressionResolvers(getConfiguration().getExpressionResolvers());
 
-		// configuration builder
-		final InsertOperationConfiguration.Builder configuration = InsertOperationConfiguration.builder()
-				.target(getConfiguration().getTarget()).withWriteOptions(getConfiguration().getWriteOptions())
-				.withExpressionResolvers(getConfiguration().getExpressionResolvers());
-
 		// property set
 		final PropertySet<?> propertySet = getConfiguration().getPropertySet()
 				.orElseThrow(() -> new InvalidExpressionException("Missing bulk insert operation property set"));
@@ -107,59 +200,427 @@ public class JdbcBulkInsert extends AbstractBulkInsert {
 			properties.add(propertyPath.getProperty());
 			values.put(propertyPath.getPath(), SQLParameterPlaceholder.create(propertyPath.getProperty().getType()));
 		});
-		configuration.values(values);
 
 		// resolve
-		final SQLStatement statement = context.resolveOrFail(configuration.build(), SQLStatement.class);
+		final String sql = resolveStatement(context, values, 1);
 
-		// get prepared sql
-		final String sql = statement.getSql();
+		// batch configuration
+		final int batchSize = getConfiguration().getParameters().getParameter(JdbcWriteParameters.BATCH_SIZE)
+				.filter(size -> size > 0).orElse(valueSources.isEmpty() ? 0 : DEFAULT_SOURCE_BATCH_SIZE);
+		final int commitInterval = getConfiguration().getParameters()
+				.getParameter(JdbcWriteParameters.COMMIT_INTERVAL, 0);
+		final int rowsPerStatement = isGeneratedKeysRequested() ? 0
+				: getRowsPerStatement(batchSize, properties.size(), sql);
 
-		// trace
-		operationContext.trace(sql);
+		// generated keys
+		final SQLPrimaryKey primaryKey = getGeneratedKeysPrimaryKey(context, propertySet).orElse(null);
+
+		// values to insert
+		final List<Iterable<PropertyBox>> sources = getValueSources();
 
 		// execute
 		return operationContext.withConnection(c -> {
 
-			try (PreparedStatement stmt = c.prepareStatement(sql)) {
+			// check commit by batches
+			final boolean commitBatches = (batchSize > 0 || rowsPerStatement > 1) && commitInterval > 0
+					&& !operationContext.isConnectionBound() && c.getAutoCommit();
+			if (commitBatches) {
+				c.setAutoCommit(false);
+			}
 
-				for (PropertyBox value : getConfiguration().getValues()) {
-					// resolve parameter values
-					List<SQLParameter> parameters = new ArrayList<>();
-					for (Property<?> p : properties) {
-						@SuppressWarnings("unchecked")
-						Property<Object> property = (Property<Object>) p;
-						if (value.containsValue(property)) {
-							parameters.add(SQLParameter.create(property.getModelValue(value.getValue(property)),
-									property.getModelType(), property.getTemporalType().orElse(null)));
-						} else {
-							parameters.add(SQLParameter.create(null, property.getType()));
-						}
+			try {
+				final GeneratedKeys generatedKeys = (primaryKey != null)
+						? new GeneratedKeys(SQLExecutionContext.create(operationContext, c), primaryKey)
+						: null;
+				final long count = (rowsPerStatement > 1)
+						? executeMultiRow(c, context, values, properties, sources, rowsPerStatement,
+								commitBatches ? commitInterval : 0)
+						: executeBatches(c, sql, properties, sources, batchSize, commitBatches ? commitInterval : 0,
+								generatedKeys);
+				if (commitBatches) {
+					c.commit();
+				}
+				// return result
+				if (generatedKeys != null) {
+					return generatedKeys.getResult(count);
+				}
+				return OperationResult.builder().type(OperationType.INSERT).affectedCount(count).build();
+			} catch (Exception e) {
+				if (commitBatches) {
+					try {
+						c.rollback();
+					} catch (SQLException re) {
+						LOGGER.warn("Failed to rollback the bulk insert batches", re);
+					}
+				}
+				throw e;
+			} finally {
+				if (commitBatches) {
+					c.setAutoCommit(true);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Insert the values using a JDBC batch of single-row statements.
+	 * @param c Connection
+	 * @param sql Single-row insert SQL
+	 * @param properties Properties to insert
+	 * @param sources Values to insert
+	 * @param batchSize Batch size, <code>0</code> to execute all the rows in a single batch
+	 * @param commitInterval Number of batches after which to commit, <code>0</code> for none
+	 * @param generatedKeys Optional generated keys handler, <code>null</code> if the generated keys are not requested
+	 * @return The number of inserted rows
+	 * @throws SQLException If an error occurred
+	 */
+	private long executeBatches(Connection c, String sql, List<Property<?>> properties,
+			List<Iterable<PropertyBox>> sources, int batchSize, int commitInterval, GeneratedKeys generatedKeys)
+			throws SQLException {
+		try (PreparedStatement stmt = (generatedKeys != null)
+				? operationContext.prepareInsertStatement(SQLStatement.create(sql), c, generatedKeys.getPrimaryKey())
+				: c.prepareStatement(sql)) {
+
+			final StatementParametersBinder binder = getParametersBinder(operationContext, sql, properties, 1);
+			final Object[] parameterValues = new Object[properties.size()];
+
+			long count = 0;
+			int rows = 0;
+			int batches = 0;
+
+			for (Iterable<PropertyBox> source : sources) {
+				for (PropertyBox value : source) {
+					if (value == null) {
+						continue;
 					}
+					// resolve parameter values
+					setParameterValues(value, properties, parameterValues, 0);
 
 					// configure statement
-					operationContext.getStatementConfigurator().configureStatement(operationContext, stmt,
-							SQLStatement.create(sql, parameters.toArray(new SQLParameter<?>[parameters.size()])));
+					binder.bind(stmt, parameterValues);
 
 					// add batch
 					stmt.addBatch();
+					if (generatedKeys != null) {
+						generatedKeys.add(value);
+					}
+
+					// check batch size
+					if (batchSize > 0 && ++rows >= batchSize) {
+						count += executeBatch(stmt, generatedKeys);
+						rows = 0;
+						if (commitInterval > 0 && ++batches % commitInterval == 0) {
+							c.commit();
+						}
+					}
 				}
+			}
+
+			// execute remaining batch
+			if (batchSize <= 0 || rows > 0) {
+				count += executeBatch(stmt, generatedKeys);
+			}
+			return count;
+		}
+	}
+
+	/**
+	 * Insert the values using a sequence of multi-row insert statements.
+	 * @param c Connection
+	 * @param context Composition context
+	 * @param values Path values
+	 * @param properties Properties to insert
+	 * @param sources Values to insert
+	 * @param rowsPerStatement Max rows for each statement
+	 * @param commitInterval Number of statements after which to commit, <code>0</code> for none
+	 * @return The number of inserted rows
+	 * @throws SQLException If an error occurred
+	 */
+	private long executeMultiRow(Connection c, SQLCompositionContext context, Map<Path<?>, TypedExpression<?>> values,
+			List<Property<?>> properties, List<Iterable<PropertyBox>> sources, int rowsPerStatement,
+			int commitInterval) throws SQLException {
+
+		final String sql = resolveStatement(context, values, rowsPerStatement);
 
-				// execute batch insert
-				int[] results = stmt.executeBatch();
-				long count = 0;
-				if (results != null) {
-					for (int result : results) {
-						if (result >= 0 || result == Statement.SUCCESS_NO_INFO) {
-							count++;
+		try (PreparedStatement stmt = c.prepareStatement(sql)) {
+
+			final StatementParametersBinder binder = getParametersBinder(operationContext, sql, properties,
+					rowsPerStatement);
+			final int columns = properties.size();
+			final Object[] parameterValues = new Object[columns * rowsPerStatement];
+
+			long count = 0;
+			int rows = 0;
+			int statements = 0;
+
+			for (Iterable<PropertyBox> source : sources) {
+				for (PropertyBox value : source) {
+					if (value == null) {
+						continue;
+					}
+					// resolve parameter values
+					setParameterValues(value, properties, parameterValues, rows * columns);
+
+					if (++rows >= rowsPerStatement) {
+						binder.bind(stmt, parameterValues);
+						count += stmt.executeUpdate();
+						rows = 0;
+						if (commitInterval > 0 && ++statements % commitInterval == 0) {
+							c.commit();
 						}
 					}
 				}
+			}
 
-				// return result
-				return OperationResult.builder().type(OperationType.INSERT).affectedCount(count).build();
+			// remaining rows
+			if (rows > 0) {
+				final String remainingSql = resolveStatement(context, values, rows);
+				try (PreparedStatement remaining = c.prepareStatement(remainingSql)) {
+					getParametersBinder(operationContext, remainingSql, properties, rows).bind(remaining,
+							Arrays.copyOf(parameterValues, rows * columns));
+					count += remaining.executeUpdate();
+				}
 			}
-		});
+			return count;
+		}
+	}
+
+	/**
+	 * Resolve the insert statement SQL for given number of rows.
+	 * @param context Composition context
+	 * @param values Path values
+	 * @param rows Number of rows
+	 * @return The insert SQL
+	 */
+	private String resolveStatement(SQLCompositionContext context, Map<Path<?>, TypedExpression<?>> values,
+			int rows) {
+		final InsertOperationConfiguration.Builder configuration = InsertOperationConfiguration.builder()
+				.target(getConfiguration().getTarget()).withWriteOptions(getConfiguration().getWriteOptions())
+				.withExpressionResolvers(getConfiguration().getExpressionResolvers()).values(values);
+		if (rows > 1) {
+			configuration.parameter(SQLCompositionParameters.INSERT_ROWS, rows);
+		}
+		final String sql = context.resolveOrFail(configuration.build(), SQLStatement.class).getSql();
+		// trace
+		operationContext.trace(sql);
+		return sql;
+	}
+
+	/**
+	 * Get the number of rows to insert using a single multi-row insert statement, if the multi-row insert mode is
+	 * enabled and supported by the current dialect.
+	 * @param batchSize Configured batch size
+	 * @param columns Number of columns to insert
+	 * @param sql Single-row insert SQL
+	 * @return The number of rows for each multi-row statement, <code>1</code> or less to use the JDBC batch mode
+	 */
+	private int getRowsPerStatement(int batchSize, int columns, String sql) {
+		if (columns < 1
+				|| !getConfiguration().getParameters().getParameter(JdbcWriteParameters.MULTI_ROW_INSERT, false)) {
+			return 0;
+		}
+		final SQLDialect dialect = operationContext.getDialect();
+		int rows = Math.min((batchSize > 0) ? batchSize : DEFAULT_SOURCE_BATCH_SIZE,
+				dialect.getMaxMultiRowInsertRows());
+		if (dialect.getMaxStatementParameters() > 0) {
+			rows = Math.min(rows, dialect.getMaxStatementParameters() / columns);
+		}
+		if (dialect.getMaxStatementLength() > 0) {
+			// each additional row value constructor requires a (?,...) group and a separator
+			rows = Math.min(rows, 1 + (dialect.getMaxStatementLength() - sql.length()) / (2 * columns + 2));
+		}
+		return rows;
+	}
+
+	/**
+	 * Get the parameters binder for a statement which binds given properties values for given number of rows.
+	 * @param operationContext Operation context
+	 * @param sql Statement SQL
+	 * @param properties Properties to bind
+	 * @param rows Number of rows
+	 * @return The parameters binder
+	 * @since 6.0.3
+	 */
+	protected static StatementParametersBinder getParametersBinder(JdbcOperationContext operationContext, String sql,
+			List<Property<?>> properties, int rows) {
+		final int columns = properties.size();
+		final SQLParameter<?>[] parameters = new SQLParameter<?>[columns * rows];
+		for (int i = 0; i < columns; i++) {
+			final Property<?> property = properties.get(i);
+			parameters[i] = SQLParameter.create(null, property.getModelType(), property.getTemporalType().orElse(null));
+		}
+		for (int r = 1; r < rows; r++) {
+			System.arraycopy(parameters, 0, parameters, r * columns, columns);
+		}
+		return operationContext.getStatementConfigurator().getParametersBinder(operationContext,
+				SQLStatement.create(sql, parameters));
+	}
+
+	/**
+	 * Set the model values of given {@link PropertyBox} into the parameter values array.
+	 * @param value The value to insert
+	 * @param properties Properties to insert
+	 * @param parameterValues Parameter values array
+	 * @param offset Array offset
+	 * @since 6.0.3
+	 */
+	@SuppressWarnings("unchecked")
+	protected static void setParameterValues(PropertyBox value, List<Property<?>> properties, Object[] parameterValues,
+			int offset) {
+		for (int i = 0; i < properties.size(); i++) {
+			Property<Object> property = (Property<Object>) properties.get(i);
+			parameterValues[offset + i] = value.containsValue(property)
+					? property.getModelValue(value.getValue(property))
+					: null;
+		}
+	}
+
+	/**
+	 * Execute the current statement batch.
+	 * @param stmt The statement
+	 * @param generatedKeys Optional generated keys handler
+	 * @return The number of inserted rows
+	 * @throws SQLException If an error occurred
+	 */
+	private static long executeBatch(PreparedStatement stmt, GeneratedKeys generatedKeys) throws SQLException {
+		int[] results = stmt.executeBatch();
+		long count = 0;
+		if (results != null) {
+			for (int result : results) {
+				if (result >= 0 || result == Statement.SUCCESS_NO_INFO) {
+					count++;
+				}
+			}
+		}
+		if (generatedKeys != null) {
+			generatedKeys.read(stmt);
+		}
+		return count;
+	}
+
+	/**
+	 * Checks whether the generated keys retrieval is requested for the operation.
+	 * @return <code>true</code> if the {@link DefaultWriteOption#BRING_BACK_GENERATED_IDS} write option or the
+	 *         {@link JdbcWriteParameters#RETURN_GENERATED_KEYS} parameter is specified
+	 * @since 6.0.3
+	 */
+	protected boolean isGeneratedKeysRequested() {
+		return getConfiguration().hasWriteOption(DefaultWriteOption.BRING_BACK_GENERATED_IDS)
+				|| getConfiguration().getParameters().getParameter(JdbcWriteParameters.RETURN_GENERATED_KEYS, false);
+	}
+
+	/**
+	 * Get the primary key to use to retrieve the generated keys, if the generated keys retrieval is requested and
+	 * supported by the current dialect.
+	 * @param context Composition context
+	 * @param propertySet Operation property set
+	 * @return Optional primary key
+	 */
+	private Optional<SQLPrimaryKey> getGeneratedKeysPrimaryKey(SQLCompositionContext context,
+			PropertySet<?> propertySet) {
+		if (!isGeneratedKeysRequested() || !operationContext.getDialect().supportsGetGeneratedKeys()) {
+			return Optional.empty();
+		}
+		return JdbcOperationUtils.getPrimaryKey(context, operationContext.getIdentifierResolutionStrategy(),
+				getConfiguration().getTarget(), propertySet);
+	}
+
+	/**
+	 * Generated keys handler.
+	 */
+	private final class GeneratedKeys {
+
+		private final SQLExecutionContext context;
+		private final SQLPrimaryKey primaryKey;
+		private final boolean bringBackGeneratedIds;
+		private final boolean returnGeneratedKeys;
+
+		private final List<PropertyBox> batchValues = new ArrayList<>();
+		private final List<Map<Path<?>, Object>> keys = new ArrayList<>();
+
+		GeneratedKeys(SQLExecutionContext context, SQLPrimaryKey primaryKey) {
+			super();
+			this.context = context;
+			this.primaryKey = primaryKey;
+			this.bringBackGeneratedIds = getConfiguration()
+					.hasWriteOption(DefaultWriteOption.BRING_BACK_GENERATED_IDS);
+			this.returnGeneratedKeys = getConfiguration().getParameters()
+					.getParameter(JdbcWriteParameters.RETURN_GENERATED_KEYS, false);
+		}
+
+		SQLPrimaryKey getPrimaryKey() {
+			return primaryKey;
+		}
+
+		/**
+		 * Add a value to the current batch values.
+		 * @param value The value
+		 */
+		void add(PropertyBox value) {
+			if (bringBackGeneratedIds) {
+				batchValues.add(value);
+			}
+		}
+
+		/**
+		 * Read the generated keys of the last executed batch, setting them back into the batch values if required.
+		 * @param stmt The statement
+		 * @throws SQLException If an error occurred
+		 */
+		void read(Statement stmt) throws SQLException {
+			final Path<?>[] keyPaths = primaryKey.getPaths();
+			try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+				if (generatedKeys != null) {
+					final int columns = Math.min(generatedKeys.getMetaData().getColumnCount(), keyPaths.length);
+					int index = 0;
+					while (generatedKeys.next()) {
+						final Map<Path<?>, Object> rowKeys = new LinkedHashMap<>(columns);
+						for (int i = 0; i < columns; i++) {
+							rowKeys.put(keyPaths[i], generatedKeys.getObject(i + 1));
+						}
+						// only the first row keys are required for the inserted keys, unless all the keys are requested
+						if (returnGeneratedKeys || keys.isEmpty()) {
+							keys.add(rowKeys);
+						}
+						if (index < batchValues.size()) {
+							setBackGeneratedKeys(batchValues.get(index), rowKeys);
+						}
+						index++;
+					}
+				}
+			} finally {
+				batchValues.clear();
+			}
+		}
+
+		/**
+		 * Build the operation result.
+		 * @param count Inserted rows count
+		 * @return The operation result
+		 */
+		OperationResult getResult(long count) {
+			final OperationResult.Builder result = OperationResult.builder().type(OperationType.INSERT)
+					.affectedCount(count);
+			if (!keys.isEmpty()) {
+				keys.get(0).forEach((path, value) -> result.withInsertedKey(path, value));
+			}
+			return new DefaultJdbcBulkInsertResult(result.build(), keys);
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private void setBackGeneratedKeys(PropertyBox value, Map<Path<?>, Object> rowKeys) throws SQLException {
+			final PathPropertyBoxAdapter adapter = PathPropertyBoxAdapter.builder(value)
+					.pathMatcher(new DialectPathMatcher(operationContext.getDialect())).build();
+			for (Entry<Path<?>, Object> key : rowKeys.entrySet()) {
+				if (key.getValue() != null && adapter.contains(key.getKey())) {
+					final TypedExpression valueExpression = adapter.getProperty(key.getKey())
+							.map(p -> (TypedExpression) p).orElse(ConstantConverterExpression.create(key.getValue()));
+					adapter.setValue((Path) key.getKey(), operationContext.getValueDeserializer()
+							.deserialize(context, valueExpression, key.getValue()));
+				}
+			}
+		}
+
 	}
 
 }
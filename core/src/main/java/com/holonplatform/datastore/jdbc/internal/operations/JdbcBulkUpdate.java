@@ -27,6 +27,7 @@ import com.holonplatform.core.internal.datastore.operation.common.UpdateOperatio
 import com.holonplatform.datastore.jdbc.composer.SQLCompositionContext;
 import com.holonplatform.datastore.jdbc.composer.expression.SQLStatement;
 import com.holonplatform.datastore.jdbc.config.JdbcDatastoreCommodityContext;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationEvent;
 import com.holonplatform.datastore.jdbc.context.JdbcOperationContext;
 
 /**
@@ -67,6 +68,15 @@ public class JdbcBulkUpdate extends AbstractBulkUpdate {
 	 */
 	@Override
 	public OperationResult execute() {
+		return operationContext.observe(JdbcOperationEvent.OperationType.BULK_UPDATE, getConfiguration().getTarget(),
+				this::bulkUpdate);
+	}
+
+	/**
+	 * Execute the bulk update operation.
+	 * @return The operation result
+	 */
+	private OperationResult bulkUpdate() {
 
 		// validate
 		getConfiguration().validate();
@@ -29,6 +29,7 @@ import com.holonplatform.datastore.jdbc.composer.SQLCompositionContext;
 import com.holonplatform.datastore.jdbc.composer.expression.SQLPrimaryKey;
 import com.holonplatform.datastore.jdbc.composer.expression.SQLStatement;
 import com.holonplatform.datastore.jdbc.config.JdbcDatastoreCommodityContext;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationEvent;
 import com.holonplatform.datastore.jdbc.context.JdbcOperationContext;
 import com.holonplatform.datastore.jdbc.internal.support.JdbcOperationUtils;
 
@@ -69,6 +70,15 @@ public class JdbcDelete extends AbstractDelete {
 	 */
 	@Override
 	public OperationResult execute() {
+		return operationContext.observe(JdbcOperationEvent.OperationType.DELETE, getConfiguration().getTarget(),
+				this::delete);
+	}
+
+	/**
+	 * Execute the delete operation.
+	 * @return The operation result
+	 */
+	private OperationResult delete() {
 
 		// validate
 		getConfiguration().validate();
@@ -37,6 +37,7 @@ import com.holonplatform.datastore.jdbc.composer.SQLExecutionContext;
 import com.holonplatform.datastore.jdbc.composer.expression.SQLPrimaryKey;
 import com.holonplatform.datastore.jdbc.composer.expression.SQLStatement;
 import com.holonplatform.datastore.jdbc.config.JdbcDatastoreCommodityContext;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationEvent;
 import com.holonplatform.datastore.jdbc.context.JdbcOperationContext;
 import com.holonplatform.datastore.jdbc.internal.support.DialectPathMatcher;
 
@@ -77,6 +78,15 @@ public class JdbcInsert extends AbstractInsert {
 	 */
 	@Override
 	public OperationResult execute() {
+		return operationContext.observe(JdbcOperationEvent.OperationType.INSERT, getConfiguration().getTarget(),
+				this::insert);
+	}
+
+	/**
+	 * Execute the insert operation.
+	 * @return The operation result
+	 */
+	private OperationResult insert() {
 
 		// validate
 		getConfiguration().validate();
@@ -0,0 +1,437 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.internal.operations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.holonplatform.core.Path;
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.query.PropertySetProjection;
+import com.holonplatform.core.query.QueryConfiguration;
+import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.core.query.QueryFunction;
+import com.holonplatform.core.query.QueryOperation;
+import com.holonplatform.core.query.QuerySort;
+import com.holonplatform.core.query.QuerySort.CompositeQuerySort;
+import com.holonplatform.core.query.QuerySort.PathQuerySort;
+import com.holonplatform.core.query.QuerySort.SortDirection;
+import com.holonplatform.datastore.jdbc.composer.SQLCompositionContext;
+import com.holonplatform.datastore.jdbc.composer.expression.SQLPrimaryKey;
+import com.holonplatform.datastore.jdbc.composer.expression.SQLQuery;
+import com.holonplatform.datastore.jdbc.config.JdbcQueryParameters;
+import com.holonplatform.datastore.jdbc.context.JdbcOperationContext;
+import com.holonplatform.datastore.jdbc.internal.JdbcDatastoreLogger;
+import com.holonplatform.datastore.jdbc.internal.support.PartitionQueryConfiguration;
+import com.holonplatform.datastore.jdbc.internal.support.QueryPartitions;
+
+/**
+ * Executes a {@link JdbcQuery} in <em>parallel</em> mode, splitting the query into ranges of a partition path values
+ * and executing each partition concurrently using a dedicated connection.
+ * <p>
+ * Each partition streams its results into a bounded buffer, and the buffers are consumed in the partitions order, so
+ * that at most a buffer of rows for each partition is held in memory.
+ * </p>
+ *
+ * @since 6.0.3
+ * 
+ * @see JdbcQueryParameters#PARALLELISM
+ */
+public class JdbcPartitionedQuery {
+
+	private static final Logger LOGGER = JdbcDatastoreLogger.create();
+
+	/**
+	 * Partition buffer size to use when the fetch size is the driver default
+	 */
+	private static final int DEFAULT_BUFFER_SIZE = 256;
+
+	/**
+	 * Partition threads factory
+	 */
+	private static final ThreadFactory THREAD_FACTORY = Thread.ofVirtual().name("jdbc-query-partition-", 0)
+			.factory();
+
+	private final JdbcQuery query;
+
+	private final JdbcOperationContext operationContext;
+
+	/**
+	 * Constructor.
+	 * @param query The query adapter to use to resolve and execute the partition queries
+	 * @param operationContext Operation context
+	 */
+	public JdbcPartitionedQuery(JdbcQuery query, JdbcOperationContext operationContext) {
+		super();
+		this.query = query;
+		this.operationContext = operationContext;
+	}
+
+	/**
+	 * Execute given query operation in parallel mode, if possible.
+	 * <p>
+	 * The returned stream is backed by the running partitions: it must be closed if it is not fully consumed.
+	 * </p>
+	 * @param <R> Results type
+	 * @param queryOperation The query operation
+	 * @param parallelism The max number of partitions
+	 * @param fetchSize The JDBC fetch size, <code>0</code> for the driver default
+	 * @return The merged query results, or empty if the query cannot be executed in parallel mode and must be
+	 *         executed using a single connection
+	 */
+	public <R> Optional<Stream<R>> stream(QueryOperation<QueryConfiguration, R> queryOperation, int parallelism,
+			int fetchSize) {
+
+		final QueryConfiguration configuration = queryOperation.getConfiguration();
+
+		// check configuration
+		if (operationContext.isConnectionBound()) {
+			LOGGER.debug(() -> "Query parallel mode ignored: a transaction or a shared connection is active");
+			return Optional.empty();
+		}
+		if (configuration.getLimit().isPresent() || configuration.getOffset().isPresent()
+				|| configuration.getAggregation().isPresent()) {
+			LOGGER.warn("Query parallel mode is not supported for queries with limit, offset or aggregation: "
+					+ "the query will be executed using a single connection");
+			return Optional.empty();
+		}
+
+		// partition path
+		final Path<Object> path = getPartitionPath(configuration).orElse(null);
+		if (path == null) {
+			LOGGER.warn("Query parallel mode ignored: no suitable partition path available. Use the ["
+					+ JdbcQueryParameters.PARTITION_PATH.getKey() + "] query parameter to provide a numeric or "
+					+ "date/time partition path");
+			return Optional.empty();
+		}
+
+		// check sort
+		final PartitionOrder order = getPartitionOrder(configuration, path);
+		if (order == PartitionOrder.UNSUPPORTED) {
+			LOGGER.warn("Query parallel mode ignored: the query sort is not led by the partition path ["
+					+ path.relativeName() + "]");
+			return Optional.empty();
+		}
+
+		// partition ranges
+		final Object[] bounds = getBounds(configuration, path, fetchSize);
+		if (bounds[0] == null || bounds[1] == null) {
+			return Optional.empty();
+		}
+		final List<QueryFilter> partitions = new ArrayList<>(
+				QueryPartitions.createPartitionFilters(path, bounds[0], bounds[1], parallelism));
+		if (partitions.isEmpty()) {
+			return Optional.empty();
+		}
+		if (order == PartitionOrder.DESCENDING) {
+			Collections.reverse(partitions);
+		}
+
+		// resolve the partition queries
+		final List<SQLQuery> partitionQueries = new ArrayList<>(partitions.size());
+		for (QueryFilter partition : partitions) {
+			partitionQueries.add(query.resolve(QueryOperation
+					.create(new PartitionQueryConfiguration(configuration, partition, true),
+							queryOperation.getProjection())));
+		}
+
+		// execute
+		final int bufferSize = (fetchSize > 0) ? fetchSize : DEFAULT_BUFFER_SIZE;
+		final List<Partition<R>> running = new ArrayList<>(partitionQueries.size());
+		try {
+			for (SQLQuery partitionQuery : partitionQueries) {
+				final Partition<R> partition = new Partition<>(query, partitionQuery, fetchSize, bufferSize);
+				running.add(partition);
+				THREAD_FACTORY.newThread(partition).start();
+			}
+		} catch (RuntimeException e) {
+			running.forEach(Partition::close);
+			throw e;
+		}
+
+		// merge in the partitions order
+		return Optional.of(StreamSupport.stream(new PartitionsSpliterator<>(running), false)
+				.onClose(() -> running.forEach(Partition::close)));
+	}
+
+	/**
+	 * Get the partition path, using the {@link JdbcQueryParameters#PARTITION_PATH} query parameter if available or the
+	 * query target primary key, if it consists of a single path.
+	 * @param configuration Query configuration
+	 * @return Optional partition path
+	 */
+	@SuppressWarnings("unchecked")
+	private Optional<Path<Object>> getPartitionPath(QueryConfiguration configuration) {
+		final Path<?> path = configuration.getParameter(JdbcQueryParameters.PARTITION_PATH).isPresent()
+				? configuration.getParameter(JdbcQueryParameters.PARTITION_PATH).get()
+				: getPrimaryKeyPath(configuration).orElse(null);
+		if (path != null && QueryPartitions.isPartitionable(path.getType())) {
+			return Optional.of((Path<Object>) path);
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Get the query target primary key path, if the primary key consists of a single path.
+	 * @param configuration Query configuration
+	 * @return Optional primary key path
+	 */
+	private Optional<Path<?>> getPrimaryKeyPath(QueryConfiguration configuration) {
+		return configuration.getTarget().flatMap(target -> {
+			final SQLCompositionContext context = SQLCompositionContext.create(operationContext);
+			context.addExpressionResolvers(configuration.getExpressionResolvers());
+			return context.resolve(target, SQLPrimaryKey.class);
+		}).map(pk -> pk.getPaths()).filter(paths -> paths.length == 1).map(paths -> paths[0]);
+	}
+
+	/**
+	 * Get the order in which the partitions results must be merged, according to the query sort.
+	 * @param configuration Query configuration
+	 * @param path Partition path
+	 * @return The partitions order
+	 */
+	private static PartitionOrder getPartitionOrder(QueryConfiguration configuration, Path<?> path) {
+		final QuerySort sort = configuration.getSort().orElse(null);
+		if (sort == null) {
+			return PartitionOrder.ANY;
+		}
+		final PathQuerySort<?> first = getFirstSort(sort);
+		if (first != null && first.getPath().relativeName().equalsIgnoreCase(path.relativeName())) {
+			return (first.getDirection() == SortDirection.DESCENDING) ? PartitionOrder.DESCENDING
+					: PartitionOrder.ASCENDING;
+		}
+		return PartitionOrder.UNSUPPORTED;
+	}
+
+	/**
+	 * Get the first {@link PathQuerySort} of given sort.
+	 * @param sort The query sort
+	 * @return The first path sort, <code>null</code> if not available
+	 */
+	private static PathQuerySort<?> getFirstSort(QuerySort sort) {
+		if (sort instanceof PathQuerySort) {
+			return (PathQuerySort<?>) sort;
+		}
+		if (sort instanceof CompositeQuerySort && !((CompositeQuerySort) sort).getComposition().isEmpty()) {
+			return getFirstSort(((CompositeQuerySort) sort).getComposition().get(0));
+		}
+		return null;
+	}
+
+	/**
+	 * Get the min and max values of the partition path, using a single aggregation query which ignores the query sort.
+	 * @param configuration Query configuration
+	 * @param path Partition path
+	 * @param fetchSize The JDBC fetch size
+	 * @return The min and max values, <code>null</code> if none
+	 */
+	private Object[] getBounds(QueryConfiguration configuration, Path<Object> path, int fetchSize) {
+		final QueryFunction.Min<Object> min = QueryFunction.min(path);
+		final QueryFunction.Max<Object> max = QueryFunction.max(path);
+		final SQLQuery boundsQuery = query.resolve(QueryOperation.create(
+				new PartitionQueryConfiguration(configuration, null, false),
+				PropertySetProjection.of(Arrays.asList(min, max))));
+		final List<PropertyBox> results = query.list(boundsQuery,
+				JdbcQuery.<PropertyBox> getResultConverter(boundsQuery), fetchSize);
+		if (results.isEmpty()) {
+			return new Object[2];
+		}
+		return new Object[] { results.get(0).getValue(min), results.get(0).getValue(max) };
+	}
+
+	/**
+	 * The order in which the partitions results are merged.
+	 */
+	private enum PartitionOrder {
+
+		/**
+		 * The query is not sorted, any order is fine
+		 */
+		ANY,
+
+		/**
+		 * Ascending partitions order
+		 */
+		ASCENDING,
+
+		/**
+		 * Descending partitions order
+		 */
+		DESCENDING,
+
+		/**
+		 * The query sort is not led by the partition path, so the results cannot be merged preserving it
+		 */
+		UNSUPPORTED;
+
+	}
+
+	/**
+	 * A partition query execution, which streams the results into a bounded buffer.
+	 * @param <R> Results type
+	 */
+	private static final class Partition<R> implements Runnable {
+
+		private static final Object NULL = new Object();
+		private static final Object END = new Object();
+
+		private final JdbcQuery query;
+		private final SQLQuery partitionQuery;
+		private final int fetchSize;
+		private final BlockingQueue<Object> buffer;
+
+		private volatile boolean closed = false;
+
+		Partition(JdbcQuery query, SQLQuery partitionQuery, int fetchSize, int bufferSize) {
+			super();
+			this.query = query;
+			this.partitionQuery = partitionQuery;
+			this.fetchSize = fetchSize;
+			this.buffer = new ArrayBlockingQueue<>(bufferSize);
+		}
+
+		@Override
+		public void run() {
+			try (Stream<R> results = query.stream(partitionQuery, JdbcQuery.<R> getResultConverter(partitionQuery),
+					fetchSize)) {
+				final Iterator<R> iterator = results.iterator();
+				while (!closed && iterator.hasNext()) {
+					final R result = iterator.next();
+					put((result != null) ? result : NULL);
+				}
+				put(END);
+			} catch (Throwable e) {
+				put(new PartitionFailure(e));
+			}
+		}
+
+		/**
+		 * Put an element into the buffer, waiting for space to become available unless the partition is closed.
+		 * @param element The element
+		 */
+		private void put(Object element) {
+			try {
+				while (!closed) {
+					if (buffer.offer(element, 100, TimeUnit.MILLISECONDS)) {
+						return;
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				closed = true;
+			}
+		}
+
+		/**
+		 * Take the next partition result.
+		 * @param action The result consumer
+		 * @return <code>true</code> if a result was available, <code>false</code> if the partition is exhausted
+		 */
+		@SuppressWarnings("unchecked")
+		boolean next(Consumer<? super R> action) {
+			final Object element;
+			try {
+				element = buffer.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new DataAccessException("Interrupted while waiting for the query partition results", e);
+			}
+			if (element == END) {
+				return false;
+			}
+			if (element instanceof PartitionFailure) {
+				final Throwable error = ((PartitionFailure) element).error;
+				if (error instanceof DataAccessException) {
+					throw (DataAccessException) error;
+				}
+				throw new DataAccessException("Query partition execution failed", error);
+			}
+			action.accept((element == NULL) ? null : (R) element);
+			return true;
+		}
+
+		/**
+		 * Stop the partition execution, releasing its resources.
+		 */
+		void close() {
+			closed = true;
+			buffer.clear();
+		}
+
+	}
+
+	/**
+	 * A partition execution failure.
+	 */
+	private static final class PartitionFailure {
+
+		final Throwable error;
+
+		PartitionFailure(Throwable error) {
+			super();
+			this.error = error;
+		}
+
+	}
+
+	/**
+	 * Spliterator which consumes the partitions results in the partitions order.
+	 * @param <R> Results type
+	 */
+	private static final class PartitionsSpliterator<R> extends Spliterators.AbstractSpliterator<R> {
+
+		private final List<Partition<R>> partitions;
+		private int current = 0;
+
+		PartitionsSpliterator(List<Partition<R>> partitions) {
+			super(Long.MAX_VALUE, Spliterator.ORDERED);
+			this.partitions = partitions;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super R> action) {
+			try {
+				while (current < partitions.size()) {
+					if (partitions.get(current).next(action)) {
+						return true;
+					}
+					current++;
+				}
+			} catch (RuntimeException e) {
+				partitions.forEach(Partition::close);
+				throw e;
+			}
+			return false;
+		}
+
+	}
+
+}
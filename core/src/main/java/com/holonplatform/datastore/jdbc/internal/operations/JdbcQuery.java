@@ -15,11 +15,13 @@
  */
 package com.holonplatform.datastore.jdbc.internal.operations;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import com.holonplatform.core.datastore.DatastoreCommodityContext.CommodityConfigurationException;
@@ -39,11 +41,15 @@ import com.holonplatform.core.query.lock.LockQuery;
 import com.holonplatform.core.query.lock.LockQueryAdapter;
 import com.holonplatform.datastore.jdbc.composer.SQLCompositionContext;
 import com.holonplatform.datastore.jdbc.composer.SQLExecutionContext;
+import com.holonplatform.datastore.jdbc.composer.SQLResult;
 import com.holonplatform.datastore.jdbc.composer.SQLResultConverter;
 import com.holonplatform.datastore.jdbc.composer.expression.SQLQuery;
 import com.holonplatform.datastore.jdbc.config.JdbcDatastoreCommodityContext;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationEvent;
+import com.holonplatform.datastore.jdbc.config.JdbcQueryParameters;
 import com.holonplatform.datastore.jdbc.context.JdbcOperationContext;
 import com.holonplatform.datastore.jdbc.internal.support.ResultSetSQLResult;
+import com.holonplatform.datastore.jdbc.internal.support.ResultSetSpliterator;
 
 /**
  * JDBC {@link QueryAdapter}.
@@ -93,19 +99,65 @@ public class JdbcQuery implements LockQueryAdapter<QueryConfiguration> {
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.query.QueryAdapter#stream(com.holonplatform.core.query.QueryOperation)
 	 */
-	@SuppressWarnings("unchecked")
 	@Override
 	public <R> Stream<R> stream(QueryOperation<QueryConfiguration, R> queryOperation) throws DataAccessException {
+		return operationContext.observe(JdbcOperationEvent.OperationType.QUERY,
+				queryOperation.getConfiguration().getTarget().orElse(null), () -> query(queryOperation));
+	}
+
+	/**
+	 * Execute given query operation.
+	 * @param <R> Results type
+	 * @param queryOperation The query operation
+	 * @return The query results stream
+	 */
+	private <R> Stream<R> query(QueryOperation<QueryConfiguration, R> queryOperation) {
+
+		// fetch size
+		final int fetchSize = getFetchSize(queryOperation.getConfiguration());
+
+		// check parallel mode
+		final int parallelism = queryOperation.getConfiguration().getParameter(JdbcQueryParameters.PARALLELISM, 1);
+		if (parallelism > 1) {
+			final Optional<Stream<R>> results = new JdbcPartitionedQuery(this, operationContext)
+					.stream(queryOperation, parallelism, fetchSize);
+			if (results.isPresent()) {
+				return results.get();
+			}
+		}
+
+		// resolve to SQLQuery
+		final SQLQuery query = resolve(queryOperation);
+
+		// check streaming mode
+		if (queryOperation.getConfiguration().getParameter(JdbcQueryParameters.STREAMING, Boolean.FALSE)) {
+			return stream(query, JdbcQuery.<R> getResultConverter(query), fetchSize);
+		}
+
+		// execute
+		return list(query, JdbcQuery.<R> getResultConverter(query), fetchSize).stream();
+	}
+
+	/**
+	 * Resolve given query operation into a {@link SQLQuery}, checking the results converter type consistency.
+	 * @param <R> Results type
+	 * @param queryOperation The query operation to resolve
+	 * @return The resolved {@link SQLQuery}
+	 * @throws DataAccessException If an error occurred
+	 */
+	<R> SQLQuery resolve(QueryOperation<QueryConfiguration, R> queryOperation) {
 
 		// composition context
 		final SQLCompositionContext context = SQLCompositionContext.create(operationContext);
 		context.addExpressionResolvers(queryOperation.getConfiguration().getExpressionResolvers());
 
 		// resolve to SQLQuery
-		final SQLQuery query = context.resolveOrFail(queryOperation, SQLQuery.class);
+		final SQLQuery query = operationContext.getQueryPlanCache()
+				.map(cache -> cache.resolve(queryOperation, context))
+				.orElseGet(() -> context.resolveOrFail(queryOperation, SQLQuery.class));
 
 		// check converter
-		final SQLResultConverter<R> converter = (SQLResultConverter<R>) query.getResultConverter();
+		final SQLResultConverter<?> converter = query.getResultConverter();
 		if (!TypeUtils.isAssignable(converter.getConversionType(), queryOperation.getProjection().getType())) {
 			throw new DataAccessException("The query results converter type [" + converter.getConversionType()
 					+ "] is not compatible with the query projection type [" + queryOperation.getProjection().getType()
@@ -115,26 +167,143 @@ public class JdbcQuery implements LockQueryAdapter<QueryConfiguration> {
 		// trace
 		operationContext.trace(query.getSql());
 
-		// execute
+		return query;
+	}
+
+	/**
+	 * Get the results converter of given query.
+	 * @param <R> Results type
+	 * @param query The query
+	 * @return The query results converter
+	 */
+	@SuppressWarnings("unchecked")
+	static <R> SQLResultConverter<R> getResultConverter(SQLQuery query) {
+		return (SQLResultConverter<R>) query.getResultConverter();
+	}
+
+	/**
+	 * Execute given query and return the converted results as a list.
+	 * @param <R> Results type
+	 * @param query The query to execute
+	 * @param converter Results converter
+	 * @param fetchSize The JDBC fetch size, <code>0</code> for the driver default
+	 * @return The query results
+	 */
+	<R> List<R> list(SQLQuery query, SQLResultConverter<R> converter, int fetchSize) {
 		return operationContext.withConnection(c -> {
 
+			final boolean restoreAutoCommit = disableAutoCommit(c, fetchSize);
+
 			try (PreparedStatement stmt = operationContext.prepareStatement(query, c)) {
+				if (fetchSize > 0) {
+					stmt.setFetchSize(fetchSize);
+				}
 				final SQLExecutionContext ctx = SQLExecutionContext.create(operationContext, c);
 
 				try (ResultSet resultSet = stmt.executeQuery()) {
 					final List<R> rows = new ArrayList<>();
+					final SQLResult result = ResultSetSQLResult.of(resultSet);
 					while (resultSet.next()) {
-						rows.add(converter.convert(ctx, ResultSetSQLResult.of(resultSet)));
+						rows.add(converter.convert(ctx, result));
 					}
-					return rows.stream();
+					return rows;
 				} catch (SQLException e) {
 					// translate SQLException using dialect
 					throw operationContext.getDialect().translateException(e);
 				}
+			} finally {
+				if (restoreAutoCommit) {
+					c.setAutoCommit(true);
+				}
 			}
 
 		});
+	}
+
+	/**
+	 * Execute given query and return a {@link Stream} backed by the open JDBC {@link ResultSet}, converting each row
+	 * only when it is consumed. The JDBC resources are released when the stream is closed.
+	 * @param <R> Results type
+	 * @param query The query to execute
+	 * @param converter Results converter
+	 * @param fetchSize The JDBC fetch size, <code>0</code> for the driver default
+	 * @return The query results stream
+	 */
+	@SuppressWarnings("resource")
+	<R> Stream<R> stream(SQLQuery query, SQLResultConverter<R> converter, int fetchSize) {
+		return operationContext.withConnectionStream(c -> {
+			final boolean restoreAutoCommit = disableAutoCommit(c, fetchSize);
+			final PreparedStatement stmt;
+			try {
+				stmt = operationContext.prepareStatement(query, c);
+			} catch (RuntimeException e) {
+				restoreAutoCommit(c, restoreAutoCommit);
+				throw e;
+			}
+			try {
+				if (fetchSize > 0) {
+					stmt.setFetchSize(fetchSize);
+				}
+				return ResultSetSpliterator.stream(SQLExecutionContext.create(operationContext, c), stmt,
+						stmt.executeQuery(), converter).onClose(() -> restoreAutoCommit(c, restoreAutoCommit));
+			} catch (SQLException e) {
+				stmt.close();
+				restoreAutoCommit(c, restoreAutoCommit);
+				// translate SQLException using dialect
+				throw operationContext.getDialect().translateException(e);
+			} catch (RuntimeException e) {
+				stmt.close();
+				restoreAutoCommit(c, restoreAutoCommit);
+				throw e;
+			}
+		});
+	}
+
+	/**
+	 * Get the JDBC fetch size to use for the query, using the {@link JdbcQueryParameters#FETCH_SIZE} query parameter
+	 * if available or the default fetch size otherwise.
+	 * @param configuration Query configuration
+	 * @return The fetch size, <code>0</code> for the driver default
+	 */
+	private int getFetchSize(QueryConfiguration configuration) {
+		final int fetchSize = configuration.getParameter(JdbcQueryParameters.FETCH_SIZE)
+				.orElseGet(() -> operationContext.getDefaultFetchSize());
+		if (fetchSize < 0) {
+			throw new DataAccessException("Invalid query fetch size: [" + fetchSize + "]");
+		}
+		return fetchSize;
+	}
+
+	/**
+	 * Disable the auto-commit mode of given connection, if the dialect requires it to use the fetch size and the
+	 * auto-commit mode is currently enabled.
+	 * @param connection The connection
+	 * @param fetchSize The fetch size
+	 * @return <code>true</code> if the auto-commit mode was disabled and must be restored after query execution
+	 * @throws SQLException If an error occurred
+	 */
+	private boolean disableAutoCommit(Connection connection, int fetchSize) throws SQLException {
+		if (fetchSize > 0 && operationContext.getDialect().fetchSizeRequiresAutoCommitDisabled()
+				&& connection.getAutoCommit()) {
+			connection.setAutoCommit(false);
+			return true;
+		}
+		return false;
+	}
 
+	/**
+	 * Restore the auto-commit mode of given connection, if it was disabled before query execution.
+	 * @param connection The connection
+	 * @param restore Whether to restore the auto-commit mode
+	 */
+	private static void restoreAutoCommit(Connection connection, boolean restore) {
+		if (restore) {
+			try {
+				connection.setAutoCommit(true);
+			} catch (SQLException e) {
+				throw new DataAccessException("Failed to restore the connection auto-commit mode", e);
+			}
+		}
 	}
 
 	/*
@@ -143,6 +312,16 @@ public class JdbcQuery implements LockQueryAdapter<QueryConfiguration> {
 	 */
 	@Override
 	public boolean tryLock(QueryConfiguration queryConfiguration) {
+		return operationContext.observe(JdbcOperationEvent.OperationType.QUERY,
+				queryConfiguration.getTarget().orElse(null), () -> lock(queryConfiguration));
+	}
+
+	/**
+	 * Try to lock the rows selected by given query configuration.
+	 * @param queryConfiguration The query configuration
+	 * @return <code>true</code> if the lock was acquired
+	 */
+	private boolean lock(QueryConfiguration queryConfiguration) {
 
 		// composition context
 		final SQLCompositionContext context = SQLCompositionContext.create(operationContext);
@@ -26,6 +26,7 @@ import com.holonplatform.core.query.Query;
 import com.holonplatform.datastore.jdbc.composer.SQLCompositionContext;
 import com.holonplatform.datastore.jdbc.composer.expression.SQLPrimaryKey;
 import com.holonplatform.datastore.jdbc.config.JdbcDatastoreCommodityContext;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationEvent;
 import com.holonplatform.datastore.jdbc.context.JdbcOperationContext;
 import com.holonplatform.datastore.jdbc.internal.support.DialectPathMatcher;
 import com.holonplatform.datastore.jdbc.internal.support.JdbcOperationUtils;
@@ -67,6 +68,15 @@ public class JdbcRefresh extends AbstractRefresh {
 	 */
 	@Override
 	public PropertyBox execute() {
+		return operationContext.observe(JdbcOperationEvent.OperationType.REFRESH, getConfiguration().getTarget(),
+				this::refresh);
+	}
+
+	/**
+	 * Execute the refresh operation.
+	 * @return The operation result
+	 */
+	private PropertyBox refresh() {
 
 		// validate
 		getConfiguration().validate();
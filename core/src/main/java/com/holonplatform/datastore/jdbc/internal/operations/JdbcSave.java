@@ -15,9 +15,14 @@
  */
 package com.holonplatform.datastore.jdbc.internal.operations;
 
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import com.holonplatform.core.Path;
+import com.holonplatform.core.TypedExpression;
 import com.holonplatform.core.datastore.Datastore.OperationResult;
 import com.holonplatform.core.datastore.DatastoreCommodityContext.CommodityConfigurationException;
 import com.holonplatform.core.datastore.DatastoreCommodityFactory;
@@ -26,17 +31,27 @@ import com.holonplatform.core.datastore.operation.Insert;
 import com.holonplatform.core.datastore.operation.Save;
 import com.holonplatform.core.datastore.operation.Update;
 import com.holonplatform.core.datastore.operation.commons.PropertyBoxOperationConfiguration;
+import com.holonplatform.core.datastore.relational.RelationalTarget;
 import com.holonplatform.core.exceptions.DataAccessException;
 import com.holonplatform.core.internal.Logger;
 import com.holonplatform.core.internal.datastore.operation.AbstractSave;
+import com.holonplatform.core.property.PathPropertyBoxAdapter;
 import com.holonplatform.core.query.Query;
 import com.holonplatform.core.query.QueryFilter;
 import com.holonplatform.core.query.QueryFunction.Count;
 import com.holonplatform.datastore.jdbc.composer.SQLCompositionContext;
+import com.holonplatform.datastore.jdbc.composer.SQLStatementCompositionContext;
+import com.holonplatform.datastore.jdbc.composer.SQLStatementCompositionContext.AliasMode;
+import com.holonplatform.datastore.jdbc.composer.expression.SQLExpression;
+import com.holonplatform.datastore.jdbc.composer.expression.SQLParameterizableExpression;
 import com.holonplatform.datastore.jdbc.composer.expression.SQLPrimaryKey;
+import com.holonplatform.datastore.jdbc.composer.expression.SQLStatement;
 import com.holonplatform.datastore.jdbc.config.JdbcDatastoreCommodityContext;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationEvent;
+import com.holonplatform.datastore.jdbc.config.JdbcWriteParameters;
 import com.holonplatform.datastore.jdbc.context.JdbcOperationContext;
 import com.holonplatform.datastore.jdbc.internal.JdbcDatastoreLogger;
+import com.holonplatform.datastore.jdbc.internal.support.DialectPathMatcher;
 import com.holonplatform.datastore.jdbc.internal.support.JdbcOperationUtils;
 
 /**
@@ -78,6 +93,15 @@ public class JdbcSave extends AbstractSave {
 	 */
 	@Override
 	public OperationResult execute() {
+		return operationContext.observe(JdbcOperationEvent.OperationType.SAVE, getConfiguration().getTarget(),
+				this::save);
+	}
+
+	/**
+	 * Execute the save operation.
+	 * @return The operation result
+	 */
+	private OperationResult save() {
 
 		// validate
 		getConfiguration().validate();
@@ -106,6 +130,13 @@ public class JdbcSave extends AbstractSave {
 									+ getConfiguration() + "]");
 				}
 			} else {
+				// try a native upsert
+				if (isNativeUpsert()) {
+					final Optional<OperationResult> result = upsert(context, primaryKey.get());
+					if (result.isPresent()) {
+						return result.get();
+					}
+				}
 				// check existence using primary key
 				final boolean exists;
 				try {
@@ -138,6 +169,76 @@ public class JdbcSave extends AbstractSave {
 		});
 	}
 
+	/**
+	 * Checks whether the native upsert should be used, according to the {@link JdbcWriteParameters#NATIVE_UPSERT}
+	 * operation parameter or to the datastore default.
+	 * @return <code>true</code> if the native upsert should be used
+	 */
+	private boolean isNativeUpsert() {
+		return getConfiguration().getParameters().getParameter(JdbcWriteParameters.NATIVE_UPSERT,
+				operationContext.isNativeUpsertEnabled());
+	}
+
+	/**
+	 * Perform the save operation using the dialect native upsert statement, if available.
+	 * @param context Composition context
+	 * @param primaryKey Primary key
+	 * @return The operation result, empty if the dialect does not support the upsert statement or the primary key
+	 *         values are not available in the value to save
+	 */
+	private Optional<OperationResult> upsert(SQLCompositionContext context, SQLPrimaryKey primaryKey) {
+		final RelationalTarget<?> target = context.resolveOrFail(getConfiguration().getTarget(),
+				RelationalTarget.class);
+		final SQLStatementCompositionContext statementContext = SQLStatementCompositionContext.asChild(context,
+				target, AliasMode.UNSUPPORTED);
+
+		final Map<Path<?>, TypedExpression<?>> pathValues = getConfiguration().getValueExpressions(true);
+		final List<Path<?>> paths = new ArrayList<>(pathValues.keySet());
+		final List<String> columns = new ArrayList<>(pathValues.size());
+		final List<String> values = new ArrayList<>(pathValues.size());
+		pathValues.forEach((path, value) -> {
+			columns.add(statementContext.resolveOrFail(path, SQLExpression.class).getValue());
+			values.add(statementContext
+					.resolveOrFail(SQLParameterizableExpression.create(value), SQLExpression.class).getValue());
+		});
+
+		// key columns
+		final PathPropertyBoxAdapter adapter = PathPropertyBoxAdapter.builder(getConfiguration().getValue())
+				.pathMatcher(new DialectPathMatcher(operationContext.getDialect())).build();
+		final DialectPathMatcher matcher = new DialectPathMatcher(operationContext.getDialect());
+		final List<String> keyColumns = new ArrayList<>(primaryKey.getPaths().length);
+		for (Path<?> keyPath : primaryKey.getPaths()) {
+			if (!adapter.getValue(keyPath).isPresent()) {
+				return Optional.empty();
+			}
+			final Optional<Path<?>> valuePath = paths.stream().filter(path -> matcher.match(keyPath, path))
+					.findFirst();
+			if (!valuePath.isPresent()) {
+				return Optional.empty();
+			}
+			keyColumns.add(columns.get(paths.indexOf(valuePath.get())));
+		}
+
+		final Optional<String> sql = operationContext.getDialect().getUpsertStatement(
+				statementContext.resolveOrFail(target, SQLExpression.class).getValue(), columns, values, keyColumns);
+		if (!sql.isPresent()) {
+			return Optional.empty();
+		}
+
+		final SQLStatement statement = statementContext.prepareStatement(sql.get());
+
+		// trace
+		operationContext.trace(statement.getSql());
+
+		return Optional.of(operationContext.withConnection(c -> {
+			try (PreparedStatement stmt = operationContext.prepareStatement(statement, c)) {
+				int count = stmt.executeUpdate();
+				// the operation type is not available
+				return OperationResult.builder().affectedCount(Math.min(count, 1)).build();
+			}
+		}));
+	}
+
 	/**
 	 * Perform an insert operation using given <code>configuration</code>.
 	 * @param configuration Operation configuration
@@ -20,11 +20,13 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map.Entry;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 import jakarta.annotation.Priority;
 
@@ -37,9 +39,15 @@ import com.holonplatform.datastore.jdbc.composer.SQLContext;
 import com.holonplatform.datastore.jdbc.composer.SQLType;
 import com.holonplatform.datastore.jdbc.composer.expression.SQLPrimaryKey;
 import com.holonplatform.datastore.jdbc.composer.resolvers.SQLContextExpressionResolver;
+import com.holonplatform.datastore.jdbc.internal.support.SchemaCatalog;
+import com.holonplatform.datastore.jdbc.internal.support.SchemaCatalog.Table;
 
 /**
  * Primary key resolver.
+ * <p>
+ * The primary keys obtained from the database metadata are cached by table name. The cache supports concurrent access
+ * without locking for reads. When the cache max size is exceeded, an arbitrary entry is evicted.
+ * </p>
  *
  * @since 5.0.0
  */
@@ -50,23 +58,19 @@ public class PrimaryKeyResolver implements SQLContextExpressionResolver<DataTarg
 	private static final long serialVersionUID = -1693018694034935286L;
 
 	/**
-	 * Max primary keys cache size
+	 * Default max primary keys cache size
 	 */
-	private final static int MAX_PRIMARY_KEY_CACHE_SIZE = 5000;
+	public final static int DEFAULT_MAX_PRIMARY_KEY_CACHE_SIZE = 5000;
 
 	/**
-	 * Primary keys cache
+	 * Primary keys cache, using the database table name as key
 	 */
-	@SuppressWarnings("serial")
-	private final LinkedHashMap<String, SQLPrimaryKey> primaryKeysCache = new LinkedHashMap<String, SQLPrimaryKey>(16,
-			0.75f, true) {
+	private final Map<String, SQLPrimaryKey> primaryKeysCache = new ConcurrentHashMap<>();
 
-		@Override
-		protected boolean removeEldestEntry(Entry<String, SQLPrimaryKey> eldest) {
-			return size() > MAX_PRIMARY_KEY_CACHE_SIZE;
-		}
-
-	};
+	/**
+	 * Max primary keys cache size
+	 */
+	private volatile int maxCacheSize = DEFAULT_MAX_PRIMARY_KEY_CACHE_SIZE;
 
 	private final ConnectionHandler connectionProvider;
 
@@ -75,6 +79,47 @@ public class PrimaryKeyResolver implements SQLContextExpressionResolver<DataTarg
 		this.connectionProvider = connectionProvider;
 	}
 
+	/**
+	 * Set the max number of primary keys to cache.
+	 * @param maxCacheSize the max cache size (<code>0</code> to disable the cache)
+	 * @since 6.0.3
+	 */
+	public void setMaxCacheSize(int maxCacheSize) {
+		if (maxCacheSize < 0) {
+			throw new IllegalArgumentException("Primary key cache size must be greater or equal to 0");
+		}
+		this.maxCacheSize = maxCacheSize;
+		evict(null);
+	}
+
+	/**
+	 * Get the number of cached primary keys.
+	 * @return the number of cached primary keys
+	 * @since 6.0.3
+	 */
+	public int getCacheSize() {
+		return primaryKeysCache.size();
+	}
+
+	/**
+	 * Remove the cached primary key of given table, if any.
+	 * @param databaseTableName The database table name, as provided by the database metadata
+	 * @since 6.0.3
+	 */
+	public void invalidate(String databaseTableName) {
+		if (databaseTableName != null) {
+			primaryKeysCache.remove(databaseTableName);
+		}
+	}
+
+	/**
+	 * Remove all the cached primary keys.
+	 * @since 6.0.3
+	 */
+	public void invalidateAll() {
+		primaryKeysCache.clear();
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see com.holonplatform.core.ExpressionResolver#getExpressionType()
@@ -112,6 +157,58 @@ public class PrimaryKeyResolver implements SQLContextExpressionResolver<DataTarg
 		return getPrimaryKeyFromDatabaseMetadata(context, target.getName());
 	}
 
+	/**
+	 * Load the primary keys of all the tables of the current connection schema into the cache, using the least
+	 * number of database metadata calls supported by the JDBC driver.
+	 * <p>
+	 * The primary keys of all the tables are loaded using a single metadata call if supported by the JDBC driver,
+	 * otherwise the schema tables are listed and the primary key of each table is loaded. The primary key column types
+	 * are loaded using a single metadata call.
+	 * </p>
+	 * @param context SQL context
+	 * @return The number of loaded primary keys
+	 * @throws InvalidExpressionException If an error occurred
+	 * @since 6.0.3
+	 */
+	public int preload(SQLContext context) throws InvalidExpressionException {
+		final SchemaCatalog catalog = connectionProvider.withConnection(connection -> {
+			return SchemaCatalog.read(connection, null, null);
+		});
+		return preload(context, catalog);
+	}
+
+	/**
+	 * Load the primary keys of the tables of given {@link SchemaCatalog} into the cache.
+	 * @param context SQL context
+	 * @param catalog The schema catalog
+	 * @return The number of loaded primary keys
+	 * @throws InvalidExpressionException If an error occurred
+	 * @since 6.0.3
+	 */
+	public int preload(SQLContext context, SchemaCatalog catalog) throws InvalidExpressionException {
+		int count = 0;
+		for (Table table : catalog.getTables().values()) {
+			final List<String> key = table.getPrimaryKey();
+			if (!key.isEmpty() && table.getColumns().keySet().containsAll(key)) {
+				final List<KeyColumn> columns = new ArrayList<>(key.size());
+				for (int i = 0; i < key.size(); i++) {
+					final KeyColumn column = new KeyColumn();
+					column.name = key.get(i);
+					column.sequence = (short) (i + 1);
+					columns.add(column);
+				}
+				try {
+					cache(table.getName(), createPrimaryKey(context, table.getName(), columns, table.getColumns()));
+				} catch (SQLException e) {
+					throw new InvalidExpressionException(
+							"Failed to load the primary key of table [" + table.getName() + "]", e);
+				}
+				count++;
+			}
+		}
+		return count;
+	}
+
 	/**
 	 * Get the table primary key from JDBC database metedata.
 	 * @param context SQL context
@@ -125,72 +222,126 @@ public class PrimaryKeyResolver implements SQLContextExpressionResolver<DataTarg
 			return Optional.empty();
 		}
 
-		return Optional.ofNullable(primaryKeysCache.computeIfAbsent(tableName, table -> {
-			final String databaseTable = context.getDialect().getTableName(tableName);
+		final String databaseTable = context.getDialect().getTableName(tableName);
 
-			return connectionProvider.withConnection(connection -> {
+		// check cache
+		final SQLPrimaryKey cached = primaryKeysCache.get(databaseTable);
+		if (cached != null) {
+			return Optional.of(cached);
+		}
 
-				List<OrderedPath> paths = new ArrayList<>();
+		final SQLPrimaryKey primaryKey = connectionProvider.withConnection(connection -> {
 
-				DatabaseMetaData databaseMetaData = connection.getMetaData();
+			final Map<String, List<KeyColumn>> keys = new HashMap<>(1);
 
-				try (ResultSet resultSet = databaseMetaData.getPrimaryKeys(null, null, databaseTable)) {
-					while (resultSet.next()) {
-						final String columnName = resultSet.getString("COLUMN_NAME");
-						OrderedPath op = new OrderedPath();
-						op.path = Path.of(columnName,
-								getColumnType(context, databaseMetaData, databaseTable, columnName));
-						op.sequence = resultSet.getShort("KEY_SEQ");
-						paths.add(op);
-					}
-				}
+			DatabaseMetaData databaseMetaData = connection.getMetaData();
 
-				if (!paths.isEmpty()) {
-					Collections.sort(paths);
-					return SQLPrimaryKey.create(paths.stream().map(p -> p.path).collect(Collectors.toList())
-							.toArray(new Path[paths.size()]));
-				}
+			try (ResultSet resultSet = databaseMetaData.getPrimaryKeys(null, null, databaseTable)) {
+				readPrimaryKeys(resultSet, keys);
+			}
 
+			final List<KeyColumn> columns = keys.values().stream().findFirst().orElse(null);
+			if (columns == null || columns.isEmpty()) {
 				return null;
+			}
+
+			// column types
+			final Map<String, Integer> types = new HashMap<>();
+			try (ResultSet resultSet = databaseMetaData.getColumns(null, null, databaseTable, "%")) {
+				while (resultSet.next()) {
+					types.put(resultSet.getString("COLUMN_NAME"), resultSet.getInt("DATA_TYPE"));
+				}
+			}
 
-			});
-		}));
+			return createPrimaryKey(context, databaseTable, columns, types);
+		});
 
+		if (primaryKey != null) {
+			cache(databaseTable, primaryKey);
+		}
+		return Optional.ofNullable(primaryKey);
 	}
 
 	/**
-	 * Get the Java type which corresponds to the JDBC type of the column with given <code>columnName</code> of the
-	 * provided <code>tableName</code>.
+	 * Put given primary key in cache, evicting other entries if the cache max size is exceeded.
+	 * @param databaseTable Database table name
+	 * @param primaryKey Primary key
+	 */
+	private void cache(String databaseTable, SQLPrimaryKey primaryKey) {
+		if (maxCacheSize > 0) {
+			primaryKeysCache.put(databaseTable, primaryKey);
+			evict(databaseTable);
+		}
+	}
+
+	/**
+	 * Evict cache entries until the cache size does not exceed the max size.
+	 * @param retain Optional table name to retain
+	 */
+	private void evict(String retain) {
+		final Iterator<String> tables = primaryKeysCache.keySet().iterator();
+		while (primaryKeysCache.size() > maxCacheSize && tables.hasNext()) {
+			final String table = tables.next();
+			if (!table.equals(retain)) {
+				tables.remove();
+			}
+		}
+	}
+
+	/**
+	 * Read the primary key columns from given {@link DatabaseMetaData#getPrimaryKeys(String, String, String)} result
+	 * set, grouping them by table name.
+	 * @param resultSet Metadata result set
+	 * @param keys Primary key columns by table name
+	 * @throws SQLException If an error occurred
+	 */
+	private static void readPrimaryKeys(ResultSet resultSet, Map<String, List<KeyColumn>> keys) throws SQLException {
+		while (resultSet.next()) {
+			KeyColumn column = new KeyColumn();
+			column.name = resultSet.getString("COLUMN_NAME");
+			column.sequence = resultSet.getShort("KEY_SEQ");
+			keys.computeIfAbsent(resultSet.getString("TABLE_NAME"), t -> new ArrayList<>()).add(column);
+		}
+	}
+
+	/**
+	 * Create a {@link SQLPrimaryKey} using given key columns.
 	 * @param context SQL context
-	 * @param databaseMetaData Database metadata
 	 * @param tableName Table name
-	 * @param columnName Column name
-	 * @return The Java type which corresponds to the JDBC type of given column
-	 * @throws SQLException If an error occurred or the Java type of given column cannot be resolved
-	 */
-	private static Class<?> getColumnType(SQLContext context, DatabaseMetaData databaseMetaData, String tableName,
-			String columnName) throws SQLException {
-		try (ResultSet rs = databaseMetaData.getColumns(null, null, tableName, columnName)) {
-			if (rs.next()) {
-				return context.getTypeConverter().getJavaType(context, SQLType.create(rs.getInt("DATA_TYPE")))
-						.orElse(Object.class);
+	 * @param columns Key columns
+	 * @param types JDBC types by column name
+	 * @return The primary key
+	 * @throws SQLException If the Java type of a column cannot be resolved
+	 */
+	private static SQLPrimaryKey createPrimaryKey(SQLContext context, String tableName, List<KeyColumn> columns,
+			Map<String, Integer> types) throws SQLException {
+		final List<KeyColumn> sorted = new ArrayList<>(columns);
+		Collections.sort(sorted);
+		final Map<String, Class<?>> paths = new LinkedHashMap<>(sorted.size());
+		for (KeyColumn column : sorted) {
+			final Integer type = types.get(column.name);
+			if (type == null) {
+				throw new SQLException("Failed to obtain the Java type for the column [" + column.name
+						+ "] of the table [" + tableName + "]");
 			}
+			paths.put(column.name,
+					context.getTypeConverter().getJavaType(context, SQLType.create(type)).orElse(Object.class));
 		}
-		throw new SQLException(
-				"Failed to obtain the Java type for the column [" + columnName + "] of the table [" + tableName + "]");
+		return SQLPrimaryKey.create(paths.entrySet().stream().map(e -> Path.of(e.getKey(), e.getValue()))
+				.toArray(Path[]::new));
 	}
 
 	/**
-	 * Support class to order {@link Path}s using a sequence.
+	 * Support class to order the primary key columns using the key sequence.
 	 */
-	private static class OrderedPath implements Comparable<OrderedPath> {
+	private static class KeyColumn implements Comparable<KeyColumn> {
 
-		Path path;
+		String name;
 		short sequence;
 
 		@Override
-		public int compareTo(OrderedPath o) {
-			return ((Short) sequence).compareTo(o.sequence);
+		public int compareTo(KeyColumn o) {
+			return Short.compare(sequence, o.sequence);
 		}
 
 	}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.internal.support;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.holonplatform.core.Path;
+import com.holonplatform.core.datastore.Datastore.OperationResult;
+import com.holonplatform.core.datastore.Datastore.OperationType;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.datastore.jdbc.JdbcBulkInsertResult;
+
+/**
+ * Default {@link JdbcBulkInsertResult} implementation.
+ *
+ * @since 6.0.3
+ */
+public class DefaultJdbcBulkInsertResult implements JdbcBulkInsertResult {
+
+	private static final long serialVersionUID = 1L;
+
+	private final OperationResult result;
+	private final List<Map<Path<?>, Object>> generatedKeys;
+
+	/**
+	 * Constructor.
+	 * @param result The operation result (not null)
+	 * @param generatedKeys The generated keys of each inserted row (not null)
+	 */
+	public DefaultJdbcBulkInsertResult(OperationResult result, List<Map<Path<?>, Object>> generatedKeys) {
+		super();
+		ObjectUtils.argumentNotNull(result, "OperationResult must be not null");
+		ObjectUtils.argumentNotNull(generatedKeys, "Generated keys must be not null");
+		this.result = result;
+		this.generatedKeys = Collections.unmodifiableList(generatedKeys);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore.OperationResult#getOperationType()
+	 */
+	@Override
+	public Optional<OperationType> getOperationType() {
+		return result.getOperationType();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore.OperationResult#getAffectedCount()
+	 */
+	@Override
+	public long getAffectedCount() {
+		return result.getAffectedCount();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore.OperationResult#getInsertedKeys()
+	 */
+	@Override
+	public Map<Path<?>, Object> getInsertedKeys() {
+		return result.getInsertedKeys();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.datastore.Datastore.OperationResult#getInsertedKey(com.holonplatform.core.Path)
+	 */
+	@Override
+	public <T> Optional<T> getInsertedKey(Path<T> path) {
+		return result.getInsertedKey(path);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.JdbcBulkInsertResult#getGeneratedKeys()
+	 */
+	@Override
+	public List<Map<Path<?>, Object>> getGeneratedKeys() {
+		return generatedKeys;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultJdbcBulkInsertResult [result=" + result + ", generatedKeys=" + generatedKeys.size() + "]";
+	}
+
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.internal.support;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.query.Query;
+import com.holonplatform.core.query.QueryProjection;
+import com.holonplatform.datastore.jdbc.JdbcQueryPublisher;
+import com.holonplatform.datastore.jdbc.config.JdbcQueryParameters;
+import com.holonplatform.datastore.jdbc.internal.JdbcDatastoreLogger;
+
+/**
+ * Default {@link JdbcQueryPublisher} implementation.
+ * <p>
+ * The subscription signals are serialized using a work-in-progress counter, so that the result set is read by a
+ * single thread at a time and a demand signaled from within <code>onNext</code> does not cause a recursive emission.
+ * </p>
+ *
+ * @param <R> Results type
+ *
+ * @since 6.0.3
+ */
+public class DefaultJdbcQueryPublisher<R> implements JdbcQueryPublisher<R> {
+
+	private static final Logger LOGGER = JdbcDatastoreLogger.create();
+
+	private final Query query;
+	private final QueryProjection<R> projection;
+	private final Executor executor;
+
+	private final AtomicBoolean subscribed = new AtomicBoolean(false);
+
+	/**
+	 * Constructor.
+	 * @param query The query to execute (not null)
+	 * @param projection The query projection (not null)
+	 * @param executor Optional executor to use to emit the items (may be null)
+	 */
+	public DefaultJdbcQueryPublisher(Query query, QueryProjection<R> projection, Executor executor) {
+		super();
+		ObjectUtils.argumentNotNull(query, "Query must be not null");
+		ObjectUtils.argumentNotNull(projection, "Query projection must be not null");
+		this.query = query;
+		this.projection = projection;
+		this.executor = executor;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.concurrent.Flow.Publisher#subscribe(java.util.concurrent.Flow.Subscriber)
+	 */
+	@Override
+	public void subscribe(Flow.Subscriber<? super R> subscriber) {
+		// a null subscriber must be rejected with a NullPointerException
+		Objects.requireNonNull(subscriber, "Subscriber must be not null");
+		if (!subscribed.compareAndSet(false, true)) {
+			subscriber.onSubscribe(new Flow.Subscription() {
+
+				@Override
+				public void request(long n) {
+					// noop
+				}
+
+				@Override
+				public void cancel() {
+					// noop
+				}
+
+			});
+			subscriber.onError(new IllegalStateException("The query publisher supports a single subscriber"));
+			return;
+		}
+		subscriber.onSubscribe(new QuerySubscription(subscriber));
+	}
+
+	/**
+	 * Query results subscription.
+	 */
+	private class QuerySubscription implements Flow.Subscription {
+
+		private final Flow.Subscriber<? super R> subscriber;
+
+		private final AtomicLong demand = new AtomicLong();
+
+		private final AtomicInteger wip = new AtomicInteger();
+
+		private volatile boolean cancelled = false;
+
+		private volatile IllegalArgumentException invalidRequest;
+
+		// accessed only by the draining thread
+		private boolean done = false;
+		private Stream<R> stream;
+		private Iterator<R> iterator;
+
+		QuerySubscription(Flow.Subscriber<? super R> subscriber) {
+			super();
+			this.subscriber = subscriber;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.concurrent.Flow.Subscription#request(long)
+		 */
+		@Override
+		public void request(long n) {
+			if (n <= 0) {
+				invalidRequest = new IllegalArgumentException("The requested items must be greater than 0: " + n);
+			} else {
+				demand.getAndUpdate(d -> (d + n < 0) ? Long.MAX_VALUE : d + n);
+			}
+			schedule();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.util.concurrent.Flow.Subscription#cancel()
+		 */
+		@Override
+		public void cancel() {
+			cancelled = true;
+			schedule();
+		}
+
+		private void schedule() {
+			if (executor != null) {
+				executor.execute(this::drain);
+			} else {
+				drain();
+			}
+		}
+
+		private void drain() {
+			if (wip.getAndIncrement() != 0) {
+				return;
+			}
+			int missed = 1;
+			do {
+				if (!done) {
+					emit();
+				}
+				missed = wip.addAndGet(-missed);
+			} while (missed != 0);
+		}
+
+		private void emit() {
+			if (cancelled) {
+				terminate();
+				return;
+			}
+			if (invalidRequest != null) {
+				terminate();
+				subscriber.onError(invalidRequest);
+				return;
+			}
+			final long requested = demand.get();
+			if (requested == 0) {
+				return;
+			}
+			try {
+				if (iterator == null) {
+					// fetch size driven by the first demand
+					final int fetchSize = (int) Math.min(requested, MAX_FETCH_SIZE);
+					stream = query.parameter(JdbcQueryParameters.STREAMING, Boolean.TRUE)
+							.parameter(JdbcQueryParameters.FETCH_SIZE, fetchSize).stream(projection);
+					iterator = stream.iterator();
+				}
+				long emitted = 0;
+				while (emitted < requested) {
+					if (cancelled) {
+						terminate();
+						return;
+					}
+					if (!iterator.hasNext()) {
+						terminate();
+						subscriber.onComplete();
+						return;
+					}
+					subscriber.onNext(iterator.next());
+					emitted++;
+				}
+				if (requested != Long.MAX_VALUE && demand.addAndGet(-emitted) == 0 && !cancelled
+						&& !iterator.hasNext()) {
+					// signal the completion without waiting for further demand
+					terminate();
+					subscriber.onComplete();
+				}
+			} catch (RuntimeException e) {
+				terminate();
+				subscriber.onError(e);
+			}
+		}
+
+		private void terminate() {
+			done = true;
+			if (stream != null) {
+				try {
+					stream.close();
+				} catch (RuntimeException e) {
+					LOGGER.warn("Failed to release the query results resources", e);
+				}
+				stream = null;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,531 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.internal.support;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.StringJoiner;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationEvent;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationEvent.OperationType;
+import com.holonplatform.datastore.jdbc.config.JdbcSlowOperationLog;
+import com.holonplatform.datastore.jdbc.context.JdbcOperationContext;
+import com.holonplatform.datastore.jdbc.internal.JdbcDatastoreLogger;
+
+/**
+ * Default {@link JdbcSlowOperationLog} implementation.
+ *
+ * @since 6.0.3
+ */
+public class DefaultJdbcSlowOperationLog implements JdbcSlowOperationLog {
+
+	private static final Logger LOGGER = JdbcDatastoreLogger.create();
+
+	/**
+	 * Event attribute which holds the statement end time of a statement which produced a result set
+	 */
+	private static final String STATEMENT_END_ATTRIBUTE = DefaultJdbcSlowOperationLog.class.getName() + ".end";
+
+	/**
+	 * Redacted parameter value placeholder
+	 */
+	private static final String REDACTED = "***";
+
+	/**
+	 * Max number of statements for which the last execution plan request time is tracked
+	 */
+	private static final int MAX_EXPLAINED_STATEMENTS = 1000;
+
+	/**
+	 * Marks the threads which are obtaining an execution plan, to ignore their own statements
+	 */
+	private static final ThreadLocal<Boolean> EXPLAINING = new ThreadLocal<>();
+
+	private Duration threshold = DEFAULT_THRESHOLD;
+	private boolean redactParameters = false;
+	private int maxParameterLength = DEFAULT_MAX_PARAMETER_LENGTH;
+	private boolean explain = false;
+	private Duration explainInterval = DEFAULT_EXPLAIN_INTERVAL;
+	private Executor explainExecutor;
+	private Consumer<SlowOperation> handler = operation -> LOGGER.warn(operation.toString());
+
+	/**
+	 * Operation context to use to obtain the execution plans
+	 */
+	private volatile JdbcOperationContext operationContext;
+
+	/**
+	 * Allows a single execution plan request at a time
+	 */
+	private final Semaphore explainPermit = new Semaphore(1);
+
+	/**
+	 * Last execution plan request time, by SQL fingerprint
+	 */
+	private final Map<String, Long> explained = new LinkedHashMap<String, Long>(16, 0.75f, true) {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+			return size() > MAX_EXPLAINED_STATEMENTS;
+		}
+
+	};
+
+	/**
+	 * Constructor.
+	 */
+	public DefaultJdbcSlowOperationLog() {
+		super();
+	}
+
+	/**
+	 * Set the operation context to use to obtain the statements execution plan.
+	 * @param operationContext The operation context to set
+	 */
+	public void setOperationContext(JdbcOperationContext operationContext) {
+		this.operationContext = operationContext;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.config.JdbcSlowOperationLog#getThreshold()
+	 */
+	@Override
+	public Duration getThreshold() {
+		return threshold;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.config.JdbcOperationListener#onStatementEnd(com.holonplatform.datastore.
+	 * jdbc.config.JdbcOperationEvent)
+	 */
+	@Override
+	public void onStatementEnd(JdbcOperationEvent event) {
+		if (isExplaining()) {
+			return;
+		}
+		if (event.getError().isPresent() || event.getUpdateCount().isPresent()) {
+			check(event, event.getDuration(), event.getUpdateCount());
+		} else {
+			// wait for the result set fetch
+			event.setAttribute(STATEMENT_END_ATTRIBUTE, System.nanoTime());
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.config.JdbcOperationListener#onRowsFetched(com.holonplatform.datastore.
+	 * jdbc.config.JdbcOperationEvent, long)
+	 */
+	@Override
+	public void onRowsFetched(JdbcOperationEvent event, long rowCount) {
+		if (isExplaining()) {
+			return;
+		}
+		event.getAttribute(STATEMENT_END_ATTRIBUTE, Long.class).ifPresent(end -> {
+			final Duration fetch = Duration.ofNanos(System.nanoTime() - end);
+			check(event, event.getDuration().plus(fetch), OptionalLong.of(rowCount));
+		});
+	}
+
+	/**
+	 * Check whether the statement execution is slow and, if so, handle it.
+	 * @param event The statement event
+	 * @param elapsed The statement execution elapsed time
+	 * @param rowCount The fetched or affected rows count
+	 */
+	private void check(JdbcOperationEvent event, Duration elapsed, OptionalLong rowCount) {
+		if (elapsed.compareTo(threshold) < 0 || !event.getSql().isPresent()) {
+			return;
+		}
+		final DefaultSlowOperation operation = new DefaultSlowOperation(event, elapsed, rowCount,
+				event.getParameters().stream().map(this::format).collect(Collectors.toList()));
+		final Optional<String> explainSql = getExplainStatement(event);
+		if (explainSql.isPresent() && explainPermit.tryAcquire()) {
+			try {
+				getExplainExecutor().execute(() -> {
+					try {
+						operation.executionPlan = explain(explainSql.get(), event.getParameters());
+					} finally {
+						explainPermit.release();
+						handle(operation);
+					}
+				});
+			} catch (RuntimeException e) {
+				explainPermit.release();
+				LOGGER.warn("Failed to request the execution plan of the slow statement", e);
+				handle(operation);
+			}
+		} else {
+			handle(operation);
+		}
+	}
+
+	/**
+	 * Get the statement to use to obtain the execution plan of given statement event, if supported and requested.
+	 * @param event The statement event
+	 * @return Optional execution plan statement
+	 */
+	private Optional<String> getExplainStatement(JdbcOperationEvent event) {
+		final JdbcOperationContext context = operationContext;
+		if (!explain || context == null || event.getError().isPresent()
+				|| event.getParameters().stream().anyMatch(DefaultJdbcSlowOperationLog::isStreamed)) {
+			return Optional.empty();
+		}
+		final Optional<String> statement = context.getDialect().getExplainStatement(event.getSql().get());
+		if (statement.isPresent()) {
+			final String key = event.getSqlFingerprint().orElse(event.getSql().get());
+			final long now = System.nanoTime();
+			synchronized (explained) {
+				final Long last = explained.get(key);
+				if (last != null && (now - last) < explainInterval.toNanos()) {
+					return Optional.empty();
+				}
+				explained.put(key, now);
+			}
+		}
+		return statement;
+	}
+
+	/**
+	 * Obtain the execution plan using given statement.
+	 * @param sql The execution plan statement
+	 * @param parameters The statement parameters
+	 * @return The execution plan, empty if an error occurred
+	 */
+	private String explain(String sql, List<Object> parameters) {
+		EXPLAINING.set(Boolean.TRUE);
+		try {
+			return operationContext.withConnection(connection -> {
+				try (PreparedStatement statement = connection.prepareStatement(sql)) {
+					for (int i = 0; i < parameters.size(); i++) {
+						if (parameters.get(i) == null) {
+							statement.setNull(i + 1, Types.NULL);
+						} else {
+							statement.setObject(i + 1, parameters.get(i));
+						}
+					}
+					try (ResultSet resultSet = statement.executeQuery()) {
+						return readPlan(resultSet);
+					}
+				}
+			});
+		} catch (Exception e) {
+			LOGGER.warn("Failed to obtain the execution plan of the slow statement", e);
+			return null;
+		} finally {
+			EXPLAINING.remove();
+		}
+	}
+
+	/**
+	 * Read the execution plan from given result set, one line for each row.
+	 * @param resultSet The result set
+	 * @return The execution plan
+	 * @throws java.sql.SQLException If an error occurred
+	 */
+	private static String readPlan(ResultSet resultSet) throws java.sql.SQLException {
+		final ResultSetMetaData metadata = resultSet.getMetaData();
+		final StringJoiner plan = new StringJoiner("\n");
+		while (resultSet.next()) {
+			final StringJoiner row = new StringJoiner(" | ");
+			for (int i = 1; i <= metadata.getColumnCount(); i++) {
+				row.add(String.valueOf(resultSet.getObject(i)));
+			}
+			plan.add(row.toString());
+		}
+		return plan.toString();
+	}
+
+	/**
+	 * Handle a slow operation, catching any handler error.
+	 * @param operation The slow operation
+	 */
+	private void handle(SlowOperation operation) {
+		try {
+			handler.accept(operation);
+		} catch (Exception e) {
+			LOGGER.warn("Slow operation handler failed", e);
+		}
+	}
+
+	/**
+	 * Format a statement parameter value for logging.
+	 * @param value The parameter value
+	 * @return The formatted value
+	 */
+	private String format(Object value) {
+		if (value == null) {
+			return "null";
+		}
+		if (redactParameters) {
+			return REDACTED;
+		}
+		if (isStreamed(value)) {
+			return "<" + value.getClass().getSimpleName() + ">";
+		}
+		final String formatted = String.valueOf(value);
+		return (formatted.length() > maxParameterLength) ? formatted.substring(0, maxParameterLength) + "..."
+				: formatted;
+	}
+
+	private Executor getExplainExecutor() {
+		return (explainExecutor != null) ? explainExecutor : ExplainThreads.EXECUTOR;
+	}
+
+	private static boolean isStreamed(Object value) {
+		return value instanceof InputStream || value instanceof Reader || value instanceof Blob
+				|| value instanceof Clob;
+	}
+
+	private static boolean isExplaining() {
+		return EXPLAINING.get() != null;
+	}
+
+	/**
+	 * Default execution plan executor, lazily initialized.
+	 */
+	private static final class ExplainThreads {
+
+		private static final ThreadFactory FACTORY = Thread.ofVirtual().name("jdbc-explain-", 0).factory();
+
+		static final Executor EXECUTOR = task -> FACTORY.newThread(task).start();
+
+	}
+
+	/**
+	 * Default {@link SlowOperation} implementation.
+	 */
+	private static final class DefaultSlowOperation implements SlowOperation {
+
+		private final OperationType operationType;
+		private final String target;
+		private final String sql;
+		private final String sqlFingerprint;
+		private final List<String> parameters;
+		private final Duration elapsed;
+		private final OptionalLong rowCount;
+		private final Throwable error;
+
+		volatile String executionPlan;
+
+		DefaultSlowOperation(JdbcOperationEvent event, Duration elapsed, OptionalLong rowCount,
+				List<String> parameters) {
+			super();
+			this.operationType = event.getOperationType();
+			this.target = event.getTarget().orElse(null);
+			this.sql = event.getSql().orElse(null);
+			this.sqlFingerprint = event.getSqlFingerprint().orElse(null);
+			this.parameters = Collections.unmodifiableList(parameters);
+			this.elapsed = elapsed;
+			this.rowCount = rowCount;
+			this.error = event.getError().orElse(null);
+		}
+
+		@Override
+		public OperationType getOperationType() {
+			return operationType;
+		}
+
+		@Override
+		public Optional<String> getTarget() {
+			return Optional.ofNullable(target);
+		}
+
+		@Override
+		public String getSql() {
+			return sql;
+		}
+
+		@Override
+		public String getSqlFingerprint() {
+			return sqlFingerprint;
+		}
+
+		@Override
+		public List<String> getParameters() {
+			return parameters;
+		}
+
+		@Override
+		public Duration getElapsed() {
+			return elapsed;
+		}
+
+		@Override
+		public OptionalLong getRowCount() {
+			return rowCount;
+		}
+
+		@Override
+		public Optional<Throwable> getError() {
+			return Optional.ofNullable(error);
+		}
+
+		@Override
+		public Optional<String> getExecutionPlan() {
+			return Optional.ofNullable(executionPlan);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			final StringBuilder sb = new StringBuilder();
+			sb.append("Slow ").append(operationType).append(" operation");
+			if (target != null) {
+				sb.append(" on [").append(target).append("]");
+			}
+			sb.append(": ").append(elapsed.toMillis()).append(" ms");
+			rowCount.ifPresent(rows -> sb.append(", ").append(rows).append(" rows"));
+			if (error != null) {
+				sb.append(", failed: ").append(error.getMessage());
+			}
+			sb.append("\nSQL: ").append(sql);
+			if (!parameters.isEmpty()) {
+				sb.append("\nParameters: ").append(parameters);
+			}
+			if (executionPlan != null) {
+				sb.append("\nExecution plan:\n").append(executionPlan);
+			}
+			return sb.toString();
+		}
+
+	}
+
+	/**
+	 * Default {@link Builder} implementation.
+	 */
+	public static class DefaultBuilder implements Builder {
+
+		private final DefaultJdbcSlowOperationLog instance = new DefaultJdbcSlowOperationLog();
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.datastore.jdbc.config.JdbcSlowOperationLog.Builder#threshold(java.time.Duration)
+		 */
+		@Override
+		public Builder threshold(Duration threshold) {
+			ObjectUtils.argumentNotNull(threshold, "Threshold must be not null");
+			instance.threshold = threshold;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.datastore.jdbc.config.JdbcSlowOperationLog.Builder#redactParameters(boolean)
+		 */
+		@Override
+		public Builder redactParameters(boolean redact) {
+			instance.redactParameters = redact;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.datastore.jdbc.config.JdbcSlowOperationLog.Builder#maxParameterLength(int)
+		 */
+		@Override
+		public Builder maxParameterLength(int maxLength) {
+			if (maxLength < 1) {
+				throw new IllegalArgumentException("Max parameter length must be greater than 0");
+			}
+			instance.maxParameterLength = maxLength;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.datastore.jdbc.config.JdbcSlowOperationLog.Builder#explain(boolean)
+		 */
+		@Override
+		public Builder explain(boolean explain) {
+			instance.explain = explain;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.datastore.jdbc.config.JdbcSlowOperationLog.Builder#explainInterval(java.time.Duration)
+		 */
+		@Override
+		public Builder explainInterval(Duration interval) {
+			ObjectUtils.argumentNotNull(interval, "Explain interval must be not null");
+			instance.explainInterval = interval;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.datastore.jdbc.config.JdbcSlowOperationLog.Builder#explainExecutor(java.util.
+		 * concurrent.Executor)
+		 */
+		@Override
+		public Builder explainExecutor(Executor executor) {
+			ObjectUtils.argumentNotNull(executor, "Executor must be not null");
+			instance.explainExecutor = executor;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.datastore.jdbc.config.JdbcSlowOperationLog.Builder#handler(java.util.function.
+		 * Consumer)
+		 */
+		@Override
+		public Builder handler(Consumer<SlowOperation> handler) {
+			ObjectUtils.argumentNotNull(handler, "Handler must be not null");
+			instance.handler = handler;
+			return this;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.holonplatform.datastore.jdbc.config.JdbcSlowOperationLog.Builder#build()
+		 */
+		@Override
+		public JdbcSlowOperationLog build() {
+			return instance;
+		}
+
+	}
+
+}
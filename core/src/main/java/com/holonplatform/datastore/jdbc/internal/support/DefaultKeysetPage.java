@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.internal.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.datastore.jdbc.KeysetPage;
+
+/**
+ * Default {@link KeysetPage} implementation.
+ *
+ * @param <T> Page items type
+ *
+ * @since 6.0.3
+ */
+public class DefaultKeysetPage<T> implements KeysetPage<T> {
+
+	private static final long serialVersionUID = -2803413796129468353L;
+
+	private final List<T> items;
+
+	private final String continuationToken;
+
+	/**
+	 * Constructor.
+	 * @param items The page items (not null)
+	 * @param continuationToken The continuation token to obtain the next page, <code>null</code> if none
+	 */
+	public DefaultKeysetPage(List<T> items, String continuationToken) {
+		super();
+		ObjectUtils.argumentNotNull(items, "Page items must be not null");
+		this.items = Collections.unmodifiableList(new ArrayList<>(items));
+		this.continuationToken = continuationToken;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.KeysetPage#getItems()
+	 */
+	@Override
+	public List<T> getItems() {
+		return items;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.KeysetPage#getContinuationToken()
+	 */
+	@Override
+	public Optional<String> getContinuationToken() {
+		return Optional.ofNullable(continuationToken);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "DefaultKeysetPage [items=" + items + ", continuationToken=" + continuationToken + "]";
+	}
+
+}
@@ -0,0 +1,744 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.internal.support;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.datastore.jdbc.config.JdbcContextHolder;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationEvent;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationEvent.OperationType;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationListener;
+import com.holonplatform.datastore.jdbc.internal.JdbcDatastoreLogger;
+
+/**
+ * Notifies the datastore operations lifecycle to the registered {@link JdbcOperationListener}s.
+ * <p>
+ * The current operation is bound to the execution context using a {@link JdbcContextHolder}, while the statement
+ * executions, the result set fetches and the transaction commits and rollbacks are intercepted using a
+ * {@link Connection} proxy, obtained through {@link #acquireConnection(ConnectionSupplier)}. When no listener is
+ * registered, the operations are not observed and the connections are not proxied.
+ * </p>
+ *
+ * @since 6.0.3
+ */
+public class JdbcOperationObserver {
+
+	private static final Logger LOGGER = JdbcDatastoreLogger.create();
+
+	private static final Pattern SEPARATOR = Pattern.compile(" ?, ?");
+	private static final Pattern OPEN_PARENTHESIS = Pattern.compile("\\( ");
+	private static final Pattern CLOSE_PARENTHESIS = Pattern.compile(" \\)");
+	private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\?(, \\?)+\\)");
+	private static final Pattern PARAMETER_ROWS = Pattern.compile("\\(\\?\\)(, \\(\\?\\))+");
+
+	private final List<JdbcOperationListener> listeners = new CopyOnWriteArrayList<>();
+
+	private JdbcContextHolder<OperationScope> currentOperation = JdbcContextHolder.threadLocal();
+
+	/**
+	 * Set the {@link JdbcContextHolder.Factory} to use to create the holder which binds the current operation to the
+	 * execution context.
+	 * @param factory The factory (not null)
+	 */
+	public void setContextHolderFactory(JdbcContextHolder.Factory factory) {
+		ObjectUtils.argumentNotNull(factory, "JdbcContextHolder factory must be not null");
+		this.currentOperation = factory.create();
+	}
+
+	/**
+	 * Register an operation listener.
+	 * @param listener The listener to add (not null)
+	 */
+	public void addListener(JdbcOperationListener listener) {
+		ObjectUtils.argumentNotNull(listener, "Operation listener must be not null");
+		listeners.add(listener);
+	}
+
+	/**
+	 * Remove a registered operation listener.
+	 * @param listener The listener to remove
+	 */
+	public void removeListener(JdbcOperationListener listener) {
+		if (listener != null) {
+			listeners.remove(listener);
+		}
+	}
+
+	/**
+	 * Get whether at least one operation listener is registered.
+	 * @return <code>true</code> if the operations are observed
+	 */
+	public boolean isEnabled() {
+		return !listeners.isEmpty();
+	}
+
+	/**
+	 * Execute given datastore operation, binding it to the execution context and notifying its SQL composition start.
+	 * The SQL composition end is notified by {@link #composed(String)}, or when the operation ends if the SQL
+	 * composition was delegated to another operation.
+	 * <p>
+	 * The operation is unbound from the execution context when given supplier returns. For a streamed query, the
+	 * result set fetch is therefore notified later, when the stream is closed, using the statement execution event
+	 * which was created while the operation was bound.
+	 * </p>
+	 * @param <R> Operation result type
+	 * @param type The operation type (not null)
+	 * @param target The operation data target name
+	 * @param operation The operation to execute (not null)
+	 * @return The operation result
+	 */
+	public <R> R observe(OperationType type, String target, Supplier<R> operation) {
+		if (!isEnabled()) {
+			return operation.get();
+		}
+		// a nested operation ends the parent operation composition
+		currentOperation.get().ifPresent(parent -> parent.endComposition(null, null));
+
+		final OperationScope scope = new OperationScope(type, target);
+		fire(listener -> listener.onCompositionStart(scope.composition));
+		try {
+			return currentOperation.bind(scope, operation);
+		} catch (RuntimeException | Error e) {
+			scope.endComposition(null, e);
+			throw e;
+		} finally {
+			scope.endComposition(null, null);
+		}
+	}
+
+	/**
+	 * Notify that the SQL composition of the current operation, if any, ended producing given SQL statement.
+	 * @param sql The composed SQL
+	 */
+	public void composed(String sql) {
+		if (isEnabled()) {
+			currentOperation.get().ifPresent(scope -> scope.endComposition(fingerprint(sql), null));
+		}
+	}
+
+	/**
+	 * Acquire a connection using given supplier, notifying the connection acquisition wait. If the operations are
+	 * observed, the returned connection is a proxy which notifies the statement executions, the result set fetches and
+	 * the transaction commits and rollbacks. Use {@link #releasable(Connection)} to obtain the actual connection to
+	 * release.
+	 * @param supplier The connection supplier
+	 * @return The connection
+	 * @throws SQLException If an error occurred
+	 */
+	public Connection acquireConnection(ConnectionSupplier supplier) throws SQLException {
+		if (!isEnabled()) {
+			return supplier.get();
+		}
+		final OperationEvent event = createEvent(null, null);
+		fire(listener -> listener.onConnectionRequest(event));
+		final Connection connection;
+		try {
+			connection = supplier.get();
+		} catch (SQLException | RuntimeException e) {
+			event.end(e);
+			fire(listener -> listener.onConnectionAcquired(event));
+			throw e;
+		}
+		event.end(null);
+		fire(listener -> listener.onConnectionAcquired(event));
+		return (connection != null) ? proxy(Connection.class, new ObservedConnectionHandler(this, connection))
+				: null;
+	}
+
+	/**
+	 * Get the actual connection to release, unwrapping given connection if it was obtained using
+	 * {@link #acquireConnection(ConnectionSupplier)}.
+	 * @param connection The connection
+	 * @return The actual connection
+	 */
+	public static Connection releasable(Connection connection) {
+		if (connection != null && Proxy.isProxyClass(connection.getClass())) {
+			final InvocationHandler handler = Proxy.getInvocationHandler(connection);
+			if (handler instanceof ObservedConnectionHandler) {
+				return ((ObservedConnectionHandler) handler).connection;
+			}
+		}
+		return connection;
+	}
+
+	/**
+	 * Get the normalized fingerprint of given SQL statement: comments are removed, literal values are replaced by a
+	 * <code>?</code> placeholder, parameter lists and repeated parameter rows are collapsed and whitespaces are
+	 * normalized.
+	 * @param sql The SQL statement
+	 * @return The SQL fingerprint, <code>null</code> if given SQL is <code>null</code>
+	 */
+	public static String fingerprint(String sql) {
+		if (sql == null) {
+			return null;
+		}
+		final int length = sql.length();
+		final StringBuilder sb = new StringBuilder(length);
+		int i = 0;
+		while (i < length) {
+			final char c = sql.charAt(i);
+			if (c == '\'') {
+				// string literal
+				i++;
+				while (i < length) {
+					if (sql.charAt(i) == '\'') {
+						if (i + 1 < length && sql.charAt(i + 1) == '\'') {
+							i += 2;
+							continue;
+						}
+						break;
+					}
+					i++;
+				}
+				i++;
+				sb.append('?');
+			} else if (c == '"' || c == '`') {
+				// quoted identifier
+				final int end = sql.indexOf(c, i + 1);
+				final int next = (end < 0) ? length : end + 1;
+				sb.append(sql, i, next);
+				i = next;
+			} else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+				// line comment
+				final int end = sql.indexOf('\n', i);
+				i = (end < 0) ? length : end;
+			} else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+				// block comment
+				final int end = sql.indexOf("*/", i + 2);
+				i = (end < 0) ? length : end + 2;
+				appendSpace(sb);
+			} else if (Character.isWhitespace(c)) {
+				appendSpace(sb);
+				i++;
+			} else if (Character.isDigit(c) && !isIdentifierEnd(sb)) {
+				// numeric literal
+				while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+					i++;
+				}
+				sb.append('?');
+			} else {
+				sb.append(c);
+				i++;
+			}
+		}
+		String fingerprint = sb.toString().trim();
+		fingerprint = SEPARATOR.matcher(fingerprint).replaceAll(", ");
+		fingerprint = OPEN_PARENTHESIS.matcher(fingerprint).replaceAll("(");
+		fingerprint = CLOSE_PARENTHESIS.matcher(fingerprint).replaceAll(")");
+		fingerprint = PARAMETER_LIST.matcher(fingerprint).replaceAll("(?)");
+		return PARAMETER_ROWS.matcher(fingerprint).replaceAll("(?)");
+	}
+
+	private static void appendSpace(StringBuilder sb) {
+		if (sb.length() > 0 && sb.charAt(sb.length() - 1) != ' ') {
+			sb.append(' ');
+		}
+	}
+
+	private static boolean isIdentifierEnd(StringBuilder sb) {
+		if (sb.length() == 0) {
+			return false;
+		}
+		final char last = sb.charAt(sb.length() - 1);
+		return Character.isLetterOrDigit(last) || last == '_' || last == '$';
+	}
+
+	/**
+	 * Create a new event for the current operation.
+	 * @param sql The statement SQL, if available
+	 * @param fingerprint The SQL fingerprint, if <code>null</code> the current operation one is used
+	 * @return A new event
+	 */
+	private OperationEvent createEvent(String sql, String fingerprint) {
+		final OperationScope scope = currentOperation.get().orElse(null);
+		final OperationEvent event = (scope != null)
+				? new OperationEvent(scope.type, scope.target, (fingerprint != null) ? fingerprint : scope.fingerprint)
+				: new OperationEvent(OperationType.OTHER, null, fingerprint);
+		event.sql = sql;
+		return event;
+	}
+
+	/**
+	 * Invoke given callback for each registered listener, logging any listener error.
+	 * @param callback The callback
+	 */
+	private void fire(Consumer<JdbcOperationListener> callback) {
+		for (JdbcOperationListener listener : listeners) {
+			try {
+				callback.accept(listener);
+			} catch (RuntimeException e) {
+				LOGGER.warn("Operation listener [" + listener + "] failed", e);
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+		return (T) Proxy.newProxyInstance(JdbcOperationObserver.class.getClassLoader(), new Class<?>[] { type },
+				handler);
+	}
+
+	private static Object delegate(Object target, Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Connection supplier.
+	 */
+	@FunctionalInterface
+	public interface ConnectionSupplier {
+
+		/**
+		 * Get the connection.
+		 * @return The connection
+		 * @throws SQLException If an error occurred
+		 */
+		Connection get() throws SQLException;
+
+	}
+
+	/**
+	 * An observed datastore operation.
+	 */
+	private final class OperationScope {
+
+		final OperationType type;
+		final String target;
+		final OperationEvent composition;
+
+		String fingerprint;
+
+		OperationScope(OperationType type, String target) {
+			super();
+			this.type = type;
+			this.target = target;
+			this.composition = new OperationEvent(type, target, null);
+		}
+
+		void endComposition(String sqlFingerprint, Throwable error) {
+			if (sqlFingerprint != null) {
+				fingerprint = sqlFingerprint;
+			}
+			if (!composition.isEnded()) {
+				composition.fingerprint = sqlFingerprint;
+				composition.end(error);
+				fire(listener -> listener.onCompositionEnd(composition));
+			}
+		}
+
+	}
+
+	/**
+	 * Default {@link JdbcOperationEvent} implementation.
+	 */
+	private static final class OperationEvent implements JdbcOperationEvent {
+
+		private final OperationType type;
+		private final String target;
+		private final long start = System.nanoTime();
+
+		private volatile String fingerprint;
+		private volatile long end = -1L;
+		private volatile Throwable error;
+
+		private volatile String sql;
+		private volatile List<Object> parameters = Collections.emptyList();
+		private volatile long updateCount = -1L;
+
+		private Map<String, Object> attributes;
+
+		OperationEvent(OperationType type, String target, String fingerprint) {
+			super();
+			this.type = type;
+			this.target = target;
+			this.fingerprint = fingerprint;
+		}
+
+		boolean isEnded() {
+			return end >= 0;
+		}
+
+		void end(Throwable error) {
+			this.error = error;
+			this.end = Math.max(0L, System.nanoTime() - start);
+		}
+
+		@Override
+		public OperationType getOperationType() {
+			return type;
+		}
+
+		@Override
+		public Optional<String> getTarget() {
+			return Optional.ofNullable(target);
+		}
+
+		@Override
+		public Optional<String> getSqlFingerprint() {
+			return Optional.ofNullable(fingerprint);
+		}
+
+		@Override
+		public Optional<String> getSql() {
+			return Optional.ofNullable(sql);
+		}
+
+		@Override
+		public List<Object> getParameters() {
+			return parameters;
+		}
+
+		@Override
+		public OptionalLong getUpdateCount() {
+			final long count = updateCount;
+			return (count >= 0) ? OptionalLong.of(count) : OptionalLong.empty();
+		}
+
+		@Override
+		public Duration getDuration() {
+			final long elapsed = end;
+			return Duration.ofNanos((elapsed >= 0) ? elapsed : System.nanoTime() - start);
+		}
+
+		@Override
+		public Optional<Throwable> getError() {
+			return Optional.ofNullable(error);
+		}
+
+		@Override
+		public synchronized void setAttribute(String name, Object value) {
+			ObjectUtils.argumentNotNull(name, "Attribute name must be not null");
+			if (value != null) {
+				if (attributes == null) {
+					attributes = new HashMap<>(4);
+				}
+				attributes.put(name, value);
+			} else if (attributes != null) {
+				attributes.remove(name);
+			}
+		}
+
+		@Override
+		public synchronized <T> Optional<T> getAttribute(String name, Class<T> type) {
+			ObjectUtils.argumentNotNull(name, "Attribute name must be not null");
+			ObjectUtils.argumentNotNull(type, "Attribute type must be not null");
+			final Object value = (attributes != null) ? attributes.get(name) : null;
+			return type.isInstance(value) ? Optional.of(type.cast(value)) : Optional.empty();
+		}
+
+		@Override
+		public String toString() {
+			return "JdbcOperationEvent [type=" + type + ", target=" + target + ", fingerprint=" + fingerprint + "]";
+		}
+
+	}
+
+	/**
+	 * Observed connection proxy handler.
+	 */
+	private static final class ObservedConnectionHandler implements InvocationHandler {
+
+		private final JdbcOperationObserver observer;
+		final Connection connection;
+
+		ObservedConnectionHandler(JdbcOperationObserver observer, Connection connection) {
+			super();
+			this.observer = observer;
+			this.connection = connection;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "prepareStatement":
+			case "prepareCall":
+				return observeStatement(method.getReturnType(), (Statement) delegate(connection, method, args),
+						(String) args[0]);
+			case "createStatement":
+				return observeStatement(method.getReturnType(), (Statement) delegate(connection, method, args), null);
+			case "commit":
+				return complete(true, method, args);
+			case "rollback":
+				return (args == null || args.length == 0) ? complete(false, method, args)
+						: delegate(connection, method, args);
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "Observed" + connection.toString();
+			default:
+				return delegate(connection, method, args);
+			}
+		}
+
+		private Object observeStatement(Class<?> type, Statement statement, String sql) {
+			return (statement != null) ? proxy(type, new ObservedStatementHandler(observer, statement, sql)) : null;
+		}
+
+		private Object complete(boolean commit, Method method, Object[] args) throws Throwable {
+			final OperationEvent event = new OperationEvent(OperationType.TRANSACTION, null, null);
+			observer.fire(commit ? listener -> listener.onCommitStart(event)
+					: listener -> listener.onRollbackStart(event));
+			try {
+				final Object result = delegate(connection, method, args);
+				event.end(null);
+				return result;
+			} catch (Throwable e) {
+				event.end(e);
+				throw e;
+			} finally {
+				observer.fire(commit ? listener -> listener.onCommitEnd(event)
+						: listener -> listener.onRollbackEnd(event));
+			}
+		}
+
+	}
+
+	/**
+	 * Observed statement proxy handler.
+	 */
+	private static final class ObservedStatementHandler implements InvocationHandler {
+
+		private final JdbcOperationObserver observer;
+		private final Statement statement;
+		private final String sql;
+
+		private final List<Object> parameters = new ArrayList<>();
+
+		private String fingerprint;
+		private OperationEvent lastExecution;
+		private RowCounter rowCounter;
+
+		ObservedStatementHandler(JdbcOperationObserver observer, Statement statement, String sql) {
+			super();
+			this.observer = observer;
+			this.statement = statement;
+			this.sql = sql;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "execute":
+			case "executeQuery":
+			case "executeUpdate":
+			case "executeLargeUpdate":
+			case "executeBatch":
+			case "executeLargeBatch":
+				return execute(proxy, method, args);
+			case "getResultSet":
+				return observeResultSet(proxy, delegate(statement, method, args));
+			case "clearParameters":
+				parameters.clear();
+				return delegate(statement, method, args);
+			case "close":
+				fetched();
+				return delegate(statement, method, args);
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "Observed" + statement.toString();
+			default:
+				if (args != null && args.length > 1 && args[0] instanceof Integer
+						&& method.getName().startsWith("set")) {
+					bind((Integer) args[0], method.getName().equals("setNull") ? null : args[1]);
+				}
+				return delegate(statement, method, args);
+			}
+		}
+
+		private void bind(int index, Object value) {
+			while (parameters.size() < index) {
+				parameters.add(null);
+			}
+			if (index > 0) {
+				parameters.set(index - 1, value);
+			}
+		}
+
+		private Object execute(Object proxy, Method method, Object[] args) throws Throwable {
+			fetched();
+			final boolean sqlArgument = args != null && args.length > 0 && args[0] instanceof String;
+			final OperationEvent event = observer.createEvent(sqlArgument ? (String) args[0] : sql,
+					getFingerprint(args));
+			if (!sqlArgument && !parameters.isEmpty()) {
+				event.parameters = Collections.unmodifiableList(new ArrayList<>(parameters));
+			}
+			observer.fire(listener -> listener.onStatementStart(event));
+			final Object result;
+			try {
+				result = delegate(statement, method, args);
+				event.updateCount = getUpdateCount(result);
+				event.end(null);
+			} catch (Throwable e) {
+				event.end(e);
+				throw e;
+			} finally {
+				observer.fire(listener -> listener.onStatementEnd(event));
+			}
+			lastExecution = event;
+			return observeResultSet(proxy, result);
+		}
+
+		private long getUpdateCount(Object result) throws SQLException {
+			if (result instanceof Number) {
+				return ((Number) result).longValue();
+			}
+			if (result instanceof int[]) {
+				return Arrays.stream((int[]) result).filter(count -> count > 0).asLongStream().sum();
+			}
+			if (result instanceof long[]) {
+				return Arrays.stream((long[]) result).filter(count -> count > 0).sum();
+			}
+			if (Boolean.FALSE.equals(result)) {
+				return statement.getUpdateCount();
+			}
+			return -1L;
+		}
+
+		private String getFingerprint(Object[] args) {
+			if (args != null && args.length > 0 && args[0] instanceof String) {
+				return fingerprint((String) args[0]);
+			}
+			if (fingerprint == null) {
+				fingerprint = fingerprint(sql);
+			}
+			return fingerprint;
+		}
+
+		private Object observeResultSet(Object proxy, Object result) {
+			if (result instanceof ResultSet && lastExecution != null) {
+				fetched();
+				rowCounter = new RowCounter(observer, lastExecution);
+				return proxy(ResultSet.class,
+						new ObservedResultSetHandler((ResultSet) result, (Statement) proxy, rowCounter));
+			}
+			return result;
+		}
+
+		private void fetched() {
+			if (rowCounter != null) {
+				rowCounter.fetched();
+				rowCounter = null;
+			}
+		}
+
+	}
+
+	/**
+	 * Counts the rows fetched from a result set and notifies the count once.
+	 */
+	private static final class RowCounter {
+
+		private final JdbcOperationObserver observer;
+		private final OperationEvent event;
+
+		long rows = 0L;
+		private boolean notified = false;
+
+		RowCounter(JdbcOperationObserver observer, OperationEvent event) {
+			super();
+			this.observer = observer;
+			this.event = event;
+		}
+
+		void fetched() {
+			if (!notified) {
+				notified = true;
+				final long count = rows;
+				observer.fire(listener -> listener.onRowsFetched(event, count));
+			}
+		}
+
+	}
+
+	/**
+	 * Observed result set proxy handler.
+	 */
+	private static final class ObservedResultSetHandler implements InvocationHandler {
+
+		private final ResultSet resultSet;
+		private final Statement statement;
+		private final RowCounter rowCounter;
+
+		ObservedResultSetHandler(ResultSet resultSet, Statement statement, RowCounter rowCounter) {
+			super();
+			this.resultSet = resultSet;
+			this.statement = statement;
+			this.rowCounter = rowCounter;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "next":
+				final Object next = delegate(resultSet, method, args);
+				if (Boolean.TRUE.equals(next)) {
+					rowCounter.rows++;
+				}
+				return next;
+			case "close":
+				try {
+					return delegate(resultSet, method, args);
+				} finally {
+					rowCounter.fetched();
+				}
+			case "getStatement":
+				// the observed statement
+				return statement;
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "Observed" + resultSet.toString();
+			default:
+				return delegate(resultSet, method, args);
+			}
+		}
+
+	}
+
+}
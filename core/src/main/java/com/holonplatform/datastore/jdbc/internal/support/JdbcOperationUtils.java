@@ -16,19 +16,31 @@
 package com.holonplatform.datastore.jdbc.internal.support;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import com.holonplatform.core.DataMappable;
 import com.holonplatform.core.Path;
+import com.holonplatform.core.TypedExpression;
+import com.holonplatform.core.datastore.DataTarget;
 import com.holonplatform.core.exceptions.DataAccessException;
 import com.holonplatform.core.internal.utils.ObjectUtils;
 import com.holonplatform.core.property.PathPropertyBoxAdapter;
+import com.holonplatform.core.property.PathPropertySetAdapter;
+import com.holonplatform.core.property.Property;
 import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
 import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.datastore.jdbc.composer.SQLCompositionContext;
 import com.holonplatform.datastore.jdbc.composer.SQLDialect;
 import com.holonplatform.datastore.jdbc.composer.expression.SQLPrimaryKey;
+import com.holonplatform.datastore.jdbc.config.IdentifierResolutionStrategy;
 
 /**
  * JDBC operations utility class.
@@ -39,6 +51,11 @@ public final class JdbcOperationUtils implements Serializable {
 
 	private static final long serialVersionUID = -6098697007380654478L;
 
+	/**
+	 * Max number of primary key values for a query which selects a set of rows by primary key
+	 */
+	private static final int MAX_PRIMARY_KEYS_PER_QUERY = 1000;
+
 	private JdbcOperationUtils() {
 	}
 
@@ -82,4 +99,124 @@ public final class JdbcOperationUtils implements Serializable {
 				.orElseThrow(() -> new DataAccessException("Invalid primary key: no paths available"));
 	}
 
+	/**
+	 * Get the primary key to use for a bulk operation on given target, according to given identifier resolution
+	 * strategy: the operation property set identifiers or the table primary key are used.
+	 * @param context Composition context (not null)
+	 * @param strategy Identifier resolution strategy (not null)
+	 * @param target Operation target (not null)
+	 * @param propertySet Operation property set (not null)
+	 * @return Optional primary key
+	 * @since 6.0.3
+	 */
+	public static Optional<SQLPrimaryKey> getPrimaryKey(SQLCompositionContext context,
+			IdentifierResolutionStrategy strategy, DataTarget<?> target, PropertySet<?> propertySet) {
+		final Set<Path<?>> ids = PathPropertySetAdapter.builder(propertySet)
+				.pathMatcher(new DataPathAwarePathMatcher()).build().getPathIdentifiers();
+		switch (strategy) {
+		case IDENTIFIER_PROPERTIES:
+			return ids.isEmpty() ? Optional.empty()
+					: Optional.of(SQLPrimaryKey.create(ids.toArray(new Path<?>[ids.size()])));
+		case TABLE_PRIMARY_KEY:
+			return context.resolve(target, SQLPrimaryKey.class);
+		case AUTO:
+		default:
+			if (!ids.isEmpty()) {
+				return Optional.of(SQLPrimaryKey.create(ids.toArray(new Path<?>[ids.size()])));
+			}
+			return context.resolve(target, SQLPrimaryKey.class);
+		}
+	}
+
+	/**
+	 * Get the properties of given property set which correspond to the primary key paths.
+	 * @param dialect Dialect to perform path-property matching (not null)
+	 * @param primaryKey Primary key (not null)
+	 * @param propertySet Property set (not null)
+	 * @return The primary key properties, in the primary key paths order, or an empty list if not all the primary key
+	 *         paths correspond to a path property of the property set
+	 * @since 6.0.3
+	 */
+	public static List<Property<?>> getPrimaryKeyProperties(SQLDialect dialect, SQLPrimaryKey primaryKey,
+			PropertySet<?> propertySet) {
+		ObjectUtils.argumentNotNull(primaryKey, "Primary key must be not null");
+		ObjectUtils.argumentNotNull(propertySet, "Property set must be not null");
+		final PathPropertySetAdapter adapter = PathPropertySetAdapter.builder(propertySet)
+				.pathMatcher(new DialectPathMatcher(dialect)).build();
+		final List<Property<?>> keys = new ArrayList<>(primaryKey.getPaths().length);
+		for (Path<?> path : primaryKey.getPaths()) {
+			final Optional<? extends Property<?>> property = adapter.getProperty(path);
+			if (!property.isPresent() || !(property.get() instanceof Path)) {
+				return Collections.emptyList();
+			}
+			keys.add(property.get());
+		}
+		return keys;
+	}
+
+	/**
+	 * Get the primary key values of given {@link PropertyBox}.
+	 * @param value The value (not null)
+	 * @param keys Primary key properties
+	 * @return The primary key values, in the primary key properties order, <code>null</code> if any key value is
+	 *         missing
+	 * @since 6.0.3
+	 */
+	@SuppressWarnings("unchecked")
+	public static List<Object> getPrimaryKeyValues(PropertyBox value, List<Property<?>> keys) {
+		final Object[] key = new Object[keys.size()];
+		for (int i = 0; i < key.length; i++) {
+			key[i] = value.getValue((Property<Object>) keys.get(i));
+			if (key[i] == null) {
+				return null;
+			}
+		}
+		return Arrays.asList(key);
+	}
+
+	/**
+	 * Get the max number of primary key values to use in a single query, according to the dialect max statement
+	 * parameters.
+	 * @param dialect Dialect (not null)
+	 * @param keySize Number of primary key paths
+	 * @return The max number of primary key values for a query
+	 * @since 6.0.3
+	 */
+	public static int getMaxPrimaryKeysPerQuery(SQLDialect dialect, int keySize) {
+		if (dialect.getMaxStatementParameters() > 0) {
+			return Math.max(1,
+					Math.min(MAX_PRIMARY_KEYS_PER_QUERY, dialect.getMaxStatementParameters() / Math.max(1, keySize)));
+		}
+		return MAX_PRIMARY_KEYS_PER_QUERY;
+	}
+
+	/**
+	 * Get the {@link QueryFilter} to select the rows which correspond to given primary key values: an
+	 * <code>IN</code> filter is used for a single column primary key, while a disjunction of the primary key values
+	 * conditions is used for a composite primary key.
+	 * @param keys Primary key properties, which must be {@link Path}s (not empty)
+	 * @param values Primary key values, in the primary key properties order (not empty)
+	 * @return The primary key values filter
+	 * @since 6.0.3
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public static QueryFilter getPrimaryKeysFilter(List<Property<?>> keys, List<List<Object>> values) {
+		ObjectUtils.argumentNotNull(keys, "Primary key properties must be not null");
+		ObjectUtils.argumentNotNull(values, "Primary key values must be not null");
+		if (keys.size() == 1) {
+			return QueryFilter.in((TypedExpression) keys.get(0),
+					values.stream().map(key -> key.get(0)).collect(Collectors.toList()));
+		}
+		final List<QueryFilter> filters = new ArrayList<>(values.size());
+		for (List<Object> key : values) {
+			final List<QueryFilter> conditions = new ArrayList<>(keys.size());
+			for (int i = 0; i < keys.size(); i++) {
+				conditions.add(QueryFilter.eq((TypedExpression) keys.get(i), key.get(i)));
+			}
+			QueryFilter.allOf(conditions).ifPresent(filter -> filters.add(filter));
+		}
+		return QueryFilter.anyOf(filters)
+				.orElseThrow(() -> new DataAccessException("Invalid primary key: no values available"));
+	}
+
 }
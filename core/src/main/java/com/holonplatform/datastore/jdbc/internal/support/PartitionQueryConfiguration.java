@@ -0,0 +1,219 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.internal.support;
+
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+import com.holonplatform.core.ExpressionResolver;
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.query.QueryAggregation;
+import com.holonplatform.core.query.QueryConfiguration;
+import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.core.query.QuerySort;
+
+/**
+ * A {@link QueryConfiguration} which wraps a concrete query configuration, adding a partition {@link QueryFilter} and
+ * optionally excluding the query sort, limit and offset.
+ *
+ * @since 6.0.3
+ */
+public class PartitionQueryConfiguration implements QueryConfiguration {
+
+	private static final long serialVersionUID = 6135473327592012914L;
+
+	private final QueryConfiguration configuration;
+
+	private final QueryFilter partitionFilter;
+
+	private final boolean includeSort;
+
+	/**
+	 * Constructor.
+	 * @param configuration The concrete query configuration (not null)
+	 * @param partitionFilter The optional partition filter to add to the query filters
+	 * @param includeSort Whether to include the concrete configuration sort, limit and offset
+	 */
+	public PartitionQueryConfiguration(QueryConfiguration configuration, QueryFilter partitionFilter,
+			boolean includeSort) {
+		super();
+		ObjectUtils.argumentNotNull(configuration, "QueryConfiguration must be not null");
+		this.configuration = configuration;
+		this.partitionFilter = partitionFilter;
+		this.includeSort = includeSort;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryConfiguration#getTarget()
+	 */
+	@Override
+	public Optional<DataTarget<?>> getTarget() {
+		return configuration.getTarget();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryConfiguration#getLimit()
+	 */
+	@Override
+	public Optional<Integer> getLimit() {
+		return includeSort ? configuration.getLimit() : Optional.empty();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryConfiguration#getOffset()
+	 */
+	@Override
+	public Optional<Integer> getOffset() {
+		return includeSort ? configuration.getOffset() : Optional.empty();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryConfiguration#getFilter()
+	 */
+	@Override
+	public Optional<QueryFilter> getFilter() {
+		if (partitionFilter == null) {
+			return configuration.getFilter();
+		}
+		return Optional.of(configuration.getFilter().map(f -> f.and(partitionFilter)).orElse(partitionFilter));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryConfiguration#getSort()
+	 */
+	@Override
+	public Optional<QuerySort> getSort() {
+		return includeSort ? configuration.getSort() : Optional.empty();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryConfiguration#getAggregation()
+	 */
+	@Override
+	public Optional<QueryAggregation> getAggregation() {
+		return configuration.getAggregation();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.query.QueryConfiguration#isDistinct()
+	 */
+	@Override
+	public boolean isDistinct() {
+		return configuration.isDistinct();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ExpressionResolver.ExpressionResolverProvider#getExpressionResolvers()
+	 */
+	@SuppressWarnings("rawtypes")
+	@Override
+	public Iterable<ExpressionResolver> getExpressionResolvers() {
+		return configuration.getExpressionResolvers();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ParameterSet#hasParameters()
+	 */
+	@Override
+	public boolean hasParameters() {
+		return configuration.hasParameters();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ParameterSet#hasParameter(java.lang.String)
+	 */
+	@Override
+	public boolean hasParameter(String name) {
+		return configuration.hasParameter(name);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ParameterSet#hasNotNullParameter(java.lang.String)
+	 */
+	@Override
+	public boolean hasNotNullParameter(String name) {
+		return configuration.hasNotNullParameter(name);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ParameterSet#getParameter(java.lang.String)
+	 */
+	@Override
+	public Optional<Object> getParameter(String name) {
+		return configuration.getParameter(name);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ParameterSet#getParameter(java.lang.String, java.lang.Class)
+	 */
+	@Override
+	public <T> Optional<T> getParameter(String name, Class<T> type) {
+		return configuration.getParameter(name, type);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ParameterSet#getParameterIf(java.lang.String, java.lang.Class,
+	 * java.util.function.Predicate)
+	 */
+	@Override
+	public <T> Optional<T> getParameterIf(String name, Class<T> type, Predicate<T> condition) {
+		return configuration.getParameterIf(name, type, condition);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ParameterSet#hasParameterValue(java.lang.String, java.lang.Object)
+	 */
+	@Override
+	public boolean hasParameterValue(String name, Object value) {
+		return configuration.hasParameterValue(name, value);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.ParameterSet#forEachParameter(java.util.function.BiConsumer)
+	 */
+	@Override
+	public void forEachParameter(BiConsumer<String, Object> action) {
+		configuration.forEachParameter(action);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.core.Expression#validate()
+	 */
+	@Override
+	public void validate() throws InvalidExpressionException {
+		configuration.validate();
+	}
+
+}
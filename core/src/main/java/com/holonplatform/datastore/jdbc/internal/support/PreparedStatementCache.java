@@ -0,0 +1,429 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.internal.support;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.datastore.jdbc.internal.JdbcDatastoreLogger;
+
+/**
+ * A LRU cache of the {@link PreparedStatement}s created using a {@link Connection}, keyed by SQL and generated keys
+ * mode.
+ * <p>
+ * Each statement obtained from the cache is checked out until it is closed: closing it returns the statement to the
+ * cache instead of actually closing it, after clearing its parameters, pending batch and warnings and restoring the
+ * fetch size, fetch direction, max rows and query timeout it had when checked out. The {@link ResultSet}s obtained
+ * from a checked out statement return the cached statement from {@link ResultSet#getStatement()}, so closing it
+ * returns the statement to the cache as well. If a statement with the same SQL is requested
+ * while another one is checked out, a new statement is prepared, so the cache can be safely used by nested or
+ * interleaved operations (for example by an open query results stream).
+ * </p>
+ * <p>
+ * The cache is bound to the connection lifecycle: {@link #close()} must be invoked before releasing the connection,
+ * to actually close all the cached statements.
+ * </p>
+ *
+ * @since 6.0.3
+ */
+public class PreparedStatementCache implements AutoCloseable {
+
+	private static final Logger LOGGER = JdbcDatastoreLogger.create();
+
+	private final Connection connection;
+	private final int maxSize;
+
+	private final LinkedHashMap<Key, PreparedStatement> statements;
+
+	private boolean closed = false;
+
+	/**
+	 * Constructor.
+	 * @param connection The connection to use to prepare the statements (not null)
+	 * @param maxSize The max number of statements to cache, the least recently used ones are closed when exceeded
+	 */
+	public PreparedStatementCache(Connection connection, int maxSize) {
+		super();
+		ObjectUtils.argumentNotNull(connection, "Connection must be not null");
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("Statement cache size must be greater than 0");
+		}
+		this.connection = connection;
+		this.maxSize = maxSize;
+		this.statements = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	/**
+	 * Get the connection to which this cache is bound.
+	 * @return the connection
+	 */
+	public Connection getConnection() {
+		return connection;
+	}
+
+	/**
+	 * Get the number of the idle cached statements.
+	 * @return The cached statements count
+	 */
+	public synchronized int size() {
+		return statements.size();
+	}
+
+	/**
+	 * Obtain a {@link PreparedStatement} for given SQL.
+	 * @param sql The SQL statement (not null)
+	 * @return A cached statement, or a new one if not available
+	 * @throws SQLException If an error occurred
+	 * @see Connection#prepareStatement(String)
+	 */
+	public PreparedStatement prepareStatement(String sql) throws SQLException {
+		return checkout(new Key(sql, Statement.NO_GENERATED_KEYS, null));
+	}
+
+	/**
+	 * Obtain a {@link PreparedStatement} for given SQL, with the auto-generated keys retrieval mode.
+	 * @param sql The SQL statement (not null)
+	 * @param autoGeneratedKeys Auto-generated keys mode
+	 * @return A cached statement, or a new one if not available
+	 * @throws SQLException If an error occurred
+	 * @see Connection#prepareStatement(String, int)
+	 */
+	public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+		return checkout(new Key(sql, autoGeneratedKeys, null));
+	}
+
+	/**
+	 * Obtain a {@link PreparedStatement} for given SQL, which returns the auto-generated keys of given columns.
+	 * @param sql The SQL statement (not null)
+	 * @param columnNames The auto-generated key column names (not null)
+	 * @return A cached statement, or a new one if not available
+	 * @throws SQLException If an error occurred
+	 * @see Connection#prepareStatement(String, String[])
+	 */
+	public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+		ObjectUtils.argumentNotNull(columnNames, "Column names must be not null");
+		return checkout(new Key(sql, Statement.RETURN_GENERATED_KEYS, columnNames.clone()));
+	}
+
+	/**
+	 * Close all the cached statements. The statements which are checked out when the cache is closed are actually
+	 * closed when they are returned.
+	 */
+	@Override
+	public void close() {
+		final List<PreparedStatement> toClose;
+		synchronized (this) {
+			closed = true;
+			toClose = new ArrayList<>(statements.values());
+			statements.clear();
+		}
+		toClose.forEach(PreparedStatementCache::closeStatement);
+	}
+
+	/**
+	 * Get a statement from cache, removing it from the idle statements, or prepare a new one.
+	 * @param key The statement key
+	 * @return A statement which is returned to the cache when closed
+	 * @throws SQLException If an error occurred
+	 */
+	private PreparedStatement checkout(Key key) throws SQLException {
+		ObjectUtils.argumentNotNull(key.sql, "SQL must be not null");
+		PreparedStatement statement;
+		synchronized (this) {
+			if (closed) {
+				throw new IllegalStateException("The statement cache is closed");
+			}
+			statement = statements.remove(key);
+		}
+		if (statement == null) {
+			statement = key.prepare(connection);
+		} else {
+			LOGGER.debug(() -> "Reuse cached statement for SQL [" + key.sql + "]");
+		}
+		return (PreparedStatement) Proxy.newProxyInstance(PreparedStatementCache.class.getClassLoader(),
+				new Class<?>[] { PreparedStatement.class }, new CachedStatementHandler(this, key, statement));
+	}
+
+	/**
+	 * Return given statement to the cache, or actually close it if the cache is closed or another statement with the
+	 * same key was already returned.
+	 * @param key The statement key
+	 * @param statement The statement to return
+	 * @param state The statement state to restore
+	 * @param batched Whether a batch was added to the statement
+	 */
+	private void checkin(Key key, PreparedStatement statement, State state, boolean batched) {
+		if (!reset(statement, state, batched)) {
+			closeStatement(statement);
+			return;
+		}
+		PreparedStatement evicted = null;
+		boolean cached = false;
+		synchronized (this) {
+			if (!closed && !statements.containsKey(key)) {
+				statements.put(key, statement);
+				cached = true;
+				if (statements.size() > maxSize) {
+					final Iterator<PreparedStatement> eldest = statements.values().iterator();
+					evicted = eldest.next();
+					eldest.remove();
+				}
+			}
+		}
+		if (!cached) {
+			closeStatement(statement);
+		}
+		if (evicted != null) {
+			closeStatement(evicted);
+		}
+	}
+
+	/**
+	 * Reset given statement state to make it reusable.
+	 * @param statement The statement to reset
+	 * @param state The statement state to restore
+	 * @param batched Whether a batch was added to the statement
+	 * @return <code>true</code> if the statement was successfully reset and can be reused
+	 */
+	private static boolean reset(PreparedStatement statement, State state, boolean batched) {
+		try {
+			if (statement.isClosed()) {
+				return false;
+			}
+			statement.clearParameters();
+			if (batched) {
+				statement.clearBatch();
+			}
+			statement.clearWarnings();
+			state.restore(statement);
+			return true;
+		} catch (SQLException e) {
+			LOGGER.debug(() -> "Failed to reset cached statement, it will be closed", e);
+			return false;
+		}
+	}
+
+	/**
+	 * Close given statement, logging any error.
+	 * @param statement The statement to close
+	 */
+	private static void closeStatement(PreparedStatement statement) {
+		try {
+			statement.close();
+		} catch (SQLException e) {
+			LOGGER.warn("Failed to close cached statement", e);
+		}
+	}
+
+	/**
+	 * Cached statement key.
+	 */
+	private static final class Key {
+
+		final String sql;
+		final int autoGeneratedKeys;
+		final String[] columnNames;
+
+		Key(String sql, int autoGeneratedKeys, String[] columnNames) {
+			super();
+			this.sql = sql;
+			this.autoGeneratedKeys = autoGeneratedKeys;
+			this.columnNames = columnNames;
+		}
+
+		PreparedStatement prepare(Connection connection) throws SQLException {
+			if (columnNames != null) {
+				return connection.prepareStatement(sql, columnNames);
+			}
+			if (autoGeneratedKeys != Statement.NO_GENERATED_KEYS) {
+				return connection.prepareStatement(sql, autoGeneratedKeys);
+			}
+			return connection.prepareStatement(sql);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * (31 * sql.hashCode() + autoGeneratedKeys) + Arrays.hashCode(columnNames);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key) obj;
+			return autoGeneratedKeys == other.autoGeneratedKeys && sql.equals(other.sql)
+					&& Arrays.equals(columnNames, other.columnNames);
+		}
+
+	}
+
+	/**
+	 * The statement properties which can be changed by a statement user and must be restored before reusing it.
+	 */
+	private static final class State {
+
+		final int fetchSize;
+		final int fetchDirection;
+		final int maxRows;
+		final int queryTimeout;
+
+		State(PreparedStatement statement) throws SQLException {
+			super();
+			this.fetchSize = statement.getFetchSize();
+			this.fetchDirection = statement.getFetchDirection();
+			this.maxRows = statement.getMaxRows();
+			this.queryTimeout = statement.getQueryTimeout();
+		}
+
+		void restore(PreparedStatement statement) throws SQLException {
+			// max rows first, since some drivers do not accept a fetch size greater than max rows
+			if (statement.getMaxRows() != maxRows) {
+				statement.setMaxRows(maxRows);
+			}
+			if (statement.getFetchSize() != fetchSize) {
+				statement.setFetchSize(fetchSize);
+			}
+			if (statement.getFetchDirection() != fetchDirection) {
+				statement.setFetchDirection(fetchDirection);
+			}
+			if (statement.getQueryTimeout() != queryTimeout) {
+				statement.setQueryTimeout(queryTimeout);
+			}
+		}
+
+	}
+
+	/**
+	 * Checked out statement proxy handler, which returns the statement to the cache when closed.
+	 */
+	private static final class CachedStatementHandler implements InvocationHandler {
+
+		private final PreparedStatementCache cache;
+		private final Key key;
+		private final PreparedStatement statement;
+		private final State state;
+
+		private boolean batched = false;
+		private boolean closed = false;
+
+		CachedStatementHandler(PreparedStatementCache cache, Key key, PreparedStatement statement)
+				throws SQLException {
+			super();
+			this.cache = cache;
+			this.key = key;
+			this.statement = statement;
+			this.state = new State(statement);
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "close":
+				if (!closed) {
+					closed = true;
+					cache.checkin(key, statement, state, batched);
+				}
+				return null;
+			case "isClosed":
+				return closed || statement.isClosed();
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "Cached" + statement.toString();
+			default:
+				break;
+			}
+			if (closed) {
+				throw new SQLException("The statement is closed");
+			}
+			if ("addBatch".equals(method.getName())) {
+				batched = true;
+			}
+			final Object result;
+			try {
+				result = method.invoke(statement, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+			// the result set must not expose the actual statement, which could be closed bypassing the cache
+			if (result instanceof ResultSet) {
+				return Proxy.newProxyInstance(PreparedStatementCache.class.getClassLoader(),
+						new Class<?>[] { ResultSet.class }, new CachedStatementResultSetHandler((ResultSet) result,
+								(PreparedStatement) proxy));
+			}
+			return result;
+		}
+
+	}
+
+	/**
+	 * Handler of the result sets obtained from a checked out statement, which return the statement proxy as their
+	 * statement.
+	 */
+	private static final class CachedStatementResultSetHandler implements InvocationHandler {
+
+		private final ResultSet resultSet;
+		private final PreparedStatement statement;
+
+		CachedStatementResultSetHandler(ResultSet resultSet, PreparedStatement statement) {
+			super();
+			this.resultSet = resultSet;
+			this.statement = statement;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "getStatement":
+				return statement;
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			default:
+				break;
+			}
+			try {
+				return method.invoke(resultSet, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+
+	}
+
+}
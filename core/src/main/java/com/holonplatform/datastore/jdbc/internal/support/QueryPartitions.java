@@ -0,0 +1,190 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.internal.support;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import com.holonplatform.core.TypedExpression;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.core.internal.utils.TypeUtils;
+import com.holonplatform.core.query.QueryFilter;
+
+/**
+ * Utility class to split a query into partitions, using contiguous ranges of the values of a numeric or date/time
+ * expression.
+ *
+ * @since 6.0.3
+ */
+public final class QueryPartitions {
+
+	private QueryPartitions() {
+	}
+
+	/**
+	 * Checks whether given type is supported as partition expression type.
+	 * @param type The type to check
+	 * @return <code>true</code> if given type can be used to partition a query
+	 */
+	public static boolean isPartitionable(Class<?> type) {
+		if (type == null) {
+			return false;
+		}
+		final Class<?> boxed = TypeUtils.box(type);
+		return Long.class == boxed || Integer.class == boxed || Short.class == boxed || Byte.class == boxed
+				|| Double.class == boxed || Float.class == boxed || BigDecimal.class == boxed
+				|| BigInteger.class == boxed || LocalDate.class == boxed || LocalDateTime.class == boxed
+				|| Date.class == boxed || java.sql.Date.class == boxed || java.sql.Time.class == boxed
+				|| java.sql.Timestamp.class == boxed;
+	}
+
+	/**
+	 * Create the partition filters which split the range of values between given <code>min</code> and
+	 * <code>max</code> values into at most <code>partitions</code> contiguous ranges.
+	 * <p>
+	 * The first partition includes any value lower than the second partition range and the <code>null</code> values,
+	 * while the last partition includes any value greater than the previous partition range, so that the partitions
+	 * always cover all the rows.
+	 * </p>
+	 * @param <T> Expression type
+	 * @param expression The partition expression (not null)
+	 * @param min The minimum value (not null)
+	 * @param max The maximum value (not null)
+	 * @param partitions The max number of partitions
+	 * @return The partition filters, in the partition values order. An empty list is returned if the values range
+	 *         cannot be split into at least two partitions
+	 */
+	public static <T> List<QueryFilter> createPartitionFilters(TypedExpression<T> expression, T min, T max,
+			int partitions) {
+		ObjectUtils.argumentNotNull(expression, "Partition expression must be not null");
+		ObjectUtils.argumentNotNull(min, "Min value must be not null");
+		ObjectUtils.argumentNotNull(max, "Max value must be not null");
+
+		final BigInteger lower = BigInteger.valueOf(toLong(min));
+		final BigInteger span = BigInteger.valueOf(toLong(max)).subtract(lower).add(BigInteger.ONE);
+		final int count = (span.compareTo(BigInteger.valueOf(partitions)) < 0) ? span.intValue() : partitions;
+		if (count < 2) {
+			return Collections.emptyList();
+		}
+
+		final Class<? extends T> type = expression.getType();
+		final List<T> bounds = new ArrayList<>(count - 1);
+		for (int i = 1; i < count; i++) {
+			bounds.add(fromLong(
+					span.multiply(BigInteger.valueOf(i)).divide(BigInteger.valueOf(count)).add(lower).longValue(),
+					type));
+		}
+
+		final List<QueryFilter> filters = new ArrayList<>(count);
+		filters.add(QueryFilter.lt(expression, bounds.get(0)).or(QueryFilter.isNull(expression)));
+		for (int i = 1; i < bounds.size(); i++) {
+			filters.add(QueryFilter.goe(expression, bounds.get(i - 1)).and(QueryFilter.lt(expression, bounds.get(i))));
+		}
+		filters.add(QueryFilter.goe(expression, bounds.get(bounds.size() - 1)));
+		return filters;
+	}
+
+	/**
+	 * Convert given value into a <code>long</code>, preserving the values order.
+	 * @param value The value to convert
+	 * @return The converted value
+	 */
+	private static long toLong(Object value) {
+		if (value instanceof BigDecimal) {
+			return ((BigDecimal) value).setScale(0, RoundingMode.FLOOR).longValue();
+		}
+		if (value instanceof Double || value instanceof Float) {
+			return (long) Math.floor(((Number) value).doubleValue());
+		}
+		if (value instanceof Number) {
+			return ((Number) value).longValue();
+		}
+		if (value instanceof LocalDate) {
+			return ((LocalDate) value).toEpochDay();
+		}
+		if (value instanceof LocalDateTime) {
+			return ((LocalDateTime) value).toEpochSecond(ZoneOffset.UTC);
+		}
+		if (value instanceof Date) {
+			return ((Date) value).getTime();
+		}
+		throw new IllegalArgumentException("Unsupported partition value type [" + value.getClass().getName() + "]");
+	}
+
+	/**
+	 * Convert given <code>long</code> value into given type.
+	 * @param <T> Value type
+	 * @param value The value to convert
+	 * @param type The value type
+	 * @return The converted value
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> T fromLong(long value, Class<? extends T> type) {
+		final Class<?> boxed = TypeUtils.box(type);
+		if (Long.class == boxed) {
+			return (T) Long.valueOf(value);
+		}
+		if (Integer.class == boxed) {
+			return (T) Integer.valueOf((int) value);
+		}
+		if (Short.class == boxed) {
+			return (T) Short.valueOf((short) value);
+		}
+		if (Byte.class == boxed) {
+			return (T) Byte.valueOf((byte) value);
+		}
+		if (Double.class == boxed) {
+			return (T) Double.valueOf(value);
+		}
+		if (Float.class == boxed) {
+			return (T) Float.valueOf(value);
+		}
+		if (BigDecimal.class == boxed) {
+			return (T) BigDecimal.valueOf(value);
+		}
+		if (BigInteger.class == boxed) {
+			return (T) BigInteger.valueOf(value);
+		}
+		if (LocalDate.class == boxed) {
+			return (T) LocalDate.ofEpochDay(value);
+		}
+		if (LocalDateTime.class == boxed) {
+			return (T) LocalDateTime.ofEpochSecond(value, 0, ZoneOffset.UTC);
+		}
+		if (java.sql.Timestamp.class == boxed) {
+			return (T) new java.sql.Timestamp(value);
+		}
+		if (java.sql.Date.class == boxed) {
+			return (T) new java.sql.Date(value);
+		}
+		if (java.sql.Time.class == boxed) {
+			return (T) new java.sql.Time(value);
+		}
+		if (Date.class == boxed) {
+			return (T) new Date(value);
+		}
+		throw new IllegalArgumentException("Unsupported partition value type [" + type.getName() + "]");
+	}
+
+}
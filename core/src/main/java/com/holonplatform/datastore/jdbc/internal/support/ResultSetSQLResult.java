@@ -16,14 +16,34 @@
 package com.holonplatform.datastore.jdbc.internal.support;
 
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
+import com.holonplatform.core.ConverterExpression;
+import com.holonplatform.core.TypedExpression;
 import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.datastore.jdbc.composer.SQLExecutionContext;
 import com.holonplatform.datastore.jdbc.composer.SQLResult;
 
 /**
  * A {@link SQLResult} backed by a jdbc {@link ResultSet}.
+ * <p>
+ * The {@link ResultSet} metadata is read only once, when first needed, and the result value names are resolved to
+ * column indexes using the cached metadata, so that the values are always read by index. For this reason, the same
+ * instance should be used for all the rows of a {@link ResultSet}.
+ * </p>
+ * <p>
+ * When a value is requested for a {@link TypedExpression}, a reader plan is built for the column the first time and
+ * reused for the next rows. If the {@link SQLExecutionContext} value deserializer has no value processors, the
+ * expression has no value converter and the column SQL type matches the expression type, the value is read using the
+ * type specific {@link ResultSet} getter (for example <code>getLong</code> or <code>getObject(index, type)</code>).
+ * Otherwise, or if the type specific getter fails on the first non <code>null</code> value because the driver does not
+ * support it, the value is read using {@link ResultSet#getObject(int)} and deserialized as usual.
+ * </p>
  *
  * @since 5.1.0
  */
@@ -31,6 +51,26 @@ public class ResultSetSQLResult implements SQLResult {
 
 	private final ResultSet resultSet;
 
+	/**
+	 * Column labels, lazy initialized
+	 */
+	private String[] labels;
+
+	/**
+	 * Column SQL types, lazy initialized
+	 */
+	private int[] types;
+
+	/**
+	 * Column indexes by label, lazy initialized
+	 */
+	private Map<String, Integer> indexes;
+
+	/**
+	 * Column reader plans, lazy initialized
+	 */
+	private ColumnPlan[] plans;
+
 	/**
 	 * Constructor
 	 * @param resultSet ResultSet (not null)
@@ -56,7 +96,48 @@ public class ResultSetSQLResult implements SQLResult {
 	 */
 	@Override
 	public Object getValue(String name) throws SQLException {
-		return resultSet.getObject(name);
+		final int index = getValueIndex(name);
+		return (index > 0) ? resultSet.getObject(index) : resultSet.getObject(name);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLResult#getValue(com.holonplatform.datastore.jdbc.composer.
+	 * SQLExecutionContext, com.holonplatform.core.TypedExpression, java.lang.String)
+	 */
+	@Override
+	public <T> T getValue(SQLExecutionContext context, TypedExpression<T> expression, String name)
+			throws SQLException {
+		final int index = getValueIndex(name);
+		if (index > 0) {
+			return getValue(context, expression, index);
+		}
+		return SQLResult.super.getValue(context, expression, name);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.composer.SQLResult#getValue(com.holonplatform.datastore.jdbc.composer.
+	 * SQLExecutionContext, com.holonplatform.core.TypedExpression, int)
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T getValue(SQLExecutionContext context, TypedExpression<T> expression, int index) throws SQLException {
+		final ColumnPlan plan = getPlan(context, expression, index);
+		if (plan != null && plan.reader != null) {
+			if (plan.verified) {
+				return (T) plan.reader.read(resultSet, index);
+			}
+			try {
+				final Object value = plan.reader.read(resultSet, index);
+				plan.verified = (value != null);
+				return (T) value;
+			} catch (@SuppressWarnings("unused") SQLException e) {
+				// not supported by the driver: fallback to the generic value read for the next rows too
+				plan.reader = null;
+			}
+		}
+		return SQLResult.super.getValue(context, expression, index);
 	}
 
 	/*
@@ -65,7 +146,7 @@ public class ResultSetSQLResult implements SQLResult {
 	 */
 	@Override
 	public int getValueCount() throws SQLException {
-		return resultSet.getMetaData().getColumnCount();
+		return getLabels().length;
 	}
 
 	/*
@@ -74,11 +155,138 @@ public class ResultSetSQLResult implements SQLResult {
 	 */
 	@Override
 	public Optional<String> getValueName(int index) throws SQLException {
-		return Optional.ofNullable(resultSet.getMetaData().getColumnLabel(index));
+		final String[] columnLabels = getLabels();
+		if (index < 1 || index > columnLabels.length) {
+			throw new SQLException("Invalid column index: " + index);
+		}
+		return Optional.ofNullable(columnLabels[index - 1]);
 	}
 
+	/**
+	 * Get the index of the column with given label. As for {@link ResultSet#findColumn(String)}, the label match is
+	 * case insensitive and the first matching column is returned when more than one column has the same label.
+	 * @param name The column label
+	 * @return The column index, starting from <code>1</code>, or <code>0</code> if not found
+	 * @throws SQLException If an error occurred
+	 * @since 6.0.3
+	 */
+	public int getValueIndex(String name) throws SQLException {
+		if (name == null) {
+			return 0;
+		}
+		if (indexes == null) {
+			final String[] columnLabels = getLabels();
+			final Map<String, Integer> map = new HashMap<>(columnLabels.length * 4);
+			for (int i = 0; i < columnLabels.length; i++) {
+				if (columnLabels[i] != null) {
+					map.putIfAbsent(columnLabels[i], i + 1);
+				}
+			}
+			for (int i = 0; i < columnLabels.length; i++) {
+				if (columnLabels[i] != null) {
+					map.putIfAbsent(columnLabels[i].toLowerCase(Locale.ROOT), i + 1);
+				}
+			}
+			indexes = map;
+		}
+		Integer index = indexes.get(name);
+		if (index == null) {
+			index = indexes.get(name.toLowerCase(Locale.ROOT));
+		}
+		return (index != null) ? index.intValue() : 0;
+	}
+
+	/**
+	 * Get the reader plan for given column and expression, building it if the column has no plan yet or its plan was
+	 * built for a different expression.
+	 * @param context SQL execution context
+	 * @param expression The value expression
+	 * @param index The column index
+	 * @return The column plan, <code>null</code> if the index is not valid
+	 * @throws SQLException If an error occurred
+	 */
+	private ColumnPlan getPlan(SQLExecutionContext context, TypedExpression<?> expression, int index)
+			throws SQLException {
+		final String[] columnLabels = getLabels();
+		if (context == null || expression == null || index < 1 || index > columnLabels.length) {
+			return null;
+		}
+		if (plans == null) {
+			plans = new ColumnPlan[columnLabels.length];
+		}
+		ColumnPlan plan = plans[index - 1];
+		if (plan == null || plan.expression != expression) {
+			plan = new ColumnPlan(expression, getReader(context, expression, types[index - 1]));
+			plans[index - 1] = plan;
+		}
+		return plan;
+	}
+
+	/**
+	 * Get the type specific reader to use for given expression and column SQL type, if the value processing and
+	 * conversion provided by the value deserializer can be safely skipped.
+	 * @param context SQL execution context
+	 * @param expression The value expression
+	 * @param sqlType The column SQL type
+	 * @return The reader, <code>null</code> if the value must be deserialized
+	 */
+	private static ResultSetValueReader getReader(SQLExecutionContext context, TypedExpression<?> expression,
+			int sqlType) {
+		if (context.getValueDeserializer().hasValueProcessors()) {
+			return null;
+		}
+		if (expression instanceof ConverterExpression
+				&& ((ConverterExpression<?>) expression).getExpressionValueConverter().isPresent()) {
+			return null;
+		}
+		return ResultSetValueReader.get(expression.getType(), sqlType);
+	}
+
+	/**
+	 * Get the column labels, reading the {@link ResultSet} metadata if not already done.
+	 * @return The column labels
+	 * @throws SQLException If an error occurred
+	 */
+	private String[] getLabels() throws SQLException {
+		if (labels == null) {
+			final ResultSetMetaData metadata = resultSet.getMetaData();
+			final String[] columnLabels = new String[metadata.getColumnCount()];
+			final int[] columnTypes = new int[columnLabels.length];
+			for (int i = 0; i < columnLabels.length; i++) {
+				columnLabels[i] = metadata.getColumnLabel(i + 1);
+				columnTypes[i] = metadata.getColumnType(i + 1);
+			}
+			types = columnTypes;
+			labels = columnLabels;
+		}
+		return labels;
+	}
+
+	/**
+	 * Create a new {@link SQLResult} backed by given {@link ResultSet}. The same instance should be used for all the
+	 * result set rows, to read the result set metadata only once.
+	 * @param resultSet The result set (not null)
+	 * @return A new {@link SQLResult}
+	 */
 	public static SQLResult of(ResultSet resultSet) {
 		return new ResultSetSQLResult(resultSet);
 	}
 
+	/**
+	 * A column reader plan, built for a specific expression.
+	 */
+	private static final class ColumnPlan {
+
+		final TypedExpression<?> expression;
+		ResultSetValueReader reader;
+		boolean verified = false;
+
+		ColumnPlan(TypedExpression<?> expression, ResultSetValueReader reader) {
+			super();
+			this.expression = expression;
+			this.reader = reader;
+		}
+
+	}
+
 }
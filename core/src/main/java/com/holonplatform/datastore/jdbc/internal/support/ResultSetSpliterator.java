@@ -0,0 +1,144 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.internal.support;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.holonplatform.core.internal.Logger;
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.datastore.jdbc.composer.SQLExecutionContext;
+import com.holonplatform.datastore.jdbc.composer.SQLResult;
+import com.holonplatform.datastore.jdbc.composer.SQLResultConverter;
+import com.holonplatform.datastore.jdbc.internal.JdbcDatastoreLogger;
+
+/**
+ * A {@link Spliterator} backed by an open JDBC {@link ResultSet}, which converts each row using a
+ * {@link SQLResultConverter} only when it is consumed.
+ * <p>
+ * The {@link ResultSet} and the {@link Statement} which produced it are closed when the results are exhausted, when an
+ * error occurs or when {@link #close()} is invoked.
+ * </p>
+ *
+ * @param <R> Results type
+ *
+ * @since 6.0.3
+ */
+public class ResultSetSpliterator<R> extends Spliterators.AbstractSpliterator<R> implements AutoCloseable {
+
+	private static final Logger LOGGER = JdbcDatastoreLogger.create();
+
+	private final SQLExecutionContext context;
+	private final Statement statement;
+	private final ResultSet resultSet;
+	private final SQLResultConverter<R> converter;
+	private final SQLResult result;
+
+	private volatile boolean closed = false;
+
+	/**
+	 * Constructor.
+	 * @param context SQL execution context (not null)
+	 * @param statement The statement which produced the result set (not null)
+	 * @param resultSet The open result set (not null)
+	 * @param converter Results converter (not null)
+	 */
+	public ResultSetSpliterator(SQLExecutionContext context, Statement statement, ResultSet resultSet,
+			SQLResultConverter<R> converter) {
+		super(Long.MAX_VALUE, Spliterator.ORDERED);
+		ObjectUtils.argumentNotNull(context, "SQLExecutionContext must be not null");
+		ObjectUtils.argumentNotNull(statement, "Statement must be not null");
+		ObjectUtils.argumentNotNull(resultSet, "ResultSet must be not null");
+		ObjectUtils.argumentNotNull(converter, "SQLResultConverter must be not null");
+		this.context = context;
+		this.statement = statement;
+		this.resultSet = resultSet;
+		this.converter = converter;
+		this.result = ResultSetSQLResult.of(resultSet);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.util.Spliterator#tryAdvance(java.util.function.Consumer)
+	 */
+	@Override
+	public boolean tryAdvance(Consumer<? super R> action) {
+		if (closed) {
+			return false;
+		}
+		final R row;
+		try {
+			if (!resultSet.next()) {
+				close();
+				return false;
+			}
+			row = converter.convert(context, result);
+		} catch (SQLException e) {
+			close();
+			throw context.getDialect().translateException(e);
+		} catch (RuntimeException e) {
+			close();
+			throw e;
+		}
+		action.accept(row);
+		return true;
+	}
+
+	/**
+	 * Close the {@link ResultSet} and the {@link Statement}, if not already closed.
+	 */
+	@Override
+	public void close() {
+		if (!closed) {
+			closed = true;
+			try {
+				resultSet.close();
+			} catch (SQLException e) {
+				LOGGER.warn("Failed to close the query ResultSet", e);
+			}
+			try {
+				statement.close();
+			} catch (SQLException e) {
+				// do not replace any original error
+				LOGGER.warn("Failed to close the query Statement", e);
+			}
+		}
+	}
+
+	/**
+	 * Create a sequential {@link Stream} backed by given {@link ResultSet}. The JDBC resources are released when the
+	 * stream is closed.
+	 * @param <R> Results type
+	 * @param context SQL execution context (not null)
+	 * @param statement The statement which produced the result set (not null)
+	 * @param resultSet The open result set (not null)
+	 * @param converter Results converter (not null)
+	 * @return A new {@link Stream} backed by given result set
+	 */
+	public static <R> Stream<R> stream(SQLExecutionContext context, Statement statement, ResultSet resultSet,
+			SQLResultConverter<R> converter) {
+		final ResultSetSpliterator<R> spliterator = new ResultSetSpliterator<>(context, statement, resultSet,
+				converter);
+		return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+	}
+
+}
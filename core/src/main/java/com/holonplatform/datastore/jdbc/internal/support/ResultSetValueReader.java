@@ -0,0 +1,175 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.internal.support;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.function.IntFunction;
+
+import com.holonplatform.core.internal.utils.TypeUtils;
+
+/**
+ * Reads a {@link ResultSet} column value directly in the type expected by a query selection, using the type specific
+ * {@link ResultSet} getter.
+ *
+ * @since 6.0.3
+ */
+@FunctionalInterface
+interface ResultSetValueReader {
+
+	/**
+	 * Read the value of given column from the current result set row.
+	 * @param resultSet The result set
+	 * @param index The column index, starting from <code>1</code>
+	 * @return The column value, <code>null</code> if the SQL value is <code>NULL</code>
+	 * @throws SQLException If an error occurred
+	 */
+	Object read(ResultSet resultSet, int index) throws SQLException;
+
+	/**
+	 * Get the reader to use to obtain a value of given type from a column of given SQL type, if the column values can
+	 * be read in the target type with no conversion.
+	 * @param targetType The value type to obtain (not null)
+	 * @param sqlType The column SQL type, as a {@link Types} constant
+	 * @return The value reader, <code>null</code> if not available
+	 */
+	static ResultSetValueReader get(Class<?> targetType, int sqlType) {
+		return Readers.BY_TARGET_TYPE.get(TypeUtils.box(targetType)).apply(sqlType);
+	}
+
+	/**
+	 * Available readers, by target type.
+	 */
+	final class Readers extends ClassValue<IntFunction<ResultSetValueReader>> {
+
+		static final Readers BY_TARGET_TYPE = new Readers();
+
+		private static final ResultSetValueReader LONG = (rs, i) -> {
+			final long value = rs.getLong(i);
+			return rs.wasNull() ? null : Long.valueOf(value);
+		};
+
+		private static final ResultSetValueReader INTEGER = (rs, i) -> {
+			final int value = rs.getInt(i);
+			return rs.wasNull() ? null : Integer.valueOf(value);
+		};
+
+		private static final ResultSetValueReader SHORT = (rs, i) -> {
+			final short value = rs.getShort(i);
+			return rs.wasNull() ? null : Short.valueOf(value);
+		};
+
+		private static final ResultSetValueReader DOUBLE = (rs, i) -> {
+			final double value = rs.getDouble(i);
+			return rs.wasNull() ? null : Double.valueOf(value);
+		};
+
+		private static final ResultSetValueReader FLOAT = (rs, i) -> {
+			final float value = rs.getFloat(i);
+			return rs.wasNull() ? null : Float.valueOf(value);
+		};
+
+		private static final ResultSetValueReader BOOLEAN = (rs, i) -> {
+			final boolean value = rs.getBoolean(i);
+			return rs.wasNull() ? null : Boolean.valueOf(value);
+		};
+
+		private static final ResultSetValueReader BIG_DECIMAL = ResultSet::getBigDecimal;
+		private static final ResultSetValueReader STRING = ResultSet::getString;
+		private static final ResultSetValueReader SQL_DATE = ResultSet::getDate;
+		private static final ResultSetValueReader TIMESTAMP = ResultSet::getTimestamp;
+		private static final ResultSetValueReader LOCAL_DATE = (rs, i) -> rs.getObject(i, LocalDate.class);
+		private static final ResultSetValueReader LOCAL_TIME = (rs, i) -> rs.getObject(i, LocalTime.class);
+		private static final ResultSetValueReader LOCAL_DATE_TIME = (rs, i) -> rs.getObject(i, LocalDateTime.class);
+
+		private Readers() {
+			super();
+		}
+
+		@Override
+		protected IntFunction<ResultSetValueReader> computeValue(Class<?> type) {
+			// only the SQL types whose values are read in the target type with no loss or conversion are mapped
+			if (Long.class == type) {
+				return sqlType -> (sqlType == Types.BIGINT || isInteger(sqlType)) ? LONG : null;
+			}
+			if (Integer.class == type) {
+				return sqlType -> isInteger(sqlType) ? INTEGER : null;
+			}
+			if (Short.class == type) {
+				return sqlType -> (sqlType == Types.SMALLINT || sqlType == Types.TINYINT) ? SHORT : null;
+			}
+			if (Double.class == type) {
+				return sqlType -> (sqlType == Types.DOUBLE || sqlType == Types.FLOAT || sqlType == Types.REAL) ? DOUBLE
+						: null;
+			}
+			if (Float.class == type) {
+				return sqlType -> (sqlType == Types.REAL) ? FLOAT : null;
+			}
+			if (Boolean.class == type) {
+				return sqlType -> (sqlType == Types.BOOLEAN) ? BOOLEAN : null;
+			}
+			if (BigDecimal.class == type) {
+				return sqlType -> (sqlType == Types.NUMERIC || sqlType == Types.DECIMAL) ? BIG_DECIMAL : null;
+			}
+			if (String.class == type) {
+				return sqlType -> isCharacter(sqlType) ? STRING : null;
+			}
+			if (LocalDate.class == type) {
+				return sqlType -> (sqlType == Types.DATE) ? LOCAL_DATE : null;
+			}
+			if (LocalTime.class == type) {
+				return sqlType -> (sqlType == Types.TIME) ? LOCAL_TIME : null;
+			}
+			if (LocalDateTime.class == type) {
+				return sqlType -> (sqlType == Types.TIMESTAMP) ? LOCAL_DATE_TIME : null;
+			}
+			if (Date.class == type) {
+				return sqlType -> (sqlType == Types.DATE) ? SQL_DATE : null;
+			}
+			if (Timestamp.class == type) {
+				return sqlType -> (sqlType == Types.TIMESTAMP) ? TIMESTAMP : null;
+			}
+			return sqlType -> null;
+		}
+
+		private static boolean isInteger(int sqlType) {
+			return sqlType == Types.INTEGER || sqlType == Types.SMALLINT || sqlType == Types.TINYINT;
+		}
+
+		private static boolean isCharacter(int sqlType) {
+			switch (sqlType) {
+			case Types.CHAR:
+			case Types.VARCHAR:
+			case Types.LONGVARCHAR:
+			case Types.NCHAR:
+			case Types.NVARCHAR:
+			case Types.LONGNVARCHAR:
+				return true;
+			default:
+				return false;
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,590 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.internal.support;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import com.holonplatform.jdbc.DatabasePlatform;
+
+/**
+ * A snapshot of the database schema metadata, which can be stored in a file and loaded at datastore initialization to
+ * avoid the database metadata round trips.
+ * <p>
+ * The catalog contains the tables of the current connection schema, with their columns and primary keys, and the
+ * {@link DatabaseMetaData} values read by the SQL dialect at initialization, which can be replayed using
+ * {@link #getDatabaseMetaData()}. It also records the database URL and the schema it was read from, which can be
+ * checked against a connection using {@link #isSource(Connection)}.
+ * </p>
+ *
+ * @since 6.0.3
+ */
+public final class SchemaCatalog {
+
+	/**
+	 * Catalog file format version
+	 */
+	public static final int FORMAT_VERSION = 2;
+
+	/**
+	 * Password parameters in database URLs
+	 */
+	private static final Pattern URL_PASSWORD = Pattern.compile("(?i)(password\\s*=)[^;&]*");
+
+	private final String url;
+
+	private final String schema;
+
+	private final DatabasePlatform platform;
+
+	private final boolean metadataReplayable;
+
+	private final Map<String, String> metadata;
+
+	private final Map<String, String> metadataErrors;
+
+	private final Map<String, Table> tables;
+
+	private final String checksum;
+
+	/**
+	 * Constructor.
+	 * @param url Database URL
+	 * @param schema Database schema
+	 * @param platform Database platform
+	 * @param metadataReplayable Whether the recorded database metadata values are sufficient to initialize the dialect
+	 * @param metadata Database metadata values by method name
+	 * @param metadataErrors Database metadata errors by method name
+	 * @param tables Tables by name
+	 */
+	private SchemaCatalog(String url, String schema, DatabasePlatform platform, boolean metadataReplayable,
+			Map<String, String> metadata, Map<String, String> metadataErrors, Map<String, Table> tables) {
+		super();
+		this.url = url;
+		this.schema = schema;
+		this.platform = (platform != null) ? platform : DatabasePlatform.NONE;
+		this.metadataReplayable = metadataReplayable;
+		this.metadata = Collections.unmodifiableMap(new TreeMap<>(metadata));
+		this.metadataErrors = Collections.unmodifiableMap(new TreeMap<>(metadataErrors));
+		this.tables = Collections.unmodifiableMap(new TreeMap<>(tables));
+		this.checksum = computeChecksum();
+	}
+
+	/**
+	 * Get the URL of the database from which the catalog was read, with any password parameter value masked.
+	 * @return the database URL, <code>null</code> if not available
+	 */
+	public String getUrl() {
+		return url;
+	}
+
+	/**
+	 * Get the database schema from which the catalog was read.
+	 * @return the database schema, <code>null</code> if not available
+	 */
+	public String getSchema() {
+		return schema;
+	}
+
+	/**
+	 * Checks whether this catalog was read from the database URL and schema of given connection.
+	 * @param connection The connection to check (not null)
+	 * @return <code>true</code> if the catalog database URL and schema match the connection ones
+	 * @throws SQLException If an error occurred
+	 */
+	public boolean isSource(Connection connection) throws SQLException {
+		return Objects.equals(url, maskUrl(connection.getMetaData().getURL()))
+				&& Objects.equals(schema, getSchema(connection));
+	}
+
+	/**
+	 * Get the database platform.
+	 * @return the database platform, {@link DatabasePlatform#NONE} if not available
+	 */
+	public DatabasePlatform getPlatform() {
+		return platform;
+	}
+
+	/**
+	 * Get whether the recorded database metadata values are sufficient to initialize the SQL dialect.
+	 * @return <code>true</code> if {@link #getDatabaseMetaData()} can be used to initialize the dialect
+	 */
+	public boolean isMetadataReplayable() {
+		return metadataReplayable;
+	}
+
+	/**
+	 * Get the catalog tables, using the database table name as key.
+	 * @return the catalog tables
+	 */
+	public Map<String, Table> getTables() {
+		return tables;
+	}
+
+	/**
+	 * Get the catalog checksum, computed using the catalog content.
+	 * @return the catalog checksum
+	 */
+	public String getChecksum() {
+		return checksum;
+	}
+
+	/**
+	 * Get whether the database metadata values recorded in this catalog are the same of given catalog.
+	 * @param catalog The catalog to compare
+	 * @return <code>true</code> if the database metadata values are the same
+	 */
+	public boolean isMetadataEqual(SchemaCatalog catalog) {
+		return catalog != null && metadata.equals(catalog.metadata) && metadataErrors.equals(catalog.metadataErrors);
+	}
+
+	/**
+	 * Get a {@link DatabaseMetaData} which replays the metadata values recorded in this catalog. Any other method
+	 * throws a {@link SQLFeatureNotSupportedException}.
+	 * @return The replay {@link DatabaseMetaData}
+	 */
+	public DatabaseMetaData getDatabaseMetaData() {
+		return (DatabaseMetaData) Proxy.newProxyInstance(SchemaCatalog.class.getClassLoader(),
+				new Class<?>[] { DatabaseMetaData.class }, (proxy, method, args) -> {
+					if (method.getDeclaringClass() == Object.class) {
+						return invokeObjectMethod(proxy, method, args);
+					}
+					final String name = method.getName();
+					if (args == null || args.length == 0) {
+						final String value = metadata.get(name);
+						if (value != null) {
+							return fromString(method.getReturnType(), value);
+						}
+						final String error = metadataErrors.get(name);
+						if (error != null) {
+							throw new SQLException(error);
+						}
+					}
+					throw new SQLFeatureNotSupportedException(
+							"Database metadata method [" + name + "] is not available from the schema catalog");
+				});
+	}
+
+	/**
+	 * Read the schema catalog from the database.
+	 * @param connection The connection to use
+	 * @param platform The database platform
+	 * @param recorder The recorder of the database metadata values read by the dialect (may be null)
+	 * @return The schema catalog
+	 * @throws SQLException If an error occurred
+	 */
+	public static SchemaCatalog read(Connection connection, DatabasePlatform platform, MetadataRecorder recorder)
+			throws SQLException {
+		final DatabaseMetaData databaseMetaData = connection.getMetaData();
+		final String catalog = connection.getCatalog();
+		final String schema = getSchema(connection);
+
+		final Map<String, Table> tables = new LinkedHashMap<>();
+		try (ResultSet resultSet = databaseMetaData.getTables(catalog, schema, "%", new String[] { "TABLE" })) {
+			while (resultSet.next()) {
+				final String name = resultSet.getString("TABLE_NAME");
+				tables.put(name, new Table(name));
+			}
+		}
+
+		// primary keys: try to use a single call, if supported by the driver
+		final Map<String, Map<Short, String>> keys = new LinkedHashMap<>();
+		boolean loaded = false;
+		try (ResultSet resultSet = databaseMetaData.getPrimaryKeys(catalog, schema, null)) {
+			readPrimaryKeys(resultSet, keys);
+			loaded = true;
+		} catch (SQLException e) {
+			// not supported by the driver
+		}
+		if (!loaded || (keys.isEmpty() && !tables.isEmpty())) {
+			for (String table : tables.keySet()) {
+				try (ResultSet resultSet = databaseMetaData.getPrimaryKeys(catalog, schema, table)) {
+					readPrimaryKeys(resultSet, keys);
+				}
+			}
+		}
+		for (Entry<String, Map<Short, String>> key : keys.entrySet()) {
+			final Table table = tables.get(key.getKey());
+			if (table != null) {
+				table.primaryKey.addAll(new TreeMap<>(key.getValue()).values());
+			}
+		}
+
+		// columns
+		try (ResultSet resultSet = databaseMetaData.getColumns(catalog, schema, "%", "%")) {
+			while (resultSet.next()) {
+				final Table table = tables.get(resultSet.getString("TABLE_NAME"));
+				if (table != null) {
+					table.columns.put(resultSet.getString("COLUMN_NAME"), resultSet.getInt("DATA_TYPE"));
+				}
+			}
+		}
+
+		final String url = maskUrl(databaseMetaData.getURL());
+		if (recorder != null) {
+			return new SchemaCatalog(url, schema, platform, recorder.isReplayable(), recorder.values, recorder.errors,
+					tables);
+		}
+		return new SchemaCatalog(url, schema, platform, false, Collections.emptyMap(), Collections.emptyMap(),
+				tables);
+	}
+
+	/**
+	 * Read the schema catalog from the database, recording the same database metadata values of given catalog.
+	 * @param connection The connection to use
+	 * @param catalog The catalog to refresh (not null)
+	 * @return The refreshed schema catalog
+	 * @throws SQLException If an error occurred
+	 */
+	public static SchemaCatalog refresh(Connection connection, SchemaCatalog catalog) throws SQLException {
+		final MetadataRecorder recorder = new MetadataRecorder();
+		final DatabaseMetaData databaseMetaData = recorder.record(connection.getMetaData());
+		final List<String> names = new ArrayList<>(catalog.metadata.keySet());
+		names.addAll(catalog.metadataErrors.keySet());
+		for (String name : names) {
+			try {
+				DatabaseMetaData.class.getMethod(name).invoke(databaseMetaData);
+			} catch (InvocationTargetException e) {
+				// recorded as error
+			} catch (ReflectiveOperationException e) {
+				throw new SQLException("Failed to read the database metadata value [" + name + "]", e);
+			}
+		}
+		recorder.replayable = catalog.metadataReplayable;
+		return read(connection, catalog.platform, recorder);
+	}
+
+	/**
+	 * Load a schema catalog from given file.
+	 * @param file The file to read
+	 * @return The schema catalog, empty if the file does not exist
+	 * @throws IOException If the file cannot be read or it is not a valid schema catalog
+	 */
+	public static Optional<SchemaCatalog> load(Path file) throws IOException {
+		if (!Files.isRegularFile(file)) {
+			return Optional.empty();
+		}
+		final Properties properties = new Properties();
+		try (InputStream is = Files.newInputStream(file)) {
+			properties.load(is);
+		}
+		final String version = properties.getProperty("version");
+		if (!String.valueOf(FORMAT_VERSION).equals(version)) {
+			throw new IOException("Unsupported schema catalog version [" + version + "]");
+		}
+		try {
+			final Map<String, String> metadata = new TreeMap<>();
+			final Map<String, String> metadataErrors = new TreeMap<>();
+			for (String key : properties.stringPropertyNames()) {
+				if (key.startsWith("metadata.")) {
+					metadata.put(key.substring("metadata.".length()), properties.getProperty(key));
+				} else if (key.startsWith("metadata-error.")) {
+					metadataErrors.put(key.substring("metadata-error.".length()), properties.getProperty(key));
+				}
+			}
+			final Map<String, Table> tables = new LinkedHashMap<>();
+			final int tableCount = Integer.parseInt(properties.getProperty("tables", "0"));
+			for (int t = 0; t < tableCount; t++) {
+				final String prefix = "table." + t + ".";
+				final Table table = new Table(getRequired(properties, prefix + "name"));
+				final int columnCount = Integer.parseInt(properties.getProperty(prefix + "columns", "0"));
+				for (int c = 0; c < columnCount; c++) {
+					table.columns.put(getRequired(properties, prefix + "column." + c + ".name"),
+							Integer.valueOf(getRequired(properties, prefix + "column." + c + ".type")));
+				}
+				final int keyCount = Integer.parseInt(properties.getProperty(prefix + "keys", "0"));
+				for (int k = 0; k < keyCount; k++) {
+					table.primaryKey.add(getRequired(properties, prefix + "key." + k));
+				}
+				tables.put(table.getName(), table);
+			}
+			final SchemaCatalog catalog = new SchemaCatalog(properties.getProperty("url"),
+					properties.getProperty("schema"),
+					DatabasePlatform.valueOf(properties.getProperty("platform", DatabasePlatform.NONE.name())),
+					Boolean.parseBoolean(properties.getProperty("metadata-replayable")), metadata, metadataErrors,
+					tables);
+			if (!catalog.getChecksum().equals(properties.getProperty("checksum"))) {
+				throw new IOException("Schema catalog checksum mismatch");
+			}
+			return Optional.of(catalog);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Invalid schema catalog file [" + file + "]", e);
+		}
+	}
+
+	/**
+	 * Store this schema catalog in given file. The file is replaced atomically, if supported by the file system.
+	 * @param file The file to write
+	 * @throws IOException If an error occurred
+	 */
+	public void store(Path file) throws IOException {
+		final Properties properties = new Properties();
+		properties.setProperty("version", String.valueOf(FORMAT_VERSION));
+		properties.setProperty("checksum", checksum);
+		if (url != null) {
+			properties.setProperty("url", url);
+		}
+		if (schema != null) {
+			properties.setProperty("schema", schema);
+		}
+		properties.setProperty("platform", platform.name());
+		properties.setProperty("metadata-replayable", String.valueOf(metadataReplayable));
+		metadata.forEach((name, value) -> properties.setProperty("metadata." + name, value));
+		metadataErrors.forEach((name, value) -> properties.setProperty("metadata-error." + name, value));
+		properties.setProperty("tables", String.valueOf(tables.size()));
+		int t = 0;
+		for (Table table : tables.values()) {
+			final String prefix = "table." + (t++) + ".";
+			properties.setProperty(prefix + "name", table.getName());
+			properties.setProperty(prefix + "columns", String.valueOf(table.columns.size()));
+			int c = 0;
+			for (Entry<String, Integer> column : table.columns.entrySet()) {
+				properties.setProperty(prefix + "column." + c + ".name", column.getKey());
+				properties.setProperty(prefix + "column." + (c++) + ".type", String.valueOf(column.getValue()));
+			}
+			properties.setProperty(prefix + "keys", String.valueOf(table.primaryKey.size()));
+			for (int k = 0; k < table.primaryKey.size(); k++) {
+				properties.setProperty(prefix + "key." + k, table.primaryKey.get(k));
+			}
+		}
+
+		final Path directory = file.toAbsolutePath().getParent();
+		if (directory != null) {
+			Files.createDirectories(directory);
+		}
+		final Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+		try {
+			try (OutputStream os = Files.newOutputStream(temp)) {
+				properties.store(os, "Holon JDBC Datastore schema catalog");
+			}
+			try {
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (IOException e) {
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Compute the catalog checksum.
+	 * @return The checksum as an hex string
+	 */
+	private String computeChecksum() {
+		final StringBuilder sb = new StringBuilder();
+		sb.append(FORMAT_VERSION).append('\n').append(url).append('\n').append(schema).append('\n')
+				.append(platform.name()).append('\n').append(metadataReplayable)
+				.append('\n');
+		metadata.forEach((name, value) -> sb.append(name).append('=').append(value).append('\n'));
+		metadataErrors.forEach((name, value) -> sb.append(name).append('!').append(value).append('\n'));
+		for (Table table : tables.values()) {
+			sb.append(table.getName()).append('\n');
+			table.columns.forEach((name, type) -> sb.append('\t').append(name).append(':').append(type).append('\n'));
+			table.primaryKey.forEach(name -> sb.append('\t').append('#').append(name).append('\n'));
+		}
+		try {
+			final byte[] digest = MessageDigest.getInstance("SHA-256")
+					.digest(sb.toString().getBytes(StandardCharsets.UTF_8));
+			final StringBuilder hex = new StringBuilder(digest.length * 2);
+			for (byte b : digest) {
+				hex.append(String.format("%02x", b));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String getRequired(Properties properties, String key) {
+		final String value = properties.getProperty(key);
+		if (value == null) {
+			throw new IllegalArgumentException("Missing schema catalog property [" + key + "]");
+		}
+		return value;
+	}
+
+	private static void readPrimaryKeys(ResultSet resultSet, Map<String, Map<Short, String>> keys)
+			throws SQLException {
+		while (resultSet.next()) {
+			keys.computeIfAbsent(resultSet.getString("TABLE_NAME"), t -> new TreeMap<>())
+					.put(resultSet.getShort("KEY_SEQ"), resultSet.getString("COLUMN_NAME"));
+		}
+	}
+
+	private static String maskUrl(String url) {
+		return (url != null) ? URL_PASSWORD.matcher(url).replaceAll("$1***") : null;
+	}
+
+	private static String getSchema(Connection connection) {
+		try {
+			return connection.getSchema();
+		} catch (SQLException | AbstractMethodError e) {
+			return null;
+		}
+	}
+
+	private static boolean isRecordable(Method method) {
+		final Class<?> type = method.getReturnType();
+		return method.getParameterCount() == 0 && (type == String.class || type == boolean.class
+				|| type == int.class || type == long.class);
+	}
+
+	private static Object fromString(Class<?> type, String value) {
+		if (type == boolean.class) {
+			return Boolean.valueOf(value);
+		}
+		if (type == int.class) {
+			return Integer.valueOf(value);
+		}
+		if (type == long.class) {
+			return Long.valueOf(value);
+		}
+		return value;
+	}
+
+	private static Object invokeObjectMethod(Object proxy, Method method, Object[] args) {
+		switch (method.getName()) {
+		case "equals":
+			return proxy == args[0];
+		case "hashCode":
+			return System.identityHashCode(proxy);
+		default:
+			return SchemaCatalog.class.getSimpleName() + DatabaseMetaData.class.getSimpleName();
+		}
+	}
+
+	/**
+	 * A catalog table.
+	 */
+	public static final class Table {
+
+		private final String name;
+
+		private final Map<String, Integer> columns = new LinkedHashMap<>();
+
+		private final List<String> primaryKey = new ArrayList<>(2);
+
+		Table(String name) {
+			super();
+			this.name = name;
+		}
+
+		/**
+		 * Get the database table name.
+		 * @return the table name
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * Get the table columns.
+		 * @return the table column JDBC types, using the column name as key
+		 */
+		public Map<String, Integer> getColumns() {
+			return Collections.unmodifiableMap(columns);
+		}
+
+		/**
+		 * Get the table primary key.
+		 * @return the primary key column names, in key sequence order, empty if none
+		 */
+		public List<String> getPrimaryKey() {
+			return Collections.unmodifiableList(primaryKey);
+		}
+
+	}
+
+	/**
+	 * Records the {@link DatabaseMetaData} values read through a recording {@link DatabaseMetaData}.
+	 */
+	public static final class MetadataRecorder {
+
+		private final Map<String, String> values = new ConcurrentHashMap<>();
+
+		private final Map<String, String> errors = new ConcurrentHashMap<>();
+
+		private volatile boolean replayable = true;
+
+		/**
+		 * Get whether only recordable metadata methods were invoked.
+		 * @return <code>true</code> if the recorded values can be replayed
+		 */
+		public boolean isReplayable() {
+			return replayable;
+		}
+
+		/**
+		 * Get a {@link DatabaseMetaData} which records the values obtained from given metadata.
+		 * @param databaseMetaData The database metadata to record (not null)
+		 * @return The recording {@link DatabaseMetaData}
+		 */
+		public DatabaseMetaData record(DatabaseMetaData databaseMetaData) {
+			return (DatabaseMetaData) Proxy.newProxyInstance(SchemaCatalog.class.getClassLoader(),
+					new Class<?>[] { DatabaseMetaData.class }, (proxy, method, args) -> {
+						if (method.getDeclaringClass() == Object.class) {
+							return invokeObjectMethod(proxy, method, args);
+						}
+						final boolean recordable = isRecordable(method);
+						if (!recordable) {
+							replayable = false;
+						}
+						try {
+							final Object value = method.invoke(databaseMetaData, args);
+							if (recordable && value != null) {
+								values.put(method.getName(), String.valueOf(value));
+							}
+							return value;
+						} catch (InvocationTargetException e) {
+							if (recordable) {
+								errors.put(method.getName(), String.valueOf(e.getCause().getMessage()));
+							}
+							throw e.getCause();
+						}
+					});
+		}
+
+	}
+
+}
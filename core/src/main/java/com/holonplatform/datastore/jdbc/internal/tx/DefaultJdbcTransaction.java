@@ -17,6 +17,8 @@ package com.holonplatform.datastore.jdbc.internal.tx;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import com.holonplatform.core.datastore.transaction.Transaction;
 import com.holonplatform.core.datastore.transaction.TransactionConfiguration;
@@ -41,9 +43,14 @@ public class DefaultJdbcTransaction extends AbstractTransaction implements JdbcT
 
 	private final TransactionConfiguration configuration;
 
+	/**
+	 * Lock used instead of intrinsic locks, which would pin a virtual thread to its carrier while performing I/O
+	 */
+	private final Lock lock = new ReentrantLock();
+
 	private boolean wasAutoCommit;
 
-	private boolean active;
+	private volatile boolean active;
 
 	/**
 	 * Constructor.
@@ -90,38 +97,44 @@ public class DefaultJdbcTransaction extends AbstractTransaction implements JdbcT
 	 * @see com.holonplatform.datastore.jdbc.internal.transaction.JdbcTransaction#start()
 	 */
 	@Override
-	public synchronized void start() throws TransactionException {
-		// check not already started
-		if (isActive()) {
-			throw new IllegalTransactionStatusException(
-					"The transaction is already started and bound to connection [" + getConnection() + "]");
-		}
+	public void start() throws TransactionException {
+		lock.lock();
 		try {
-			// disable auto-commit
-			if (getConnection().getAutoCommit()) {
-				wasAutoCommit = true;
-				getConnection().setAutoCommit(false);
+			// check not already started
+			if (isActive()) {
+				throw new IllegalTransactionStatusException(
+						"The transaction is already started and bound to connection [" + getConnection() + "]");
 			}
-		} catch (SQLException e) {
-			throw new TransactionException("Failed to configure transaction connection [" + getConnection() + "]", e);
-		}
-		// configure connection
-		final TransactionIsolation transactionIsolation = getConfiguration().getTransactionOptions()
-				.filter(o -> o instanceof JdbcTransactionOptions).map(o -> (JdbcTransactionOptions) o)
-				.flatMap(o -> o.getTransactionIsolation()).orElse(null);
-		if (transactionIsolation != null) {
 			try {
-				getConnection().setTransactionIsolation(transactionIsolation.getLevel());
+				// disable auto-commit
+				if (getConnection().getAutoCommit()) {
+					wasAutoCommit = true;
+					getConnection().setAutoCommit(false);
+				}
 			} catch (SQLException e) {
 				throw new TransactionException(
-						"Failed to configure connection transaction isolation level [" + getConnection() + "]", e);
+						"Failed to configure transaction connection [" + getConnection() + "]", e);
+			}
+			// configure connection
+			final TransactionIsolation transactionIsolation = getConfiguration().getTransactionOptions()
+					.filter(o -> o instanceof JdbcTransactionOptions).map(o -> (JdbcTransactionOptions) o)
+					.flatMap(o -> o.getTransactionIsolation()).orElse(null);
+			if (transactionIsolation != null) {
+				try {
+					getConnection().setTransactionIsolation(transactionIsolation.getLevel());
+				} catch (SQLException e) {
+					throw new TransactionException(
+							"Failed to configure connection transaction isolation level [" + getConnection() + "]", e);
+				}
 			}
-		}
 
-		// set as active
-		active = true;
+			// set as active
+			active = true;
 
-		LOGGER.debug(() -> "Jdbc transaction started");
+			LOGGER.debug(() -> "Jdbc transaction started");
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/*
@@ -129,38 +142,42 @@ public class DefaultJdbcTransaction extends AbstractTransaction implements JdbcT
 	 * @see com.holonplatform.datastore.jdbc.internal.transaction.JdbcTransaction#end()
 	 */
 	@Override
-	public synchronized void end() throws TransactionException {
-
-		// check active
-		if (!isActive()) {
-			throw new IllegalTransactionStatusException("The transaction is not active");
-		}
+	public void end() throws TransactionException {
+		lock.lock();
+		try {
+			// check active
+			if (!isActive()) {
+				throw new IllegalTransactionStatusException("The transaction is not active");
+			}
 
-		// check completed
-		if (!isCompleted()) {
-			if (isRollbackOnly()) {
-				rollback();
-			} else {
-				if (getConfiguration().isAutoCommit()) {
-					commit();
+			// check completed
+			if (!isCompleted()) {
+				if (isRollbackOnly()) {
+					rollback();
+				} else {
+					if (getConfiguration().isAutoCommit()) {
+						commit();
+					}
 				}
 			}
-		}
 
-		// restore auto-commit
-		if (wasAutoCommit) {
-			try {
-				getConnection().setAutoCommit(true);
-			} catch (SQLException e) {
-				throw new TransactionException("Failed to set connection auto-commit [" + connection + "]", e);
+			// restore auto-commit
+			if (wasAutoCommit) {
+				try {
+					getConnection().setAutoCommit(true);
+				} catch (SQLException e) {
+					throw new TransactionException("Failed to set connection auto-commit [" + connection + "]", e);
+				}
 			}
-		}
 
-		// set as not active
-		active = false;
+			// set as not active
+			active = false;
 
-		LOGGER.debug(() -> "Jdbc transaction finalized");
+			LOGGER.debug(() -> "Jdbc transaction finalized");
 
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/*
@@ -168,38 +185,43 @@ public class DefaultJdbcTransaction extends AbstractTransaction implements JdbcT
 	 * @see com.holonplatform.core.datastore.transaction.Transaction#commit()
 	 */
 	@Override
-	public synchronized boolean commit() throws TransactionException {
-
-		// check active
-		if (!isActive()) {
-			throw new IllegalTransactionStatusException("Cannot commit the transaction: the transaction is not active");
-		}
+	public boolean commit() throws TransactionException {
+		lock.lock();
+		try {
+			// check active
+			if (!isActive()) {
+				throw new IllegalTransactionStatusException(
+						"Cannot commit the transaction: the transaction is not active");
+			}
 
-		// check completed
-		if (isCompleted()) {
-			throw new IllegalTransactionStatusException(
-					"Cannot commit the transaction: the transaction is already completed");
-		}
+			// check completed
+			if (isCompleted()) {
+				throw new IllegalTransactionStatusException(
+						"Cannot commit the transaction: the transaction is already completed");
+			}
 
-		final boolean committed;
-		try {
-			// check rollback only
-			if (isRollbackOnly()) {
-				rollback();
-				committed = false;
-			} else {
-				getConnection().commit();
-				committed = true;
-				LOGGER.debug(() -> "Jdbc transaction committed");
+			final boolean committed;
+			try {
+				// check rollback only
+				if (isRollbackOnly()) {
+					rollback();
+					committed = false;
+				} else {
+					getConnection().commit();
+					committed = true;
+					LOGGER.debug(() -> "Jdbc transaction committed");
+				}
+			} catch (SQLException e) {
+				throw new TransactionException("Failed to commit the transaction", e);
 			}
-		} catch (SQLException e) {
-			throw new TransactionException("Failed to commit the transaction", e);
-		}
 
-		// set as completed
-		setCompleted();
+			// set as completed
+			setCompleted();
 
-		return committed;
+			return committed;
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/*
@@ -207,29 +229,33 @@ public class DefaultJdbcTransaction extends AbstractTransaction implements JdbcT
 	 * @see com.holonplatform.core.datastore.transaction.Transaction#rollback()
 	 */
 	@Override
-	public synchronized void rollback() throws TransactionException {
+	public void rollback() throws TransactionException {
+		lock.lock();
+		try {
+			// check active
+			if (!isActive()) {
+				throw new IllegalTransactionStatusException(
+						"Cannot rollback the transaction: the transaction is not active");
+			}
 
-		// check active
-		if (!isActive()) {
-			throw new IllegalTransactionStatusException(
-					"Cannot rollback the transaction: the transaction is not active");
-		}
+			// check completed
+			if (isCompleted()) {
+				throw new IllegalTransactionStatusException(
+						"Cannot rollback the transaction: the transaction is already completed");
+			}
 
-		// check completed
-		if (isCompleted()) {
-			throw new IllegalTransactionStatusException(
-					"Cannot rollback the transaction: the transaction is already completed");
-		}
+			try {
+				getConnection().rollback();
+				LOGGER.debug(() -> "Jdbc transaction rolled back");
+			} catch (SQLException e) {
+				throw new TransactionException("Failed to rollback the transaction", e);
+			}
 
-		try {
-			getConnection().rollback();
-			LOGGER.debug(() -> "Jdbc transaction rolled back");
-		} catch (SQLException e) {
-			throw new TransactionException("Failed to rollback the transaction", e);
+			// set as completed
+			setCompleted();
+		} finally {
+			lock.unlock();
 		}
-
-		// set as completed
-		setCompleted();
 	}
 
 	/*
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.property.PathProperty;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.datastore.jdbc.AsyncJdbcDatastore;
+import com.holonplatform.datastore.jdbc.JdbcDatastore;
+import com.holonplatform.datastore.jdbc.config.JdbcQueryParameters;
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DatabasePlatform;
+
+public class AsyncJdbcDatastoreUT {
+
+	private final static String INIT_SQL = "create table testasync (code bigint primary key, text varchar(100));";
+
+	private final static PathProperty<Long> CODE = PathProperty.create("code", long.class);
+	private final static PathProperty<String> TEXT = PathProperty.create("text", String.class);
+
+	private final static PropertySet<?> PROPERTIES = PropertySet.builderOf(CODE, TEXT).withIdentifier(CODE).build();
+
+	private final static DataTarget<String> TARGET = DataTarget.named("testasync");
+
+	private static JdbcDatastore datastore;
+
+	@BeforeAll
+	public static void initDatastore() {
+		final DataSource dataSource = DataSourceBuilder.builder().url("jdbc:h2:mem:asyncdb").username("sa")
+				.maxPoolSize(7).withInitScript(INIT_SQL).build();
+		datastore = JdbcDatastore.builder().dataSource(dataSource).database(DatabasePlatform.H2).build();
+	}
+
+	private static PropertyBox value(long code, String text) {
+		return PropertyBox.builder(PROPERTIES).set(CODE, code).set(TEXT, text).build();
+	}
+
+	@Test
+	public void testOperations() {
+
+		final AsyncJdbcDatastore async = AsyncJdbcDatastore.create(datastore);
+		assertEquals(7, async.getMaxConcurrency());
+
+		assertEquals(1L, async.insert(TARGET, value(1L, "v1")).join().getAffectedCount());
+		assertEquals(1L, async.save(TARGET, value(2L, "v2")).join().getAffectedCount());
+		assertEquals(1L, async.update(TARGET, value(2L, "u2")).join().getAffectedCount());
+		assertEquals("u2", async.refresh(TARGET, value(2L, null)).join().getValue(TEXT));
+
+		final List<PropertyBox> values = new ArrayList<>();
+		for (long i = 10; i < 20; i++) {
+			values.add(value(i, "b" + i));
+		}
+		assertEquals(10L, async.bulkInsert(TARGET, PROPERTIES, values).join().getAffectedCount());
+		values.add(value(20L, "b20"));
+		assertEquals(11L, async.bulkSave(TARGET, PROPERTIES, values).join().getAffectedCount());
+
+		assertEquals(13L, async.query(TARGET, q -> q.count()).join());
+		assertEquals(11L, async.bulkUpdate(TARGET, u -> u.set(TEXT, "x").filter(CODE.goe(10L)).execute()).join()
+				.getAffectedCount());
+		assertEquals(11L, async.query(TARGET, q -> q.filter(TEXT.eq("x")).count()).join());
+
+		assertEquals(1L, async.withTransaction(tx -> {
+			datastore.delete(TARGET, value(1L, null));
+			return datastore.query(TARGET).filter(CODE.lt(10L)).count();
+		}).join());
+
+		assertEquals(11L, async.bulkDelete(TARGET, d -> d.filter(CODE.goe(10L)).execute()).join()
+				.getAffectedCount());
+		assertEquals(1L, async.delete(TARGET, value(2L, null)).join().getAffectedCount());
+		assertEquals(0L, async.query(TARGET, q -> q.count()).join());
+
+		final CompletionException e = assertThrows(CompletionException.class,
+				() -> async.insert(DataTarget.named("xxx"), value(1L, "v1")).join());
+		assertTrue(e.getCause() instanceof DataAccessException);
+	}
+
+	@Test
+	public void testMaxConcurrency() {
+
+		final AsyncJdbcDatastore async = AsyncJdbcDatastore.builder(datastore).maxConcurrency(3).build();
+		assertEquals(3, async.getMaxConcurrency());
+
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger max = new AtomicInteger();
+
+		final List<CompletableFuture<Long>> results = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			results.add(async.execute(d -> {
+				max.accumulateAndGet(running.incrementAndGet(), Math::max);
+				try {
+					Thread.sleep(5);
+					return d.query(TARGET).count();
+				} catch (InterruptedException e) {
+					throw new IllegalStateException(e);
+				} finally {
+					running.decrementAndGet();
+				}
+			}));
+		}
+		CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).join();
+
+		assertTrue(max.get() <= 3);
+		assertThrows(IllegalArgumentException.class, () -> AsyncJdbcDatastore.builder(datastore).maxConcurrency(0));
+	}
+
+	@Test
+	public void testStreamPermit() throws Exception {
+
+		final AsyncJdbcDatastore async = AsyncJdbcDatastore.builder(datastore).maxConcurrency(1).build();
+
+		datastore.insert(TARGET, value(101L, "s1"));
+		datastore.insert(TARGET, value(102L, "s2"));
+		try {
+			final Stream<Long> stream = async
+					.query(TARGET, q -> q.parameter(JdbcQueryParameters.STREAMING, true).filter(CODE.gt(100L))
+							.stream(CODE))
+					.get(30, TimeUnit.SECONDS);
+
+			// the permit is held until the stream is closed
+			final CompletableFuture<Long> count = async.query(TARGET, q -> q.count());
+			assertThrows(TimeoutException.class, () -> count.get(200, TimeUnit.MILLISECONDS));
+
+			assertEquals(2, stream.count());
+			stream.close();
+			stream.close();
+			assertEquals(2L, count.get(30, TimeUnit.SECONDS));
+
+			// released when the stream is exhausted
+			assertEquals(2, async.query(TARGET, q -> q.parameter(JdbcQueryParameters.STREAMING, true)
+					.filter(CODE.gt(100L)).stream(CODE)).get(30, TimeUnit.SECONDS).collect(Collectors.toList())
+					.size());
+			assertEquals(2L, async.query(TARGET, q -> q.count()).get(30, TimeUnit.SECONDS));
+		} finally {
+			datastore.bulkDelete(TARGET).filter(CODE.gt(100L)).execute();
+		}
+	}
+
+	@Test
+	public void testDefaultStreamPermit() throws Exception {
+
+		final AsyncJdbcDatastore async = AsyncJdbcDatastore.builder(datastore).maxConcurrency(1).build();
+
+		datastore.insert(TARGET, value(201L, "d1"));
+		try {
+			// list backed streams do not hold a connection, so the permit is released even if they are not closed
+			for (int i = 0; i < 5; i++) {
+				assertEquals(1, async.query(TARGET, q -> q.filter(CODE.eq(201L)).stream(CODE))
+						.thenApply(s -> s.collect(Collectors.toList())).get(30, TimeUnit.SECONDS).size());
+			}
+
+			// a streaming query stream closed within the operation
+			assertEquals(1L, async.query(TARGET, q -> {
+				try (Stream<Long> stream = q.parameter(JdbcQueryParameters.STREAMING, true).filter(CODE.eq(201L))
+						.stream(CODE)) {
+					return stream.count();
+				}
+			}).get(30, TimeUnit.SECONDS));
+
+			// a transformed streaming query stream, not consumed
+			final Stream<String> stream = async.query(TARGET,
+					q -> q.parameter(JdbcQueryParameters.STREAMING, true).stream(CODE).map(String::valueOf))
+					.get(30, TimeUnit.SECONDS);
+			final CompletableFuture<Long> count = async.query(TARGET, q -> q.count());
+			assertThrows(TimeoutException.class, () -> count.get(200, TimeUnit.MILLISECONDS));
+			stream.close();
+			assertEquals(1L, count.get(30, TimeUnit.SECONDS));
+		} finally {
+			datastore.bulkDelete(TARGET).filter(CODE.eq(201L)).execute();
+		}
+	}
+
+}
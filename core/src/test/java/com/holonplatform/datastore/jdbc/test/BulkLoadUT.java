@@ -0,0 +1,200 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.datastore.Datastore.OperationResult;
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.property.PathProperty;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.datastore.jdbc.JdbcBulkLoad;
+import com.holonplatform.datastore.jdbc.JdbcDatastore;
+import com.holonplatform.datastore.jdbc.composer.SQLBulkLoader;
+import com.holonplatform.datastore.jdbc.composer.dialect.H2Dialect;
+import com.holonplatform.datastore.jdbc.composer.expression.SQLParameter;
+import com.holonplatform.jdbc.DataSourceBuilder;
+
+public class BulkLoadUT {
+
+	private final static String URL = "jdbc:h2:mem:bldb";
+
+	private final static PathProperty<Long> CODE = PathProperty.create("code", long.class);
+	private final static PathProperty<String> TEXT = PathProperty.create("text", String.class);
+	private final static PropertySet<?> PROPERTIES = PropertySet.of(CODE, TEXT);
+
+	private final static DataTarget<String> TARGET = DataTarget.named("testbl");
+
+	private final static List<SQLParameter<?>> COLUMNS = Arrays.asList(SQLParameter.create(null, Long.class),
+			SQLParameter.create(null, String.class));
+
+	private static Connection adminConnection;
+
+	@BeforeAll
+	public static void initDatabase() throws SQLException {
+		adminConnection = DriverManager.getConnection(URL, "sa", "");
+		try (Statement stmt = adminConnection.createStatement()) {
+			stmt.execute("create table testbl (code bigint primary key, text varchar(100))");
+			stmt.execute("create user loader password 'loader'");
+			stmt.execute("grant select, insert on testbl to loader");
+		}
+	}
+
+	@AfterAll
+	public static void closeDatabase() throws SQLException {
+		adminConnection.close();
+	}
+
+	@BeforeEach
+	public void clear() throws SQLException {
+		try (Statement stmt = adminConnection.createStatement()) {
+			stmt.execute("delete from testbl");
+		}
+	}
+
+	private static JdbcDatastore datastore(String username, String password, H2Dialect dialect) {
+		DataSource dataSource = DataSourceBuilder.builder().url(URL).username(username).password(password).build();
+		return JdbcDatastore.builder().dataSource(dataSource).dialect(dialect).build();
+	}
+
+	private static List<PropertyBox> values() {
+		return Arrays.asList(PropertyBox.builder(PROPERTIES).set(CODE, 1L).set(TEXT, "One").build(),
+				PropertyBox.builder(PROPERTIES).set(CODE, 2L).set(TEXT, "Two").build(),
+				PropertyBox.builder(PROPERTIES).set(CODE, 3L).build());
+	}
+
+	@Test
+	public void testH2LoaderSupport() throws SQLException {
+
+		final SQLBulkLoader loader = new H2Dialect().getBulkLoader().orElse(null);
+
+		assertTrue(loader.isSupported(adminConnection, COLUMNS));
+
+		try (Connection connection = DriverManager.getConnection(URL, "loader", "loader")) {
+			assertFalse(loader.isSupported(connection, COLUMNS));
+		}
+
+		assertFalse(loader.isSupported(withURL(adminConnection, "jdbc:h2:tcp://localhost/mem:bldb"), COLUMNS));
+		assertFalse(loader.isSupported(withURL(adminConnection, "jdbc:h2:ssl://localhost/mem:bldb"), COLUMNS));
+	}
+
+	@Test
+	public void testNonAdminUser() {
+
+		final JdbcDatastore datastore = datastore("loader", "loader", new H2Dialect());
+
+		final OperationResult result = datastore.create(JdbcBulkLoad.class).target(TARGET).propertySet(PROPERTIES)
+				.add(values()).execute();
+
+		assertEquals(3, result.getAffectedCount());
+		assertEquals(3L, datastore.query(TARGET).count());
+	}
+
+	@Test
+	public void testLoaderFailure() {
+
+		final JdbcDatastore datastore = datastore("sa", "", new H2Dialect() {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public Optional<SQLBulkLoader> getBulkLoader() {
+				return Optional.of(new SQLBulkLoader() {
+
+					@Override
+					public boolean isSupported(Connection connection, List<SQLParameter<?>> columns) {
+						return true;
+					}
+
+					@Override
+					public long load(Connection connection, String table, List<String> columnNames,
+							List<SQLParameter<?>> columns, Iterator<Object[]> rows) throws SQLException {
+						rows.forEachRemaining(row -> {
+							// consume
+						});
+						throw new SQLException("Load failed");
+					}
+
+				});
+			}
+
+		});
+
+		// values can be read again: fallback to batched inserts
+		OperationResult result = datastore.create(JdbcBulkLoad.class).target(TARGET).propertySet(PROPERTIES)
+				.add(values()).execute();
+		assertEquals(3, result.getAffectedCount());
+		assertEquals(3L, datastore.query(TARGET).count());
+
+		// lazy values already consumed by the loader
+		final Iterable<PropertyBox> lazy = () -> Stream.of(
+				PropertyBox.builder(PROPERTIES).set(CODE, 4L).set(TEXT, "Four").build()).iterator();
+		assertThrows(DataAccessException.class, () -> datastore.create(JdbcBulkLoad.class).target(TARGET)
+				.propertySet(PROPERTIES).add(lazy).execute());
+		assertEquals(3L, datastore.query(TARGET).count());
+	}
+
+	private static Connection withURL(Connection connection, String url) {
+		return (Connection) Proxy.newProxyInstance(BulkLoadUT.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+					try {
+						if (method.getName().equals("getMetaData")) {
+							final DatabaseMetaData metadata = connection.getMetaData();
+							return Proxy.newProxyInstance(BulkLoadUT.class.getClassLoader(),
+									new Class<?>[] { DatabaseMetaData.class }, (p, m, a) -> {
+										if (m.getName().equals("getURL")) {
+											return url;
+										}
+										try {
+											return m.invoke(metadata, a);
+										} catch (InvocationTargetException e) {
+											throw e.getCause();
+										}
+									});
+						}
+						return method.invoke(connection, args);
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+				});
+	}
+
+}
@@ -16,7 +16,9 @@
 package com.holonplatform.datastore.jdbc.test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import javax.sql.DataSource;
@@ -27,7 +29,9 @@ import org.junit.jupiter.api.Test;
 import com.holonplatform.core.datastore.Datastore;
 import com.holonplatform.datastore.jdbc.JdbcDatastore;
 import com.holonplatform.datastore.jdbc.composer.dialect.H2Dialect;
+import com.holonplatform.datastore.jdbc.config.JdbcContextHolder;
 import com.holonplatform.datastore.jdbc.config.JdbcDatastoreCommodityContext;
+import com.holonplatform.datastore.jdbc.internal.DefaultJdbcDatastore;
 import com.holonplatform.datastore.jdbc.test.config.TestCommodity;
 import com.holonplatform.jdbc.DataSourceBuilder;
 import com.holonplatform.jdbc.DatabasePlatform;
@@ -55,4 +59,51 @@ public class DatastoreConfigurationUT {
 		tc.test();
 	}
 
+	@Test
+	public void testDefaultFetchSize() {
+
+		assertEquals(0, ((JdbcDatastoreCommodityContext) datastore).getDefaultFetchSize());
+
+		DataSource dataSource = DataSourceBuilder.builder().url("jdbc:h2:mem:cfgdb").username("sa").build();
+		Datastore ds = JdbcDatastore.builder().dataSource(dataSource).defaultFetchSize(50).build();
+
+		assertEquals(50, ((JdbcDatastoreCommodityContext) ds).getDefaultFetchSize());
+
+		assertThrows(IllegalArgumentException.class,
+				() -> JdbcDatastore.builder().dataSource(dataSource).defaultFetchSize(-1));
+	}
+
+	@Test
+	public void testQueryPlanCacheSize() {
+
+		// disabled by default
+		assertFalse(((JdbcDatastoreCommodityContext) datastore).getQueryPlanCache().isPresent());
+
+		DataSource dataSource = DataSourceBuilder.builder().url("jdbc:h2:mem:cfgdb").username("sa").build();
+		Datastore ds = JdbcDatastore.builder().dataSource(dataSource).queryPlanCacheSize(10).build();
+
+		assertTrue(((JdbcDatastoreCommodityContext) ds).getQueryPlanCache().isPresent());
+
+		ds = JdbcDatastore.builder().dataSource(dataSource).queryPlanCacheSize(0).build();
+
+		assertFalse(((JdbcDatastoreCommodityContext) ds).getQueryPlanCache().isPresent());
+
+		assertThrows(IllegalArgumentException.class,
+				() -> JdbcDatastore.builder().dataSource(dataSource).queryPlanCacheSize(-1));
+	}
+
+	@Test
+	public void testContextHolderFactory() {
+
+		DataSource dataSource = DataSourceBuilder.builder().url("jdbc:h2:mem:cfgdb").username("sa").build();
+		Datastore ds = JdbcDatastore.builder().dataSource(dataSource)
+				.contextHolderFactory(JdbcContextHolder.Factory.threadLocal()).build();
+
+		assertEquals(Integer.valueOf(1), ((JdbcDatastore) ds).withConnection(c -> 1));
+
+		// cannot be replaced after initialization
+		assertThrows(IllegalStateException.class,
+				() -> ((DefaultJdbcDatastore) ds).setContextHolderFactory(JdbcContextHolder.Factory.threadLocal()));
+	}
+
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.test;
+
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.KEY;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.NAMED_TARGET;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.STR1;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import jakarta.annotation.Priority;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.Expression.InvalidExpressionException;
+import com.holonplatform.core.ExpressionResolver;
+import com.holonplatform.core.datastore.Datastore;
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.datastore.jdbc.JdbcDatastore;
+import com.holonplatform.datastore.jdbc.test.config.KeyOne;
+import com.holonplatform.jdbc.DataSourceBuilder;
+
+public class ExpressionResolverOverlayUT {
+
+	private static final AtomicInteger DATABASE = new AtomicInteger();
+
+	private Datastore datastore;
+
+	@BeforeEach
+	public void initDatastore() {
+		DataSource dataSource = DataSourceBuilder.builder().url("jdbc:h2:mem:rslvo" + DATABASE.incrementAndGet())
+				.username("sa").withInitScriptResource("h2/schema.sql").withInitScriptResource("h2/data.sql").build();
+		datastore = JdbcDatastore.builder().dataSource(dataSource).build();
+	}
+
+	@Test
+	public void testResolverAdded() {
+		final QueryFilter keyTwo = new KeyTwo();
+		datastore.addExpressionResolver(KeyTwo.RESOLVER);
+		assertEquals("Two", datastore.query(NAMED_TARGET).filter(keyTwo).findOne(STR1).orElse(null));
+		assertEquals("One", datastore.query(NAMED_TARGET).filter(new KeyOne()).findOne(STR1).orElse(null));
+	}
+
+	@Test
+	public void testResolverRemoved() {
+		final QueryFilter keyTwo = new KeyTwo();
+		datastore.addExpressionResolver(KeyTwo.RESOLVER);
+		assertEquals("Two", datastore.query(NAMED_TARGET).filter(keyTwo).findOne(STR1).orElse(null));
+		datastore.removeExpressionResolver(KeyTwo.RESOLVER);
+		assertThrows(DataAccessException.class, () -> datastore.query(NAMED_TARGET).filter(keyTwo).findOne(STR1));
+	}
+
+	@Test
+	public void testOperationResolver() {
+		final QueryFilter keyTwo = new KeyTwo();
+		assertEquals("Two", datastore.query(NAMED_TARGET).withExpressionResolver(KeyTwo.RESOLVER).filter(keyTwo)
+				.findOne(STR1).orElse(null));
+		// not registered in the datastore
+		assertThrows(DataAccessException.class, () -> datastore.query(NAMED_TARGET).filter(keyTwo).findOne(STR1));
+	}
+
+	@Test
+	public void testOperationResolverPriority() {
+		datastore.addExpressionResolver(KeyTwo.RESOLVER);
+		assertEquals("One", datastore.query(NAMED_TARGET).withExpressionResolver(new KeyTwoAsOne()).filter(new KeyTwo())
+				.findOne(STR1).orElse(null));
+		assertEquals("Two", datastore.query(NAMED_TARGET).filter(new KeyTwo()).findOne(STR1).orElse(null));
+	}
+
+	@SuppressWarnings("serial")
+	@Priority(10)
+	private static class KeyTwoAsOne implements ExpressionResolver<KeyTwo, QueryFilter> {
+
+		@Override
+		public Optional<QueryFilter> resolve(KeyTwo expression, ResolutionContext context)
+				throws InvalidExpressionException {
+			return Optional.of(KEY.eq(1L));
+		}
+
+		@Override
+		public Class<? extends KeyTwo> getExpressionType() {
+			return KeyTwo.class;
+		}
+
+		@Override
+		public Class<? extends QueryFilter> getResolvedType() {
+			return QueryFilter.class;
+		}
+
+	}
+
+	@SuppressWarnings("serial")
+	private static class KeyTwo implements QueryFilter {
+
+		static final ExpressionResolver<KeyTwo, QueryFilter> RESOLVER = ExpressionResolver.create(KeyTwo.class,
+				QueryFilter.class, (f, c) -> Optional.of(KEY.eq(2L)));
+
+		@Override
+		public void validate() throws InvalidExpressionException {
+		}
+
+	}
+
+}
@@ -20,6 +20,7 @@ import javax.sql.DataSource;
 import org.junit.BeforeClass;
 
 import com.holonplatform.datastore.jdbc.JdbcDatastore;
+import com.holonplatform.datastore.jdbc.composer.SQLQueryPlanCache;
 import com.holonplatform.datastore.jdbc.test.config.DatabasePlatformCommodity;
 import com.holonplatform.datastore.jdbc.test.expression.KeyIsFilter;
 import com.holonplatform.datastore.jdbc.test.suite.AbstractJdbcDatastoreTestSuite;
@@ -34,7 +35,10 @@ public class JdbcDatastoreHSQLUT extends AbstractJdbcDatastoreTestSuite {
 				.withInitScriptResource("hsql/schema.sql").withInitScriptResource("hsql/data.sql").build();
 
 		datastore = JdbcDatastore.builder().dataSource(dataSource).withCommodity(DatabasePlatformCommodity.FACTORY)
-				.withExpressionResolver(KeyIsFilter.RESOLVER).traceEnabled(true).build();
+				.withExpressionResolver(KeyIsFilter.RESOLVER).queryPlanCacheSize(SQLQueryPlanCache.DEFAULT_MAX_SIZE)
+				.traceEnabled(true).build();
+
+		bulkInsertGeneratedKeysTest = true;
 
 	}
 
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.datastore.Datastore;
+import com.holonplatform.datastore.jdbc.JdbcDatastore;
+import com.holonplatform.datastore.jdbc.composer.SQLCompositionContext;
+import com.holonplatform.datastore.jdbc.composer.SQLContext;
+import com.holonplatform.datastore.jdbc.composer.SQLContextParametersHandler;
+import com.holonplatform.datastore.jdbc.composer.expression.SQLParameter;
+import com.holonplatform.datastore.jdbc.composer.expression.SQLStatement;
+import com.holonplatform.datastore.jdbc.test.data.TestDataModel;
+import com.holonplatform.jdbc.DataSourceBuilder;
+
+public class NamedParametersUT {
+
+	private static final int PARAMETERS = 12000;
+
+	private static Datastore datastore;
+
+	@BeforeAll
+	public static void initDatastore() {
+		DataSource dataSource = DataSourceBuilder.builder().url("jdbc:h2:mem:prmdb").username("sa")
+				.withInitScriptResource("h2/schema.sql").withInitScriptResource("h2/data.sql").build();
+		datastore = JdbcDatastore.builder().dataSource(dataSource).build();
+	}
+
+	@Test
+	public void testPrepareStatement() {
+
+		final SQLCompositionContext context = SQLCompositionContext.create((SQLContext) datastore);
+
+		final StringBuilder sql = new StringBuilder("SELECT * FROM test1 WHERE keycode IN (");
+		for (long i = 1; i <= PARAMETERS; i++) {
+			if (i > 1) {
+				sql.append(",");
+			}
+			sql.append(context.addNamedParameter(SQLParameter.create(i, Long.class)));
+		}
+		sql.append(") AND '10:30' <> ").append(context.addNamedParameter(SQLParameter.create("x", String.class)));
+
+		final SQLContextParametersHandler parameters = context.getNamedParametersHandler();
+		assertEquals(PARAMETERS + 1, parameters.getNamedParameters().size());
+		assertSame(parameters.getNamedParameters(), parameters.getNamedParameters());
+
+		final SQLStatement statement = context.prepareStatement(sql.toString());
+
+		assertEquals(PARAMETERS + 1, statement.getParameters().length);
+		assertEquals(Long.valueOf(1), statement.getParameters()[0].getValue());
+		assertEquals(Long.valueOf(PARAMETERS), statement.getParameters()[PARAMETERS - 1].getValue());
+		assertEquals("x", statement.getParameters()[PARAMETERS].getValue());
+		assertEquals(PARAMETERS + 1, statement.getSql().chars().filter(c -> c == '?').count());
+		assertEquals(1, statement.getSql().split("'10:30'", -1).length - 1);
+	}
+
+	@Test
+	public void testStringLiterals() {
+
+		final SQLCompositionContext context = SQLCompositionContext.create((SQLContext) datastore);
+
+		final String parameter = context.addNamedParameter(SQLParameter.create("x", String.class));
+		final SQLStatement statement = context.prepareStatement("SELECT * FROM test1 WHERE strv <> ':[999]' AND "
+				+ "strv <> 'it''s :[1]' AND strv = " + parameter + " AND strv <> ':['");
+
+		assertEquals(1, statement.getParameters().length);
+		assertEquals("x", statement.getParameters()[0].getValue());
+		assertEquals("SELECT * FROM test1 WHERE strv <> ':[999]' AND strv <> 'it''s :[1]' AND strv = ? AND "
+				+ "strv <> ':['", statement.getSql());
+	}
+
+	@Test
+	public void testManyParameters() {
+
+		List<Long> keys = LongStream.rangeClosed(1, PARAMETERS).boxed().collect(Collectors.toList());
+
+		assertEquals(2L, datastore.query(TestDataModel.NAMED_TARGET).filter(TestDataModel.KEY.in(keys)).count());
+	}
+
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.property.PathProperty;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.datastore.jdbc.JdbcDatastore;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationEvent;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationListener;
+import com.holonplatform.datastore.jdbc.config.JdbcQueryParameters;
+import com.holonplatform.datastore.jdbc.internal.support.JdbcOperationObserver;
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DatabasePlatform;
+
+public class OperationListenerUT {
+
+	private final static String INIT_SQL = "create table testol (code bigint primary key, text varchar(100));";
+
+	private final static PathProperty<Long> CODE = PathProperty.create("code", long.class);
+	private final static PathProperty<String> TEXT = PathProperty.create("text", String.class);
+
+	private final static DataTarget<String> TARGET = DataTarget.named("testol");
+
+	private static JdbcDatastore create(String database, JdbcOperationListener... listeners) {
+		final DataSource dataSource = DataSourceBuilder.builder().url("jdbc:h2:mem:" + database).username("sa")
+				.withInitScript(INIT_SQL).build();
+		final JdbcDatastore.Builder<JdbcDatastore> builder = JdbcDatastore.builder().dataSource(dataSource)
+				.database(DatabasePlatform.H2);
+		for (JdbcOperationListener listener : listeners) {
+			builder.withOperationListener(listener);
+		}
+		return builder.build();
+	}
+
+	private static PropertyBox value(long code) {
+		return PropertyBox.builder(CODE, TEXT).set(CODE, code).set(TEXT, "v" + code).build();
+	}
+
+	@Test
+	public void testOperationLifecycle() {
+
+		final RecordingListener listener = new RecordingListener();
+		final JdbcDatastore datastore = create("oldb1", listener);
+
+		// ignore initialization
+		listener.events.clear();
+
+		datastore.insert(TARGET, value(1L));
+
+		// column order is not relevant
+		final String compositionEnd = listener.events.get(1);
+		assertTrue(compositionEnd.equals("compositionEnd:INSERT:testol:INSERT INTO testol (code, text) VALUES (?)")
+				|| compositionEnd.equals("compositionEnd:INSERT:testol:INSERT INTO testol (text, code) VALUES (?)"));
+		final String sql = compositionEnd.substring("compositionEnd:INSERT:testol:".length());
+		assertEquals("compositionStart:INSERT:testol:null", listener.events.get(0));
+		assertTrue(listener.events.contains("connectionRequest:INSERT:testol:" + sql));
+		assertTrue(listener.events.contains("connectionAcquired:INSERT:testol:" + sql));
+		assertEquals("statementStart:INSERT:testol:" + sql, listener.events.get(listener.events.size() - 2));
+		assertEquals("statementEnd:INSERT:testol:" + sql, listener.events.get(listener.events.size() - 1));
+
+		datastore.insert(TARGET, value(2L));
+		datastore.insert(TARGET, value(3L));
+		listener.events.clear();
+
+		assertEquals(3, datastore.query(TARGET).list(CODE).size());
+		assertTrue(listener.events.contains("rowsFetched:QUERY:testol:3"));
+
+		listener.events.clear();
+		assertEquals(1, datastore.query(TARGET).filter(CODE.eq(2L)).stream(TEXT).count());
+		assertTrue(listener.events.contains("rowsFetched:QUERY:testol:1"));
+	}
+
+	@Test
+	public void testStreamingRowsFetched() {
+
+		final RecordingListener listener = new RecordingListener();
+		final JdbcDatastore datastore = create("oldb4", listener);
+
+		datastore.insert(TARGET, value(1L));
+		datastore.insert(TARGET, value(2L));
+		listener.events.clear();
+
+		try (Stream<Long> stream = datastore.query(TARGET).parameter(JdbcQueryParameters.STREAMING, true)
+				.stream(CODE)) {
+			// the operation returned, but the rows are not fetched yet
+			assertFalse(listener.events.stream().anyMatch(e -> e.startsWith("rowsFetched")));
+
+			// another operation while the stream is open
+			datastore.insert(TARGET, value(3L));
+			listener.events.clear();
+
+			assertEquals(2L, stream.limit(2).count());
+		}
+		// notified on close using the query execution event
+		assertEquals(Collections.singletonList("rowsFetched:QUERY:testol:2"), listener.events);
+	}
+
+	@Test
+	public void testResultSetStatement() {
+
+		final RecordingListener listener = new RecordingListener();
+		final JdbcDatastore datastore = create("oldb5", listener);
+
+		datastore.withConnection(c -> {
+			try (PreparedStatement statement = c.prepareStatement("select code from testol")) {
+				try (ResultSet rs = statement.executeQuery()) {
+					assertSame(statement, rs.getStatement());
+				}
+			}
+			return null;
+		});
+		assertTrue(listener.events.contains("rowsFetched:OTHER:null:0"));
+	}
+
+	@Test
+	public void testTransactionLifecycle() {
+
+		final RecordingListener listener = new RecordingListener();
+		final JdbcDatastore datastore = create("oldb2", listener);
+
+		datastore.withTransaction(tx -> {
+			datastore.insert(TARGET, value(1L));
+			tx.commit();
+		});
+		assertTrue(listener.events.contains("commitStart:TRANSACTION:null:null"));
+		assertTrue(listener.events.contains("commitEnd:TRANSACTION:null:null"));
+		assertFalse(listener.events.stream().anyMatch(e -> e.startsWith("rollback")));
+
+		listener.events.clear();
+		datastore.withTransaction(tx -> {
+			datastore.insert(TARGET, value(2L));
+			tx.setRollbackOnly();
+		});
+		assertTrue(listener.events.contains("rollbackStart:TRANSACTION:null:null"));
+		assertTrue(listener.events.contains("rollbackEnd:TRANSACTION:null:null"));
+
+		assertEquals(1L, datastore.query(TARGET).count());
+	}
+
+	@Test
+	public void testFailingListener() {
+
+		final RecordingListener listener = new RecordingListener();
+		final JdbcDatastore datastore = create("oldb3", new JdbcOperationListener() {
+
+			@Override
+			public void onStatementStart(JdbcOperationEvent event) {
+				throw new IllegalStateException("Listener failure");
+			}
+
+		}, listener);
+
+		datastore.insert(TARGET, value(1L));
+		assertEquals(1L, datastore.query(TARGET).count());
+		assertTrue(listener.events.stream().anyMatch(e -> e.startsWith("statementEnd:INSERT")));
+
+		datastore.removeOperationListener(listener);
+		listener.events.clear();
+		datastore.insert(TARGET, value(2L));
+		assertTrue(listener.events.isEmpty());
+	}
+
+	@Test
+	public void testFingerprint() {
+		assertEquals("select * from t1 where a = ? and b in (?) and c=?", JdbcOperationObserver
+				.fingerprint("select *  from t1\n where a = 'x''y' and b in (1, 2,3) -- comment\n and c=1.5"));
+		assertEquals("insert into t (a, b) values (?)",
+				JdbcOperationObserver.fingerprint("insert into t (a,b) values (?,?), (?, ?) /* rows */"));
+		assertEquals("select \"a 1\" from t where x=?",
+				JdbcOperationObserver.fingerprint("select \"a 1\" from t where x=10"));
+	}
+
+	private static final class RecordingListener implements JdbcOperationListener {
+
+		final List<String> events = new CopyOnWriteArrayList<>();
+
+		private void record(String name, JdbcOperationEvent event) {
+			events.add(name + ":" + event.getOperationType() + ":" + event.getTarget().orElse(null) + ":"
+					+ event.getSqlFingerprint().orElse(null));
+		}
+
+		@Override
+		public void onCompositionStart(JdbcOperationEvent event) {
+			record("compositionStart", event);
+		}
+
+		@Override
+		public void onCompositionEnd(JdbcOperationEvent event) {
+			record("compositionEnd", event);
+		}
+
+		@Override
+		public void onConnectionRequest(JdbcOperationEvent event) {
+			record("connectionRequest", event);
+		}
+
+		@Override
+		public void onConnectionAcquired(JdbcOperationEvent event) {
+			record("connectionAcquired", event);
+		}
+
+		@Override
+		public void onStatementStart(JdbcOperationEvent event) {
+			record("statementStart", event);
+		}
+
+		@Override
+		public void onStatementEnd(JdbcOperationEvent event) {
+			record("statementEnd", event);
+		}
+
+		@Override
+		public void onRowsFetched(JdbcOperationEvent event, long rowCount) {
+			events.add("rowsFetched:" + event.getOperationType() + ":" + event.getTarget().orElse(null) + ":"
+					+ rowCount);
+		}
+
+		@Override
+		public void onCommitStart(JdbcOperationEvent event) {
+			record("commitStart", event);
+		}
+
+		@Override
+		public void onCommitEnd(JdbcOperationEvent event) {
+			record("commitEnd", event);
+		}
+
+		@Override
+		public void onRollbackStart(JdbcOperationEvent event) {
+			record("rollbackStart", event);
+		}
+
+		@Override
+		public void onRollbackEnd(JdbcOperationEvent event) {
+			record("rollbackEnd", event);
+		}
+
+	}
+
+}
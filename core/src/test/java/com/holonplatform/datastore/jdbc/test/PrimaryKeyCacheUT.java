@@ -0,0 +1,193 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.property.PathProperty;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.datastore.jdbc.JdbcDatastore;
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.JdbcConnectionHandler;
+
+public class PrimaryKeyCacheUT {
+
+	private final static String INIT_SQL = "create table testpk1 (code bigint primary key, text varchar(100)); "
+			+ "create table testpk2 (code bigint primary key, text varchar(100)); "
+			+ "create table testpk3 (code bigint primary key, text varchar(100));";
+
+	private final static PathProperty<Long> CODE = PathProperty.create("code", long.class);
+	private final static PathProperty<String> TEXT = PathProperty.create("text", String.class);
+
+	private final static DataTarget<String> TARGET1 = DataTarget.named("testpk1");
+	private final static DataTarget<String> TARGET2 = DataTarget.named("testpk2");
+	private final static DataTarget<String> TARGET3 = DataTarget.named("testpk3");
+
+	private final static AtomicInteger METADATA_CALLS = new AtomicInteger();
+
+	@BeforeEach
+	public void resetCount() {
+		METADATA_CALLS.set(0);
+	}
+
+	private static JdbcDatastore.Builder<JdbcDatastore> builder(String database) {
+		final DataSource dataSource = DataSourceBuilder.builder().url("jdbc:h2:mem:" + database).username("sa")
+				.withInitScript(INIT_SQL).build();
+		final JdbcConnectionHandler handler = JdbcConnectionHandler.create();
+		return JdbcDatastore.builder().dataSource(dataSource).connectionHandler(new JdbcConnectionHandler() {
+
+			@Override
+			public Connection getConnection(DataSource dataSource, ConnectionType connectionType)
+					throws SQLException {
+				return countMetadata(handler.getConnection(dataSource, connectionType));
+			}
+
+			@Override
+			public void releaseConnection(Connection connection, DataSource dataSource,
+					ConnectionType connectionType) throws SQLException {
+				handler.releaseConnection(connection, dataSource, connectionType);
+			}
+
+		});
+	}
+
+	private static Connection countMetadata(Connection connection) {
+		return (Connection) Proxy.newProxyInstance(PrimaryKeyCacheUT.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+					try {
+						final Object result = method.invoke(connection, args);
+						if (method.getName().equals("getMetaData")) {
+							return countCalls((DatabaseMetaData) result);
+						}
+						return result;
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+				});
+	}
+
+	private static DatabaseMetaData countCalls(DatabaseMetaData metadata) {
+		return (DatabaseMetaData) Proxy.newProxyInstance(PrimaryKeyCacheUT.class.getClassLoader(),
+				new Class<?>[] { DatabaseMetaData.class }, (proxy, method, args) -> {
+					if (method.getName().equals("getPrimaryKeys") || method.getName().equals("getColumns")) {
+						METADATA_CALLS.incrementAndGet();
+					}
+					try {
+						return method.invoke(metadata, args);
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+				});
+	}
+
+	private static void save(JdbcDatastore datastore, DataTarget<?> target, long code) {
+		datastore.save(target, PropertyBox.builder(CODE, TEXT).set(CODE, code).set(TEXT, "v" + code).build());
+	}
+
+	@Test
+	public void testPrimaryKeyCache() {
+
+		final JdbcDatastore datastore = builder("pkc1").build();
+
+		save(datastore, TARGET1, 1L);
+		assertEquals(2, METADATA_CALLS.get());
+
+		save(datastore, TARGET1, 1L);
+		save(datastore, TARGET1, 2L);
+		assertEquals(2, METADATA_CALLS.get());
+
+		save(datastore, TARGET2, 1L);
+		assertEquals(4, METADATA_CALLS.get());
+
+		datastore.invalidatePrimaryKeys("testpk1");
+		save(datastore, TARGET2, 2L);
+		assertEquals(4, METADATA_CALLS.get());
+		save(datastore, TARGET1, 3L);
+		assertEquals(6, METADATA_CALLS.get());
+
+		datastore.invalidatePrimaryKeys();
+		save(datastore, TARGET1, 4L);
+		save(datastore, TARGET2, 3L);
+		assertEquals(10, METADATA_CALLS.get());
+
+		assertEquals(4L, datastore.query(TARGET1).count());
+
+		assertThrows(IllegalArgumentException.class, () -> JdbcDatastore.builder().primaryKeyCacheSize(-1));
+	}
+
+	@Test
+	public void testPreloadPrimaryKeys() {
+
+		final JdbcDatastore datastore = builder("pkc2").preloadPrimaryKeys(true).build();
+
+		METADATA_CALLS.set(0);
+
+		save(datastore, TARGET1, 1L);
+		save(datastore, TARGET2, 1L);
+		save(datastore, TARGET3, 1L);
+		save(datastore, TARGET3, 1L);
+
+		assertEquals(0, METADATA_CALLS.get());
+		assertEquals(1L, datastore.query(TARGET3).count());
+	}
+
+	@Test
+	public void testConcurrentAccess() throws Exception {
+
+		final JdbcDatastore datastore = builder("pkc3").primaryKeyCacheSize(1).build();
+
+		final DataTarget<?>[] targets = new DataTarget<?>[] { TARGET1, TARGET2, TARGET3 };
+
+		final ExecutorService executor = Executors.newFixedThreadPool(6);
+		try {
+			final List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < 60; i++) {
+				final int index = i;
+				futures.add(executor.submit(() -> save(datastore, targets[index % 3], index)));
+			}
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(20L, datastore.query(TARGET1).count());
+		assertEquals(20L, datastore.query(TARGET2).count());
+		assertEquals(20L, datastore.query(TARGET3).count());
+	}
+
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.TypedExpression;
+import com.holonplatform.core.property.PathProperty;
+import com.holonplatform.core.property.PropertyValueConverter;
+import com.holonplatform.datastore.jdbc.JdbcDatastore;
+import com.holonplatform.datastore.jdbc.composer.SQLContext;
+import com.holonplatform.datastore.jdbc.composer.SQLExecutionContext;
+import com.holonplatform.datastore.jdbc.composer.SQLResult;
+import com.holonplatform.datastore.jdbc.composer.SQLValueDeserializer;
+import com.holonplatform.datastore.jdbc.internal.support.ResultSetSQLResult;
+import com.holonplatform.datastore.jdbc.test.data.TestEnum;
+import com.holonplatform.jdbc.DataSourceBuilder;
+
+public class ResultValueReaderUT {
+
+	private final static String INIT_SQL = "create table testvr (code bigint primary key, num integer, "
+			+ "text varchar(100), amount decimal(10,2), flag boolean, dt date, ts timestamp(9)); "
+			+ "INSERT INTO testvr VALUES (1, 10, 'One', 1.50, true, '2020-03-04', '2020-03-04 10:11:12.123456789'); "
+			+ "INSERT INTO testvr VALUES (2, null, null, null, null, null, null);";
+
+	private final static PathProperty<Long> CODE = PathProperty.create("code", long.class);
+	private final static PathProperty<Long> NUM = PathProperty.create("num", Long.class);
+	private final static PathProperty<String> TEXT = PathProperty.create("text", String.class);
+	private final static PathProperty<BigDecimal> AMOUNT = PathProperty.create("amount", BigDecimal.class);
+	private final static PathProperty<Boolean> FLAG = PathProperty.create("flag", Boolean.class);
+	private final static PathProperty<LocalDate> DAY = PathProperty.create("dt", LocalDate.class);
+	private final static PathProperty<LocalDateTime> TS = PathProperty.create("ts", LocalDateTime.class);
+	private final static PathProperty<Boolean> NUM_FLAG = PathProperty.create("num", Boolean.class)
+			.converter(PropertyValueConverter.numericBoolean(Integer.class));
+
+	private static JdbcDatastore datastore;
+	private static Connection connection;
+
+	@BeforeAll
+	public static void initDatastore() throws SQLException {
+		DataSource dataSource = DataSourceBuilder.builder().url("jdbc:h2:mem:vrdb").username("sa")
+				.withInitScript(INIT_SQL).build();
+		datastore = JdbcDatastore.builder().dataSource(dataSource).build();
+		connection = DriverManager.getConnection("jdbc:h2:mem:vrdb", "sa", "");
+	}
+
+	@AfterAll
+	public static void closeConnection() throws SQLException {
+		connection.close();
+	}
+
+	@Test
+	public void testConversionDispatch() throws SQLException {
+
+		final SQLValueDeserializer deserializer = SQLValueDeserializer.getDefault();
+
+		// number conversions, the same type pair more than once
+		assertEquals(Long.valueOf(3), deserializer.deserialize(null, NUM, Integer.valueOf(3)));
+		assertEquals(Long.valueOf(4), deserializer.deserialize(null, NUM, Integer.valueOf(4)));
+		assertEquals(Integer.valueOf(5),
+				deserializer.deserialize(null, PathProperty.create("x", Integer.class), Long.valueOf(5)));
+		assertEquals(new BigDecimal("1.5"), deserializer.deserialize(null, AMOUNT, Double.valueOf(1.5)));
+
+		// same value type, different target types
+		final Timestamp ts = Timestamp.valueOf("2020-03-04 10:11:12.123456789");
+		assertEquals(LocalDateTime.of(2020, 3, 4, 10, 11, 12, 123456789), deserializer.deserialize(null, TS, ts));
+		assertEquals(LocalDate.of(2020, 3, 4), deserializer.deserialize(null, DAY, ts));
+		assertEquals(ts.getTime(),
+				deserializer.deserialize(null, PathProperty.create("x", java.util.Date.class), ts).getTime());
+
+		assertEquals(java.sql.Date.valueOf("2020-03-04"), deserializer
+				.deserialize(null, PathProperty.create("x", java.sql.Date.class), LocalDate.of(2020, 3, 4)));
+
+		// enums
+		assertEquals(TestEnum.SECOND,
+				deserializer.deserialize(null, PathProperty.create("x", TestEnum.class), Integer.valueOf(1)));
+		assertEquals(TestEnum.THIRD,
+				deserializer.deserialize(null, PathProperty.create("x", TestEnum.class), "THIRD"));
+
+		// streams
+		assertTrue(deserializer.deserialize(null, PathProperty.create("x", Reader.class), "txt") instanceof Reader);
+		assertTrue(deserializer.deserialize(null, PathProperty.create("x", InputStream.class),
+				new byte[] { 1 }) instanceof InputStream);
+
+		// identity
+		assertEquals("One", deserializer.deserialize(null, TEXT, "One"));
+
+		// converter
+		assertEquals(Boolean.TRUE, deserializer.deserialize(null, NUM_FLAG, Integer.valueOf(1)));
+		assertEquals(Boolean.FALSE, deserializer.deserialize(null, NUM_FLAG, Integer.valueOf(0)));
+
+		// no conversion available
+		assertThrows(SQLException.class, () -> deserializer.deserialize(null, DAY, "2020-03-04"));
+	}
+
+	@Test
+	public void testTypedReaders() throws SQLException {
+		assumeFalse(SQLValueDeserializer.getDefault().hasValueProcessors());
+
+		final List<String> calls = new ArrayList<>();
+		final List<Object[]> rows = read(SQLExecutionContext.create((SQLContext) datastore), calls);
+
+		assertEquals(2, rows.size());
+
+		assertEquals(Long.valueOf(1), rows.get(0)[0]);
+		assertEquals(Long.valueOf(10), rows.get(0)[1]);
+		assertEquals("One", rows.get(0)[2]);
+		assertEquals(new BigDecimal("1.50"), rows.get(0)[3]);
+		assertEquals(Boolean.TRUE, rows.get(0)[4]);
+		assertEquals(LocalDate.of(2020, 3, 4), rows.get(0)[5]);
+		assertEquals(LocalDateTime.of(2020, 3, 4, 10, 11, 12, 123456789), rows.get(0)[6]);
+		assertEquals(Boolean.TRUE, rows.get(0)[7]);
+
+		assertEquals(Long.valueOf(2), rows.get(1)[0]);
+		for (int i = 1; i < 8; i++) {
+			assertNull(rows.get(1)[i]);
+		}
+
+		// only the column with a converter is read as an object
+		assertTrue(calls.contains("getLong"));
+		assertTrue(calls.contains("getString"));
+		assertTrue(calls.contains("getBigDecimal"));
+		assertTrue(calls.contains("getBoolean"));
+		assertEquals(4, calls.stream().filter(c -> c.equals("getObject(type)")).count());
+		assertEquals(2, calls.stream().filter(c -> c.equals("getObject")).count());
+	}
+
+	@Test
+	public void testValueProcessors() throws SQLException {
+
+		final SQLExecutionContext context = SQLExecutionContext.create((SQLContext) datastore);
+
+		// a deserializer which may have value processors gets the raw values
+		final SQLValueDeserializer deserializer = new SQLValueDeserializer() {
+
+			@Override
+			public <T> T deserialize(SQLExecutionContext ctx, TypedExpression<T> expression, Object value)
+					throws SQLException {
+				return SQLValueDeserializer.getDefault().deserialize(ctx, expression, value);
+			}
+
+			@Override
+			public void addValueProcessor(ValueProcessor valueProcessor) {
+				SQLValueDeserializer.getDefault().addValueProcessor(valueProcessor);
+			}
+
+		};
+
+		final List<String> calls = new ArrayList<>();
+		final List<Object[]> rows = read((SQLExecutionContext) Proxy.newProxyInstance(
+				ResultValueReaderUT.class.getClassLoader(), new Class<?>[] { SQLExecutionContext.class },
+				(proxy, method, args) -> {
+					if (method.getName().equals("getValueDeserializer")) {
+						return deserializer;
+					}
+					try {
+						return method.invoke(context, args);
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+				}), calls);
+
+		assertEquals(LocalDateTime.of(2020, 3, 4, 10, 11, 12, 123456789), rows.get(0)[6]);
+		assertFalse(calls.contains("getLong"));
+		assertEquals(16, calls.stream().filter(c -> c.equals("getObject")).count());
+		assertFalse(calls.contains("getObject(type)"));
+	}
+
+	private static List<Object[]> read(SQLExecutionContext context, List<String> calls) throws SQLException {
+		final PathProperty<?>[] expressions = new PathProperty<?>[] { CODE, NUM, TEXT, AMOUNT, FLAG, DAY, TS,
+				NUM_FLAG };
+		final List<Object[]> rows = new ArrayList<>();
+		try (Statement statement = connection.createStatement();
+				ResultSet resultSet = record(statement.executeQuery(
+						"SELECT code, num, text, amount, flag, dt, ts, num AS nf FROM testvr ORDER BY code"),
+						calls)) {
+			final SQLResult result = ResultSetSQLResult.of(resultSet);
+			while (resultSet.next()) {
+				final Object[] row = new Object[expressions.length];
+				for (int i = 0; i < expressions.length - 1; i++) {
+					row[i] = result.getValue(context, expressions[i], expressions[i].getName());
+				}
+				row[expressions.length - 1] = result.getValue(context, NUM_FLAG, "nf");
+				rows.add(row);
+			}
+		}
+		return rows;
+	}
+
+	private static ResultSet record(ResultSet resultSet, List<String> calls) {
+		return (ResultSet) Proxy.newProxyInstance(ResultValueReaderUT.class.getClassLoader(),
+				new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+					if (method.getName().startsWith("get") && args != null && args.length > 0
+							&& args[0] instanceof Integer) {
+						calls.add(method.getName() + ((args.length > 1) ? "(type)" : ""));
+					}
+					try {
+						return method.invoke(resultSet, args);
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+				});
+	}
+
+}
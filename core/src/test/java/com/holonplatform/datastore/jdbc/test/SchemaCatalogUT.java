@@ -0,0 +1,234 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.property.PathProperty;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.datastore.jdbc.JdbcDatastore;
+import com.holonplatform.datastore.jdbc.composer.dialect.H2Dialect;
+import com.holonplatform.datastore.jdbc.composer.dialect.HSQLDialect;
+import com.holonplatform.datastore.jdbc.internal.DefaultJdbcDatastore;
+import com.holonplatform.datastore.jdbc.internal.support.SchemaCatalog;
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DatabasePlatform;
+import com.holonplatform.jdbc.JdbcConnectionHandler;
+
+public class SchemaCatalogUT {
+
+	private final static String INIT_SQL = "create table testsc1 (code bigint primary key, text varchar(100)); "
+			+ "create table testsc2 (id1 bigint, id2 varchar(10), text varchar(100), primary key (id1, id2));";
+
+	private final static PathProperty<Long> CODE = PathProperty.create("code", long.class);
+	private final static PathProperty<String> TEXT = PathProperty.create("text", String.class);
+
+	private final static DataTarget<String> TARGET = DataTarget.named("testsc1");
+
+	@TempDir
+	Path directory;
+
+	private static JdbcDatastore.Builder<JdbcDatastore> builder(DataSource dataSource, AtomicInteger metadataCalls) {
+		final JdbcConnectionHandler handler = JdbcConnectionHandler.create();
+		return JdbcDatastore.builder().dataSource(dataSource).connectionHandler(new JdbcConnectionHandler() {
+
+			@Override
+			public Connection getConnection(DataSource dataSource, ConnectionType connectionType)
+					throws SQLException {
+				final Connection connection = handler.getConnection(dataSource, connectionType);
+				return (Connection) Proxy.newProxyInstance(SchemaCatalogUT.class.getClassLoader(),
+						new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+							if (method.getName().equals("getMetaData")) {
+								metadataCalls.incrementAndGet();
+							}
+							try {
+								return method.invoke(connection, args);
+							} catch (InvocationTargetException e) {
+								throw e.getCause();
+							}
+						});
+			}
+
+			@Override
+			public void releaseConnection(Connection connection, DataSource dataSource,
+					ConnectionType connectionType) throws SQLException {
+				handler.releaseConnection(connection, dataSource, connectionType);
+			}
+
+		});
+	}
+
+	@Test
+	public void testSchemaCatalog() throws Exception {
+
+		final DataSource dataSource = DataSourceBuilder.builder().url("jdbc:h2:mem:sctest1").username("sa")
+				.withInitScript(INIT_SQL).build();
+		final Path file = directory.resolve("catalog.properties");
+
+		final AtomicInteger metadataCalls = new AtomicInteger();
+
+		// create
+		JdbcDatastore datastore = builder(dataSource, metadataCalls).schemaCatalog(file).build();
+		assertTrue(Files.isRegularFile(file));
+		assertTrue(metadataCalls.get() > 0);
+
+		final SchemaCatalog catalog = SchemaCatalog.load(file).orElse(null);
+		assertEquals(DatabasePlatform.H2, catalog.getPlatform());
+		assertEquals("jdbc:h2:mem:sctest1", catalog.getUrl());
+		assertEquals("PUBLIC", catalog.getSchema());
+		assertTrue(catalog.isMetadataReplayable());
+		assertEquals(2, catalog.getTables().size());
+		assertEquals(1, catalog.getTables().get("TESTSC1").getPrimaryKey().size());
+		assertEquals("ID1", catalog.getTables().get("TESTSC2").getPrimaryKey().get(0));
+		assertEquals("ID2", catalog.getTables().get("TESTSC2").getPrimaryKey().get(1));
+		assertEquals(3, catalog.getTables().get("TESTSC2").getColumns().size());
+
+		// load
+		metadataCalls.set(0);
+		datastore = builder(dataSource, metadataCalls).schemaCatalog(file).verifySchemaCatalog(false).build();
+		assertTrue(((DefaultJdbcDatastore) datastore).getDialect() instanceof H2Dialect);
+
+		datastore.save(TARGET, PropertyBox.builder(CODE, TEXT).set(CODE, 1L).set(TEXT, "v1").build());
+		datastore.save(TARGET, PropertyBox.builder(CODE, TEXT).set(CODE, 1L).set(TEXT, "v2").build());
+		// only the database URL check
+		assertEquals(1, metadataCalls.get());
+		assertEquals("v2", datastore.query(TARGET).findOne(TEXT).orElse(null));
+
+		// verify
+		datastore = builder(dataSource, metadataCalls).schemaCatalog(file).build();
+		assertTrue(((DefaultJdbcDatastore) datastore).getSchemaCatalogVerification().get().get(30, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testSchemaCatalogUpdate() throws Exception {
+
+		final DataSource dataSource = DataSourceBuilder.builder().url("jdbc:h2:mem:sctest2").username("sa")
+				.withInitScript(INIT_SQL).build();
+		final Path file = directory.resolve("catalog.properties");
+
+		JdbcDatastore datastore = builder(dataSource, new AtomicInteger()).schemaCatalog(file).build();
+		final String checksum = SchemaCatalog.load(file).get().getChecksum();
+
+		try (Connection c = dataSource.getConnection()) {
+			c.createStatement().execute("create table testsc3 (code bigint primary key, text varchar(100))");
+		}
+
+		datastore = builder(dataSource, new AtomicInteger()).schemaCatalog(file).build();
+		assertFalse(((DefaultJdbcDatastore) datastore).getSchemaCatalogVerification().get().get(30, TimeUnit.SECONDS));
+
+		final SchemaCatalog catalog = SchemaCatalog.load(file).get();
+		assertFalse(checksum.equals(catalog.getChecksum()));
+		assertTrue(catalog.getTables().containsKey("TESTSC3"));
+
+		datastore.save(DataTarget.named("testsc3"),
+				PropertyBox.builder(CODE, TEXT).set(CODE, 1L).set(TEXT, "v1").build());
+		assertEquals(1L, datastore.query(DataTarget.named("testsc3")).count());
+
+		// invalid file
+		Files.write(file, "invalid".getBytes());
+		datastore = builder(dataSource, new AtomicInteger()).schemaCatalog(file).build();
+		assertTrue(SchemaCatalog.load(file).isPresent());
+	}
+
+	@Test
+	public void testSchemaCatalogSource() throws Exception {
+
+		final Path file = directory.resolve("catalog.properties");
+
+		builder(DataSourceBuilder.builder().url("jdbc:h2:mem:sctest3").username("sa").withInitScript(INIT_SQL)
+				.build(), new AtomicInteger()).schemaCatalog(file).build();
+		assertEquals(DatabasePlatform.H2, SchemaCatalog.load(file).get().getPlatform());
+
+		// same file, different database
+		final JdbcDatastore datastore = builder(DataSourceBuilder.builder().url("jdbc:hsqldb:mem:sctest3")
+				.username("sa").withInitScript(INIT_SQL).build(), new AtomicInteger()).schemaCatalog(file).build();
+
+		assertTrue(((DefaultJdbcDatastore) datastore).getDialect() instanceof HSQLDialect);
+		assertFalse(((DefaultJdbcDatastore) datastore).getSchemaCatalogVerification().isPresent());
+
+		final SchemaCatalog catalog = SchemaCatalog.load(file).get();
+		assertEquals(DatabasePlatform.HSQL, catalog.getPlatform());
+		assertEquals("jdbc:hsqldb:mem:sctest3", catalog.getUrl());
+
+		datastore.save(TARGET, PropertyBox.builder(CODE, TEXT).set(CODE, 1L).set(TEXT, "v1").build());
+		assertEquals("v1", datastore.query(TARGET).findOne(TEXT).orElse(null));
+	}
+
+	@Test
+	public void testSchemaCatalogUrlPassword() throws Exception {
+
+		final DataSource dataSource = DataSourceBuilder.builder().url("jdbc:h2:mem:sctest4").username("sa")
+				.withInitScript(INIT_SQL).build();
+		final Path file = directory.resolve("catalog.properties");
+
+		try (Connection connection = dataSource.getConnection()) {
+			final Connection withPassword = withURL(connection, "jdbc:h2:mem:sctest4;USER=sa;PASSWORD=secret");
+			SchemaCatalog.read(withPassword, DatabasePlatform.H2, null).store(file);
+
+			final SchemaCatalog catalog = SchemaCatalog.load(file).get();
+			assertEquals("jdbc:h2:mem:sctest4;USER=sa;PASSWORD=***", catalog.getUrl());
+			assertFalse(new String(Files.readAllBytes(file)).contains("secret"));
+
+			assertTrue(catalog.isSource(withPassword));
+			assertTrue(catalog.isSource(withURL(connection, "jdbc:h2:mem:sctest4;USER=sa;PASSWORD=other")));
+			assertFalse(catalog.isSource(connection));
+		}
+	}
+
+	private static Connection withURL(Connection connection, String url) {
+		return (Connection) Proxy.newProxyInstance(SchemaCatalogUT.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+					try {
+						if (method.getName().equals("getMetaData")) {
+							final DatabaseMetaData metadata = connection.getMetaData();
+							return Proxy.newProxyInstance(SchemaCatalogUT.class.getClassLoader(),
+									new Class<?>[] { DatabaseMetaData.class }, (p, m, a) -> {
+										if (m.getName().equals("getURL")) {
+											return url;
+										}
+										try {
+											return m.invoke(metadata, a);
+										} catch (InvocationTargetException e) {
+											throw e.getCause();
+										}
+									});
+						}
+						return method.invoke(connection, args);
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+				});
+	}
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.property.PathProperty;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.datastore.jdbc.JdbcDatastore;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationEvent.OperationType;
+import com.holonplatform.datastore.jdbc.config.JdbcSlowOperationLog;
+import com.holonplatform.datastore.jdbc.config.JdbcSlowOperationLog.SlowOperation;
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DatabasePlatform;
+
+public class SlowOperationLogUT {
+
+	private final static String INIT_SQL = "create table testsol (code bigint primary key, text varchar(100));";
+
+	private final static PathProperty<Long> CODE = PathProperty.create("code", long.class);
+	private final static PathProperty<String> TEXT = PathProperty.create("text", String.class);
+
+	private final static DataTarget<String> TARGET = DataTarget.named("testsol");
+
+	private static JdbcDatastore create(String database, JdbcSlowOperationLog log) {
+		final DataSource dataSource = DataSourceBuilder.builder().url("jdbc:h2:mem:" + database).username("sa")
+				.withInitScript(INIT_SQL).build();
+		return JdbcDatastore.builder().dataSource(dataSource).database(DatabasePlatform.H2).withOperationListener(log)
+				.build();
+	}
+
+	private static PropertyBox value(long code, String text) {
+		return PropertyBox.builder(CODE, TEXT).set(CODE, code).set(TEXT, text).build();
+	}
+
+	private static List<SlowOperation> of(List<SlowOperation> operations, OperationType type) {
+		return operations.stream().filter(o -> o.getOperationType() == type).collect(Collectors.toList());
+	}
+
+	@Test
+	public void testSlowOperations() {
+
+		final List<SlowOperation> operations = new CopyOnWriteArrayList<>();
+		final JdbcDatastore datastore = create("soldb1",
+				JdbcSlowOperationLog.builder().threshold(Duration.ZERO).maxParameterLength(5).handler(operations::add)
+						.build());
+
+		datastore.insert(TARGET, value(1L, "v1"));
+		datastore.insert(TARGET, value(2L, "a long value"));
+
+		final List<SlowOperation> inserts = of(operations, OperationType.INSERT);
+		assertEquals(2, inserts.size());
+		assertTrue(inserts.get(0).getSql().startsWith("INSERT INTO testsol ("));
+		assertEquals(2, inserts.get(0).getParameters().size());
+		assertTrue(inserts.get(0).getParameters().containsAll(Arrays.asList("1", "v1")));
+		assertTrue(inserts.get(1).getParameters().containsAll(Arrays.asList("2", "a lon...")));
+		assertEquals(1L, inserts.get(0).getRowCount().getAsLong());
+		assertEquals("testsol", inserts.get(0).getTarget().orElse(null));
+		assertFalse(inserts.get(0).getExecutionPlan().isPresent());
+
+		operations.clear();
+		assertEquals(2, datastore.query(TARGET).list(CODE).size());
+		final List<SlowOperation> queries = of(operations, OperationType.QUERY);
+		assertEquals(1, queries.size());
+		assertEquals(2L, queries.get(0).getRowCount().getAsLong());
+		assertTrue(queries.get(0).toString().startsWith("Slow QUERY operation on [testsol]"));
+	}
+
+	@Test
+	public void testThresholdAndRedaction() {
+
+		final List<SlowOperation> operations = new CopyOnWriteArrayList<>();
+		final JdbcDatastore datastore = create("soldb2", JdbcSlowOperationLog.builder()
+				.threshold(Duration.ofHours(1)).redactParameters(true).handler(operations::add).build());
+
+		datastore.insert(TARGET, value(1L, "v1"));
+		assertTrue(operations.isEmpty());
+
+		final List<SlowOperation> redacted = new CopyOnWriteArrayList<>();
+		final JdbcDatastore datastore2 = create("soldb3", JdbcSlowOperationLog.builder().threshold(Duration.ZERO)
+				.redactParameters(true).handler(redacted::add).build());
+		datastore2.insert(TARGET, value(1L, "secret"));
+		assertEquals(Arrays.asList("***", "***"), of(redacted, OperationType.INSERT).get(0).getParameters());
+	}
+
+	@Test
+	public void testExplain() {
+
+		final List<SlowOperation> operations = new CopyOnWriteArrayList<>();
+		final JdbcDatastore datastore = create("soldb4", JdbcSlowOperationLog.builder().threshold(Duration.ZERO)
+				.explain(true).explainExecutor(Runnable::run).handler(operations::add).build());
+
+		datastore.insert(TARGET, value(1L, "v1"));
+		operations.clear();
+
+		assertEquals(1, datastore.query(TARGET).filter(CODE.eq(1L)).list(TEXT).size());
+		final List<SlowOperation> queries = of(operations, OperationType.QUERY);
+		assertEquals(1, queries.size());
+		assertTrue(queries.get(0).getExecutionPlan().isPresent());
+		assertTrue(queries.get(0).getExecutionPlan().get().toUpperCase().contains("TESTSOL"));
+
+		// explained at most once in the explain interval
+		operations.clear();
+		datastore.query(TARGET).filter(CODE.eq(1L)).list(TEXT);
+		assertEquals(1, of(operations, OperationType.QUERY).size());
+		assertFalse(of(operations, OperationType.QUERY).get(0).getExecutionPlan().isPresent());
+	}
+
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.property.PathProperty;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.datastore.jdbc.JdbcDatastore;
+import com.holonplatform.datastore.jdbc.config.JdbcQueryParameters;
+import com.holonplatform.datastore.jdbc.internal.support.PreparedStatementCache;
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.JdbcConnectionHandler;
+
+public class StatementCacheUT {
+
+	private final static String INIT_SQL = "create table testsc (code bigint primary key, text varchar(100) not null); INSERT INTO testsc VALUES (1, 'One');";
+
+	private final static PathProperty<Long> CODE = PathProperty.create("code", long.class);
+	private final static PathProperty<String> TEXT = PathProperty.create("text", String.class);
+
+	private final static DataTarget<String> TARGET = DataTarget.named("testsc");
+
+	private final static AtomicInteger PREPARED = new AtomicInteger();
+
+	private static JdbcDatastore datastore;
+
+	@BeforeAll
+	public static void initDatastore() {
+
+		DataSource dataSource = DataSourceBuilder.builder().url("jdbc:h2:mem:scdb").username("sa")
+				.withInitScript(INIT_SQL).build();
+
+		final JdbcConnectionHandler handler = JdbcConnectionHandler.create();
+
+		datastore = JdbcDatastore.builder().dataSource(dataSource).statementCacheSize(10)
+				.connectionHandler(new JdbcConnectionHandler() {
+
+					@Override
+					public Connection getConnection(DataSource dataSource, ConnectionType connectionType)
+							throws SQLException {
+						return countPrepare(handler.getConnection(dataSource, connectionType));
+					}
+
+					@Override
+					public void releaseConnection(Connection connection, DataSource dataSource,
+							ConnectionType connectionType) throws SQLException {
+						handler.releaseConnection(connection, dataSource, connectionType);
+					}
+
+				}).build();
+	}
+
+	private static Connection countPrepare(Connection connection) {
+		return (Connection) Proxy.newProxyInstance(StatementCacheUT.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+					if (method.getName().equals("prepareStatement")) {
+						PREPARED.incrementAndGet();
+					}
+					try {
+						return method.invoke(connection, args);
+					} catch (InvocationTargetException e) {
+						throw e.getCause();
+					}
+				});
+	}
+
+	@BeforeEach
+	public void resetCount() {
+		PREPARED.set(0);
+	}
+
+	@Test
+	public void testStatementCache() {
+
+		// not cached without a bound connection
+		datastore.query(TARGET).filter(CODE.eq(1L)).findOne(TEXT);
+		datastore.query(TARGET).filter(CODE.eq(1L)).findOne(TEXT);
+		assertEquals(2, PREPARED.get());
+
+		PREPARED.set(0);
+
+		datastore.withTransaction(tx -> {
+			for (long code = 2; code <= 5; code++) {
+				datastore.insert(TARGET, PropertyBox.builder(CODE, TEXT).set(CODE, code).set(TEXT, "v" + code).build());
+			}
+			for (long code = 1; code <= 5; code++) {
+				assertTrue(datastore.query(TARGET).filter(CODE.eq(code)).findOne(TEXT).isPresent());
+			}
+			assertEquals("v3", datastore.query(TARGET).filter(CODE.eq(3L)).findOne(TEXT).orElse(null));
+			tx.rollback();
+		});
+
+		assertEquals(2, PREPARED.get());
+		assertEquals(1L, datastore.query(TARGET).count());
+
+		// save runs more than one statement using the same connection
+		PREPARED.set(0);
+		datastore.save(TARGET, PropertyBox.builder(CODE, TEXT).set(CODE, 1L).set(TEXT, "One").build());
+		datastore.save(TARGET, PropertyBox.builder(CODE, TEXT).set(CODE, 1L).set(TEXT, "One").build());
+		assertEquals(4, PREPARED.get());
+
+	}
+
+	@Test
+	public void testNestedStatements() {
+
+		datastore.withTransaction(tx -> {
+
+			try (Stream<String> values = datastore.query(TARGET).parameter(JdbcQueryParameters.STREAMING, true)
+					.filter(CODE.eq(1L)).stream(TEXT)) {
+				// same SQL while the previous statement is still open
+				assertEquals("One", datastore.query(TARGET).filter(CODE.eq(1L)).findOne(TEXT).orElse(null));
+				assertEquals("One", values.findFirst().orElse(null));
+			}
+
+			assertEquals("One", datastore.query(TARGET).filter(CODE.eq(1L)).findOne(TEXT).orElse(null));
+
+		});
+
+		assertEquals(2, PREPARED.get());
+
+		assertThrows(IllegalArgumentException.class,
+				() -> JdbcDatastore.builder().statementCacheSize(-1));
+	}
+
+	@Test
+	public void testStatementReset() throws SQLException {
+
+		try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:scdb", "sa", "");
+				PreparedStatementCache cache = new PreparedStatementCache(connection, 10)) {
+
+			final String sql = "INSERT INTO testsc VALUES (?, ?)";
+
+			PreparedStatement statement = cache.prepareStatement(sql);
+			final int fetchSize = statement.getFetchSize();
+			statement.setFetchSize(5);
+			statement.setMaxRows(10);
+			statement.setQueryTimeout(10);
+			statement.setLong(1, 100L);
+			statement.setString(2, "pending");
+			statement.addBatch();
+			statement.close();
+
+			assertEquals(1, cache.size());
+
+			statement = cache.prepareStatement(sql);
+			assertEquals(0, statement.getMaxRows());
+			assertEquals(0, statement.getQueryTimeout());
+			assertEquals(fetchSize, statement.getFetchSize());
+			assertEquals(0, statement.executeBatch().length);
+			statement.close();
+		}
+
+		assertEquals(1L, datastore.query(TARGET).count());
+	}
+
+	@Test
+	public void testResultSetStatement() throws SQLException {
+
+		try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:scdb", "sa", "");
+				PreparedStatementCache cache = new PreparedStatementCache(connection, 10)) {
+
+			final PreparedStatement statement = cache.prepareStatement("SELECT text FROM testsc");
+			try (ResultSet resultSet = statement.executeQuery()) {
+				assertSame(statement, resultSet.getStatement());
+				assertTrue(resultSet.next());
+			}
+
+			statement.getResultSet();
+			statement.close();
+
+			assertEquals(1, cache.size());
+
+			// the cached statement is still usable
+			try (PreparedStatement cached = cache.prepareStatement("SELECT text FROM testsc");
+					ResultSet resultSet = cached.executeQuery()) {
+				assertTrue(resultSet.next());
+				resultSet.getStatement().close();
+				assertTrue(cached.isClosed());
+			}
+
+			assertEquals(1, cache.size());
+		}
+	}
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.property.PathProperty;
+import com.holonplatform.datastore.jdbc.JdbcDatastore;
+import com.holonplatform.datastore.jdbc.composer.dialect.H2Dialect;
+import com.holonplatform.datastore.jdbc.config.JdbcQueryParameters;
+import com.holonplatform.datastore.jdbc.context.JdbcOperationContext;
+import com.holonplatform.jdbc.DataSourceBuilder;
+
+public class StreamingAutoCommitUT {
+
+	private final static String INIT_SQL = "create table testsac (code bigint primary key, text varchar(100)); "
+			+ "INSERT INTO testsac VALUES (1, 'One'); INSERT INTO testsac VALUES (2, 'Two');";
+
+	private final static PathProperty<Long> CODE = PathProperty.create("code", long.class);
+
+	private final static DataTarget<String> TARGET = DataTarget.named("testsac");
+
+	private static JdbcDatastore datastore;
+
+	@BeforeAll
+	public static void initDatastore() {
+		DataSource dataSource = DataSourceBuilder.builder().url("jdbc:h2:mem:sacdb").username("sa")
+				.withInitScript(INIT_SQL).build();
+		datastore = JdbcDatastore.builder().dataSource(dataSource).dialect(new H2Dialect() {
+
+			@Override
+			public boolean fetchSizeRequiresAutoCommitDisabled() {
+				return true;
+			}
+
+		}).build();
+	}
+
+	private static boolean isAutoCommit(JdbcOperationContext context) {
+		return context.withConnection(c -> {
+			return c.getAutoCommit();
+		});
+	}
+
+	@Test
+	public void testSharedConnectionStreamExhausted() {
+		final JdbcOperationContext context = (JdbcOperationContext) datastore;
+		context.withSharedConnection(() -> {
+			// consumed without an explicit close
+			assertEquals(2, datastore.query(TARGET).parameter(JdbcQueryParameters.STREAMING, true)
+					.parameter(JdbcQueryParameters.FETCH_SIZE, 1).list(CODE).size());
+			assertTrue(isAutoCommit(context));
+
+			final AtomicInteger count = new AtomicInteger();
+			datastore.query(TARGET).parameter(JdbcQueryParameters.STREAMING, true)
+					.parameter(JdbcQueryParameters.FETCH_SIZE, 1).stream(CODE).forEach(c -> count.incrementAndGet());
+			assertEquals(2, count.get());
+			assertTrue(isAutoCommit(context));
+			return null;
+		});
+	}
+
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.property.PathProperty;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.datastore.jdbc.JdbcDatastore;
+import com.holonplatform.jdbc.DataSourceBuilder;
+import com.holonplatform.jdbc.DatabasePlatform;
+import com.holonplatform.jdbc.JdbcConnectionHandler;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+
+public class VirtualThreadBindingUT {
+
+	private final static String INIT_SQL = "create table testvt (code bigint primary key, text varchar(100));";
+
+	private final static PathProperty<Long> CODE = PathProperty.create("code", long.class);
+	private final static PathProperty<String> TEXT = PathProperty.create("text", String.class);
+
+	private final static DataTarget<String> TARGET = DataTarget.named("testvt");
+
+	@TempDir
+	Path directory;
+
+	private static JdbcDatastore create(String database, long commitDelay) {
+		final DataSource dataSource = DataSourceBuilder.builder().url("jdbc:h2:mem:" + database).username("sa")
+				.maxPoolSize(50).withInitScript(INIT_SQL).build();
+		final JdbcConnectionHandler handler = JdbcConnectionHandler.create();
+		return JdbcDatastore.builder().dataSource(dataSource).database(DatabasePlatform.H2)
+				.connectionHandler(new JdbcConnectionHandler() {
+
+					@Override
+					public Connection getConnection(DataSource dataSource, ConnectionType connectionType)
+							throws SQLException {
+						final Connection connection = handler.getConnection(dataSource, connectionType);
+						return (Connection) Proxy.newProxyInstance(VirtualThreadBindingUT.class.getClassLoader(),
+								new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+									if (commitDelay > 0 && method.getName().equals("commit")) {
+										// simulate a remote database round trip
+										Thread.sleep(commitDelay);
+									}
+									try {
+										return method.invoke(connection, args);
+									} catch (InvocationTargetException e) {
+										throw e.getCause();
+									}
+								});
+					}
+
+					@Override
+					public void releaseConnection(Connection connection, DataSource dataSource,
+							ConnectionType connectionType) throws SQLException {
+						handler.releaseConnection(connection, dataSource, connectionType);
+					}
+
+				}).build();
+	}
+
+	private static PropertyBox value(long code) {
+		return PropertyBox.builder(CODE, TEXT).set(CODE, code).set(TEXT, "v" + code).build();
+	}
+
+	@Test
+	public void testDatastoreScopedBinding() {
+
+		final JdbcDatastore datastore1 = create("vtdb1", 0);
+		final JdbcDatastore datastore2 = create("vtdb2", 0);
+
+		datastore1.withTransaction(tx -> {
+			datastore1.insert(TARGET, value(1L));
+			// not bound to the datastore1 transaction
+			datastore2.insert(TARGET, value(1L));
+			assertEquals(1L, datastore2.query(TARGET).count());
+			tx.rollback();
+		});
+
+		assertEquals(0L, datastore1.query(TARGET).count());
+		assertEquals(1L, datastore2.query(TARGET).count());
+
+		datastore1.withTransaction(tx -> {
+			datastore2.withTransaction(tx2 -> {
+				datastore2.insert(TARGET, value(2L));
+				tx2.rollback();
+			});
+			datastore1.insert(TARGET, value(2L));
+		});
+
+		assertEquals(1L, datastore1.query(TARGET).count());
+		assertEquals(1L, datastore2.query(TARGET).count());
+
+		// nested shared connection and transaction
+		datastore1.withTransaction(tx -> {
+			datastore1.withTransaction(tx2 -> datastore1.insert(TARGET, value(3L)));
+			tx.rollback();
+		});
+		assertEquals(1L, datastore1.query(TARGET).count());
+	}
+
+	@Test
+	public void testVirtualThreadsPinning() throws Exception {
+
+		final JdbcDatastore datastore1 = create("vtdb3", 5);
+		final JdbcDatastore datastore2 = create("vtdb4", 5);
+
+		final Path dump = directory.resolve("pinning.jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+			recording.start();
+
+			try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+				final List<Future<?>> futures = new ArrayList<>();
+				for (int i = 0; i < 1000; i++) {
+					final long code = i;
+					final JdbcDatastore datastore = (i % 2 == 0) ? datastore1 : datastore2;
+					futures.add(executor.submit(() -> datastore.withTransaction(tx -> {
+						datastore.insert(TARGET, value(code));
+						tx.commit();
+					})));
+				}
+				for (Future<?> future : futures) {
+					future.get(60, TimeUnit.SECONDS);
+				}
+			}
+
+			recording.stop();
+			recording.dump(dump);
+		}
+
+		assertEquals(500L, datastore1.query(TARGET).count());
+		assertEquals(500L, datastore2.query(TARGET).count());
+
+		final List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+		assertFalse(events.stream().anyMatch(VirtualThreadBindingUT::isPinnedByDatastore),
+				"Virtual threads pinned by the datastore transaction handling");
+	}
+
+	private static boolean isPinnedByDatastore(RecordedEvent event) {
+		return event.getStackTrace() != null && event.getStackTrace().getFrames().stream().map(RecordedFrame::getMethod)
+				.anyMatch(m -> m.getType().getName().startsWith("com.holonplatform.datastore.jdbc.internal")
+						&& m.getName().equals("commit"));
+	}
+
+}
@@ -36,9 +36,11 @@ import com.holonplatform.datastore.jdbc.test.suite.database.SQLiteTest;
 		BulkUpdateTest.class, BulkDeleteTest.class, BulkUpdateAliasTest.class, BulkDeleteAliasTest.class,
 		AggregationFunctionsTest.class, StringFunctionsTest.class, TemporalFunctionsTest.class,
 		DataTargetResolverTest.class, DataMappingTest.class, CustomExpressionsTest.class, BeanDatastoreTest.class,
-		BeanDatastoreJpaTest.class, DistinctTest.class, LockTest.class, H2Test.class, HSQLTest.class, DerbyTest.class,
-		MySQLTest.class, MariaDBTest.class, PostgreSQLTest.class, SQLServerTest.class, SQLiteTest.class,
-		OracleTest.class })
+		BeanDatastoreJpaTest.class, DistinctTest.class, LockTest.class, QueryStreamingTest.class,
+		QueryFetchSizeTest.class, QueryKeysetTest.class, QueryParallelTest.class, QueryPlanCacheTest.class,
+		BulkSaveTest.class, BulkRefreshTest.class, QueryPublisherTest.class, H2Test.class, HSQLTest.class,
+		DerbyTest.class, MySQLTest.class, MariaDBTest.class, PostgreSQLTest.class, SQLServerTest.class,
+		SQLiteTest.class, OracleTest.class })
 public abstract class AbstractJdbcDatastoreTestSuite {
 
 	public static Datastore datastore;
@@ -47,4 +49,6 @@ public abstract class AbstractJdbcDatastoreTestSuite {
 
 	public static boolean updateAliasTest = true;
 
+	public static boolean bulkInsertGeneratedKeysTest = false;
+
 }
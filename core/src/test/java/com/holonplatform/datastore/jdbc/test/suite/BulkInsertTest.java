@@ -16,28 +16,52 @@
 package com.holonplatform.datastore.jdbc.test.suite;
 
 import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.DBL;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.ENM;
 import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.KEY;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.LDAT;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.LTMS;
 import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.NAMED_TARGET;
 import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.NBOOL;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.NST_DEC;
 import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.NST_STR;
 import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.PROPERTIES;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.R_NAME;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.R_TARGET;
 import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.STR1;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.TIME;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import org.junit.Test;
 
+import com.holonplatform.core.Path;
 import com.holonplatform.core.datastore.Datastore.OperationResult;
+import com.holonplatform.core.datastore.DefaultWriteOption;
+import com.holonplatform.core.property.PathProperty;
 import com.holonplatform.core.property.PropertyBox;
 import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.datastore.jdbc.JdbcBulkInsertResult;
+import com.holonplatform.datastore.jdbc.JdbcBulkLoad;
+import com.holonplatform.datastore.jdbc.config.JdbcWriteParameters;
+import com.holonplatform.datastore.jdbc.test.data.TestEnum;
 
 public class BulkInsertTest extends AbstractJdbcDatastoreSuiteTest {
 
+	private final static PathProperty<Long> R_CODE = PathProperty.create("code", long.class);
+
 	@Test
 	public void testBulkInsert() {
 		inTransaction(() -> {
@@ -130,4 +154,165 @@ public class BulkInsertTest extends AbstractJdbcDatastoreSuiteTest {
 		});
 	}
 
+	@Test
+	public void testBulkInsertBatches() {
+		inTransaction(() -> {
+
+			OperationResult result = getDatastore().bulkInsert(NAMED_TARGET, PropertySet.of(KEY, STR1, NBOOL))
+					.parameter(JdbcWriteParameters.BATCH_SIZE, 3)
+					.add(() -> LongStream.rangeClosed(401, 410)
+							.mapToObj(k -> PropertyBox.builder(PROPERTIES).set(KEY, k).set(STR1, "k" + k)
+									.set(NBOOL, false).build())
+							.iterator())
+					.execute();
+
+			assertEquals(10, result.getAffectedCount());
+
+			List<String> vals = getDatastore().query(NAMED_TARGET).filter(KEY.between(401L, 410L)).sort(KEY.asc())
+					.list(STR1);
+			assertEquals(10, vals.size());
+			assertEquals("k401", vals.get(0));
+			assertEquals("k410", vals.get(9));
+
+		});
+	}
+
+	@Test
+	public void testBulkInsertMultiRow() {
+		inTransaction(() -> {
+
+			OperationResult result = getDatastore().bulkInsert(NAMED_TARGET, PropertySet.of(KEY, STR1, NBOOL))
+					.parameter(JdbcWriteParameters.MULTI_ROW_INSERT, true).parameter(JdbcWriteParameters.BATCH_SIZE, 4)
+					.add(() -> LongStream.rangeClosed(601, 610)
+							.mapToObj(k -> PropertyBox.builder(PROPERTIES).set(KEY, k).set(STR1, "m" + k)
+									.set(NBOOL, k % 2 == 0).build())
+							.iterator())
+					.execute();
+
+			assertEquals(10, result.getAffectedCount());
+
+			List<PropertyBox> vals = getDatastore().query(NAMED_TARGET).filter(KEY.between(601L, 610L))
+					.sort(KEY.asc()).list(PROPERTIES);
+			assertEquals(10, vals.size());
+			assertEquals("m601", vals.get(0).getValue(STR1));
+			assertEquals(Boolean.FALSE, vals.get(0).getValue(NBOOL));
+			assertEquals("m610", vals.get(9).getValue(STR1));
+			assertEquals(Boolean.TRUE, vals.get(9).getValue(NBOOL));
+
+		});
+	}
+
+	@Test
+	public void testBulkLoad() {
+		try {
+			OperationResult result = getDatastore().create(JdbcBulkLoad.class).target(NAMED_TARGET)
+					.propertySet(PROPERTIES)
+					.add(PropertyBox.builder(PROPERTIES).set(KEY, 701L).set(STR1, "a,\"b").set(DBL, 7.5)
+							.set(LDAT, LocalDate.of(2021, 3, 4)).set(ENM, TestEnum.THIRD).set(NBOOL, true)
+							.set(NST_DEC, new BigDecimal("12.34")).set(LTMS, LocalDateTime.of(2021, 3, 4, 10, 11, 12))
+							.set(TIME, LocalTime.of(8, 30)).build())
+					.add(PropertyBox.builder(PROPERTIES).set(KEY, 702L).set(STR1, "").set(NBOOL, false).build())
+					.add(PropertyBox.builder(PROPERTIES).set(KEY, 703L).set(NBOOL, false).build()).execute();
+
+			assertEquals(3, result.getAffectedCount());
+
+			List<PropertyBox> vals = getDatastore().query(NAMED_TARGET).filter(KEY.between(701L, 703L))
+					.sort(KEY.asc()).list(PROPERTIES);
+			assertEquals(3, vals.size());
+
+			PropertyBox value = vals.get(0);
+			assertEquals("a,\"b", value.getValue(STR1));
+			assertEquals(Double.valueOf(7.5), value.getValue(DBL));
+			assertEquals(LocalDate.of(2021, 3, 4), value.getValue(LDAT));
+			assertEquals(TestEnum.THIRD, value.getValue(ENM));
+			assertEquals(Boolean.TRUE, value.getValue(NBOOL));
+			assertEquals(0, new BigDecimal("12.34").compareTo(value.getValue(NST_DEC)));
+			assertEquals(LocalDateTime.of(2021, 3, 4, 10, 11, 12), value.getValue(LTMS));
+			assertEquals(LocalTime.of(8, 30), value.getValue(TIME));
+
+			assertNull(vals.get(2).getValue(STR1));
+			assertNull(vals.get(2).getValue(DBL));
+			assertNull(vals.get(2).getValue(LDAT));
+			assertEquals(Boolean.FALSE, vals.get(2).getValue(NBOOL));
+
+		} finally {
+			getDatastore().bulkDelete(NAMED_TARGET).filter(KEY.between(701L, 703L)).execute();
+		}
+	}
+
+	@Test
+	public void testBulkInsertCommitInterval() {
+		try {
+			OperationResult result = getDatastore().bulkInsert(NAMED_TARGET, PropertySet.of(KEY, STR1, NBOOL))
+					.parameter(JdbcWriteParameters.BATCH_SIZE, 2).parameter(JdbcWriteParameters.COMMIT_INTERVAL, 2)
+					.add(PropertyBox.builder(PROPERTIES).set(KEY, 501L).set(STR1, "k501").set(NBOOL, false).build())
+					.add(PropertyBox.builder(PROPERTIES).set(KEY, 502L).set(STR1, "k502").set(NBOOL, false).build())
+					.add(PropertyBox.builder(PROPERTIES).set(KEY, 503L).set(STR1, "k503").set(NBOOL, false).build())
+					.add(PropertyBox.builder(PROPERTIES).set(KEY, 504L).set(STR1, "k504").set(NBOOL, false).build())
+					.add(PropertyBox.builder(PROPERTIES).set(KEY, 505L).set(STR1, "k505").set(NBOOL, false).build())
+					.execute();
+
+			assertEquals(5, result.getAffectedCount());
+			assertEquals(5L, getDatastore().query(NAMED_TARGET).filter(KEY.between(501L, 505L)).count());
+
+		} finally {
+			getDatastore().bulkDelete(NAMED_TARGET).filter(KEY.between(501L, 505L)).execute();
+		}
+	}
+
+	@Test
+	public void testBulkInsertGeneratedKeys() {
+		if (AbstractJdbcDatastoreTestSuite.bulkInsertGeneratedKeysTest) {
+			inTransaction(() -> {
+
+				final List<PropertyBox> values = new ArrayList<>();
+				for (int i = 1; i <= 5; i++) {
+					values.add(PropertyBox.builder(R_CODE, R_NAME).set(R_NAME, "bulk" + i).build());
+				}
+
+				OperationResult result = getDatastore().bulkInsert(R_TARGET, PropertySet.of(R_NAME),
+						DefaultWriteOption.BRING_BACK_GENERATED_IDS).parameter(JdbcWriteParameters.BATCH_SIZE, 2)
+						.add(values).execute();
+
+				assertEquals(5, result.getAffectedCount());
+				assertTrue(result instanceof JdbcBulkInsertResult);
+				assertEquals(1, result.getInsertedKeys().size());
+				// only the first row keys are retained
+				assertEquals(1, ((JdbcBulkInsertResult) result).getGeneratedKeys().size());
+
+				long previous = -1;
+				for (int i = 0; i < 5; i++) {
+					final Long code = values.get(i).getValue(R_CODE);
+					assertNotNull(code);
+					assertTrue(code > previous);
+					previous = code;
+					assertEquals("bulk" + (i + 1), getDatastore().query(R_TARGET).filter(R_CODE.eq(code))
+							.findOne(R_NAME).orElse(null));
+				}
+				assertEquals(values.get(0).getValue(R_CODE).longValue(),
+						((Number) result.getInsertedKeys().values().iterator().next()).longValue());
+
+				// all the generated keys
+				result = getDatastore().bulkInsert(R_TARGET, PropertySet.of(R_NAME))
+						.parameter(JdbcWriteParameters.RETURN_GENERATED_KEYS, true)
+						.parameter(JdbcWriteParameters.BATCH_SIZE, 2)
+						.add(PropertyBox.builder(R_NAME).set(R_NAME, "bulk6").build())
+						.add(PropertyBox.builder(R_NAME).set(R_NAME, "bulk7").build())
+						.add(PropertyBox.builder(R_NAME).set(R_NAME, "bulk8").build()).execute();
+
+				assertEquals(3, result.getAffectedCount());
+				final List<Map<Path<?>, Object>> keys = ((JdbcBulkInsertResult) result).getGeneratedKeys();
+				assertEquals(3, keys.size());
+				for (int i = 0; i < 3; i++) {
+					final long code = ((Number) keys.get(i).values().iterator().next()).longValue();
+					assertTrue(code > previous);
+					previous = code;
+					assertEquals("bulk" + (i + 6), getDatastore().query(R_TARGET).filter(R_CODE.eq(code))
+							.findOne(R_NAME).orElse(null));
+				}
+
+			});
+		}
+	}
+
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.test.suite;
+
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.DBL;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.KEY;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.NAMED_TARGET;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.PROPERTIES;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.STR1;
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.datastore.jdbc.JdbcBulkRefresh;
+
+public class BulkRefreshTest extends AbstractJdbcDatastoreSuiteTest {
+
+	@Test
+	public void testBulkRefresh() {
+
+		final PropertyBox value1 = getDatastore().query(NAMED_TARGET).filter(KEY.eq(1L)).findOne(PROPERTIES)
+				.orElse(null);
+		final PropertyBox value2 = getDatastore().query(NAMED_TARGET).filter(KEY.eq(2L)).findOne(PROPERTIES)
+				.orElse(null);
+
+		List<PropertyBox> values = getDatastore().create(JdbcBulkRefresh.class).target(NAMED_TARGET)
+				.propertySet(PROPERTIES).add(PropertyBox.builder(PROPERTIES).set(KEY, 2L).set(STR1, "x").build())
+				.add(PropertyBox.builder(PROPERTIES).set(KEY, 999L).build())
+				.add(PropertyBox.builder(PROPERTIES).set(KEY, 1L).build())
+				.add(PropertyBox.builder(PROPERTIES).set(KEY, 2L).build()).execute();
+
+		assertEquals(3, values.size());
+		assertEquals(Long.valueOf(2), values.get(0).getValue(KEY));
+		assertEquals(value2.getValue(STR1), values.get(0).getValue(STR1));
+		assertEquals(value2.getValue(DBL), values.get(0).getValue(DBL));
+		assertEquals(Long.valueOf(1), values.get(1).getValue(KEY));
+		assertEquals(value1.getValue(STR1), values.get(1).getValue(STR1));
+		assertEquals(Long.valueOf(2), values.get(2).getValue(KEY));
+
+	}
+
+	@Test
+	public void testBulkRefreshCompositeKey() {
+
+		final PropertySet<?> set = PropertySet.builderOf(KEY, STR1, DBL).identifier(KEY).identifier(STR1).build();
+
+		final String str1 = getDatastore().query(NAMED_TARGET).filter(KEY.eq(1L)).findOne(STR1).orElse(null);
+
+		List<PropertyBox> values = getDatastore().create(JdbcBulkRefresh.class).target(NAMED_TARGET).propertySet(set)
+				.add(PropertyBox.builder(set).set(KEY, 1L).set(STR1, str1).build())
+				.add(PropertyBox.builder(set).set(KEY, 2L).set(STR1, "none").build()).execute();
+
+		assertEquals(1, values.size());
+		assertEquals(Long.valueOf(1), values.get(0).getValue(KEY));
+		assertEquals(str1, values.get(0).getValue(STR1));
+
+	}
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.test.suite;
+
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.KEY;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.NAMED_TARGET;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.NBOOL;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.PROPERTIES;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.STR1;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.holonplatform.core.datastore.Datastore.OperationResult;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.property.PropertySet;
+import com.holonplatform.datastore.jdbc.JdbcBulkSave;
+import com.holonplatform.datastore.jdbc.config.JdbcWriteParameters;
+
+public class BulkSaveTest extends AbstractJdbcDatastoreSuiteTest {
+
+	@Test
+	public void testBulkSave() {
+		inTransaction(() -> {
+			assertBulkSave(getDatastore().create(JdbcBulkSave.class).parameter(JdbcWriteParameters.BATCH_SIZE, 2));
+		});
+	}
+
+	@Test
+	public void testBulkSaveNativeUpsert() {
+		inTransaction(() -> {
+			assertBulkSave(getDatastore().create(JdbcBulkSave.class).parameter(JdbcWriteParameters.BATCH_SIZE, 2)
+					.parameter(JdbcWriteParameters.NATIVE_UPSERT, true));
+		});
+	}
+
+	private void assertBulkSave(JdbcBulkSave operation) {
+		final long count = getDatastore().query(NAMED_TARGET).count();
+
+		OperationResult result = operation.target(NAMED_TARGET).propertySet(PropertySet.of(KEY, STR1, NBOOL))
+				.add(PropertyBox.builder(PROPERTIES).set(KEY, 1L).set(STR1, "u1").set(NBOOL, true).build())
+				.add(PropertyBox.builder(PROPERTIES).set(KEY, 801L).set(STR1, "k801").set(NBOOL, false).build())
+				.add(PropertyBox.builder(PROPERTIES).set(KEY, 802L).set(STR1, "k802").set(NBOOL, false).build())
+				.add(PropertyBox.builder(PROPERTIES).set(KEY, 801L).set(STR1, "u801").set(NBOOL, true).build())
+				.add(PropertyBox.builder(PROPERTIES).set(KEY, 803L).set(STR1, "k803").set(NBOOL, false).build())
+				.execute();
+
+		assertEquals(5, result.getAffectedCount());
+		assertEquals(count + 3, getDatastore().query(NAMED_TARGET).count());
+
+		List<PropertyBox> values = getDatastore().query(NAMED_TARGET).filter(KEY.in(1L, 801L, 802L, 803L))
+				.sort(KEY.asc()).list(KEY, STR1, NBOOL);
+		assertEquals(4, values.size());
+		assertEquals("u1", values.get(0).getValue(STR1));
+		assertTrue(values.get(0).getValue(NBOOL));
+		assertEquals("u801", values.get(1).getValue(STR1));
+		assertTrue(values.get(1).getValue(NBOOL));
+		assertEquals("k802", values.get(2).getValue(STR1));
+		assertEquals("k803", values.get(3).getValue(STR1));
+	}
+
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.test.suite;
+
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.KEY;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.NAMED_TARGET;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.NBOOL;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.PROPERTIES;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.STR1;
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.holonplatform.core.exceptions.DataAccessException;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.datastore.jdbc.config.JdbcQueryParameters;
+
+public class QueryFetchSizeTest extends AbstractJdbcDatastoreSuiteTest {
+
+	@Test
+	public void testFetchSize() {
+		inTransaction(() -> {
+
+			for (long k = 401; k <= 420; k++) {
+				getDatastore().insert(NAMED_TARGET, PropertyBox.builder(PROPERTIES).set(KEY, k).set(STR1, "s" + k)
+						.set(NBOOL, false).build());
+			}
+
+			final List<Long> expected = getDatastore().query(NAMED_TARGET).filter(KEY.between(401L, 420L))
+					.sort(KEY.asc()).list(KEY);
+			assertEquals(20, expected.size());
+
+			assertEquals(expected, getDatastore().query(NAMED_TARGET).parameter(JdbcQueryParameters.FETCH_SIZE, 3)
+					.filter(KEY.between(401L, 420L)).sort(KEY.asc()).list(KEY));
+
+			try (Stream<Long> keys = getDatastore().query(NAMED_TARGET).parameter(JdbcQueryParameters.FETCH_SIZE, 3)
+					.parameter(JdbcQueryParameters.STREAMING, true).filter(KEY.between(401L, 420L)).sort(KEY.asc())
+					.stream(KEY)) {
+				assertEquals(expected, keys.collect(Collectors.toList()));
+			}
+
+			// driver default
+			assertEquals(expected, getDatastore().query(NAMED_TARGET).parameter(JdbcQueryParameters.FETCH_SIZE, 0)
+					.filter(KEY.between(401L, 420L)).sort(KEY.asc()).list(KEY));
+
+		});
+	}
+
+	@Test(expected = DataAccessException.class)
+	public void testInvalidFetchSize() {
+		getDatastore().query(NAMED_TARGET).parameter(JdbcQueryParameters.FETCH_SIZE, -1).list(KEY);
+	}
+
+}
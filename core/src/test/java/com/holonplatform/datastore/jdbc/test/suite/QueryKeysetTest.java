@@ -0,0 +1,142 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.test.suite;
+
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.KEY;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.NAMED_TARGET;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.NBOOL;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.PROPERTIES;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.STR1;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.holonplatform.core.property.PathProperty;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.core.query.QuerySort;
+import com.holonplatform.datastore.jdbc.KeysetPage;
+import com.holonplatform.datastore.jdbc.composer.KeysetFilter;
+
+public class QueryKeysetTest extends AbstractJdbcDatastoreSuiteTest {
+
+	private static final QueryFilter RANGE = KEY.between(501L, 513L);
+
+	@Test
+	public void testKeysetFilter() {
+		inTransaction(() -> {
+
+			insertRows();
+
+			final QuerySort sort = KEY.asc();
+
+			List<Long> keys = getDatastore().query(NAMED_TARGET).filter(RANGE)
+					.filter(KeysetFilter.create(sort, 510L)).sort(sort).list(KEY);
+			assertEquals(3, keys.size());
+			assertEquals(Long.valueOf(511L), keys.get(0));
+
+			// multiple paths, same direction
+			final QuerySort multi = QuerySort.of(STR1.asc(), KEY.asc());
+			keys = getDatastore().query(NAMED_TARGET).filter(RANGE).filter(KeysetFilter.create(multi, "k1", 505L))
+					.sort(multi).list(KEY);
+			final List<Long> sorted = expected(multi);
+			assertEquals(sorted.subList(sorted.indexOf(505L) + 1, sorted.size()), keys);
+
+			// mixed directions
+			final QuerySort mixed = QuerySort.of(STR1.desc(), KEY.asc());
+			keys = getDatastore().query(NAMED_TARGET).filter(RANGE).filter(KeysetFilter.create(mixed, "k1", 505L))
+					.sort(mixed).list(KEY);
+			final List<Long> all = expected(mixed);
+			assertEquals(all.subList(all.indexOf(505L) + 1, all.size()), keys);
+
+		});
+	}
+
+	@Test
+	public void testContinuationToken() {
+
+		final QuerySort sort = QuerySort.of(STR1.asc(), KEY.desc());
+
+		final KeysetFilter filter = KeysetFilter.create(sort, "a:b", 7L);
+		final KeysetFilter decoded = KeysetFilter.fromContinuationToken(sort, filter.getContinuationToken());
+		assertEquals(filter.getValues(), decoded.getValues());
+
+		final PropertyBox row = PropertyBox.builder(PROPERTIES).set(KEY, 7L).set(STR1, "a:b").build();
+		assertEquals(filter.getContinuationToken(), KeysetFilter.after(sort, row).getContinuationToken());
+
+		// timestamps keep the nanoseconds
+		final PathProperty<Timestamp> timestamp = PathProperty.create("ts", Timestamp.class);
+		final Timestamp value = Timestamp.valueOf("2020-03-04 10:11:12.123456789");
+		final KeysetFilter tsFilter = KeysetFilter.create(timestamp.asc(), value);
+		assertEquals(value, KeysetFilter.fromContinuationToken(timestamp.asc(), tsFilter.getContinuationToken())
+				.getValues().get(0));
+
+		expectedException(IllegalArgumentException.class,
+				() -> KeysetFilter.fromContinuationToken(KEY.asc(), filter.getContinuationToken()));
+		expectedException(IllegalArgumentException.class,
+				() -> KeysetFilter.fromContinuationToken(sort, "not a token"));
+	}
+
+	@Test
+	public void testKeysetPages() {
+		inTransaction(() -> {
+
+			insertRows();
+
+			final QuerySort sort = QuerySort.of(STR1.asc(), KEY.asc());
+
+			final List<Long> keys = new ArrayList<>();
+			String token = null;
+			int pages = 0;
+			do {
+				KeysetPage<PropertyBox> page = KeysetPage.fetch(getDatastore().query(NAMED_TARGET).filter(RANGE),
+						sort, 5, token, PROPERTIES);
+				assertTrue(page.getItems().size() <= 5);
+				keys.addAll(page.getItems().stream().map(r -> r.getValue(KEY)).collect(Collectors.toList()));
+				token = page.getContinuationToken().orElse(null);
+				pages++;
+			} while (token != null);
+
+			assertEquals(3, pages);
+			assertEquals(expected(sort), keys);
+
+			final KeysetPage<PropertyBox> single = KeysetPage.fetch(getDatastore().query(NAMED_TARGET).filter(RANGE),
+					sort, 13, null, PROPERTIES);
+			assertEquals(13, single.getItems().size());
+			assertFalse(single.getContinuationToken().isPresent());
+
+		});
+	}
+
+	private List<Long> expected(QuerySort sort) {
+		return getDatastore().query(NAMED_TARGET).filter(RANGE).sort(sort).list(KEY);
+	}
+
+	private void insertRows() {
+		for (long k = 501; k <= 513; k++) {
+			getDatastore().insert(NAMED_TARGET, PropertyBox.builder(PROPERTIES).set(KEY, k).set(STR1, "k" + (k % 3))
+					.set(NBOOL, false).build());
+		}
+	}
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.test.suite;
+
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.DBL;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.KEY;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.NAMED_TARGET;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.NBOOL;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.PROPERTIES;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.STR1;
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.core.query.QueryFilter;
+import com.holonplatform.datastore.jdbc.config.JdbcQueryParameters;
+
+public class QueryParallelTest extends AbstractJdbcDatastoreSuiteTest {
+
+	private static final QueryFilter RANGE = KEY.between(601L, 640L);
+
+	@Test
+	public void testParallel() {
+		try {
+			for (long k = 601; k <= 640; k++) {
+				getDatastore().insert(NAMED_TARGET, PropertyBox.builder(PROPERTIES).set(KEY, k).set(STR1, "p" + k)
+						.set(DBL, (k % 3) * 1.5).set(NBOOL, false).build());
+			}
+
+			// sort led by the partition path
+			List<Long> expected = getDatastore().query(NAMED_TARGET).filter(RANGE).sort(KEY.asc()).list(KEY);
+			assertEquals(40, expected.size());
+			assertEquals(expected, getDatastore().query(NAMED_TARGET).parameter(JdbcQueryParameters.PARALLELISM, 4)
+					.filter(RANGE).sort(KEY.asc()).list(KEY));
+
+			expected = getDatastore().query(NAMED_TARGET).filter(RANGE).sort(KEY.desc()).list(KEY);
+			assertEquals(expected, getDatastore().query(NAMED_TARGET).parameter(JdbcQueryParameters.PARALLELISM, 4)
+					.filter(RANGE).sort(KEY.desc().and(STR1.asc())).list(KEY));
+
+			// not sorted
+			assertEquals(new HashSet<>(expected),
+					new HashSet<>(getDatastore().query(NAMED_TARGET).parameter(JdbcQueryParameters.PARALLELISM, 3)
+							.filter(RANGE).list(KEY)));
+
+			// whole table
+			assertEquals(getDatastore().query(NAMED_TARGET).sort(KEY.asc()).list(KEY), getDatastore()
+					.query(NAMED_TARGET).parameter(JdbcQueryParameters.PARALLELISM, 4).sort(KEY.asc()).list(KEY));
+
+			// explicit partition path
+			assertEquals(new HashSet<>(expected),
+					new HashSet<>(getDatastore().query(NAMED_TARGET).parameter(JdbcQueryParameters.PARALLELISM, 2)
+							.parameter(JdbcQueryParameters.PARTITION_PATH, DBL).filter(RANGE).list(KEY)));
+
+			// not supported sort: fallback
+			assertEquals(getDatastore().query(NAMED_TARGET).filter(RANGE).sort(STR1.desc()).list(KEY),
+					getDatastore().query(NAMED_TARGET).parameter(JdbcQueryParameters.PARALLELISM, 4).filter(RANGE)
+							.sort(STR1.desc()).list(KEY));
+
+			// stream
+			try (Stream<String> values = getDatastore().query(NAMED_TARGET)
+					.parameter(JdbcQueryParameters.PARALLELISM, 4).filter(RANGE).sort(KEY.asc()).stream(STR1)) {
+				assertEquals(expected.stream().sorted().map(k -> "p" + k).collect(Collectors.toList()),
+						values.collect(Collectors.toList()));
+			}
+
+			// closed before the partitions are consumed, using small partition buffers
+			for (int i = 0; i < 3; i++) {
+				try (Stream<Long> keys = getDatastore().query(NAMED_TARGET)
+						.parameter(JdbcQueryParameters.PARALLELISM, 4).parameter(JdbcQueryParameters.FETCH_SIZE, 2)
+						.filter(RANGE).sort(KEY.asc()).stream(KEY)) {
+					assertEquals(Long.valueOf(601L), keys.findFirst().orElse(null));
+				}
+			}
+			assertEquals(40, getDatastore().query(NAMED_TARGET).parameter(JdbcQueryParameters.PARALLELISM, 4)
+					.parameter(JdbcQueryParameters.FETCH_SIZE, 2).filter(RANGE).list(KEY).size());
+
+		} finally {
+			getDatastore().bulkDelete(NAMED_TARGET).filter(RANGE).execute();
+		}
+	}
+
+	@Test
+	public void testParallelInTransaction() {
+		inTransaction(() -> {
+
+			for (long k = 601; k <= 610; k++) {
+				getDatastore().insert(NAMED_TARGET, PropertyBox.builder(PROPERTIES).set(KEY, k).set(STR1, "p" + k)
+						.set(NBOOL, false).build());
+			}
+
+			// uncommitted rows are visible: the transaction connection is used
+			assertEquals(10, getDatastore().query(NAMED_TARGET).parameter(JdbcQueryParameters.PARALLELISM, 4)
+					.filter(RANGE).list(KEY).size());
+
+		});
+	}
+
+}
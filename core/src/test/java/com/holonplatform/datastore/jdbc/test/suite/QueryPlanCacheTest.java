@@ -0,0 +1,94 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.test.suite;
+
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.KEY;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.NAMED_TARGET;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.NBOOL;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.PROPERTIES;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.STR1;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.datastore.jdbc.composer.SQLQueryPlanCache;
+import com.holonplatform.datastore.jdbc.composer.WhereFilter;
+import com.holonplatform.datastore.jdbc.context.JdbcOperationContext;
+
+public class QueryPlanCacheTest extends AbstractJdbcDatastoreSuiteTest {
+
+	@Test
+	public void testQueryPlanCache() {
+		inTransaction(() -> {
+
+			for (long k = 701; k <= 710; k++) {
+				getDatastore().insert(NAMED_TARGET, PropertyBox.builder(PROPERTIES).set(KEY, k).set(STR1, "c" + k)
+						.set(NBOOL, k % 2 == 0).build());
+			}
+
+			final SQLQueryPlanCache cache = ((JdbcOperationContext) getDatastore()).getQueryPlanCache()
+					.orElse(null);
+			if (cache != null) {
+				cache.clear();
+			}
+
+			for (long k = 701; k <= 710; k++) {
+				assertEquals("c" + k, getDatastore().query(NAMED_TARGET).filter(KEY.eq(k)).findOne(STR1).orElse(null));
+				assertEquals(Long.valueOf(k), getDatastore().query(NAMED_TARGET).filter(STR1.eq("c" + k))
+						.findOne(KEY).orElse(null));
+				assertEquals(Long.valueOf(k), getDatastore().query(NAMED_TARGET)
+						.filter(KEY.between(k, 720L).and(NBOOL.eq(k % 2 == 0))).sort(KEY.asc()).stream(KEY).findFirst()
+						.orElse(null));
+			}
+
+			if (cache != null) {
+				assertEquals(3, cache.size());
+			}
+
+			// collection size is part of the shape
+			List<Long> keys = getDatastore().query(NAMED_TARGET).filter(KEY.in(701L, 702L)).sort(KEY.asc())
+					.list(KEY);
+			assertEquals(Arrays.asList(701L, 702L), keys);
+			keys = getDatastore().query(NAMED_TARGET).filter(KEY.in(703L, 704L, 705L)).sort(KEY.asc()).list(KEY);
+			assertEquals(Arrays.asList(703L, 704L, 705L), keys);
+			keys = getDatastore().query(NAMED_TARGET).filter(KEY.in(706L, 707L)).sort(KEY.asc()).list(KEY);
+			assertEquals(Arrays.asList(706L, 707L), keys);
+
+			// where filter
+			for (long k = 701; k <= 703; k++) {
+				assertEquals("c" + k, getDatastore().query(NAMED_TARGET).filter(WhereFilter.create("keycode=?", k))
+						.findOne(STR1).orElse(null));
+			}
+
+			// not cacheable
+			assertEquals(10, getDatastore().query(NAMED_TARGET).filter(STR1.startsWith("c7")).count());
+			assertEquals(1, getDatastore().query(NAMED_TARGET).filter(STR1.startsWith("c710")).count());
+
+			// duplicate values
+			assertTrue(getDatastore().query(NAMED_TARGET).filter(KEY.goe(705L).and(KEY.loe(705L))).findOne(KEY)
+					.isPresent());
+			assertEquals(Long.valueOf(706L), getDatastore().query(NAMED_TARGET)
+					.filter(KEY.goe(706L).and(KEY.loe(706L))).findOne(KEY).orElse(null));
+
+		});
+	}
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.test.suite;
+
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.KEY;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.NAMED_TARGET;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.NBOOL;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.PROPERTIES;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.STR1;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.datastore.jdbc.JdbcQueryPublisher;
+
+public class QueryPublisherTest extends AbstractJdbcDatastoreSuiteTest {
+
+	@Test
+	public void testPublisher() throws Exception {
+
+		final List<Long> expected = getDatastore().query(NAMED_TARGET).sort(KEY.asc()).list(KEY);
+
+		// unbounded demand
+		TestSubscriber<Long> subscriber = new TestSubscriber<>(Long.MAX_VALUE);
+		JdbcQueryPublisher.create(getDatastore().query(NAMED_TARGET).sort(KEY.asc()), KEY).subscribe(subscriber);
+		assertEquals(expected, subscriber.items);
+		assertTrue(subscriber.completed);
+		assertNull(subscriber.error);
+
+		// bounded demand
+		subscriber = new TestSubscriber<>(1);
+		JdbcQueryPublisher.create(getDatastore().query(NAMED_TARGET).sort(KEY.asc()), KEY).subscribe(subscriber);
+		assertEquals(1, subscriber.items.size());
+		assertFalse(subscriber.completed);
+		subscriber.subscription.request(expected.size() - 1);
+		assertEquals(expected, subscriber.items);
+		assertTrue(subscriber.completed);
+
+		// property box projection
+		final TestSubscriber<PropertyBox> values = new TestSubscriber<>(Long.MAX_VALUE);
+		JdbcQueryPublisher.create(getDatastore().query(NAMED_TARGET).sort(KEY.asc()), PROPERTIES).subscribe(values);
+		assertEquals(expected.size(), values.items.size());
+		assertEquals(expected.get(0), values.items.get(0).getValue(KEY));
+
+		// executor
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			final TestSubscriber<Long> async = new TestSubscriber<>(2);
+			JdbcQueryPublisher.create(getDatastore().query(NAMED_TARGET).sort(KEY.asc()), KEY, executor)
+					.subscribe(async);
+			async.subscription.request(Long.MAX_VALUE);
+			async.termination.get(30, TimeUnit.SECONDS);
+			assertEquals(expected, async.items);
+			assertTrue(async.completed);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void testPublisherErrors() {
+
+		final JdbcQueryPublisher<Long> publisher = JdbcQueryPublisher.create(getDatastore().query(NAMED_TARGET), KEY);
+		final TestSubscriber<Long> subscriber = new TestSubscriber<>(0);
+		publisher.subscribe(subscriber);
+
+		// single subscriber
+		final TestSubscriber<Long> other = new TestSubscriber<>(1);
+		publisher.subscribe(other);
+		assertTrue(other.error instanceof IllegalStateException);
+
+		// invalid demand
+		subscriber.subscription.request(0);
+		assertTrue(subscriber.error instanceof IllegalArgumentException);
+		assertTrue(subscriber.items.isEmpty());
+	}
+
+	@Test
+	public void testPublisherCancellation() {
+		inTransaction(() -> {
+
+			for (long k = 401; k <= 410; k++) {
+				getDatastore().insert(NAMED_TARGET, PropertyBox.builder(PROPERTIES).set(KEY, k).set(STR1, "s" + k)
+						.set(NBOOL, false).build());
+			}
+
+			final TestSubscriber<String> subscriber = new TestSubscriber<>(3);
+			JdbcQueryPublisher.create(getDatastore().query(NAMED_TARGET).filter(KEY.between(401L, 410L))
+					.sort(KEY.asc()), STR1).subscribe(subscriber);
+			assertEquals(3, subscriber.items.size());
+			assertEquals("s403", subscriber.items.get(2));
+
+			subscriber.subscription.cancel();
+			subscriber.subscription.request(5);
+			assertEquals(3, subscriber.items.size());
+			assertFalse(subscriber.completed);
+
+			// the transaction connection is still usable
+			assertEquals(10L, getDatastore().query(NAMED_TARGET).filter(KEY.between(401L, 410L)).count());
+
+		});
+	}
+
+	private static class TestSubscriber<T> implements Flow.Subscriber<T> {
+
+		final long initialRequest;
+
+		final List<T> items = new ArrayList<>();
+
+		final CompletableFuture<Void> termination = new CompletableFuture<>();
+
+		volatile Flow.Subscription subscription;
+
+		volatile boolean completed;
+
+		volatile Throwable error;
+
+		TestSubscriber(long initialRequest) {
+			super();
+			this.initialRequest = initialRequest;
+		}
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+			if (initialRequest > 0) {
+				subscription.request(initialRequest);
+			}
+		}
+
+		@Override
+		public void onNext(T item) {
+			items.add(item);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			this.error = throwable;
+			termination.completeExceptionally(throwable);
+		}
+
+		@Override
+		public void onComplete() {
+			this.completed = true;
+			termination.complete(null);
+		}
+
+	}
+
+}
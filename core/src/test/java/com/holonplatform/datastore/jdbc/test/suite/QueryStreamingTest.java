@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.test.suite;
+
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.KEY;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.NAMED_TARGET;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.NBOOL;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.PROPERTIES;
+import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.STR1;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.datastore.jdbc.config.JdbcQueryParameters;
+
+public class QueryStreamingTest extends AbstractJdbcDatastoreSuiteTest {
+
+	@Test
+	public void testStreaming() {
+
+		final List<Long> expected = getDatastore().query(NAMED_TARGET).sort(KEY.asc()).list(KEY);
+
+		try (Stream<Long> keys = getDatastore().query(NAMED_TARGET).parameter(JdbcQueryParameters.STREAMING, true)
+				.sort(KEY.asc()).stream(KEY)) {
+			assertEquals(expected, keys.collect(Collectors.toList()));
+		}
+
+		try (Stream<PropertyBox> values = getDatastore().query(NAMED_TARGET)
+				.parameter(JdbcQueryParameters.STREAMING, true).sort(KEY.asc()).stream(PROPERTIES)) {
+			Optional<PropertyBox> first = values.findFirst();
+			assertTrue(first.isPresent());
+			assertEquals(expected.get(0), first.get().getValue(KEY));
+		}
+
+		// fully consumed without close
+		assertEquals(expected.size(),
+				getDatastore().query(NAMED_TARGET).parameter(JdbcQueryParameters.STREAMING, true).list(KEY).size());
+
+	}
+
+	@Test
+	public void testStreamingInTransaction() {
+		inTransaction(() -> {
+
+			for (long k = 301; k <= 310; k++) {
+				getDatastore().insert(NAMED_TARGET, PropertyBox.builder(PROPERTIES).set(KEY, k).set(STR1, "s" + k)
+						.set(NBOOL, false).build());
+			}
+
+			try (Stream<String> values = getDatastore().query(NAMED_TARGET)
+					.parameter(JdbcQueryParameters.STREAMING, true).filter(KEY.between(301L, 310L)).sort(KEY.asc())
+					.stream(STR1)) {
+				List<String> strs = values.limit(5).collect(Collectors.toList());
+				assertEquals(5, strs.size());
+				assertEquals("s301", strs.get(0));
+				assertEquals("s305", strs.get(4));
+			}
+
+			// the transaction connection is still usable
+			assertEquals(10L, getDatastore().query(NAMED_TARGET).filter(KEY.between(301L, 310L)).count());
+
+		});
+	}
+
+}
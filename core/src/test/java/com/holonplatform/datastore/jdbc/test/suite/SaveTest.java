@@ -36,14 +36,17 @@ import static com.holonplatform.datastore.jdbc.test.data.TestDataModel.TMS;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 import org.junit.Test;
 
 import com.holonplatform.core.datastore.Datastore.OperationResult;
 import com.holonplatform.core.datastore.Datastore.OperationType;
 import com.holonplatform.core.datastore.DefaultWriteOption;
+import com.holonplatform.core.datastore.operation.Save;
 import com.holonplatform.core.exceptions.DataAccessException;
 import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.datastore.jdbc.config.JdbcWriteParameters;
 import com.holonplatform.datastore.jdbc.test.data.TestEnum;
 import com.holonplatform.datastore.jdbc.test.data.TestSampleData;
 
@@ -170,4 +173,36 @@ public class SaveTest extends AbstractJdbcDatastoreSuiteTest {
 		});
 	}
 
+	@Test
+	public void testSaveNativeUpsert() {
+		inTransaction(() -> {
+
+			PropertyBox value = PropertyBox.builder(PROPERTIES).set(KEY, 601L).set(STR1, "k601").set(DBL, 7.45)
+					.set(NBOOL, false).build();
+
+			OperationResult result = getDatastore().create(Save.class).target(NAMED_TARGET).value(value)
+					.parameter(JdbcWriteParameters.NATIVE_UPSERT, true).execute();
+			assertEquals(1, result.getAffectedCount());
+
+			value = getDatastore().query(NAMED_TARGET).filter(KEY.eq(601L)).findOne(PROPERTIES).orElse(null);
+			assertNotNull(value);
+			assertEquals("k601", value.getValue(STR1));
+			assertEquals(Double.valueOf(7.45), value.getValue(DBL));
+
+			value.setValue(STR1, "u601");
+			value.setValue(DBL, null);
+
+			result = getDatastore().create(Save.class).target(NAMED_TARGET).value(value)
+					.parameter(JdbcWriteParameters.NATIVE_UPSERT, true).execute();
+			assertEquals(1, result.getAffectedCount());
+
+			value = getDatastore().query(NAMED_TARGET).filter(KEY.eq(601L)).findOne(PROPERTIES).orElse(null);
+			assertNotNull(value);
+			assertEquals("u601", value.getValue(STR1));
+			assertNull(value.getValue(DBL));
+			assertEquals(1L, getDatastore().query(NAMED_TARGET).filter(KEY.eq(601L)).count());
+
+		});
+	}
+
 }
@@ -15,17 +15,21 @@
  */
 package com.holonplatform.datastore.jdbc.spring.boot;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
 import com.holonplatform.core.datastore.Datastore;
 import com.holonplatform.datastore.jdbc.JdbcDatastore;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationListener;
 import com.holonplatform.datastore.jdbc.spring.boot.internal.JdbcDatastoreAutoConfigurationRegistrar;
+import com.holonplatform.datastore.jdbc.spring.boot.internal.JdbcOperationListenerPostProcessor;
 import com.holonplatform.jdbc.spring.boot.DataSourcesAutoConfiguration;
 import com.holonplatform.spring.EnableDatastoreConfiguration;
 
@@ -39,6 +43,17 @@ import com.holonplatform.spring.EnableDatastoreConfiguration;
 @AutoConfigureAfter({ DataSourceAutoConfiguration.class, DataSourcesAutoConfiguration.class })
 public class JdbcDatastoreAutoConfiguration {
 
+	/**
+	 * Registers the {@link JdbcOperationListener} beans in the {@link JdbcDatastore} beans.
+	 * @param listeners The operation listeners provider
+	 * @return The post processor
+	 */
+	@Bean
+	static JdbcOperationListenerPostProcessor jdbcOperationListenerPostProcessor(
+			ObjectProvider<JdbcOperationListener> listeners) {
+		return new JdbcOperationListenerPostProcessor(listeners);
+	}
+
 	/**
 	 * Actual configuration if a {@link JdbcDatastore} bean is not already configured in context.
 	 */
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.spring.boot;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+import com.holonplatform.datastore.jdbc.JdbcDatastore;
+import com.holonplatform.datastore.jdbc.spring.boot.internal.ObservationJdbcOperationListener;
+
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Spring boot auto-configuration to record the JDBC {@link JdbcDatastore} operations lifecycle using the Micrometer
+ * {@link ObservationRegistry}, when an {@link ObservationRegistry} bean is available and the
+ * <code>holon.datastore.jdbc.observation.enabled</code> property is set to <code>true</code>.
+ * <p>
+ * The Micrometer binding is a {@link ObservationJdbcOperationListener} bean, which is registered in the
+ * {@link JdbcDatastore} beans as any other {@link com.holonplatform.datastore.jdbc.config.JdbcOperationListener} bean.
+ * It is disabled by default, since observing the operations requires to proxy the JDBC connections, statements and
+ * result sets.
+ * </p>
+ * 
+ * @since 6.0.3
+ */
+@AutoConfiguration(after = JdbcDatastoreAutoConfiguration.class,
+		afterName = "org.springframework.boot.actuate.autoconfigure.observation.ObservationAutoConfiguration")
+@ConditionalOnClass({ JdbcDatastore.class, ObservationRegistry.class })
+public class JdbcDatastoreObservationAutoConfiguration {
+
+	/**
+	 * Micrometer {@link ObservationRegistry} operation listener.
+	 * @param observationRegistry The observation registry
+	 * @return The operation listener
+	 */
+	@Bean
+	@ConditionalOnBean(ObservationRegistry.class)
+	@ConditionalOnMissingBean(ObservationJdbcOperationListener.class)
+	@ConditionalOnProperty(prefix = "holon.datastore.jdbc.observation", name = "enabled", havingValue = "true")
+	ObservationJdbcOperationListener jdbcDatastoreObservationListener(ObservationRegistry observationRegistry) {
+		return new ObservationJdbcOperationListener(observationRegistry);
+	}
+
+}
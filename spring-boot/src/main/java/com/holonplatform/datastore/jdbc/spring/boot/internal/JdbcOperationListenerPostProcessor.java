@@ -0,0 +1,57 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.spring.boot.internal;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import com.holonplatform.datastore.jdbc.JdbcDatastore;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationListener;
+
+/**
+ * A {@link BeanPostProcessor} which registers the {@link JdbcOperationListener} beans in each {@link JdbcDatastore}
+ * bean.
+ *
+ * @since 6.0.3
+ */
+public class JdbcOperationListenerPostProcessor implements BeanPostProcessor {
+
+	private final ObjectProvider<JdbcOperationListener> listeners;
+
+	/**
+	 * Constructor.
+	 * @param listeners The operation listeners provider
+	 */
+	public JdbcOperationListenerPostProcessor(ObjectProvider<JdbcOperationListener> listeners) {
+		super();
+		this.listeners = listeners;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.config.BeanPostProcessor#postProcessAfterInitialization(java.lang.Object,
+	 * java.lang.String)
+	 */
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+		if (bean instanceof JdbcDatastore) {
+			listeners.orderedStream().forEach(listener -> ((JdbcDatastore) bean).addOperationListener(listener));
+		}
+		return bean;
+	}
+
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.spring.boot.internal;
+
+import java.util.Locale;
+
+import com.holonplatform.core.internal.utils.ObjectUtils;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationEvent;
+import com.holonplatform.datastore.jdbc.config.JdbcOperationListener;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * A {@link JdbcOperationListener} which records the datastore operations lifecycle using the Micrometer
+ * {@link ObservationRegistry}.
+ * <p>
+ * Each timed phase is recorded as an {@link Observation} named <code>holon.jdbc.composition</code>,
+ * <code>holon.jdbc.connection</code>, <code>holon.jdbc.statement</code>, <code>holon.jdbc.commit</code> and
+ * <code>holon.jdbc.rollback</code>, which the registry meter handler records as timers. The result set fetches are
+ * recorded as <code>holon.jdbc.fetch</code> observations, providing the fetched rows count as a key value. The
+ * operation type and the data target are low cardinality key values, while the SQL fingerprint is a high cardinality
+ * key value.
+ * </p>
+ *
+ * @since 6.0.3
+ */
+public class ObservationJdbcOperationListener implements JdbcOperationListener {
+
+	private static final String OBSERVATION_ATTRIBUTE = ObservationJdbcOperationListener.class.getName();
+
+	private static final String OPERATION_KEY = "operation";
+	private static final String TARGET_KEY = "target";
+	private static final String FINGERPRINT_KEY = "sql.fingerprint";
+	private static final String ROWS_KEY = "rows";
+
+	private static final String NONE = "none";
+
+	private final ObservationRegistry registry;
+
+	/**
+	 * Constructor.
+	 * @param registry The observation registry to use (not null)
+	 */
+	public ObservationJdbcOperationListener(ObservationRegistry registry) {
+		super();
+		ObjectUtils.argumentNotNull(registry, "ObservationRegistry must be not null");
+		this.registry = registry;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.config.JdbcOperationListener#onCompositionStart(com.holonplatform.
+	 * datastore.jdbc.config.JdbcOperationEvent)
+	 */
+	@Override
+	public void onCompositionStart(JdbcOperationEvent event) {
+		start("holon.jdbc.composition", event);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.config.JdbcOperationListener#onCompositionEnd(com.holonplatform.
+	 * datastore.jdbc.config.JdbcOperationEvent)
+	 */
+	@Override
+	public void onCompositionEnd(JdbcOperationEvent event) {
+		stop(event);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.config.JdbcOperationListener#onConnectionRequest(com.holonplatform.
+	 * datastore.jdbc.config.JdbcOperationEvent)
+	 */
+	@Override
+	public void onConnectionRequest(JdbcOperationEvent event) {
+		start("holon.jdbc.connection", event);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.config.JdbcOperationListener#onConnectionAcquired(com.holonplatform.
+	 * datastore.jdbc.config.JdbcOperationEvent)
+	 */
+	@Override
+	public void onConnectionAcquired(JdbcOperationEvent event) {
+		stop(event);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.config.JdbcOperationListener#onStatementStart(com.holonplatform.
+	 * datastore.jdbc.config.JdbcOperationEvent)
+	 */
+	@Override
+	public void onStatementStart(JdbcOperationEvent event) {
+		start("holon.jdbc.statement", event);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.config.JdbcOperationListener#onStatementEnd(com.holonplatform.
+	 * datastore.jdbc.config.JdbcOperationEvent)
+	 */
+	@Override
+	public void onStatementEnd(JdbcOperationEvent event) {
+		stop(event);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.config.JdbcOperationListener#onRowsFetched(com.holonplatform.
+	 * datastore.jdbc.config.JdbcOperationEvent, long)
+	 */
+	@Override
+	public void onRowsFetched(JdbcOperationEvent event, long rowCount) {
+		create("holon.jdbc.fetch", event).highCardinalityKeyValue(ROWS_KEY, String.valueOf(rowCount)).start()
+				.stop();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.config.JdbcOperationListener#onCommitStart(com.holonplatform.
+	 * datastore.jdbc.config.JdbcOperationEvent)
+	 */
+	@Override
+	public void onCommitStart(JdbcOperationEvent event) {
+		start("holon.jdbc.commit", event);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.config.JdbcOperationListener#onCommitEnd(com.holonplatform.
+	 * datastore.jdbc.config.JdbcOperationEvent)
+	 */
+	@Override
+	public void onCommitEnd(JdbcOperationEvent event) {
+		stop(event);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.config.JdbcOperationListener#onRollbackStart(com.holonplatform.
+	 * datastore.jdbc.config.JdbcOperationEvent)
+	 */
+	@Override
+	public void onRollbackStart(JdbcOperationEvent event) {
+		start("holon.jdbc.rollback", event);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.holonplatform.datastore.jdbc.config.JdbcOperationListener#onRollbackEnd(com.holonplatform.
+	 * datastore.jdbc.config.JdbcOperationEvent)
+	 */
+	@Override
+	public void onRollbackEnd(JdbcOperationEvent event) {
+		stop(event);
+	}
+
+	/**
+	 * Create a new {@link Observation} for given event.
+	 * @param name The observation name
+	 * @param event The event
+	 * @return A new observation, not started
+	 */
+	private Observation create(String name, JdbcOperationEvent event) {
+		final Observation observation = Observation.createNotStarted(name, registry)
+				.lowCardinalityKeyValue(OPERATION_KEY, event.getOperationType().name().toLowerCase(Locale.ROOT))
+				.lowCardinalityKeyValue(TARGET_KEY, event.getTarget().orElse(NONE));
+		event.getSqlFingerprint().ifPresent(fingerprint -> observation.highCardinalityKeyValue(FINGERPRINT_KEY,
+				fingerprint));
+		return observation;
+	}
+
+	/**
+	 * Start a new {@link Observation} for given event, binding it to the event.
+	 * @param name The observation name
+	 * @param event The event
+	 */
+	private void start(String name, JdbcOperationEvent event) {
+		event.setAttribute(OBSERVATION_ATTRIBUTE, create(name, event).start());
+	}
+
+	/**
+	 * Stop the {@link Observation} bound to given event, if any.
+	 * @param event The event
+	 */
+	private static void stop(JdbcOperationEvent event) {
+		event.getAttribute(OBSERVATION_ATTRIBUTE, Observation.class).ifPresent(observation -> {
+			event.getSqlFingerprint().ifPresent(fingerprint -> observation.highCardinalityKeyValue(FINGERPRINT_KEY,
+					fingerprint));
+			event.getError().ifPresent(observation::error);
+			observation.stop();
+			event.setAttribute(OBSERVATION_ATTRIBUTE, null);
+		});
+	}
+
+}
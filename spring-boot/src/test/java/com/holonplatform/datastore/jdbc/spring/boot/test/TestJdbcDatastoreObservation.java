@@ -0,0 +1,117 @@
+/*
+ * Copyright 2016-2017 Axioma srl.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ * 
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.holonplatform.datastore.jdbc.spring.boot.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.holonplatform.core.datastore.DataTarget;
+import com.holonplatform.core.property.PathProperty;
+import com.holonplatform.core.property.PropertyBox;
+import com.holonplatform.datastore.jdbc.JdbcDatastore;
+import com.holonplatform.datastore.jdbc.spring.boot.JdbcDatastoreObservationAutoConfiguration;
+import com.holonplatform.datastore.jdbc.spring.boot.internal.ObservationJdbcOperationListener;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+
+@SpringBootTest(properties = "holon.datastore.jdbc.observation.enabled=true")
+@ActiveProfiles("p1")
+public class TestJdbcDatastoreObservation {
+
+	final static List<String> OBSERVATIONS = new CopyOnWriteArrayList<>();
+
+	@Configuration
+	@EnableAutoConfiguration
+	protected static class Config {
+
+		@Bean
+		public ObservationRegistry observationRegistry() {
+			final ObservationRegistry registry = ObservationRegistry.create();
+			registry.observationConfig().observationHandler(new ObservationHandler<Observation.Context>() {
+
+				@Override
+				public void onStop(Observation.Context context) {
+					OBSERVATIONS.add(context.getName() + ":" + context.getLowCardinalityKeyValue("operation").getValue()
+							+ ":" + context.getLowCardinalityKeyValue("target").getValue());
+				}
+
+				@Override
+				public boolean supportsContext(Observation.Context context) {
+					return true;
+				}
+
+			});
+			return registry;
+		}
+
+	}
+
+	final static DataTarget<String> NAMED_TARGET = DataTarget.named("test1");
+
+	final static PathProperty<Long> KEY = PathProperty.create("keycode", long.class);
+	final static PathProperty<String> STR1 = PathProperty.create("strv", String.class);
+
+	@Autowired
+	private JdbcDatastore datastore;
+
+	@Test
+	public void testObservations() {
+
+		datastore.save(NAMED_TARGET, PropertyBox.builder(KEY, STR1).set(KEY, 77L).set(STR1, "Test obs").build());
+		datastore.query(NAMED_TARGET).filter(KEY.eq(77L)).findOne(STR1);
+
+		assertTrue(OBSERVATIONS.contains("holon.jdbc.composition:save:test1"));
+		assertTrue(OBSERVATIONS.contains("holon.jdbc.statement:query:test1"));
+		assertTrue(OBSERVATIONS.contains("holon.jdbc.connection:query:test1"));
+		assertTrue(OBSERVATIONS.contains("holon.jdbc.fetch:query:test1"));
+
+		datastore.delete(NAMED_TARGET, PropertyBox.builder(KEY, STR1).set(KEY, 77L).build());
+		assertTrue(OBSERVATIONS.contains("holon.jdbc.statement:delete:test1"));
+	}
+
+	@Test
+	public void testEnabledProperty() {
+		// disabled by default
+		assertEquals(0, countObservationListeners());
+		assertEquals(1, countObservationListeners("holon.datastore.jdbc.observation.enabled=true"));
+	}
+
+	private static int countObservationListeners(String... properties) {
+		try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+			TestPropertyValues.of(properties).applyTo(context);
+			context.registerBean(ObservationRegistry.class, ObservationRegistry::create);
+			context.register(JdbcDatastoreObservationAutoConfiguration.class);
+			context.refresh();
+			return context.getBeansOfType(ObservationJdbcOperationListener.class).size();
+		}
+	}
+
+}